@@ -37,11 +37,16 @@ public class DatabaseProperties {
     @Data
     public static class ConnectionPoolProperties {
         private int maxSize = 10;
-        private int minIdle = 2;
+        private int minIdle = 0;
         private int connectionTimeout = 30000;
         private int idleTimeout = 60000;
         private int maxLifetime = 1800000;
         private int leakDetectionThreshold = 60000;
+        // Pools unused for this long (ms) are closed until the next use; 0 disables hibernation
+        private long hibernateAfter = 300000;
+        private long hibernationCheckInterval = 60000;
+        // Opens one unpooled connection when a data source is registered to report bad settings early
+        private boolean validateOnRegister = true;
     }
     
     @Data
@@ -52,6 +57,8 @@ public class DatabaseProperties {
         private TimeUnit timeoutUnit = TimeUnit.SECONDS;
         private boolean useReservoirForLargeTables = true;
         private int reservoirThreshold = 10000;
+        private int maxColumnsPerQuery = 64;
+        private int maxRowBytesPerQuery = 65536;
     }
     
     @Data
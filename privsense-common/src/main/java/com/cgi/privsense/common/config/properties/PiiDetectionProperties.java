@@ -3,6 +3,9 @@ package com.cgi.privsense.common.config.properties;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * PII detection-related configuration properties.
  */
@@ -11,9 +14,14 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 public class PiiDetectionProperties {
     private NerServiceProperties nerService = new NerServiceProperties();
     private DetectionProperties detection = new DetectionProperties();
+    private GazetteerProperties gazetteer = new GazetteerProperties();
     
     @Data
     public static class NerServiceProperties {
+        /**
+         * NER engine: "http" for the external service, "embedded" for the in-process ONNX model.
+         */
+        private String mode = "http";
         private String url = "http://localhost:5000/ner";
         private int timeout = 10000;
         private String maxRequestSize = "100KB";
@@ -21,6 +29,83 @@ public class PiiDetectionProperties {
         private String backupUrl = "";
         private int maxRetries = 3;
         private long retryDelayMs = 1000;
+        /**
+         * Time window for collecting columns into one batch request (0 disables batching).
+         */
+        private long batchWindowMs = 20;
+        private int maxConnectionsPerRoute = 20;
+        private int maxConnectionsTotal = 50;
+        private long cacheMaxWeight = 500000;
+        private long cacheTtlMinutes = 60;
+        /**
+         * Interval between background health probes of the primary and backup services.
+         */
+        private long healthCheckIntervalMs = 30000;
+        private CircuitBreakerProperties circuitBreaker = new CircuitBreakerProperties();
+        /**
+         * Send a duplicate request to the other endpoint when a request is slower
+         * than the given latency percentile of its endpoint.
+         */
+        private boolean hedgingEnabled = true;
+        private double hedgePercentile = 0.95;
+        private long hedgeMinDelayMs = 50;
+        /**
+         * Maximum hedged requests as a percentage of requests.
+         */
+        private double hedgeBudgetPercent = 10;
+        private long latencyWindowMs = 60000;
+        private EmbeddedNerProperties embedded = new EmbeddedNerProperties();
+    }
+
+    @Data
+    public static class EmbeddedNerProperties {
+        /**
+         * ONNX export of the token-classification model.
+         */
+        private String modelPath = "models/ner/model.onnx";
+        /**
+         * WordPiece vocabulary of the model (vocab.txt).
+         */
+        private String vocabPath = "models/ner/vocab.txt";
+        /**
+         * Model configuration holding the id2label mapping (config.json).
+         */
+        private String configPath = "models/ner/config.json";
+        private boolean lowerCase = true;
+        private int maxSequenceLength = 128;
+        /**
+         * Number of samples per inference call.
+         */
+        private int batchSize = 32;
+        /**
+         * Concurrent inference calls sharing the session (0 uses available processors).
+         */
+        private int inferenceThreads = 0;
+        /**
+         * Threads used by ONNX Runtime within one inference call (0 lets the runtime choose).
+         */
+        private int intraOpThreads = 1;
+    }
+
+    @Data
+    public static class CircuitBreakerProperties {
+        /**
+         * Length of the sliding window over which call outcomes are evaluated.
+         */
+        private long windowMs = 60000;
+        private int windowBuckets = 10;
+        /**
+         * Minimum number of calls in the window before the breaker can trip.
+         */
+        private int minimumCalls = 10;
+        private double failureRateThreshold = 0.5;
+        private double slowCallRateThreshold = 0.8;
+        private long slowCallDurationMs = 5000;
+        private long openDurationMs = 60000;
+        /**
+         * Number of concurrent probe calls allowed while half-open.
+         */
+        private int halfOpenMaxCalls = 3;
     }
     
     @Data
@@ -29,5 +114,26 @@ public class PiiDetectionProperties {
         private int samplingLimit = 10;
         private int batchSize = 20;
         private boolean enableCache = true;
+        private boolean concurrentTableScan = true;
+        private int maxConcurrentTables = 4;
+    }
+
+    @Data
+    public static class GazetteerProperties {
+        /**
+         * Enables the gazetteer stage. The dictionaries are not shipped with the
+         * application: when enabled, {@code directory} must hold them.
+         */
+        private boolean enabled = false;
+        /**
+         * Directory holding one sub-directory per locale with first-names.txt,
+         * last-names.txt and cities.txt (one entry per line).
+         */
+        private String directory = "gazetteers";
+        private List<String> locales = new ArrayList<>(List.of("en", "fr"));
+        /**
+         * False positive rate of the Bloom filter checked before the dictionaries.
+         */
+        private double bloomFalsePositiveRate = 0.01;
     }
-}
\ No newline at end of file
+}
@@ -125,6 +125,12 @@ public class DatabaseScannerController {
         return ResponseEntity.ok(ApiResponse.success(connections));
     }
 
+    @Operation(summary = "Get connection pool statistics")
+    @GetMapping("/pools")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getPoolStatistics() {
+        return ResponseEntity.ok(ApiResponse.success(dataSourceProvider.getPoolStatistics()));
+    }
+
 
     // === Scanning operations ===
 
@@ -0,0 +1,56 @@
+package com.cgi.privsense.dbscanner.core.datasource;
+
+import javax.sql.DataSource;
+
+/**
+ * Handle of a registered connection, bound to its own connection pool.
+ * Scanners and samplers carry the handle instead of resolving the connection
+ * per call, so work handed to other threads (common pool, virtual threads)
+ * always reaches the right database. Handles compare by identity: a
+ * connection registered again under the same name gets a new handle.
+ */
+public final class ConnectionHandle {
+    /**
+     * Connection ID.
+     */
+    private final String connectionId;
+
+    /**
+     * Connection pool of the connection.
+     */
+    private final DataSource dataSource;
+
+    /**
+     * Constructor.
+     *
+     * @param connectionId Connection ID
+     * @param dataSource   Connection pool of the connection
+     */
+    public ConnectionHandle(String connectionId, DataSource dataSource) {
+        this.connectionId = connectionId;
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Gets the connection ID.
+     *
+     * @return Connection ID
+     */
+    public String getConnectionId() {
+        return connectionId;
+    }
+
+    /**
+     * Gets the connection pool.
+     *
+     * @return Data source bound to this connection
+     */
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionHandle[" + connectionId + "]";
+    }
+}
@@ -5,6 +5,7 @@ import com.cgi.privsense.dbscanner.config.dtoconfig.DatabaseConnectionRequest;
 import javax.sql.DataSource;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Interface for managing data sources.
@@ -19,6 +20,15 @@ public interface DataSourceProvider {
      */
     DataSource getDataSource(String name);
 
+    /**
+     * Gets the handle of an existing connection.
+     *
+     * @param name Name of the data source
+     * @return Handle bound to the connection pool of the data source
+     * @throws com.cgi.privsense.dbscanner.exception.DatabaseOperationException if data source not found
+     */
+    ConnectionHandle getConnectionHandle(String name);
+
     /**
      * Creates a new data source.
      *
@@ -29,6 +39,8 @@ public interface DataSourceProvider {
 
     /**
      * Registers a data source.
+     * A data source already registered under the same name is replaced: its
+     * connection pool is closed and the removal listeners are notified.
      *
      * @param name Name of the data source
      * @param dataSource The data source
@@ -51,6 +63,15 @@ public interface DataSourceProvider {
      */
     boolean hasDataSource(String name);
 
+    /**
+     * Gets the maximum number of pooled connections of a data source.
+     *
+     * @param name Data source name
+     * @return The maximum pool size
+     * @throws com.cgi.privsense.dbscanner.exception.DatabaseOperationException if data source not found
+     */
+    int getMaxPoolSize(String name);
+
     /**
      * Removes a registered data source.
      *
@@ -59,10 +80,25 @@ public interface DataSourceProvider {
      */
     boolean removeDataSource(String name);
 
+    /**
+     * Registers a listener notified with the name of each removed data source.
+     *
+     * @param listener Listener receiving the data source name
+     */
+    void addRemovalListener(Consumer<String> listener);
+
     /**
      * Gets information about all registered data sources.
      *
      * @return List of data source information
      */
     List<Map<String, Object>> getDataSourcesInfo();
+
+    /**
+     * Gets statistics about the connection pools of all registered data sources:
+     * registered connections, live pools, open connections and estimated memory.
+     *
+     * @return Pool statistics
+     */
+    Map<String, Object> getPoolStatistics();
 }
\ No newline at end of file
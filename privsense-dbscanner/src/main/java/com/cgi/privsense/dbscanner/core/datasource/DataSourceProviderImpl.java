@@ -1,15 +1,17 @@
 package com.cgi.privsense.dbscanner.core.datasource;
 
+import com.cgi.privsense.common.config.properties.DatabaseProperties;
 import com.cgi.privsense.common.constants.DatabaseConstants;
 import com.cgi.privsense.common.util.DatabaseUtils;
-import com.cgi.privsense.dbscanner.config.RoutingDataSource;
 import com.cgi.privsense.dbscanner.config.EmptyDataSource;
 import com.cgi.privsense.dbscanner.config.dtoconfig.DatabaseConnectionRequest;
 import com.cgi.privsense.dbscanner.core.driver.DriverManager;
 import com.cgi.privsense.dbscanner.exception.DatabaseOperationException;
+import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Component;
@@ -19,16 +21,23 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * Implementation of DataSourceProvider with improved resource management.
  * Manages dynamic data sources for the application.
+ * Connection pools are created on first use and closed after an idle period
+ * (see {@link LazyDataSource}), so registered but unused connections hold no
+ * sockets or threads.
  */
 @Slf4j
 @Component
 @Primary
-public class DataSourceProviderImpl implements DataSourceProvider {
+public class DataSourceProviderImpl implements DataSourceProvider, DisposableBean {
 
     // Using constants from DatabaseConstants class
     
@@ -44,14 +53,23 @@ public class DataSourceProviderImpl implements DataSourceProvider {
     private static final String DEFAULT_DB_TYPE = DatabaseConstants.DB_TYPE_MYSQL;
 
     /**
-     * Map of registered data sources.
+     * Default maximum pool size
      */
-    private final Map<String, DataSource> dataSources = new ConcurrentHashMap<>();
+    private static final int DEFAULT_MAX_POOL_SIZE = 10;
 
     /**
-     * The routing data source that switches between data sources.
+     * Rough memory estimates for pool statistics: a live pool (housekeeping
+     * thread, connection bag) and an open connection (driver buffers).
      */
-    private final RoutingDataSource routingDataSource;
+    private static final long ESTIMATED_POOL_BYTES = 256 * 1024L;
+    private static final long ESTIMATED_CONNECTION_BYTES = 64 * 1024L;
+
+    /**
+     * Handles of the registered data sources.
+     * Immutable snapshot replaced on each registration and removal: lookups
+     * read the volatile reference without locking.
+     */
+    private volatile Map<String, ConnectionHandle> dataSources = Map.of();
 
     /**
      * The driver dependency manager.
@@ -64,11 +82,24 @@ public class DataSourceProviderImpl implements DataSourceProvider {
     private final Map<String, String> dataSourceTypes = new ConcurrentHashMap<>();
 
     /**
-     * Lock for thread-safe modifications to the dataSources map.
+     * Lock serializing the writers of the dataSources snapshot.
+     */
+    private final Object registryLock = new Object();
+
+    /**
+     * Listeners notified when a data source is removed.
      */
-    private final ReentrantReadWriteLock dataSourcesLock = new ReentrantReadWriteLock();
+    private final List<Consumer<String>> removalListeners = new CopyOnWriteArrayList<>();
 
+    /**
+     * Default connection pool settings.
+     */
+    private final DatabaseProperties.ConnectionPoolProperties poolProperties;
 
+    /**
+     * Scheduler closing idle pools.
+     */
+    private final ScheduledExecutorService hibernationScheduler;
 
     @Bean
     @Primary
@@ -80,15 +111,24 @@ public class DataSourceProviderImpl implements DataSourceProvider {
      * Constructor.
      *
      * @param driverManager The driver dependency manager
+     * @param databaseProperties Database properties
      */
-    public DataSourceProviderImpl(DriverManager driverManager) {
+    public DataSourceProviderImpl(DriverManager driverManager, DatabaseProperties databaseProperties) {
         this.driverManager = driverManager;
-        this.routingDataSource = new RoutingDataSource();
-        this.routingDataSource.setTargetDataSources(new HashMap<>());
-        this.routingDataSource.setDefaultTargetDataSource(new EmptyDataSource());
-        this.routingDataSource.afterPropertiesSet();
+        this.poolProperties = databaseProperties.getConnectionPool();
+
+        long checkInterval = Math.max(1000, poolProperties.getHibernationCheckInterval());
+        this.hibernationScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "datasource-hibernation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (poolProperties.getHibernateAfter() > 0) {
+            this.hibernationScheduler.scheduleWithFixedDelay(
+                    this::hibernateIdlePools, checkInterval, checkInterval, TimeUnit.MILLISECONDS);
+        }
 
-        log.info("Initialized DataSourceProvider");
+        log.info("Initialized DataSourceProvider (pools hibernate after {} ms idle)", poolProperties.getHibernateAfter());
     }
 
     /**
@@ -111,35 +151,35 @@ public class DataSourceProviderImpl implements DataSourceProvider {
             String driverClassName = resolveDriverClassName(request);
             driverManager.ensureDriverAvailable(driverClassName);
 
-            DataSourceBuilder<?> builder = DataSourceBuilder.create();
-
             // Build URL if not provided
             String url = resolveJdbcUrl(request);
 
             // Basic configuration
-            builder.url(url)
-                    .username(request.getUsername())
-                    .password(request.getPassword())
-                    .driverClassName(driverClassName);
-
-            // Create Hikari data source
-            HikariDataSource dataSource = builder.type(HikariDataSource.class).build();
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("privsense-" + request.getName());
+            config.setJdbcUrl(url);
+            config.setUsername(request.getUsername());
+            config.setPassword(request.getPassword());
+            config.setDriverClassName(driverClassName);
 
             // Pool configuration with sensible defaults
-            configureConnectionPool(dataSource, request);
+            configureConnectionPool(config, request);
 
             // Set validation query based on database type
-            setValidationQueryForDbType(dataSource, request.getDbType());
+            setValidationQueryForDbType(config, request.getDbType());
 
             // Additional properties
             if (request.getProperties() != null) {
                 Properties props = new Properties();
                 props.putAll(request.getProperties());
-                dataSource.setDataSourceProperties(props);
+                config.setDataSourceProperties(props);
             }
 
-            // Verify connection before returning
-            verifyConnection(dataSource);
+            // Verify the settings with a single connection; the pool itself is created on first use
+            if (poolProperties.isValidateOnRegister()) {
+                verifyConnection(config);
+            }
+            LazyDataSource dataSource = new LazyDataSource(config);
 
             // Store database type for future reference
             dataSourceTypes.put(request.getName(), request.getDbType() != null ? request.getDbType() : DEFAULT_DB_TYPE);
@@ -188,30 +228,43 @@ public class DataSourceProviderImpl implements DataSourceProvider {
 
     /**
      * Configures the connection pool parameters.
+     * Request values take precedence over the configured pool defaults.
      *
-     * @param dataSource HikariDataSource to configure
+     * @param config Pool configuration
      * @param request Connection request
      */
-    private void configureConnectionPool(HikariDataSource dataSource, DatabaseConnectionRequest request) {
-        dataSource.setMaximumPoolSize(request.getMaxPoolSize() != null ? request.getMaxPoolSize() : 10);
-        dataSource.setMinimumIdle(request.getMinIdle() != null ? request.getMinIdle() : 2);
-        dataSource.setConnectionTimeout(request.getConnectionTimeout() != null ? request.getConnectionTimeout() : 30000);
-        dataSource.setAutoCommit(request.getAutoCommit() != null && request.getAutoCommit());
-
-        // Add additional pool optimizations
-        dataSource.setIdleTimeout(60000); // 1 minute idle timeout
-        dataSource.setMaxLifetime(1800000); // 30 minutes max lifetime
-        dataSource.setLeakDetectionThreshold(60000); // 1 minute leak detection
+    private void configureConnectionPool(HikariConfig config, DatabaseConnectionRequest request) {
+        config.setMaximumPoolSize(request.getMaxPoolSize() != null ? request.getMaxPoolSize() : poolProperties.getMaxSize());
+        config.setMinimumIdle(request.getMinIdle() != null ? request.getMinIdle() : poolProperties.getMinIdle());
+        config.setConnectionTimeout(request.getConnectionTimeout() != null
+                ? request.getConnectionTimeout() : poolProperties.getConnectionTimeout());
+        config.setAutoCommit(request.getAutoCommit() != null && request.getAutoCommit());
+
+        // Idle connections are retired down to minIdle before the pool hibernates
+        config.setIdleTimeout(poolProperties.getIdleTimeout());
+        config.setMaxLifetime(poolProperties.getMaxLifetime());
+        config.setLeakDetectionThreshold(poolProperties.getLeakDetectionThreshold());
     }
 
     /**
-     * Verifies that a connection can be established.
+     * Verifies that a connection can be established, with one unpooled connection
+     * so that registering a data source does not start its pool.
      *
-     * @param dataSource DataSource to verify
+     * @param config Pool configuration to verify
      * @throws SQLException If connection fails
      */
-    private void verifyConnection(DataSource dataSource) throws SQLException {
-        try (Connection conn = dataSource.getConnection()) {
+    private void verifyConnection(HikariConfig config) throws SQLException {
+        Properties props = new Properties();
+        props.putAll(config.getDataSourceProperties());
+        if (config.getUsername() != null) {
+            props.setProperty("user", config.getUsername());
+        }
+        if (config.getPassword() != null) {
+            props.setProperty("password", config.getPassword());
+        }
+
+        // Dynamically loaded drivers are registered with java.sql.DriverManager through a DriverShim
+        try (Connection conn = java.sql.DriverManager.getConnection(config.getJdbcUrl(), props)) {
             if (!conn.isValid(5)) {
                 throw new SQLException("Connection validation failed");
             }
@@ -221,32 +274,34 @@ public class DataSourceProviderImpl implements DataSourceProvider {
     /**
      * Sets the validation query for a data source based on the database type.
      *
-     * @param dataSource The HikariDataSource to configure
+     * @param config The pool configuration
      * @param dbType The database type
      */
-    private void setValidationQueryForDbType(HikariDataSource dataSource, String dbType) {
+    private void setValidationQueryForDbType(HikariConfig config, String dbType) {
         String type = (dbType != null) ? dbType.toLowerCase() : DEFAULT_DB_TYPE;
 
         switch (type) {
             case DatabaseConstants.DB_TYPE_MYSQL:
-                dataSource.setConnectionTestQuery(VALIDATION_QUERY_SIMPLE);
+                config.setConnectionTestQuery(VALIDATION_QUERY_SIMPLE);
                 break;
             case DatabaseConstants.DB_TYPE_POSTGRESQL:
-                dataSource.setConnectionTestQuery(VALIDATION_QUERY_SIMPLE);
+                config.setConnectionTestQuery(VALIDATION_QUERY_SIMPLE);
                 break;
             case DatabaseConstants.DB_TYPE_ORACLE:
-                dataSource.setConnectionTestQuery(VALIDATION_QUERY_ORACLE);
+                config.setConnectionTestQuery(VALIDATION_QUERY_ORACLE);
                 break;
             case DatabaseConstants.DB_TYPE_SQLSERVER:
-                dataSource.setConnectionTestQuery(VALIDATION_QUERY_SIMPLE);
+                config.setConnectionTestQuery(VALIDATION_QUERY_SIMPLE);
                 break;
             default:
-                dataSource.setConnectionTestQuery(VALIDATION_QUERY_SIMPLE);
+                config.setConnectionTestQuery(VALIDATION_QUERY_SIMPLE);
         }
     }
 
     /**
      * Registers a data source with thread-safety.
+     * A data source registered under the same name is closed, and the removal
+     * listeners drop what they hold for it (such as scanners bound to its pool).
      *
      * @param name Name of the data source
      * @param dataSource The data source
@@ -255,77 +310,59 @@ public class DataSourceProviderImpl implements DataSourceProvider {
     public void registerDataSource(String name, DataSource dataSource) {
         log.info("Registering data source: {}", name);
 
-        dataSourcesLock.writeLock().lock();
-        try {
-            dataSources.put(name, dataSource);
-            
-            // Set this as the default connection if no default is set yet or we have only one connection
-            if (dataSources.size() == 1) {
-                RoutingDataSource.setDefaultConnectionId(name);
-                log.info("Setting {} as default connection", name);
+        synchronized (registryLock) {
+            ConnectionHandle replaced = dataSources.get(name);
+            Map<String, ConnectionHandle> next = new HashMap<>(dataSources);
+            next.put(name, new ConnectionHandle(name, dataSource));
+            dataSources = Collections.unmodifiableMap(next);
+
+            if (replaced != null && replaced.getDataSource() != dataSource) {
+                log.info("Replacing data source: {}", name);
+                try {
+                    closePool(name, replaced.getDataSource());
+                } catch (Exception e) {
+                    log.warn("Failed to close replaced data source {}: {}", name, e.getMessage());
+                }
+                notifyRemoval(name);
             }
-            
-            updateRoutingDataSource();
-        } finally {
-            dataSourcesLock.writeLock().unlock();
         }
     }
 
     /**
-     * Updates the routing data source with the current set of data sources.
-     * Must be called with write lock held.
+     * Gets a data source by name.
+     *
+     * @param name Data source name
+     * @return The connection pool of the data source
      */
-    private void updateRoutingDataSource() {
-        Map<Object, Object> targetDataSources = new HashMap<>(dataSources);
-        routingDataSource.setTargetDataSources(targetDataSources);
-        routingDataSource.afterPropertiesSet();
+    @Override
+    public DataSource getDataSource(String name) {
+        return getConnectionHandle(name).getDataSource();
     }
 
     /**
-     * Gets a data source by name with proper ThreadLocal cleanup.
+     * Gets the handle of a data source by name.
      *
      * @param name Data source name
-     * @return The data source
+     * @return Handle bound to the connection pool of the data source
      */
     @Override
-    public DataSource getDataSource(String name) {
-        dataSourcesLock.readLock().lock();
-        try {
-            if (!dataSources.containsKey(name)) {
-                throw DatabaseOperationException.dataSourceError("DataSource not found: " + name);
-            }
-
-            // Set the current data source in ThreadLocal
-            RoutingDataSource.setCurrentDataSource(name);
-            return routingDataSource;
-        } finally {
-            dataSourcesLock.readLock().unlock();
+    public ConnectionHandle getConnectionHandle(String name) {
+        ConnectionHandle handle = dataSources.get(name);
+        if (handle == null) {
+            throw DatabaseOperationException.dataSourceError("DataSource not found: " + name);
         }
+        return handle;
     }
 
     /**
-     * Gets a connection from a data source and ensures ThreadLocal cleanup.
+     * Gets a connection from a data source.
      *
      * @param name Data source name
      * @return The connection
      * @throws SQLException If a database access error occurs
      */
     public Connection getConnection(String name) throws SQLException {
-        dataSourcesLock.readLock().lock();
-        try {
-            if (!dataSources.containsKey(name)) {
-                throw DatabaseOperationException.dataSourceError("DataSource not found: " + name);
-            }
-
-            RoutingDataSource.setCurrentDataSource(name);
-            try {
-                return routingDataSource.getConnection();
-            } finally {
-                RoutingDataSource.clearCurrentDataSource();
-            }
-        } finally {
-            dataSourcesLock.readLock().unlock();
-        }
+        return getDataSource(name).getConnection();
     }
 
     /**
@@ -336,20 +373,19 @@ public class DataSourceProviderImpl implements DataSourceProvider {
      */
     @Override
     public String getDatabaseType(String connectionId) {
-        dataSourcesLock.readLock().lock();
-        try {
-            if (!dataSources.containsKey(connectionId)) {
-                throw new IllegalArgumentException("DataSource not found: " + connectionId);
-            }
+        ConnectionHandle handle = dataSources.get(connectionId);
+        if (handle == null) {
+            throw new IllegalArgumentException("DataSource not found: " + connectionId);
+        }
 
+        try {
             // Return stored type if available
             if (dataSourceTypes.containsKey(connectionId)) {
                 return dataSourceTypes.get(connectionId);
             }
 
             // Otherwise, detect the type
-            RoutingDataSource.setCurrentDataSource(connectionId);
-            try (Connection connection = routingDataSource.getConnection()) {
+            try (Connection connection = handle.getDataSource().getConnection()) {
                 String productName = connection.getMetaData().getDatabaseProductName().toLowerCase();
 
                 // Convert product name to supported type
@@ -370,14 +406,10 @@ public class DataSourceProviderImpl implements DataSourceProvider {
                 dataSourceTypes.put(connectionId, type);
                 log.debug("Detected database type for connection {}: {}", connectionId, type);
                 return type;
-            } finally {
-                RoutingDataSource.clearCurrentDataSource();
             }
         } catch (SQLException e) {
             log.error("Failed to determine database type for connection: {}", connectionId, e);
             throw DatabaseOperationException.connectionError("Failed to determine database type for connection: " + connectionId, e);
-        } finally {
-            dataSourcesLock.readLock().unlock();
         }
     }
 
@@ -389,12 +421,19 @@ public class DataSourceProviderImpl implements DataSourceProvider {
      */
     @Override
     public boolean hasDataSource(String name) {
-        dataSourcesLock.readLock().lock();
-        try {
-            return dataSources.containsKey(name);
-        } finally {
-            dataSourcesLock.readLock().unlock();
-        }
+        return dataSources.containsKey(name);
+    }
+
+    /**
+     * Gets the maximum number of pooled connections of a data source.
+     *
+     * @param name Data source name
+     * @return The maximum pool size
+     */
+    @Override
+    public int getMaxPoolSize(String name) {
+        HikariConfig config = getPoolConfig(getDataSource(name));
+        return config != null ? config.getMaximumPoolSize() : DEFAULT_MAX_POOL_SIZE;
     }
 
     /**
@@ -407,42 +446,190 @@ public class DataSourceProviderImpl implements DataSourceProvider {
     public boolean removeDataSource(String name) {
         log.info("Removing data source: {}", name);
 
-        dataSourcesLock.writeLock().lock();
-        try {
-            // Get the data source before removing it
-            DataSource dataSource = dataSources.get(name);
-
-            // If it doesn't exist, we're done
-            if (dataSource == null) {
-                log.warn("Data source not found: {}", name);
-                return false;
+        // Remove from the data sources snapshot
+        ConnectionHandle handle;
+        synchronized (registryLock) {
+            handle = dataSources.get(name);
+            if (handle != null) {
+                Map<String, ConnectionHandle> next = new HashMap<>(dataSources);
+                next.remove(name);
+                dataSources = Collections.unmodifiableMap(next);
             }
+        }
 
-            // Remove from the data sources map
-            dataSources.remove(name);
+        // If it doesn't exist, we're done
+        if (handle == null) {
+            log.warn("Data source not found: {}", name);
+            return false;
+        }
 
+        try {
             // Also remove from the database type map
             dataSourceTypes.remove(name);
 
-            // Update the routing data source
-            updateRoutingDataSource();
+            // Close the connection pool of the data source
+            closePool(name, handle.getDataSource());
 
-            // Close the data source if it's a Hikari data source
-            if (dataSource instanceof HikariDataSource hikariDataSource) {
-                log.info("Closing Hikari connection pool for data source: {}", name);
-                hikariDataSource.close();
-            }
+            notifyRemoval(name);
 
             log.info("Data source removed successfully: {}", name);
             return true;
         } catch (Exception e) {
             log.error("Failed to remove data source: {}", name, e);
             return false;
-        } finally {
-            dataSourcesLock.writeLock().unlock();
         }
     }
 
+    /**
+     * Registers a listener notified with the name of each removed data source.
+     *
+     * @param listener Listener receiving the data source name
+     */
+    @Override
+    public void addRemovalListener(Consumer<String> listener) {
+        removalListeners.add(listener);
+    }
+
+    /**
+     * Notifies the removal listeners, isolating their failures.
+     *
+     * @param name Name of the removed data source
+     */
+    private void notifyRemoval(String name) {
+        for (Consumer<String> listener : removalListeners) {
+            try {
+                listener.accept(name);
+            } catch (Exception e) {
+                log.warn("Data source removal listener failed for {}: {}", name, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Gets the pool configuration of a data source.
+     *
+     * @param dataSource Data source
+     * @return Pool configuration, null if the data source is not a Hikari pool
+     */
+    private static HikariConfig getPoolConfig(DataSource dataSource) {
+        if (dataSource instanceof LazyDataSource lazy) {
+            return lazy.getConfig();
+        }
+        if (dataSource instanceof HikariDataSource hikari) {
+            return hikari;
+        }
+        return null;
+    }
+
+    /**
+     * Gets the live Hikari pool of a data source without creating it.
+     *
+     * @param dataSource Data source
+     * @return Live pool, null if hibernated or not a Hikari pool
+     */
+    private static HikariDataSource getLivePool(DataSource dataSource) {
+        if (dataSource instanceof LazyDataSource lazy) {
+            return lazy.getPool();
+        }
+        if (dataSource instanceof HikariDataSource hikari && !hikari.isClosed()) {
+            return hikari;
+        }
+        return null;
+    }
+
+    /**
+     * Closes the connection pool of a data source.
+     *
+     * @param name Data source name
+     * @param dataSource Data source
+     */
+    private static void closePool(String name, DataSource dataSource) {
+        if (dataSource instanceof LazyDataSource lazy) {
+            log.info("Closing connection pool for data source: {}", name);
+            lazy.close();
+        } else if (dataSource instanceof HikariDataSource hikariDataSource) {
+            log.info("Closing Hikari connection pool for data source: {}", name);
+            hikariDataSource.close();
+        }
+    }
+
+    /**
+     * Closes the pools unused for the configured idle period.
+     * Runs on the hibernation scheduler.
+     */
+    private void hibernateIdlePools() {
+        long idleMillis = poolProperties.getHibernateAfter();
+        int hibernated = 0;
+        for (ConnectionHandle handle : dataSources.values()) {
+            try {
+                if (handle.getDataSource() instanceof LazyDataSource lazy && lazy.hibernateIfIdle(idleMillis)) {
+                    hibernated++;
+                }
+            } catch (Exception e) {
+                log.warn("Failed to hibernate connection pool {}: {}", handle.getConnectionId(), e.getMessage());
+            }
+        }
+        if (hibernated > 0) {
+            log.info("Hibernated {} idle connection pools", hibernated);
+        }
+    }
+
+    /**
+     * Gets statistics about the connection pools of all registered data sources.
+     *
+     * @return Pool statistics
+     */
+    @Override
+    public Map<String, Object> getPoolStatistics() {
+        Map<String, ConnectionHandle> snapshot = dataSources;
+        int livePools = 0;
+        int activeConnections = 0;
+        int totalConnections = 0;
+        long hydrations = 0;
+        long hibernations = 0;
+
+        for (ConnectionHandle handle : snapshot.values()) {
+            DataSource dataSource = handle.getDataSource();
+            if (dataSource instanceof LazyDataSource lazy) {
+                hydrations += lazy.getHydrationCount();
+                hibernations += lazy.getHibernationCount();
+            }
+
+            HikariDataSource pool = getLivePool(dataSource);
+            if (pool == null) {
+                continue;
+            }
+            livePools++;
+            HikariPoolMXBean poolMXBean = pool.getHikariPoolMXBean();
+            if (poolMXBean != null) {
+                activeConnections += poolMXBean.getActiveConnections();
+                totalConnections += poolMXBean.getTotalConnections();
+            }
+        }
+
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("registeredConnections", snapshot.size());
+        statistics.put("livePools", livePools);
+        statistics.put("hibernatedPools", snapshot.size() - livePools);
+        statistics.put("activeConnections", activeConnections);
+        statistics.put("totalConnections", totalConnections);
+        statistics.put("poolCreations", hydrations);
+        statistics.put("poolHibernations", hibernations);
+        statistics.put("estimatedMemoryBytes",
+                livePools * ESTIMATED_POOL_BYTES + totalConnections * ESTIMATED_CONNECTION_BYTES);
+        statistics.put("hibernateAfterMs", poolProperties.getHibernateAfter());
+        return statistics;
+    }
+
+    /**
+     * Stops the hibernation scheduler and closes all connection pools.
+     */
+    @Override
+    public void destroy() {
+        hibernationScheduler.shutdownNow();
+        dataSources.forEach((name, handle) -> closePool(name, handle.getDataSource()));
+    }
+
     /**
      * Gets information about all registered data sources.
      *
@@ -453,50 +640,51 @@ public class DataSourceProviderImpl implements DataSourceProvider {
         log.info("Getting information about all data sources");
         List<Map<String, Object>> result = new ArrayList<>();
 
-        dataSourcesLock.readLock().lock();
-        try {
-            for (Map.Entry<String, DataSource> entry : dataSources.entrySet()) {
-                String name = entry.getKey();
-                DataSource dataSource = entry.getValue();
+        for (Map.Entry<String, ConnectionHandle> entry : dataSources.entrySet()) {
+            String name = entry.getKey();
+            DataSource dataSource = entry.getValue().getDataSource();
+            HikariConfig config = getPoolConfig(dataSource);
 
-                Map<String, Object> info = new HashMap<>();
-                info.put("name", name);
+            Map<String, Object> info = new HashMap<>();
+            info.put("name", name);
 
-                // Add database type if available
-                if (dataSourceTypes.containsKey(name)) {
-                    info.put("dbType", dataSourceTypes.get(name));
-                }
+            // Add database type if available
+            if (dataSourceTypes.containsKey(name)) {
+                info.put("dbType", dataSourceTypes.get(name));
+            }
 
-                // Add additional information for HikariDataSource
-                if (dataSource instanceof HikariDataSource hikari) {
-                    info.put("jdbcUrl", hikari.getJdbcUrl());
-                    info.put("username", hikari.getUsername());
-                    info.put("maxPoolSize", hikari.getMaximumPoolSize());
-                    info.put("minIdle", hikari.getMinimumIdle());
-                    info.put("connectionTimeout", hikari.getConnectionTimeout());
-                    info.put("autoCommit", hikari.isAutoCommit());
-
-                    // Add connection pool metrics
-                    try {
-                        var poolMXBean = hikari.getHikariPoolMXBean();
-                        if (poolMXBean != null) {
-                            info.put("activeConnections", poolMXBean.getActiveConnections());
-                            info.put("idleConnections", poolMXBean.getIdleConnections());
-                            info.put("totalConnections", poolMXBean.getTotalConnections());
-                            info.put("threadsAwaitingConnection", poolMXBean.getThreadsAwaitingConnection());
-                        } else {
-                            log.warn("HikariPoolMXBean is null for data source: {}", name);
-                            info.put("poolStatus", "initializing");
-                        }
-                    } catch (Exception e) {
-                        log.warn("Failed to get pool metrics for data source: {}", name, e);
+            // Add additional information for Hikari pools
+            if (config != null) {
+                info.put("jdbcUrl", config.getJdbcUrl());
+                info.put("username", config.getUsername());
+                info.put("maxPoolSize", config.getMaximumPoolSize());
+                info.put("minIdle", config.getMinimumIdle());
+                info.put("connectionTimeout", config.getConnectionTimeout());
+                info.put("autoCommit", config.isAutoCommit());
+            }
+
+            HikariDataSource pool = getLivePool(dataSource);
+            if (dataSource instanceof LazyDataSource && pool == null) {
+                info.put("poolStatus", "hibernated");
+            } else if (pool != null) {
+                // Add connection pool metrics
+                try {
+                    HikariPoolMXBean poolMXBean = pool.getHikariPoolMXBean();
+                    if (poolMXBean != null) {
+                        info.put("activeConnections", poolMXBean.getActiveConnections());
+                        info.put("idleConnections", poolMXBean.getIdleConnections());
+                        info.put("totalConnections", poolMXBean.getTotalConnections());
+                        info.put("threadsAwaitingConnection", poolMXBean.getThreadsAwaitingConnection());
+                    } else {
+                        log.warn("HikariPoolMXBean is null for data source: {}", name);
+                        info.put("poolStatus", "initializing");
                     }
+                } catch (Exception e) {
+                    log.warn("Failed to get pool metrics for data source: {}", name, e);
                 }
-
-                result.add(info);
             }
-        } finally {
-            dataSourcesLock.readLock().unlock();
+
+            result.add(info);
         }
 
         return result;
@@ -0,0 +1,315 @@
+package com.cgi.privsense.dbscanner.core.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+
+/**
+ * Data source creating its Hikari pool on first use.
+ * A registered connection only keeps its pool configuration; the pool (with
+ * its sockets and housekeeping thread) is created when a connection is first
+ * requested, closed by {@link #hibernateIfIdle} once unused for a while, and
+ * created again transparently on the next request. Pool transitions are
+ * guarded by a {@link ReentrantLock} rather than a monitor, so virtual threads
+ * waiting for a pool to open or close do not pin their carrier.
+ */
+@Slf4j
+public class LazyDataSource implements DataSource, Closeable {
+    /**
+     * Pool configuration, kept for the lifetime of the registration.
+     */
+    private final HikariConfig config;
+
+    /**
+     * Guards the creation and closing of the pool.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Live pool, null while hibernated.
+     */
+    private volatile HikariDataSource pool;
+
+    /**
+     * Log writer and login timeout set on the data source, applied to each pool it creates.
+     */
+    private volatile PrintWriter logWriter;
+    private volatile int loginTimeout;
+
+    /**
+     * Time of the last connection request (epoch milliseconds).
+     */
+    private volatile long lastUsed = System.currentTimeMillis();
+
+    /**
+     * Set once the data source is closed for good.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Number of times the pool was created.
+     */
+    private final AtomicLong hydrations = new AtomicLong();
+
+    /**
+     * Number of times the pool was closed after an idle period.
+     */
+    private final AtomicLong hibernations = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param config Pool configuration, not modified afterwards
+     */
+    public LazyDataSource(HikariConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Gets a connection, creating the pool if needed.
+     *
+     * @return A pooled connection
+     * @throws SQLException If a database access error occurs
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        lastUsed = System.currentTimeMillis();
+        HikariDataSource current = hydrate();
+        try {
+            return current.getConnection();
+        } catch (SQLException e) {
+            if (closed || !current.isClosed()) {
+                throw e;
+            }
+            // The pool hibernated between the lookup and the checkout
+            return hydrate().getConnection();
+        }
+    }
+
+    /**
+     * Not supported: pooled connections use the configured credentials.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("LazyDataSource doesn't support per-call credentials");
+    }
+
+    /**
+     * Gets the live pool, creating it if the data source is hibernated.
+     *
+     * @return The live pool
+     * @throws SQLException If the data source is closed
+     */
+    private HikariDataSource hydrate() throws SQLException {
+        HikariDataSource current = pool;
+        if (current != null) {
+            return current;
+        }
+        lock.lock();
+        try {
+            if (closed) {
+                throw new SQLException("Data source " + config.getPoolName() + " has been closed");
+            }
+            if (pool == null) {
+                log.info("Creating connection pool: {}", config.getPoolName());
+                HikariDataSource created = new HikariDataSource(config);
+                try {
+                    applySettings(created);
+                } catch (SQLException e) {
+                    created.close();
+                    throw e;
+                }
+                pool = created;
+                hydrations.incrementAndGet();
+            }
+            return pool;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Applies the log writer and login timeout set on this data source to a pool.
+     */
+    private void applySettings(HikariDataSource target) throws SQLException {
+        if (logWriter != null) {
+            target.setLogWriter(logWriter);
+        }
+        if (loginTimeout > 0) {
+            target.setLoginTimeout(loginTimeout);
+        }
+    }
+
+    /**
+     * Closes the pool if it has been unused for an idle period and no
+     * connection is borrowed. The next connection request creates it again.
+     *
+     * @param idleMillis Idle period in milliseconds
+     * @return true if the pool was closed
+     */
+    public boolean hibernateIfIdle(long idleMillis) {
+        lock.lock();
+        try {
+            HikariDataSource current = pool;
+            if (current == null || System.currentTimeMillis() - lastUsed < idleMillis) {
+                return false;
+            }
+
+            HikariPoolMXBean poolMXBean = current.getHikariPoolMXBean();
+            if (poolMXBean != null
+                    && (poolMXBean.getActiveConnections() > 0 || poolMXBean.getThreadsAwaitingConnection() > 0)) {
+                return false;
+            }
+
+            log.info("Hibernating idle connection pool: {}", config.getPoolName());
+            pool = null;
+            current.close();
+            hibernations.incrementAndGet();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the pool for good.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            HikariDataSource current = pool;
+            pool = null;
+            if (current != null) {
+                current.close();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the pool configuration.
+     *
+     * @return Pool configuration, read-only
+     */
+    public HikariConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Gets the live pool without creating it.
+     *
+     * @return The live pool, null while hibernated
+     */
+    public HikariDataSource getPool() {
+        return pool;
+    }
+
+    /**
+     * Checks if the pool is live.
+     *
+     * @return true if the pool is created
+     */
+    public boolean isHydrated() {
+        return pool != null;
+    }
+
+    /**
+     * Gets the number of times the pool was created.
+     *
+     * @return Number of pool creations
+     */
+    public long getHydrationCount() {
+        return hydrations.get();
+    }
+
+    /**
+     * Gets the number of times the pool was closed after an idle period.
+     *
+     * @return Number of hibernations
+     */
+    public long getHibernationCount() {
+        return hibernations.get();
+    }
+
+    /**
+     * Gets the log writer set on this data source, without creating the pool.
+     */
+    @Override
+    public PrintWriter getLogWriter() {
+        return logWriter;
+    }
+
+    /**
+     * Sets the log writer of the live pool and of the pools created later.
+     */
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        lock.lock();
+        try {
+            logWriter = out;
+            HikariDataSource current = pool;
+            if (current != null) {
+                current.setLogWriter(out);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sets the login timeout of the live pool and of the pools created later.
+     */
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        lock.lock();
+        try {
+            loginTimeout = seconds;
+            HikariDataSource current = pool;
+            if (current != null && seconds > 0) {
+                current.setLoginTimeout(seconds);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the login timeout set on this data source, or the connection timeout of the pool.
+     */
+    @Override
+    public int getLoginTimeout() {
+        return loginTimeout > 0 ? loginTimeout : (int) (config.getConnectionTimeout() / 1000);
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return hydrate().unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || hydrate().isWrapperFor(iface);
+    }
+}
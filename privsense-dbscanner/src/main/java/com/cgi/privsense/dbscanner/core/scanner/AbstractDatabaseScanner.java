@@ -2,6 +2,7 @@ package com.cgi.privsense.dbscanner.core.scanner;
 
 import com.cgi.privsense.common.util.DatabaseUtils;
 import com.cgi.privsense.dbscanner.exception.DatabaseOperationException;
+import com.cgi.privsense.dbscanner.model.ColumnVector;
 import com.cgi.privsense.dbscanner.model.DataSample;
 import lombok.Builder;
 import lombok.Value;
@@ -9,14 +10,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.support.JdbcUtils;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 
 /**
@@ -29,6 +31,12 @@ public abstract class AbstractDatabaseScanner implements DatabaseScanner {
      */
     protected final JdbcTemplate jdbcTemplate;
 
+    /**
+     * JDBC template without a row cap, for schema-wide metadata queries
+     * whose result size grows with the number of columns in the schema.
+     */
+    protected final JdbcTemplate metadataJdbcTemplate;
+
     /**
      * The database type.
      */
@@ -63,6 +71,7 @@ public abstract class AbstractDatabaseScanner implements DatabaseScanner {
      */
     protected AbstractDatabaseScanner(DataSource dataSource, String dbType, JdbcSettings settings) {
         this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.metadataJdbcTemplate = new JdbcTemplate(dataSource);
         this.dbType = dbType;
         this.jdbcSettings = settings;
         configureJdbcTemplate();
@@ -75,6 +84,9 @@ public abstract class AbstractDatabaseScanner implements DatabaseScanner {
         jdbcTemplate.setFetchSize(jdbcSettings.getFetchSize());
         jdbcTemplate.setMaxRows(jdbcSettings.getMaxRows());
         jdbcTemplate.setQueryTimeout(jdbcSettings.getQueryTimeoutSeconds());
+
+        metadataJdbcTemplate.setFetchSize(jdbcSettings.getFetchSize());
+        metadataJdbcTemplate.setQueryTimeout(jdbcSettings.getQueryTimeoutSeconds());
     }
 
     /**
@@ -116,6 +128,31 @@ public abstract class AbstractDatabaseScanner implements DatabaseScanner {
         }
     }
 
+    /**
+     * Maximum number of prepared statements kept open by a sampling session.
+     */
+    private static final int SESSION_STATEMENT_CACHE_SIZE = 16;
+
+    /**
+     * Maximum number of random draws used to extend a random sample with rows
+     * not returned before.
+     */
+    private static final int SESSION_RANDOM_DRAWS = 4;
+
+    /**
+     * Opens a sampling session on a table.
+     * The session checks out its connection on the first query.
+     *
+     * @param tableName Table name
+     * @param random    Whether to sample random rows instead of the first rows
+     * @return Sampling session, to be closed by the caller
+     */
+    @Override
+    public TableSamplingSession openSamplingSession(String tableName, boolean random) {
+        DatabaseUtils.validateTableName(tableName);
+        return new JdbcTableSamplingSession(tableName, random);
+    }
+
     /**
      * Template method for sampling table data.
      * Implements the common pattern for all database types.
@@ -127,42 +164,7 @@ public abstract class AbstractDatabaseScanner implements DatabaseScanner {
      */
     @Override
     public DataSample sampleTableData(String tableName, int limit) {
-        DatabaseUtils.validateTableName(tableName);
-
-        return executeQuery("sampleTableData", jdbc -> {
-            DataSource ds = jdbc.getDataSource();
-            if (ds == null) {
-                throw DatabaseOperationException.samplingError("DataSource is null, cannot sample table: " + tableName,
-                        null);
-            }
-
-            try (Connection conn = ds.getConnection();
-                    PreparedStatement stmt = prepareSampleTableStatement(conn, tableName, limit);
-                    ResultSet rs = stmt.executeQuery()) {
-
-                List<Map<String, Object>> rows = new ArrayList<>();
-                int columnCount = rs.getMetaData().getColumnCount();
-
-                // Pre-fetch column names for improved performance
-                String[] columnNames = new String[columnCount];
-                for (int i = 0; i < columnCount; i++) {
-                    columnNames[i] = rs.getMetaData().getColumnName(i + 1);
-                }
-
-                while (rs.next()) {
-                    Map<String, Object> row = HashMap.newHashMap(columnCount);
-                    for (int i = 0; i < columnCount; i++) {
-                        row.put(columnNames[i], JdbcUtils.getResultSetValue(rs, i + 1));
-                    }
-                    rows.add(row);
-                }
-
-                return DataSample.create(tableName, rows);
-            } catch (SQLException e) {
-                // Add context and rethrow
-                throw DatabaseOperationException.samplingError("Error sampling table: " + tableName, e);
-            }
-        });
+        return sampleInSession("sampleTableData", tableName, false, session -> session.sampleTable(limit));
     }
 
     /**
@@ -177,33 +179,125 @@ public abstract class AbstractDatabaseScanner implements DatabaseScanner {
      */
     @Override
     public List<Object> sampleColumnData(String tableName, String columnName, int limit) {
-        DatabaseUtils.validateTableName(tableName);
-        DatabaseUtils.validateColumnName(columnName);
+        return sampleInSession("sampleColumnData", tableName, false,
+                session -> session.sampleColumn(columnName, limit));
+    }
 
-        return executeQuery("sampleColumnData", jdbc -> {
-            DataSource ds = jdbc.getDataSource();
-            if (ds == null) {
-                throw DatabaseOperationException.samplingError("DataSource is null, cannot sample column: "
-                        + tableName + "." + columnName, null);
-            }
+    /**
+     * Template method for sampling several columns with one projection query.
+     * The result set is streamed once and split into one typed column vector per column,
+     * so a wide table costs a single connection checkout and round trip.
+     *
+     * @param tableName   Table name
+     * @param columnNames Column names to project
+     * @param limit       Maximum number of rows
+     * @return Map of column name to sampled values, in projection order
+     */
+    @Override
+    public Map<String, List<Object>> sampleColumnsData(String tableName, List<String> columnNames, int limit) {
+        return sampleInSession("sampleColumnsData", tableName, false,
+                session -> session.sampleColumns(columnNames, limit));
+    }
 
-            try (Connection conn = ds.getConnection();
-                    PreparedStatement stmt = prepareSampleColumnStatement(conn, tableName, columnName, limit);
-                    ResultSet rs = stmt.executeQuery()) {
+    /**
+     * Estimates the number of rows in a table.
+     * The default implementation has no access to statistics; subclasses
+     * override it with a cheap dialect-specific lookup.
+     *
+     * @param tableName Table name
+     * @return Estimated row count, or -1 if unknown
+     */
+    @Override
+    public long estimateRowCount(String tableName) {
+        return -1;
+    }
 
-                List<Object> values = new ArrayList<>(limit);
-                while (rs.next()) {
-                    values.add(JdbcUtils.getResultSetValue(rs, 1));
-                }
-                return values;
-            } catch (SQLException e) {
-                // Add context and rethrow
-                throw DatabaseOperationException.samplingError(
-                        "Error sampling column: " + tableName + "." + columnName, e);
+    /**
+     * Template method for random table sampling.
+     * Rows chosen by the dialect's random access path are streamed through a
+     * bounded reservoir, so memory stays proportional to the limit.
+     *
+     * @param tableName Table name
+     * @param limit     Maximum number of rows
+     * @return Data sample
+     */
+    @Override
+    public DataSample sampleTableDataRandom(String tableName, int limit) {
+        return sampleInSession("sampleTableDataRandom", tableName, true, session -> session.sampleTable(limit));
+    }
+
+    /**
+     * Template method for random sampling of a projection of several columns.
+     *
+     * @param tableName   Table name
+     * @param columnNames Column names to project
+     * @param limit       Maximum number of rows
+     * @return Map of column name to sampled values, in projection order
+     */
+    @Override
+    public Map<String, List<Object>> sampleColumnsDataRandom(String tableName, List<String> columnNames, int limit) {
+        return sampleInSession("sampleColumnsDataRandom", tableName, true,
+                session -> session.sampleColumns(columnNames, limit));
+    }
+
+    /**
+     * Runs a single sampling query in a short-lived session.
+     *
+     * @param operationName Operation name for logging
+     * @param tableName     Table name
+     * @param random        Whether to sample random rows
+     * @param sampling      Sampling query to run
+     * @return Sampling result
+     */
+    private <T> T sampleInSession(String operationName, String tableName, boolean random,
+            Function<TableSamplingSession, T> sampling) {
+        return executeQuery(operationName, jdbc -> {
+            try (TableSamplingSession session = openSamplingSession(tableName, random)) {
+                return sampling.apply(session);
             }
         });
     }
 
+    /**
+     * Streams randomly chosen rows of a table into a reservoir.
+     * The default implementation has no server-side random access and streams
+     * the first rows; subclasses override it with a dialect-specific strategy
+     * that avoids sorting the whole table.
+     *
+     * @param connection  Database connection
+     * @param tableName   Table name
+     * @param columnNames Column names to project, or null for all columns
+     * @param limit       Requested number of rows
+     * @param reservoir   Reservoir receiving the rows
+     * @throws SQLException On SQL error
+     */
+    protected void sampleRandomRows(Connection connection, String tableName, List<String> columnNames, int limit,
+            RowReservoir reservoir) throws SQLException {
+        try (PreparedStatement stmt = columnNames == null
+                ? prepareSampleTableStatement(connection, tableName, limit)
+                : prepareSampleColumnsStatement(connection, tableName, columnNames, limit);
+                ResultSet rs = stmt.executeQuery()) {
+            reservoir.consume(rs);
+        }
+    }
+
+    /**
+     * Builds the select list for a projection.
+     *
+     * @param columnNames Column names, or null for all columns
+     * @return Escaped, comma-separated column list or *
+     */
+    protected String buildProjection(List<String> columnNames) {
+        if (columnNames == null) {
+            return "*";
+        }
+        StringJoiner projection = new StringJoiner(", ");
+        for (String columnName : columnNames) {
+            projection.add(escapeIdentifier(columnName));
+        }
+        return projection.toString();
+    }
+
     /**
      * Builds and returns SQL for sampling table data.
      * Subclasses must override this to provide database-specific SQL generation.
@@ -297,6 +391,183 @@ public abstract class AbstractDatabaseScanner implements DatabaseScanner {
         }
     }
 
+    /**
+     * Builds SQL for sampling an explicit projection of several columns.
+     * Subclasses must override this to provide database-specific SQL generation.
+     *
+     * @param tableName   Table name
+     * @param columnNames Column names to project
+     * @return SQL string for sampling the projection
+     */
+    protected abstract String buildSampleColumnsSql(String tableName, List<String> columnNames);
+
+    /**
+     * Builds SQL for sampling a projection of several columns after skipping rows.
+     * The row limit is the first parameter and the number of skipped rows the second.
+     * With a key column, the key is projected after the columns and rows are ordered
+     * by it, so that consecutive ranges neither repeat nor skip rows.
+     * Subclasses must override this to provide database-specific SQL generation.
+     *
+     * @param tableName   Table name
+     * @param columnNames Column names to project
+     * @param keyColumn   Single-column primary key, or null if the table has none
+     * @return SQL string for sampling the projection
+     */
+    protected abstract String buildSampleColumnsRangeSql(String tableName, List<String> columnNames,
+            String keyColumn);
+
+    /**
+     * Builds SQL for sampling a projection of several columns after a key value.
+     * The key is projected after the columns and rows are ordered by it. The key
+     * value is the first parameter and the row limit the second.
+     * Subclasses must override this to provide database-specific SQL generation.
+     *
+     * @param tableName   Table name
+     * @param columnNames Column names to project
+     * @param keyColumn   Single-column primary key
+     * @return SQL string for sampling the projection
+     */
+    protected abstract String buildSampleColumnsAfterKeySql(String tableName, List<String> columnNames,
+            String keyColumn);
+
+    /**
+     * Creates a prepared statement for sampling a projection of several columns.
+     * Delegates to buildSampleColumnsSql which is overridden by database-specific subclasses.
+     * <p>
+     * NOTE: The caller is responsible for closing the returned PreparedStatement.
+     *
+     * @param connection  Database connection
+     * @param tableName   Table name
+     * @param columnNames Column names to project
+     * @param limit       Maximum number of rows
+     * @return PreparedStatement that must be closed by the caller
+     * @throws SQLException On SQL error
+     */
+    protected PreparedStatement prepareSampleColumnsStatement(Connection connection, String tableName,
+            List<String> columnNames, int limit)
+            throws SQLException {
+        String sql = buildSampleColumnsSql(tableName, columnNames);
+        PreparedStatement stmt = null;
+        try {
+            stmt = connection.prepareStatement(sql);
+            stmt.setInt(1, limit);
+            return stmt;
+        } catch (SQLException e) {
+            if (stmt != null) {
+                try {
+                    stmt.close();
+                } catch (SQLException ex) {
+                    // Log suppressed exception
+                    logger.warn("Error closing statement after exception", ex);
+                    e.addSuppressed(ex);
+                }
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Creates a prepared statement for sampling a projection of several columns after skipping rows.
+     * Delegates to buildSampleColumnsRangeSql which is overridden by database-specific subclasses.
+     * <p>
+     * NOTE: The caller is responsible for closing the returned PreparedStatement.
+     *
+     * @param connection  Database connection
+     * @param tableName   Table name
+     * @param columnNames Column names to project
+     * @param keyColumn   Single-column primary key, or null if the table has none
+     * @param offset      Number of rows to skip
+     * @param limit       Maximum number of rows
+     * @return PreparedStatement that must be closed by the caller
+     * @throws SQLException On SQL error
+     */
+    protected PreparedStatement prepareSampleColumnsRangeStatement(Connection connection, String tableName,
+            List<String> columnNames, String keyColumn, int offset, int limit)
+            throws SQLException {
+        String sql = buildSampleColumnsRangeSql(tableName, columnNames, keyColumn);
+        PreparedStatement stmt = null;
+        try {
+            stmt = connection.prepareStatement(sql);
+            stmt.setInt(1, limit);
+            stmt.setInt(2, offset);
+            return stmt;
+        } catch (SQLException e) {
+            if (stmt != null) {
+                try {
+                    stmt.close();
+                } catch (SQLException ex) {
+                    // Log suppressed exception
+                    logger.warn("Error closing statement after exception", ex);
+                    e.addSuppressed(ex);
+                }
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Creates a prepared statement for sampling a projection of several columns after a key value.
+     * Delegates to buildSampleColumnsAfterKeySql which is overridden by database-specific subclasses.
+     * <p>
+     * NOTE: The caller is responsible for closing the returned PreparedStatement.
+     *
+     * @param connection  Database connection
+     * @param tableName   Table name
+     * @param columnNames Column names to project
+     * @param keyColumn   Single-column primary key
+     * @param afterKey    Key of the last row already sampled
+     * @param limit       Maximum number of rows
+     * @return PreparedStatement that must be closed by the caller
+     * @throws SQLException On SQL error
+     */
+    protected PreparedStatement prepareSampleColumnsAfterKeyStatement(Connection connection, String tableName,
+            List<String> columnNames, String keyColumn, Object afterKey, int limit)
+            throws SQLException {
+        String sql = buildSampleColumnsAfterKeySql(tableName, columnNames, keyColumn);
+        PreparedStatement stmt = null;
+        try {
+            stmt = connection.prepareStatement(sql);
+            stmt.setObject(1, afterKey);
+            stmt.setInt(2, limit);
+            return stmt;
+        } catch (SQLException e) {
+            if (stmt != null) {
+                try {
+                    stmt.close();
+                } catch (SQLException ex) {
+                    // Log suppressed exception
+                    logger.warn("Error closing statement after exception", ex);
+                    e.addSuppressed(ex);
+                }
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Finds the single-column primary key of a table, used to page and
+     * deduplicate session samples.
+     * The default implementation reads the JDBC metadata; subclasses may
+     * override it with a cheaper dialect-specific lookup.
+     *
+     * @param connection Database connection
+     * @param tableName  Table name
+     * @return Primary key column name, or null if the table has no single-column primary key
+     * @throws SQLException On SQL error
+     */
+    protected String findRowKey(Connection connection, String tableName) throws SQLException {
+        try (ResultSet rs = connection.getMetaData()
+                .getPrimaryKeys(connection.getCatalog(), connection.getSchema(), tableName)) {
+            String keyColumn = null;
+            int keyColumns = 0;
+            while (rs.next()) {
+                keyColumns++;
+                keyColumn = rs.getString("COLUMN_NAME");
+            }
+            return keyColumns == 1 ? keyColumn : null;
+        }
+    }
+
     /**
      * Checks if a table exists.
      * Subclasses may override this to provide database-specific implementation.
@@ -355,4 +626,413 @@ public abstract class AbstractDatabaseScanner implements DatabaseScanner {
         @Builder.Default
         int queryTimeoutSeconds = 30;
     }
+
+    /**
+     * Creates prepared statements on a connection.
+     */
+    @FunctionalInterface
+    private interface StatementFactory {
+        PreparedStatement prepare(Connection connection) throws SQLException;
+    }
+
+    /**
+     * JDBC sampling session: one connection, prepared statements reused by SQL text.
+     * A failed query releases the connection and its statements; the next
+     * query of the session checks out a new one.
+     */
+    private final class JdbcTableSamplingSession implements TableSamplingSession {
+        private final String tableName;
+        private final boolean random;
+
+        // Prepared statements by SQL, least recently used closed first
+        private final Map<String, PreparedStatement> statements =
+                new LinkedHashMap<>(SESSION_STATEMENT_CACHE_SIZE, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                        if (size() > SESSION_STATEMENT_CACHE_SIZE) {
+                            closeQuietly(eldest.getValue());
+                            return true;
+                        }
+                        return false;
+                    }
+                };
+
+        // Serializes the queries of the session on its connection; unlike a monitor,
+        // a lock held during JDBC I/O does not pin a virtual thread to its carrier
+        private final ReentrantLock lock = new ReentrantLock();
+
+        // Key of the last row read before a row position, so first-rows pages
+        // in key order continue with a key cursor instead of an offset
+        private final Map<Integer, Object> keyCursors = new HashMap<>();
+
+        // Rows returned per column by a random sample, counted by row identity:
+        // the primary key, or the value itself when the table has no key
+        private final Map<String, Map<Object, Integer>> returnedRows = new HashMap<>();
+
+        private Connection connection;
+        private boolean closed;
+        private boolean rowKeyResolved;
+        private String rowKey;
+
+        JdbcTableSamplingSession(String tableName, boolean random) {
+            this.tableName = tableName;
+            this.random = random;
+        }
+
+        @Override
+        public String getTableName() {
+            return tableName;
+        }
+
+        @Override
+        public boolean isRandom() {
+            return random;
+        }
+
+        @Override
+        public DataSample sampleTable(int limit) {
+            lock.lock();
+            try {
+                if (random) {
+                    RowReservoir reservoir = new RowReservoir(limit);
+                    sampleRandomRows(connection(), tableName, null, limit, reservoir);
+                    logger.debug("Random sample of {} kept {} of {} streamed rows",
+                            tableName, reservoir.size(), reservoir.getSeen());
+                    return DataSample.fromColumns(tableName, reservoir.getColumnNames(), reservoir.toColumns());
+                }
+
+                PreparedStatement stmt = statement(buildSampleTableSql(tableName), limit,
+                        conn -> prepareSampleTableStatement(conn, tableName, limit));
+                try (ResultSet rs = stmt.executeQuery()) {
+                    ResultSetMetaData metaData = rs.getMetaData();
+                    int columnCount = metaData.getColumnCount();
+
+                    // One typed vector per column instead of one map per row
+                    List<String> columnNames = new ArrayList<>(columnCount);
+                    ColumnVector[] vectors = new ColumnVector[columnCount];
+                    for (int i = 0; i < columnCount; i++) {
+                        columnNames.add(metaData.getColumnName(i + 1));
+                        vectors[i] = ColumnVector.forColumnClass(metaData.getColumnClassName(i + 1), limit);
+                    }
+
+                    while (rs.next()) {
+                        for (int i = 0; i < columnCount; i++) {
+                            vectors[i].append(rs, i + 1);
+                        }
+                    }
+
+                    return DataSample.fromColumns(tableName, columnNames, Arrays.asList(vectors));
+                }
+            } catch (SQLException e) {
+                release();
+                // Add context and rethrow
+                throw DatabaseOperationException.samplingError(
+                        (random ? "Error random sampling table: " : "Error sampling table: ") + tableName, e);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public List<Object> sampleColumn(String columnName, int limit) {
+            DatabaseUtils.validateColumnName(columnName);
+
+            lock.lock();
+            try {
+                // With a primary key, single columns are paged in key order like projections
+                if (random || rowKey() != null) {
+                    return sampleColumns(List.of(columnName), limit).getOrDefault(columnName, List.of());
+                }
+
+                PreparedStatement stmt = statement(buildSampleColumnSql(tableName, columnName), limit,
+                        conn -> prepareSampleColumnStatement(conn, tableName, columnName, limit));
+                try (ResultSet rs = stmt.executeQuery()) {
+                    ColumnVector vector = ColumnVector.forColumnClass(rs.getMetaData().getColumnClassName(1), limit);
+                    while (rs.next()) {
+                        vector.append(rs, 1);
+                    }
+                    return vector.asList();
+                }
+            } catch (SQLException e) {
+                release();
+                // Add context and rethrow
+                throw DatabaseOperationException.samplingError(
+                        "Error sampling column: " + tableName + "." + columnName, e);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public Map<String, List<Object>> sampleColumns(List<String> columnNames, int limit) {
+            return sampleColumns(columnNames, 0, limit);
+        }
+
+        @Override
+        public Map<String, List<Object>> sampleColumns(List<String> columnNames, int offset, int limit) {
+            if (columnNames == null || columnNames.isEmpty()) {
+                return Collections.emptyMap();
+            }
+            columnNames.forEach(DatabaseUtils::validateColumnName);
+
+            lock.lock();
+            try {
+                String keyColumn = rowKey();
+                if (random) {
+                    return sampleNewRandomRows(columnNames, keyColumn, offset, limit);
+                }
+
+                List<ColumnVector> vectors;
+                if (keyColumn != null) {
+                    vectors = readKeyOrdered(columnNames, keyColumn, offset, limit);
+                } else if (offset > 0) {
+                    // Without a key the rows have no stable order to page on
+                    PreparedStatement stmt = statement(buildSampleColumnsRangeSql(tableName, columnNames, null),
+                            limit, conn -> prepareSampleColumnsRangeStatement(
+                                    conn, tableName, columnNames, null, offset, limit));
+                    stmt.setInt(2, offset);
+                    vectors = readProjection(stmt, columnNames.size(), limit);
+                } else {
+                    vectors = readProjection(columnNames, limit);
+                }
+
+                Map<String, List<Object>> result = LinkedHashMap.newLinkedHashMap(columnNames.size());
+                for (int i = 0; i < columnNames.size(); i++) {
+                    result.put(columnNames.get(i), vectors.get(i).asList());
+                }
+                return result;
+            } catch (SQLException e) {
+                release();
+                // Add context and rethrow
+                String operation = random ? "Error random sampling columns " : "Error sampling columns ";
+                throw DatabaseOperationException.samplingError(operation + columnNames
+                        + (offset > 0 ? " after " + offset + " rows" : "") + " of table: " + tableName, e);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Reads a range of rows in primary key order, continuing from the key
+         * of the row before the range when an earlier page ended there.
+         */
+        private List<ColumnVector> readKeyOrdered(List<String> columnNames, String keyColumn, int offset, int limit)
+                throws SQLException {
+            Object afterKey = offset > 0 ? keyCursors.get(offset) : null;
+            PreparedStatement stmt;
+            if (afterKey != null) {
+                stmt = statement(buildSampleColumnsAfterKeySql(tableName, columnNames, keyColumn),
+                        conn -> prepareSampleColumnsAfterKeyStatement(
+                                conn, tableName, columnNames, keyColumn, afterKey, limit));
+                stmt.setObject(1, afterKey);
+                stmt.setInt(2, limit);
+            } else {
+                stmt = statement(buildSampleColumnsRangeSql(tableName, columnNames, keyColumn), limit,
+                        conn -> prepareSampleColumnsRangeStatement(
+                                conn, tableName, columnNames, keyColumn, offset, limit));
+                stmt.setInt(2, offset);
+            }
+
+            List<ColumnVector> vectors = readProjection(stmt, columnNames.size() + 1, limit);
+            List<Object> keys = vectors.getLast().asList();
+            if (!keys.isEmpty()) {
+                keyCursors.put(offset + keys.size(), keys.getLast());
+            }
+            return vectors.subList(0, columnNames.size());
+        }
+
+        /**
+         * Draws random rows and keeps, per column, only the rows the session has
+         * not returned for that column yet. A new sample (offset 0) forgets the
+         * rows returned before; an extension redraws the missing rows until each
+         * column is full or a draw brings no new row, sizing each redraw by the
+         * share of new rows in the previous draw.
+         */
+        private Map<String, List<Object>> sampleNewRandomRows(List<String> columnNames, String keyColumn,
+                int offset, int limit) throws SQLException {
+            List<String> projection = columnNames;
+            if (keyColumn != null) {
+                projection = new ArrayList<>(columnNames);
+                projection.add(keyColumn);
+            }
+
+            Map<String, List<Object>> result = LinkedHashMap.newLinkedHashMap(columnNames.size());
+            for (String columnName : columnNames) {
+                if (offset <= 0) {
+                    returnedRows.remove(columnName);
+                }
+                result.put(columnName, new ArrayList<>(limit));
+            }
+
+            int draws = offset > 0 ? SESSION_RANDOM_DRAWS : 1;
+            double newRowShare = 1.0;
+            for (int draw = 0; draw < draws; draw++) {
+                int missing = 0;
+                for (List<Object> values : result.values()) {
+                    missing = Math.max(missing, limit - values.size());
+                }
+                if (missing == 0) {
+                    break;
+                }
+
+                // Never more rows than a redraw of the whole sample would read
+                int drawSize = (int) Math.min((long) missing + Math.max(offset, 0),
+                        (long) Math.ceil(missing / newRowShare));
+                RowReservoir reservoir = new RowReservoir(drawSize);
+                sampleRandomRows(connection(), tableName, projection, drawSize, reservoir);
+                List<ColumnVector> vectors = reservoir.toColumns();
+                if (vectors.isEmpty()) {
+                    break;
+                }
+                List<Object> keys = keyColumn != null ? vectors.getLast().asList() : null;
+
+                int mostAdded = 0;
+                for (int i = 0; i < columnNames.size(); i++) {
+                    String columnName = columnNames.get(i);
+                    List<Object> drawnValues = vectors.get(i).asList();
+                    List<Object> values = result.get(columnName);
+                    Map<Object, Integer> returned = returnedRows.computeIfAbsent(columnName, name -> new HashMap<>());
+                    Map<Object, Integer> drawn = new HashMap<>();
+                    int added = 0;
+                    for (int row = 0; row < drawnValues.size() && values.size() < limit; row++) {
+                        Object identity = keys != null ? keys.get(row) : drawnValues.get(row);
+                        // A row is new if this draw holds more rows with its identity than were returned
+                        if (drawn.merge(identity, 1, Integer::sum) > returned.getOrDefault(identity, 0)) {
+                            returned.merge(identity, 1, Integer::sum);
+                            values.add(drawnValues.get(row));
+                            added++;
+                        }
+                    }
+                    mostAdded = Math.max(mostAdded, added);
+                }
+                if (mostAdded == 0) {
+                    break;
+                }
+                newRowShare = (double) mostAdded / reservoir.size();
+            }
+            logger.debug("Random sample of {} returned {} new rows after {} rows", tableName,
+                    result.values().stream().mapToInt(List::size).max().orElse(0), offset);
+            return result;
+        }
+
+        /**
+         * Gets the single-column primary key of the table, looking it up on first use.
+         */
+        private String rowKey() throws SQLException {
+            if (!rowKeyResolved) {
+                rowKey = findRowKey(connection(), tableName);
+                rowKeyResolved = true;
+            }
+            return rowKey;
+        }
+
+        /**
+         * Streams a projection query into one typed column vector per column.
+         */
+        private List<ColumnVector> readProjection(List<String> columnNames, int limit) throws SQLException {
+            PreparedStatement stmt = statement(buildSampleColumnsSql(tableName, columnNames), limit,
+                    conn -> prepareSampleColumnsStatement(conn, tableName, columnNames, limit));
+            return readProjection(stmt, columnNames.size(), limit);
+        }
+
+        /**
+         * Streams the result of a prepared projection query into typed column vectors.
+         */
+        private List<ColumnVector> readProjection(PreparedStatement stmt, int columnCount, int limit)
+                throws SQLException {
+            try (ResultSet rs = stmt.executeQuery()) {
+                ResultSetMetaData metaData = rs.getMetaData();
+                ColumnVector[] vectors = new ColumnVector[columnCount];
+                for (int i = 0; i < columnCount; i++) {
+                    vectors[i] = ColumnVector.forColumnClass(metaData.getColumnClassName(i + 1), limit);
+                }
+
+                while (rs.next()) {
+                    for (int i = 0; i < columnCount; i++) {
+                        vectors[i].append(rs, i + 1);
+                    }
+                }
+                return Arrays.asList(vectors);
+            }
+        }
+
+        /**
+         * Gets the prepared statement of a query, preparing it on first use.
+         * The row limit is always the first parameter.
+         */
+        private PreparedStatement statement(String sql, int limit, StatementFactory factory) throws SQLException {
+            PreparedStatement stmt = statements.get(sql);
+            if (stmt != null) {
+                stmt.setInt(1, limit);
+                return stmt;
+            }
+            return statement(sql, factory);
+        }
+
+        /**
+         * Gets the prepared statement of a query, preparing it on first use.
+         * The caller binds the parameters of a reused statement.
+         */
+        private PreparedStatement statement(String sql, StatementFactory factory) throws SQLException {
+            PreparedStatement stmt = statements.get(sql);
+            if (stmt == null) {
+                stmt = factory.prepare(connection());
+                statements.put(sql, stmt);
+            }
+            return stmt;
+        }
+
+        /**
+         * Gets the session connection, checking it out on first use.
+         */
+        private Connection connection() throws SQLException {
+            if (closed) {
+                throw new SQLException("Sampling session on " + tableName + " is closed");
+            }
+            if (connection == null) {
+                DataSource ds = jdbcTemplate.getDataSource();
+                if (ds == null) {
+                    throw DatabaseOperationException.samplingError("DataSource is null, cannot sample table: "
+                            + tableName, null);
+                }
+                connection = ds.getConnection();
+            }
+            return connection;
+        }
+
+        /**
+         * Closes the statements and returns the connection to the pool.
+         */
+        private void release() {
+            statements.values().forEach(this::closeQuietly);
+            statements.clear();
+            if (connection != null) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    logger.warn("Error releasing sampling connection of {}", tableName, e);
+                }
+                connection = null;
+            }
+        }
+
+        private void closeQuietly(PreparedStatement stmt) {
+            try {
+                stmt.close();
+            } catch (SQLException e) {
+                logger.warn("Error closing sampling statement of {}", tableName, e);
+            }
+        }
+
+        @Override
+        public void close() {
+            lock.lock();
+            try {
+                closed = true;
+                release();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import com.cgi.privsense.dbscanner.model.RelationshipMetadata;
 import com.cgi.privsense.dbscanner.model.TableMetadata;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Interface for database scanners.
@@ -20,6 +21,14 @@ public interface DatabaseScanner {
      */
     List<TableMetadata> scanTables();
 
+    /**
+     * Scans all tables of the schema together with their columns.
+     * Uses set-based queries instead of one column query per table.
+     *
+     * @return List of table metadata with columns populated
+     */
+    List<TableMetadata> scanSchema();
+
     /**
      * Scans a specific table.
      *
@@ -55,6 +64,54 @@ public interface DatabaseScanner {
      */
     List<Object> sampleColumnData(String tableName, String columnName, int limit);
 
+    /**
+     * Samples data from several columns with a single projection query.
+     *
+     * @param tableName Table name
+     * @param columnNames Column names to project
+     * @param limit Maximum number of rows
+     * @return Map of column name to sampled values, in projection order
+     */
+    Map<String, List<Object>> sampleColumnsData(String tableName, List<String> columnNames, int limit);
+
+    /**
+     * Estimates the number of rows in a table from database statistics.
+     *
+     * @param tableName Table name
+     * @return Estimated row count, or -1 if unknown
+     */
+    long estimateRowCount(String tableName);
+
+    /**
+     * Samples random rows spread over the whole table.
+     * Intended for large tables where the first physical rows are not representative.
+     *
+     * @param tableName Table name
+     * @param limit Maximum number of rows
+     * @return Data sample
+     */
+    DataSample sampleTableDataRandom(String tableName, int limit);
+
+    /**
+     * Samples random rows of a projection of several columns.
+     *
+     * @param tableName Table name
+     * @param columnNames Column names to project
+     * @param limit Maximum number of rows
+     * @return Map of column name to sampled values, in projection order
+     */
+    Map<String, List<Object>> sampleColumnsDataRandom(String tableName, List<String> columnNames, int limit);
+
+    /**
+     * Opens a sampling session running all sampling queries of a table on
+     * one connection.
+     *
+     * @param tableName Table name
+     * @param random Whether to sample random rows instead of the first rows
+     * @return Sampling session, to be closed by the caller
+     */
+    TableSamplingSession openSamplingSession(String tableName, boolean random);
+
     /**
      * Gets the detailed relationships of a table.
      *
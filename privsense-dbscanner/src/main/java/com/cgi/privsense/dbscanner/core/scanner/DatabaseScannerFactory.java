@@ -1,6 +1,8 @@
 package com.cgi.privsense.dbscanner.core.scanner;
 
 import com.cgi.privsense.common.constants.DatabaseConstants;
+import com.cgi.privsense.dbscanner.core.datasource.ConnectionHandle;
+import com.cgi.privsense.dbscanner.core.datasource.DataSourceProvider;
 import com.cgi.privsense.dbscanner.exception.DatabaseOperationException;
 
 import org.slf4j.Logger;
@@ -9,32 +11,67 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Component;
 
 import javax.sql.DataSource;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
  * Simplified factory for creating database scanners with improved error
  * handling.
+ * Scanners are stateless once built, so one scanner is kept per connection
+ * handle and database type and shared by all threads. Each scanner queries
+ * the connection pool of its handle directly. Constructors are resolved
+ * once to method handles, and the scanners of a connection are evicted when
+ * its data source is removed.
  */
 @Component
 public class DatabaseScannerFactory {
     private static final Logger logger = LoggerFactory.getLogger(DatabaseScannerFactory.class);
 
+    /**
+     * Scanner constructor type: takes the data source, returns the scanner.
+     */
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(DatabaseScanner.class, DataSource.class);
+
     /**
      * Map of database types to scanner classes.
      */
     private final Map<String, Class<? extends DatabaseScanner>> scannerTypes;
 
+    /**
+     * Map of database types to scanner constructors.
+     */
+    private final Map<String, MethodHandle> scannerConstructors;
+
+    /**
+     * Scanners by connection and database type.
+     */
+    private final Map<ScannerKey, DatabaseScanner> scanners = new ConcurrentHashMap<>();
+
+    /**
+     * Key of a scanner in the registry.
+     *
+     * @param handle Connection handle, compared by identity
+     * @param dbType Normalized database type
+     */
+    private record ScannerKey(ConnectionHandle handle, String dbType) {
+    }
+
     /**
      * Constructor.
      * Finds all scanners with the @DatabaseType annotation.
      *
      * @param applicationContext Spring application context
+     * @param dataSourceProvider Provider notifying data source removals
      */
-    public DatabaseScannerFactory(ApplicationContext applicationContext) {
+    public DatabaseScannerFactory(ApplicationContext applicationContext, DataSourceProvider dataSourceProvider) {
         Map<String, DatabaseScanner> scannerBeans = applicationContext.getBeansOfType(DatabaseScanner.class);
 
         this.scannerTypes = scannerBeans.values().stream()
@@ -46,20 +83,66 @@ public class DatabaseScannerFactory {
                                 .toLowerCase(),
                         DatabaseScanner::getClass));
 
+        Map<String, MethodHandle> constructors = new HashMap<>();
+        scannerTypes.forEach((type, scannerClass) -> constructors.put(type, resolveConstructor(scannerClass)));
+        this.scannerConstructors = Map.copyOf(constructors);
+
+        dataSourceProvider.addRemovalListener(this::evictScanners);
+
         logger.info("Registered database scanners: {}", scannerTypes.keySet());
     }
 
     /**
-     * Gets a scanner for the specified database type.
+     * Resolves the data source constructor of a scanner class.
+     *
+     * @param scannerClass Scanner class
+     * @return Constructor handle of type (DataSource)DatabaseScanner
+     */
+    private static MethodHandle resolveConstructor(Class<? extends DatabaseScanner> scannerClass) {
+        try {
+            return MethodHandles.publicLookup()
+                    .findConstructor(scannerClass, MethodType.methodType(void.class, DataSource.class))
+                    .asType(CONSTRUCTOR_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw DatabaseOperationException.scannerError(
+                    "Scanner " + scannerClass.getName() + " has no public DataSource constructor", e);
+        }
+    }
+
+    /**
+     * Gets the scanner of a connection, creating it on first use.
      * Improved error handling and fallback to default scanner if specified type not
      * found.
      *
-     * @param dbType     Database type
-     * @param dataSource Data source
-     * @return Database scanner
-     * @throws DatabaseScannerException if unable to create the database scanner
+     * @param handle Connection handle
+     * @param dbType Database type
+     * @return Database scanner bound to the connection pool of the handle
+     * @throws DatabaseOperationException if unable to create the database scanner
+     */
+    public DatabaseScanner getScanner(ConnectionHandle handle, String dbType) throws DatabaseOperationException {
+        String scannerType = resolveScannerType(dbType);
+        return scanners.computeIfAbsent(new ScannerKey(handle, scannerType),
+                key -> createScanner(scannerType, dbType, handle.getDataSource()));
+    }
+
+    /**
+     * Removes the scanners of a connection.
+     *
+     * @param connectionId Connection ID
+     */
+    public void evictScanners(String connectionId) {
+        if (scanners.keySet().removeIf(key -> key.handle().getConnectionId().equals(connectionId))) {
+            logger.debug("Evicted scanners of connection: {}", connectionId);
+        }
+    }
+
+    /**
+     * Finds the registered scanner type for a database type.
+     *
+     * @param dbType Database type
+     * @return Registered scanner type
      */
-    public DatabaseScanner getScanner(String dbType, DataSource dataSource) throws DatabaseOperationException {
+    private String resolveScannerType(String dbType) {
         if (dbType == null || dbType.isEmpty()) {
             logger.warn("No database type specified, defaulting to MySQL");
             dbType = DatabaseConstants.DB_TYPE_MYSQL;
@@ -68,42 +151,48 @@ public class DatabaseScannerFactory {
         String normalizedDbType = dbType.toLowerCase();
 
         // First look for exact match
-        Class<? extends DatabaseScanner> scannerClass = scannerTypes.get(normalizedDbType);
+        if (scannerTypes.containsKey(normalizedDbType)) {
+            return normalizedDbType;
+        }
 
         // If not found, try to find a partial match
-        if (scannerClass == null) {
-            Optional<String> matchingType = scannerTypes.keySet().stream()
-                    .filter(type -> normalizedDbType.contains(type) || type.contains(normalizedDbType))
-                    .findFirst();
-
-            if (matchingType.isPresent()) {
-                String matchedType = matchingType.get();
-                logger.info("No exact match for '{}', using closest match: '{}'", dbType, matchedType);
-                scannerClass = scannerTypes.get(matchedType);
-            }
+        Optional<String> matchingType = scannerTypes.keySet().stream()
+                .filter(type -> normalizedDbType.contains(type) || type.contains(normalizedDbType))
+                .findFirst();
+
+        if (matchingType.isPresent()) {
+            String matchedType = matchingType.get();
+            logger.info("No exact match for '{}', using closest match: '{}'", dbType, matchedType);
+            return matchedType;
         }
 
         // If still not found, and MySQL is available, use that as default
-        if (scannerClass == null && scannerTypes.containsKey(DatabaseConstants.DB_TYPE_MYSQL)) {
+        if (scannerTypes.containsKey(DatabaseConstants.DB_TYPE_MYSQL)) {
             logger.warn("Unsupported database type: {}, defaulting to MySQL", dbType);
-            scannerClass = scannerTypes.get(DatabaseConstants.DB_TYPE_MYSQL);
+            return DatabaseConstants.DB_TYPE_MYSQL;
         }
 
         // If nothing is available, throw a helpful exception
-        if (scannerClass == null) {
-            throw new IllegalArgumentException(
-                    "Unsupported database type: " + dbType +
-                            ". Supported types: " + String.join(", ", scannerTypes.keySet()));
-        }
+        throw new IllegalArgumentException(
+                "Unsupported database type: " + dbType +
+                        ". Supported types: " + String.join(", ", scannerTypes.keySet()));
+    }
 
-        // Create a new instance of the scanner with the data source
+    /**
+     * Creates a scanner through its constructor handle.
+     *
+     * @param scannerType Registered scanner type
+     * @param dbType      Requested database type, for error messages
+     * @param dataSource  Data source
+     * @return New scanner
+     */
+    private DatabaseScanner createScanner(String scannerType, String dbType, DataSource dataSource) {
         try {
-            logger.debug("Creating scanner of type {} for database type: {}", scannerClass.getSimpleName(), dbType);
-            return scannerClass.getConstructor(DataSource.class)
-                    .newInstance(dataSource);
-        } catch (Exception e) {
-
-            throw DatabaseOperationException.scannerError("Failed to create scanner for type: " + dbType,e);
+            logger.debug("Creating scanner of type {} for database type: {}",
+                    scannerTypes.get(scannerType).getSimpleName(), dbType);
+            return (DatabaseScanner) scannerConstructors.get(scannerType).invokeExact(dataSource);
+        } catch (Throwable e) {
+            throw DatabaseOperationException.scannerError("Failed to create scanner for type: " + dbType, e);
         }
     }
 
@@ -115,4 +204,4 @@ public class DatabaseScannerFactory {
     public List<String> getSupportedDatabaseTypes() {
         return Collections.unmodifiableList(scannerTypes.keySet().stream().sorted().toList());
     }
-}
\ No newline at end of file
+}
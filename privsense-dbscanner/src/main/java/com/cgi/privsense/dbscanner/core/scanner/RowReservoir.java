@@ -0,0 +1,175 @@
+package com.cgi.privsense.dbscanner.core.scanner;
+
+import com.cgi.privsense.dbscanner.model.ColumnVector;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Bounded uniform reservoir over streamed result set rows (Algorithm R).
+ * Keeps at most {@code capacity} rows in memory no matter how many rows are
+ * streamed through it. Whether a row is kept is decided before its values are
+ * read, so rejected rows cost no value conversion.
+ * <p>
+ * Kept rows are appended to typed column vectors and each reservoir slot
+ * points to its row; rows replaced in the reservoir are dropped when the
+ * vectors are compacted, which happens once they hold twice the capacity.
+ * <p>
+ * Not thread-safe: a reservoir is filled by a single sampling query.
+ */
+public final class RowReservoir {
+    private final int capacity;
+
+    /**
+     * Vector row held by each reservoir slot.
+     */
+    private final int[] slots;
+
+    private List<String> columnNames;
+    private String[] columnClassNames;
+    private ColumnVector[] vectors;
+
+    /**
+     * Number of rows appended to the vectors, kept or since replaced.
+     */
+    private int stored;
+    private long seen;
+
+    /**
+     * Creates an empty reservoir.
+     *
+     * @param capacity Maximum number of rows to keep
+     */
+    public RowReservoir(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Reservoir capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.slots = new int[capacity];
+    }
+
+    /**
+     * Streams all remaining rows of a result set through the reservoir.
+     *
+     * @param rs Result set to consume
+     * @throws SQLException On SQL error
+     */
+    public void consume(ResultSet rs) throws SQLException {
+        if (columnNames == null) {
+            ResultSetMetaData metaData = rs.getMetaData();
+            int columnCount = metaData.getColumnCount();
+            List<String> names = new ArrayList<>(columnCount);
+            columnClassNames = new String[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                names.add(metaData.getColumnName(i + 1));
+                columnClassNames[i] = metaData.getColumnClassName(i + 1);
+            }
+            columnNames = List.copyOf(names);
+            vectors = newVectors();
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (rs.next()) {
+            long n = seen++;
+            int slot;
+            if (n < capacity) {
+                slot = (int) n;
+            } else {
+                long candidate = random.nextLong(n + 1);
+                if (candidate >= capacity) {
+                    continue;
+                }
+                slot = (int) candidate;
+            }
+
+            if (stored == 2 * capacity) {
+                compact();
+            }
+            for (int i = 0; i < vectors.length; i++) {
+                vectors[i].append(rs, i + 1);
+            }
+            slots[slot] = stored++;
+        }
+    }
+
+    /**
+     * Gets the number of rows streamed through the reservoir.
+     *
+     * @return Number of rows seen
+     */
+    public long getSeen() {
+        return seen;
+    }
+
+    /**
+     * Gets the number of rows kept in the reservoir.
+     *
+     * @return Number of rows kept
+     */
+    public int size() {
+        return (int) Math.min(seen, capacity);
+    }
+
+    /**
+     * Gets the column names of the consumed result sets.
+     *
+     * @return Column names, or an empty list if nothing was consumed
+     */
+    public List<String> getColumnNames() {
+        return columnNames != null ? columnNames : List.of();
+    }
+
+    /**
+     * Gets the kept rows as column vectors.
+     *
+     * @return One vector per column, in column order
+     */
+    public List<ColumnVector> toColumns() {
+        if (vectors == null) {
+            return List.of();
+        }
+        compact();
+        return Arrays.asList(vectors.clone());
+    }
+
+    /**
+     * Rewrites the vectors so that they hold the kept rows only, in slot order.
+     */
+    private void compact() {
+        int rowCount = size();
+        if (stored == rowCount) {
+            boolean ordered = true;
+            for (int slot = 0; slot < rowCount && ordered; slot++) {
+                ordered = slots[slot] == slot;
+            }
+            if (ordered) {
+                return;
+            }
+        }
+
+        ColumnVector[] compacted = newVectors();
+        for (int i = 0; i < vectors.length; i++) {
+            for (int slot = 0; slot < rowCount; slot++) {
+                compacted[i].appendFrom(vectors[i], slots[slot]);
+            }
+        }
+        for (int slot = 0; slot < rowCount; slot++) {
+            slots[slot] = slot;
+        }
+        vectors = compacted;
+        stored = rowCount;
+    }
+
+    private ColumnVector[] newVectors() {
+        ColumnVector[] created = new ColumnVector[columnClassNames.length];
+        for (int i = 0; i < created.length; i++) {
+            created[i] = ColumnVector.forColumnClass(columnClassNames[i], capacity);
+        }
+        return created;
+    }
+}
@@ -0,0 +1,80 @@
+package com.cgi.privsense.dbscanner.core.scanner;
+
+import com.cgi.privsense.dbscanner.model.DataSample;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sampling session on one table.
+ * All sampling queries of the session run on a single pooled connection,
+ * checked out on the first query and released by {@link #close()}, and each
+ * distinct query is prepared once and reused with a new row limit. The
+ * sampling mode (first rows or random rows) is chosen when the session is
+ * opened. Implementations are thread-safe: concurrent calls are serialized
+ * on the session connection.
+ */
+public interface TableSamplingSession extends AutoCloseable {
+    /**
+     * Gets the sampled table.
+     *
+     * @return Table name
+     */
+    String getTableName();
+
+    /**
+     * Checks if the session samples random rows instead of the first rows.
+     *
+     * @return true if rows are sampled randomly
+     */
+    boolean isRandom();
+
+    /**
+     * Samples all columns of the table.
+     *
+     * @param limit Maximum number of rows
+     * @return Data sample
+     */
+    DataSample sampleTable(int limit);
+
+    /**
+     * Samples one column.
+     *
+     * @param columnName Column name
+     * @param limit Maximum number of values
+     * @return List of sampled values
+     */
+    List<Object> sampleColumn(String columnName, int limit);
+
+    /**
+     * Samples several columns with a single projection query.
+     *
+     * @param columnNames Column names to project
+     * @param limit Maximum number of rows
+     * @return Map of column name to sampled values, in projection order
+     */
+    Map<String, List<Object>> sampleColumns(List<String> columnNames, int limit);
+
+    /**
+     * Samples several columns after skipping the first rows, so that a sample
+     * can be extended without fetching its rows again. First rows are paged in
+     * primary key order, continuing after the last key read when possible;
+     * tables without a single-column primary key are paged by offset and have
+     * no guaranteed row order. A random session draws new random rows and
+     * returns, per column, only rows it has not returned for that column since
+     * the last sample started at offset 0, so the result may hold fewer rows
+     * when the table has few rows left.
+     *
+     * @param columnNames Column names to project
+     * @param offset Number of rows already sampled
+     * @param limit Maximum number of additional rows
+     * @return Map of column name to sampled values, in projection order
+     */
+    Map<String, List<Object>> sampleColumns(List<String> columnNames, int offset, int limit);
+
+    /**
+     * Closes the prepared statements and releases the connection.
+     */
+    @Override
+    void close();
+}
@@ -28,6 +28,16 @@ public class ColumnMetadata extends BaseMetaData {
      */
     private Long maxLength;
 
+    /**
+     * Precision of numeric data types (total number of digits).
+     */
+    private Integer numericPrecision;
+
+    /**
+     * Scale of numeric data types (digits after the decimal point).
+     */
+    private Integer numericScale;
+
     /**
      * Indicates whether the column can contain NULL values.
      */
@@ -79,6 +89,8 @@ public class ColumnMetadata extends BaseMetaData {
 
         if (maxLength != null && maxLength > 0) {
             sb.append("(").append(maxLength).append(")");
+        } else if (numericPrecision != null && numericScale != null && numericScale > 0) {
+            sb.append("(").append(numericPrecision).append(",").append(numericScale).append(")");
         }
 
         if (primaryKey) {
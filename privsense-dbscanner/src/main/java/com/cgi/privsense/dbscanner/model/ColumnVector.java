@@ -0,0 +1,567 @@
+package com.cgi.privsense.dbscanner.model;
+
+import org.springframework.jdbc.support.JdbcUtils;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Column-oriented storage for the sampled values of a single column.
+ * Numeric and temporal values are kept in primitive arrays, text in a shared
+ * character buffer with offsets, so a sample does not hold one boxed object
+ * and one map entry per cell.
+ * <p>
+ * Vectors are filled once while reading a result set and are read-only afterwards.
+ */
+public abstract class ColumnVector implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Null flags, one bit per row.
+     */
+    protected final BitSet nulls = new BitSet();
+
+    /**
+     * Number of values in the vector.
+     */
+    protected int size;
+
+    /**
+     * Creates a vector suited to the Java class reported by the JDBC driver
+     * for a column (ResultSetMetaData.getColumnClassName).
+     *
+     * @param columnClassName Java class name of the column values
+     * @param capacity        Expected number of rows
+     * @return Empty column vector
+     */
+    public static ColumnVector forColumnClass(String columnClassName, int capacity) {
+        // Vectors grow on demand, so a large limit does not pre-allocate for rows that never come
+        int initialCapacity = Math.clamp(capacity, 16, 1024);
+        if (columnClassName == null) {
+            return new ObjectVector(initialCapacity);
+        }
+        return switch (columnClassName) {
+            case "java.lang.Long" -> new LongVector(LongVector.Kind.LONG, initialCapacity);
+            case "java.lang.Integer" -> new LongVector(LongVector.Kind.INTEGER, initialCapacity);
+            case "java.lang.Short" -> new LongVector(LongVector.Kind.SHORT, initialCapacity);
+            case "java.lang.Byte" -> new LongVector(LongVector.Kind.BYTE, initialCapacity);
+            case "java.lang.Double" -> new DoubleVector(false, initialCapacity);
+            case "java.lang.Float" -> new DoubleVector(true, initialCapacity);
+            case "java.lang.Boolean" -> new BooleanVector();
+            case "java.lang.String" -> new StringVector(initialCapacity);
+            case "java.sql.Timestamp", "java.sql.Date", "java.sql.Time",
+                    "java.time.LocalDateTime", "java.time.LocalDate", "java.time.LocalTime" ->
+                    new TemporalVector(initialCapacity);
+            default -> new ObjectVector(initialCapacity);
+        };
+    }
+
+    /**
+     * Appends the value of a result set column for the current row.
+     *
+     * @param rs          Result set positioned on a row
+     * @param columnIndex 1-based column index
+     * @throws SQLException On SQL error
+     */
+    public abstract void append(ResultSet rs, int columnIndex) throws SQLException;
+
+    /**
+     * Appends a value of another vector of the same storage type, without boxing.
+     * Both vectors must have been created for the same column class.
+     *
+     * @param source Vector to copy from
+     * @param index  Row index in the source vector
+     */
+    public abstract void appendFrom(ColumnVector source, int index);
+
+    /**
+     * Gets the boxed value at an index.
+     *
+     * @param index Row index
+     * @return Value, or null
+     */
+    public abstract Object get(int index);
+
+    /**
+     * Gets the number of values in the vector.
+     *
+     * @return Number of values
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the value at an index is null.
+     *
+     * @param index Row index
+     * @return true if the value is null
+     */
+    public boolean isNull(int index) {
+        return nulls.get(index);
+    }
+
+    /**
+     * Gets a read-only list view of the first values of the vector.
+     * The view does not copy the underlying arrays.
+     *
+     * @param length Number of values to expose
+     * @return List view
+     */
+    public List<Object> asList(int length) {
+        return new VectorList(this, Math.min(length, size));
+    }
+
+    /**
+     * Gets a read-only list view of all values of the vector.
+     *
+     * @return List view
+     */
+    public List<Object> asList() {
+        return asList(size);
+    }
+
+    /**
+     * Read-only list view over a column vector.
+     */
+    private static final class VectorList extends AbstractList<Object> implements RandomAccess, Serializable {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final ColumnVector vector;
+        private final int length;
+
+        VectorList(ColumnVector vector, int length) {
+            this.vector = vector;
+            this.length = length;
+        }
+
+        @Override
+        public Object get(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + length);
+            }
+            return vector.get(index);
+        }
+
+        @Override
+        public int size() {
+            return length;
+        }
+    }
+
+    /**
+     * Integral values stored as longs and re-boxed to the driver's type.
+     */
+    static final class LongVector extends ColumnVector {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        enum Kind { LONG, INTEGER, SHORT, BYTE }
+
+        private final Kind kind;
+        private long[] values;
+
+        LongVector(Kind kind, int capacity) {
+            this.kind = kind;
+            this.values = new long[capacity];
+        }
+
+        @Override
+        public void append(ResultSet rs, int columnIndex) throws SQLException {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            long value = rs.getLong(columnIndex);
+            if (rs.wasNull()) {
+                nulls.set(size);
+            } else {
+                values[size] = value;
+            }
+            size++;
+        }
+
+        @Override
+        public void appendFrom(ColumnVector source, int index) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            if (source.nulls.get(index)) {
+                nulls.set(size);
+            } else {
+                values[size] = ((LongVector) source).values[index];
+            }
+            size++;
+        }
+
+        @Override
+        public Object get(int index) {
+            if (nulls.get(index)) {
+                return null;
+            }
+            long value = values[index];
+            // Box to the driver's type; a switch expression would promote every arm to long
+            switch (kind) {
+                case INTEGER:
+                    return (int) value;
+                case SHORT:
+                    return (short) value;
+                case BYTE:
+                    return (byte) value;
+                default:
+                    return value;
+            }
+        }
+    }
+
+    /**
+     * Floating point values stored as doubles.
+     */
+    static final class DoubleVector extends ColumnVector {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final boolean singlePrecision;
+        private double[] values;
+
+        DoubleVector(boolean singlePrecision, int capacity) {
+            this.singlePrecision = singlePrecision;
+            this.values = new double[capacity];
+        }
+
+        @Override
+        public void append(ResultSet rs, int columnIndex) throws SQLException {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            double value = rs.getDouble(columnIndex);
+            if (rs.wasNull()) {
+                nulls.set(size);
+            } else {
+                values[size] = value;
+            }
+            size++;
+        }
+
+        @Override
+        public void appendFrom(ColumnVector source, int index) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            if (source.nulls.get(index)) {
+                nulls.set(size);
+            } else {
+                values[size] = ((DoubleVector) source).values[index];
+            }
+            size++;
+        }
+
+        @Override
+        public Object get(int index) {
+            if (nulls.get(index)) {
+                return null;
+            }
+            if (singlePrecision) {
+                return (float) values[index];
+            }
+            return values[index];
+        }
+    }
+
+    /**
+     * Boolean values stored as bits.
+     */
+    static final class BooleanVector extends ColumnVector {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final BitSet values = new BitSet();
+
+        @Override
+        public void append(ResultSet rs, int columnIndex) throws SQLException {
+            boolean value = rs.getBoolean(columnIndex);
+            if (rs.wasNull()) {
+                nulls.set(size);
+            } else if (value) {
+                values.set(size);
+            }
+            size++;
+        }
+
+        @Override
+        public void appendFrom(ColumnVector source, int index) {
+            if (source.nulls.get(index)) {
+                nulls.set(size);
+            } else if (((BooleanVector) source).values.get(index)) {
+                values.set(size);
+            }
+            size++;
+        }
+
+        @Override
+        public Object get(int index) {
+            return nulls.get(index) ? null : values.get(index);
+        }
+    }
+
+    /**
+     * Date and time values stored as epoch seconds and nanoseconds.
+     * The original value type is kept per row so values re-box to what the
+     * driver returned.
+     */
+    static final class TemporalVector extends ColumnVector {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private static final byte TIMESTAMP = 0;
+        private static final byte DATE = 1;
+        private static final byte TIME = 2;
+        private static final byte LOCAL_DATE_TIME = 3;
+        private static final byte LOCAL_DATE = 4;
+        private static final byte LOCAL_TIME = 5;
+        private static final byte OTHER = 6;
+
+        /**
+         * Epoch seconds, epoch milliseconds, epoch day or nano of day depending on the kind.
+         */
+        private long[] seconds;
+        private int[] nanos;
+        private byte[] kinds;
+        private Object[] others;
+
+        TemporalVector(int capacity) {
+            this.seconds = new long[capacity];
+            this.nanos = new int[capacity];
+            this.kinds = new byte[capacity];
+        }
+
+        @Override
+        public void append(ResultSet rs, int columnIndex) throws SQLException {
+            if (size == seconds.length) {
+                int newCapacity = size * 2;
+                seconds = Arrays.copyOf(seconds, newCapacity);
+                nanos = Arrays.copyOf(nanos, newCapacity);
+                kinds = Arrays.copyOf(kinds, newCapacity);
+                if (others != null) {
+                    others = Arrays.copyOf(others, newCapacity);
+                }
+            }
+
+            Object value = rs.getObject(columnIndex);
+            switch (value) {
+                case null -> nulls.set(size);
+                case Timestamp ts -> store(ts.toInstant(), TIMESTAMP);
+                case Date date -> store(date.getTime(), DATE);
+                case Time time -> store(time.getTime(), TIME);
+                case LocalDateTime ldt -> {
+                    seconds[size] = ldt.toEpochSecond(ZoneOffset.UTC);
+                    nanos[size] = ldt.getNano();
+                    kinds[size] = LOCAL_DATE_TIME;
+                }
+                case LocalDate ld -> {
+                    seconds[size] = ld.toEpochDay();
+                    kinds[size] = LOCAL_DATE;
+                }
+                case LocalTime lt -> {
+                    seconds[size] = lt.toNanoOfDay();
+                    kinds[size] = LOCAL_TIME;
+                }
+                default -> {
+                    if (others == null) {
+                        others = new Object[seconds.length];
+                    }
+                    others[size] = value;
+                    kinds[size] = OTHER;
+                }
+            }
+            size++;
+        }
+
+        @Override
+        public void appendFrom(ColumnVector source, int index) {
+            if (size == seconds.length) {
+                int newCapacity = size * 2;
+                seconds = Arrays.copyOf(seconds, newCapacity);
+                nanos = Arrays.copyOf(nanos, newCapacity);
+                kinds = Arrays.copyOf(kinds, newCapacity);
+                if (others != null) {
+                    others = Arrays.copyOf(others, newCapacity);
+                }
+            }
+
+            TemporalVector temporal = (TemporalVector) source;
+            if (temporal.nulls.get(index)) {
+                nulls.set(size);
+            } else {
+                seconds[size] = temporal.seconds[index];
+                nanos[size] = temporal.nanos[index];
+                kinds[size] = temporal.kinds[index];
+                if (kinds[size] == OTHER) {
+                    if (others == null) {
+                        others = new Object[seconds.length];
+                    }
+                    others[size] = temporal.others[index];
+                }
+            }
+            size++;
+        }
+
+        private void store(Instant instant, byte kind) {
+            seconds[size] = instant.getEpochSecond();
+            nanos[size] = instant.getNano();
+            kinds[size] = kind;
+        }
+
+        private void store(long epochMillis, byte kind) {
+            seconds[size] = epochMillis;
+            kinds[size] = kind;
+        }
+
+        @Override
+        public Object get(int index) {
+            if (nulls.get(index)) {
+                return null;
+            }
+            return switch (kinds[index]) {
+                case TIMESTAMP -> Timestamp.from(Instant.ofEpochSecond(seconds[index], nanos[index]));
+                case DATE -> new Date(seconds[index]);
+                case TIME -> new Time(seconds[index]);
+                case LOCAL_DATE_TIME -> LocalDateTime.ofEpochSecond(seconds[index], nanos[index], ZoneOffset.UTC);
+                case LOCAL_DATE -> LocalDate.ofEpochDay(seconds[index]);
+                case LOCAL_TIME -> LocalTime.ofNanoOfDay(seconds[index]);
+                default -> others[index];
+            };
+        }
+    }
+
+    /**
+     * Text values stored in one character buffer with start offsets.
+     */
+    static final class StringVector extends ColumnVector {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private char[] chars;
+        private int[] offsets;
+        private int length;
+
+        StringVector(int capacity) {
+            this.chars = new char[capacity * 8];
+            this.offsets = new int[capacity + 1];
+        }
+
+        @Override
+        public void append(ResultSet rs, int columnIndex) throws SQLException {
+            if (size + 1 == offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+
+            String value = rs.getString(columnIndex);
+            if (value == null) {
+                nulls.set(size);
+            } else {
+                int valueLength = value.length();
+                if (length + valueLength > chars.length) {
+                    chars = Arrays.copyOf(chars, Math.max(chars.length * 2, length + valueLength));
+                }
+                value.getChars(0, valueLength, chars, length);
+                length += valueLength;
+            }
+            size++;
+            offsets[size] = length;
+        }
+
+        @Override
+        public void appendFrom(ColumnVector source, int index) {
+            if (size + 1 == offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+
+            StringVector strings = (StringVector) source;
+            if (strings.nulls.get(index)) {
+                nulls.set(size);
+            } else {
+                int start = strings.offsets[index];
+                int valueLength = strings.offsets[index + 1] - start;
+                if (length + valueLength > chars.length) {
+                    chars = Arrays.copyOf(chars, Math.max(chars.length * 2, length + valueLength));
+                }
+                System.arraycopy(strings.chars, start, chars, length, valueLength);
+                length += valueLength;
+            }
+            size++;
+            offsets[size] = length;
+        }
+
+        @Override
+        public Object get(int index) {
+            if (nulls.get(index)) {
+                return null;
+            }
+            int start = offsets[index];
+            return new String(chars, start, offsets[index + 1] - start);
+        }
+    }
+
+    /**
+     * Fallback storage for values without a primitive representation.
+     */
+    static final class ObjectVector extends ColumnVector {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private Object[] values;
+
+        ObjectVector(int capacity) {
+            this.values = new Object[capacity];
+        }
+
+        @Override
+        public void append(ResultSet rs, int columnIndex) throws SQLException {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.max(16, size * 2));
+            }
+            Object value = JdbcUtils.getResultSetValue(rs, columnIndex);
+            if (value == null) {
+                nulls.set(size);
+            } else {
+                values[size] = value;
+            }
+            size++;
+        }
+
+        @Override
+        public void appendFrom(ColumnVector source, int index) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.max(16, size * 2));
+            }
+            if (source.nulls.get(index)) {
+                nulls.set(size);
+            } else {
+                values[size] = ((ObjectVector) source).values[index];
+            }
+            size++;
+        }
+
+        @Override
+        public Object get(int index) {
+            return values[index];
+        }
+    }
+}
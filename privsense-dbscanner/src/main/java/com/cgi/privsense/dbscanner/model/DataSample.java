@@ -1,5 +1,6 @@
 package com.cgi.privsense.dbscanner.model;
 
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.ToString;
@@ -9,10 +10,17 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serial;
 import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
 
 /**
  * Represents a sample of data from a table.
@@ -38,9 +46,16 @@ public class DataSample implements Serializable {
 
     /**
      * List of rows, where each row is a map of column name to value.
+     * For a columnar sample this is a read-only view over the column vectors.
      */
     private final List<Map<String, Object>> rows;
 
+    /**
+     * Column vectors in column order, or null for a row-based sample.
+     */
+    @Getter(AccessLevel.NONE)
+    private final List<ColumnVector> columns;
+
     /**
      * Custom serialization logic to ensure only serializable objects are included.
      */
@@ -101,6 +116,38 @@ public class DataSample implements Serializable {
                 .build();
     }
 
+    /**
+     * Creates a columnar data sample from column vectors.
+     * Rows are exposed through a view over the vectors, so the row-map API
+     * keeps working without materializing a map per row.
+     *
+     * @param tableName   Table name
+     * @param columnNames Column names, in the same order as the vectors
+     * @param columns     Column vectors
+     * @return Data sample
+     */
+    public static DataSample fromColumns(String tableName, List<String> columnNames, List<ColumnVector> columns) {
+        Objects.requireNonNull(tableName, "Table name cannot be null");
+        if (columnNames.size() != columns.size()) {
+            throw new IllegalArgumentException("Column names and vectors must have the same size");
+        }
+
+        int rowCount = columns.isEmpty() ? 0 : columns.getFirst().size();
+        return columnar(tableName, List.copyOf(columnNames), List.copyOf(columns), rowCount, rowCount);
+    }
+
+    private static DataSample columnar(String tableName, List<String> columnNames, List<ColumnVector> columns,
+            int rowCount, int totalRows) {
+        return DataSample.builder()
+                .tableName(tableName)
+                .columnNames(columnNames)
+                .columns(columns)
+                .rows(new ColumnarRowList(columnNames, columns, rowCount))
+                .totalRows(totalRows)
+                .sampleSize(rowCount)
+                .build();
+    }
+
     /**
      * Overloaded method when total rows equals sample size.
      *
@@ -123,6 +170,10 @@ public class DataSample implements Serializable {
             return this; // No need to create a new object
         }
 
+        if (columns != null) {
+            return columnar(tableName, columnNames, columns, maxRows, totalRows);
+        }
+
         List<Map<String, Object>> limitedRows = rows.subList(0, maxRows);
         return DataSample.builder()
                 .tableName(tableName)
@@ -140,10 +191,16 @@ public class DataSample implements Serializable {
      * @return List of values for the column
      */
     public List<Object> getColumnValues(String columnName) {
-        if (!columnNames.contains(columnName)) {
+        int index = columnNames.indexOf(columnName);
+        if (index < 0) {
             return List.of();
         }
 
+        if (columns != null) {
+            // Zero-copy view over the column vector
+            return columns.get(index).asList(sampleSize);
+        }
+
         List<Object> values = new ArrayList<>(rows.size());
         for (Map<String, Object> row : rows) {
             values.add(row.get(columnName));
@@ -168,4 +225,94 @@ public class DataSample implements Serializable {
     public int getColumnCount() {
         return columnNames.size();
     }
-}
\ No newline at end of file
+
+    /**
+     * Read-only row view over column vectors.
+     * Each row is a lightweight map that reads its values from the vectors.
+     */
+    private static final class ColumnarRowList extends AbstractList<Map<String, Object>>
+            implements RandomAccess, Serializable {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final List<String> columnNames;
+        private final List<ColumnVector> columns;
+        private final int rowCount;
+
+        ColumnarRowList(List<String> columnNames, List<ColumnVector> columns, int rowCount) {
+            this.columnNames = columnNames;
+            this.columns = columns;
+            this.rowCount = rowCount;
+        }
+
+        @Override
+        public Map<String, Object> get(int index) {
+            Objects.checkIndex(index, rowCount);
+            return new RowView(index);
+        }
+
+        @Override
+        public int size() {
+            return rowCount;
+        }
+
+        /**
+         * Map view of a single row, keyed by column name in column order.
+         */
+        private final class RowView extends AbstractMap<String, Object> {
+            private final int row;
+
+            RowView(int row) {
+                this.row = row;
+            }
+
+            @Override
+            public Object get(Object key) {
+                int column = columnNames.indexOf(key);
+                return column < 0 ? null : columns.get(column).get(row);
+            }
+
+            @Override
+            public boolean containsKey(Object key) {
+                return columnNames.contains(key);
+            }
+
+            @Override
+            public int size() {
+                return columnNames.size();
+            }
+
+            @Override
+            public Set<Entry<String, Object>> entrySet() {
+                return new AbstractSet<>() {
+                    @Override
+                    public Iterator<Entry<String, Object>> iterator() {
+                        return new Iterator<>() {
+                            private int column;
+
+                            @Override
+                            public boolean hasNext() {
+                                return column < columnNames.size();
+                            }
+
+                            @Override
+                            public Entry<String, Object> next() {
+                                if (!hasNext()) {
+                                    throw new NoSuchElementException();
+                                }
+                                int current = column++;
+                                return new SimpleImmutableEntry<>(columnNames.get(current),
+                                        columns.get(current).get(row));
+                            }
+                        };
+                    }
+
+                    @Override
+                    public int size() {
+                        return columnNames.size();
+                    }
+                };
+            }
+        }
+    }
+}
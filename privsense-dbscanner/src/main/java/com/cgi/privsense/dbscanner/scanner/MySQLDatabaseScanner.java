@@ -3,6 +3,7 @@ package com.cgi.privsense.dbscanner.scanner;
 import com.cgi.privsense.common.util.DatabaseUtils;
 import com.cgi.privsense.dbscanner.core.scanner.AbstractDatabaseScanner;
 import com.cgi.privsense.dbscanner.core.scanner.DatabaseType;
+import com.cgi.privsense.dbscanner.core.scanner.RowReservoir;
 import com.cgi.privsense.dbscanner.exception.DatabaseOperationException;
 import com.cgi.privsense.dbscanner.model.ColumnMetadata;
 import com.cgi.privsense.dbscanner.model.RelationshipMetadata;
@@ -15,6 +16,8 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Scanner implementation for MySQL databases.
@@ -87,6 +90,8 @@ public class MySQLDatabaseScanner extends AbstractDatabaseScanner {
             c.COLUMN_NAME,
             c.DATA_TYPE,
             c.CHARACTER_MAXIMUM_LENGTH,
+            c.NUMERIC_PRECISION,
+            c.NUMERIC_SCALE,
             c.COLUMN_COMMENT,
             c.IS_NULLABLE,
             c.COLUMN_KEY,
@@ -109,6 +114,36 @@ public class MySQLDatabaseScanner extends AbstractDatabaseScanner {
         ORDER BY c.ORDINAL_POSITION
     """;
 
+    // Columns of every table in the schema, with foreign key information
+    private static final String SQL_SCAN_SCHEMA_COLUMNS = """
+        SELECT 
+            c.TABLE_NAME,
+            c.COLUMN_NAME,
+            c.DATA_TYPE,
+            c.CHARACTER_MAXIMUM_LENGTH,
+            c.NUMERIC_PRECISION,
+            c.NUMERIC_SCALE,
+            c.COLUMN_COMMENT,
+            c.IS_NULLABLE,
+            c.COLUMN_KEY,
+            c.COLUMN_DEFAULT,
+            c.ORDINAL_POSITION,
+            CASE 
+                WHEN k.REFERENCED_TABLE_NAME IS NOT NULL THEN true 
+                ELSE false 
+            END as IS_FOREIGN_KEY,
+            k.REFERENCED_TABLE_NAME,
+            k.REFERENCED_COLUMN_NAME
+        FROM information_schema.COLUMNS c
+        LEFT JOIN information_schema.KEY_COLUMN_USAGE k 
+            ON c.TABLE_SCHEMA = k.TABLE_SCHEMA 
+            AND c.TABLE_NAME = k.TABLE_NAME 
+            AND c.COLUMN_NAME = k.COLUMN_NAME 
+            AND k.REFERENCED_TABLE_NAME IS NOT NULL
+        WHERE c.TABLE_SCHEMA = database()
+        ORDER BY c.TABLE_NAME, c.ORDINAL_POSITION
+    """;
+
     // Improved UNION query for both outgoing and incoming relationships
     private static final String SQL_GET_ALL_RELATIONSHIPS = """
         -- Outgoing relationships (FKs from this table to others)
@@ -161,6 +196,37 @@ public class MySQLDatabaseScanner extends AbstractDatabaseScanner {
         AND tc.CONSTRAINT_TYPE = 'FOREIGN KEY'
     """;
 
+    // Row count estimate from InnoDB statistics, no table scan
+    private static final String SQL_ESTIMATE_ROWS = """
+        SELECT TABLE_ROWS
+        FROM information_schema.TABLES
+        WHERE TABLE_SCHEMA = database() AND TABLE_NAME = ?
+    """;
+
+    // Primary key columns, used to find a key for range probing and session paging
+    private static final String SQL_PRIMARY_KEY_COLUMNS = """
+        SELECT COLUMN_NAME, DATA_TYPE
+        FROM information_schema.COLUMNS
+        WHERE TABLE_SCHEMA = database() AND TABLE_NAME = ? AND COLUMN_KEY = 'PRI'
+    """;
+
+    private static final Set<String> INTEGER_KEY_TYPES = Set.of("tinyint", "smallint", "mediumint", "int", "bigint");
+
+    /**
+     * Number of rows read per primary key probe.
+     */
+    private static final int ROWS_PER_PROBE = 8;
+
+    /**
+     * Maximum number of primary key probes per sample.
+     */
+    private static final int MAX_PROBES = 256;
+
+    /**
+     * Rows fetched per requested row, so the reservoir has rows to choose from.
+     */
+    private static final int OVERSAMPLING = 2;
+
     /**
      * Constructor with customized JDBC settings for MySQL.
      *
@@ -231,6 +297,35 @@ public class MySQLDatabaseScanner extends AbstractDatabaseScanner {
         );
     }
 
+    /**
+     * Scans all tables of the schema with their columns.
+     * Two set-based queries: one for the tables, one for the columns and
+     * foreign keys of every table.
+     *
+     * @return List of table metadata with columns populated
+     */
+    @Override
+    public List<TableMetadata> scanSchema() {
+        return executeQuery("scanSchema", jdbc -> {
+            List<TableMetadata> tables = jdbc.query(SQL_SCAN_TABLES, this::mapTableMetadata);
+
+            Map<String, List<ColumnMetadata>> columnsByTable = new HashMap<>(tables.size());
+            metadataJdbcTemplate.query(SQL_SCAN_SCHEMA_COLUMNS, rs -> {
+                String tableName = rs.getString("TABLE_NAME");
+                columnsByTable.computeIfAbsent(tableName, k -> new ArrayList<>())
+                        .add(mapColumnMetadata(rs, tableName));
+            });
+
+            for (TableMetadata table : tables) {
+                table.setColumns(columnsByTable.getOrDefault(table.getName(), new ArrayList<>()));
+            }
+
+            logger.info("Scanned schema: {} tables, {} columns", tables.size(),
+                    columnsByTable.values().stream().mapToInt(List::size).sum());
+            return tables;
+        });
+    }
+
     /**
      * Maps a result set row to column metadata.
      *
@@ -243,7 +338,9 @@ public class MySQLDatabaseScanner extends AbstractDatabaseScanner {
         ColumnMetadata metadata = new ColumnMetadata();
         metadata.setName(rs.getString("COLUMN_NAME"));
         metadata.setType(rs.getString("DATA_TYPE"));
-        metadata.setMaxLength(rs.getLong("CHARACTER_MAXIMUM_LENGTH"));
+        metadata.setMaxLength(rs.getObject("CHARACTER_MAXIMUM_LENGTH", Long.class));
+        metadata.setNumericPrecision(rs.getObject("NUMERIC_PRECISION", Integer.class));
+        metadata.setNumericScale(rs.getObject("NUMERIC_SCALE", Integer.class));
         metadata.setComment(rs.getString("COLUMN_COMMENT"));
         metadata.setNullable("YES".equals(rs.getString("IS_NULLABLE")));
         metadata.setPrimaryKey("PRI".equals(rs.getString("COLUMN_KEY")));
@@ -367,6 +464,55 @@ public class MySQLDatabaseScanner extends AbstractDatabaseScanner {
                 escapeIdentifier(tableName));
     }
 
+    /**
+     * Implements MySQL-specific SQL for sampling a projection of several columns.
+     * Uses MySQL LIMIT syntax.
+     *
+     * @param tableName   Table name
+     * @param columnNames Column names to project
+     * @return SQL string for sampling the projection
+     */
+    @Override
+    protected String buildSampleColumnsSql(String tableName, List<String> columnNames) {
+        return String.format("SELECT %s FROM %s LIMIT ?", buildProjection(columnNames), escapeIdentifier(tableName));
+    }
+
+    /**
+     * Implements MySQL-specific SQL for sampling a projection after skipping rows.
+     * Uses MySQL LIMIT ... OFFSET syntax, ordered by the primary key when there is one.
+     *
+     * @param tableName   Table name
+     * @param columnNames Column names to project
+     * @param keyColumn   Single-column primary key, or null if the table has none
+     * @return SQL string for sampling the projection
+     */
+    @Override
+    protected String buildSampleColumnsRangeSql(String tableName, List<String> columnNames, String keyColumn) {
+        if (keyColumn == null) {
+            return String.format("SELECT %s FROM %s LIMIT ? OFFSET ?",
+                    buildProjection(columnNames), escapeIdentifier(tableName));
+        }
+        String escapedKey = escapeIdentifier(keyColumn);
+        return String.format("SELECT %s, %s FROM %s ORDER BY %s LIMIT ? OFFSET ?",
+                buildProjection(columnNames), escapedKey, escapeIdentifier(tableName), escapedKey);
+    }
+
+    /**
+     * Implements MySQL-specific SQL for sampling a projection after a key value.
+     * Reads an index range on the primary key instead of skipping rows.
+     *
+     * @param tableName   Table name
+     * @param columnNames Column names to project
+     * @param keyColumn   Single-column primary key
+     * @return SQL string for sampling the projection
+     */
+    @Override
+    protected String buildSampleColumnsAfterKeySql(String tableName, List<String> columnNames, String keyColumn) {
+        String escapedKey = escapeIdentifier(keyColumn);
+        return String.format("SELECT %s, %s FROM %s WHERE %s > ? ORDER BY %s LIMIT ?",
+                buildProjection(columnNames), escapedKey, escapeIdentifier(tableName), escapedKey, escapedKey);
+    }
+
     /**
      * Optimized implementation for MySQL-specific prepared statements.
      * Uses MySQL's streaming mode for efficient large result set handling.
@@ -413,4 +559,283 @@ public class MySQLDatabaseScanner extends AbstractDatabaseScanner {
             throw DatabaseOperationException.scannerError("Error preparing sample statement for column: " + columnName, e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Optimized implementation for MySQL-specific projection sampling.
+     * Streams the rows so wide projections are not buffered by the driver.
+     */
+    @Override
+    protected PreparedStatement prepareSampleColumnsStatement(Connection connection, String tableName,
+                                                              List<String> columnNames, int limit)
+            throws SQLException {
+        try {
+            String sql = buildSampleColumnsSql(tableName, columnNames);
+            PreparedStatement stmt = connection.prepareStatement(
+                    sql,
+                    ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY
+            );
+            // Set to streaming mode for MySQL
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            stmt.setInt(1, limit);
+            return stmt;
+        } catch (SQLException e) {
+            throw DatabaseOperationException.scannerError("Error preparing sample statement for columns of table: " + tableName, e);
+        }
+    }
+
+    /**
+     * Optimized implementation for MySQL-specific projection sampling after skipping rows.
+     * Streams the rows so wide projections are not buffered by the driver.
+     */
+    @Override
+    protected PreparedStatement prepareSampleColumnsRangeStatement(Connection connection, String tableName,
+                                                                   List<String> columnNames, String keyColumn,
+                                                                   int offset, int limit)
+            throws SQLException {
+        try {
+            String sql = buildSampleColumnsRangeSql(tableName, columnNames, keyColumn);
+            PreparedStatement stmt = connection.prepareStatement(
+                    sql,
+                    ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY
+            );
+            // Set to streaming mode for MySQL
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            stmt.setInt(1, limit);
+            stmt.setInt(2, offset);
+            return stmt;
+        } catch (SQLException e) {
+            throw DatabaseOperationException.scannerError("Error preparing sample statement for columns of table: " + tableName, e);
+        }
+    }
+
+    /**
+     * Optimized implementation for MySQL-specific projection sampling after a key value.
+     * Streams the rows so wide projections are not buffered by the driver.
+     */
+    @Override
+    protected PreparedStatement prepareSampleColumnsAfterKeyStatement(Connection connection, String tableName,
+                                                                      List<String> columnNames, String keyColumn,
+                                                                      Object afterKey, int limit)
+            throws SQLException {
+        try {
+            String sql = buildSampleColumnsAfterKeySql(tableName, columnNames, keyColumn);
+            PreparedStatement stmt = connection.prepareStatement(
+                    sql,
+                    ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY
+            );
+            // Set to streaming mode for MySQL
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            stmt.setObject(1, afterKey);
+            stmt.setInt(2, limit);
+            return stmt;
+        } catch (SQLException e) {
+            throw DatabaseOperationException.scannerError("Error preparing sample statement for columns of table: " + tableName, e);
+        }
+    }
+
+    /**
+     * Estimates the row count from information_schema statistics.
+     *
+     * @param tableName Table name
+     * @return Estimated row count, or -1 if unknown
+     */
+    @Override
+    public long estimateRowCount(String tableName) {
+        DatabaseUtils.validateTableName(tableName);
+        return executeQuery("estimateRowCount", jdbc -> {
+            List<Long> counts = jdbc.query(SQL_ESTIMATE_ROWS, (rs, rowNum) -> rs.getLong("TABLE_ROWS"), tableName);
+            return counts.isEmpty() ? -1L : counts.getFirst();
+        });
+    }
+
+    /**
+     * MySQL random sampling without ORDER BY RAND().
+     * Tables with a single-column integer primary key are sampled with range
+     * probes at random keys between MIN and MAX, each probe an index range scan
+     * on one reused statement. Other tables fall back to a streamed Bernoulli
+     * filter on RAND(), which reads the table once but never sorts it.
+     */
+    @Override
+    protected void sampleRandomRows(Connection connection, String tableName, List<String> columnNames, int limit,
+            RowReservoir reservoir) throws SQLException {
+        String primaryKey = findIntegerPrimaryKey(connection, tableName);
+        if (primaryKey != null) {
+            sampleByKeyProbes(connection, tableName, columnNames, primaryKey, limit, reservoir);
+        } else {
+            sampleByBernoulli(connection, tableName, columnNames, limit, reservoir);
+        }
+    }
+
+    /**
+     * Finds a single-column integer primary key.
+     *
+     * @param connection Database connection
+     * @param tableName  Table name
+     * @return Primary key column name, or null if the table has none
+     * @throws SQLException On SQL error
+     */
+    private String findIntegerPrimaryKey(Connection connection, String tableName) throws SQLException {
+        Map<String, String> keyColumns = findPrimaryKeyColumns(connection, tableName);
+        if (keyColumns.size() != 1) {
+            return null;
+        }
+        Map.Entry<String, String> keyColumn = keyColumns.entrySet().iterator().next();
+        return INTEGER_KEY_TYPES.contains(keyColumn.getValue()) ? keyColumn.getKey() : null;
+    }
+
+    /**
+     * Finds a single-column primary key of any type from information_schema.
+     */
+    @Override
+    protected String findRowKey(Connection connection, String tableName) throws SQLException {
+        Map<String, String> keyColumns = findPrimaryKeyColumns(connection, tableName);
+        return keyColumns.size() == 1 ? keyColumns.keySet().iterator().next() : null;
+    }
+
+    /**
+     * Reads the primary key columns of a table.
+     *
+     * @param connection Database connection
+     * @param tableName  Table name
+     * @return Map of key column name to lower-case data type
+     * @throws SQLException On SQL error
+     */
+    private Map<String, String> findPrimaryKeyColumns(Connection connection, String tableName) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(SQL_PRIMARY_KEY_COLUMNS)) {
+            stmt.setString(1, tableName);
+            try (ResultSet rs = stmt.executeQuery()) {
+                Map<String, String> keyColumns = new LinkedHashMap<>();
+                while (rs.next()) {
+                    keyColumns.put(rs.getString("COLUMN_NAME"),
+                            rs.getString("DATA_TYPE").toLowerCase(Locale.ROOT));
+                }
+                return keyColumns;
+            }
+        }
+    }
+
+    /**
+     * Samples rows with range probes at random primary key values.
+     * Probe start keys are drawn at random and sorted, and each probe is bounded
+     * by the next start key, so the probes never return the same row twice.
+     */
+    private void sampleByKeyProbes(Connection connection, String tableName, List<String> columnNames,
+            String primaryKey, int limit, RowReservoir reservoir) throws SQLException {
+        String escapedKey = escapeIdentifier(primaryKey);
+        String escapedTable = escapeIdentifier(tableName);
+
+        long minKey;
+        long maxKey;
+        try (PreparedStatement stmt = connection.prepareStatement(
+                String.format("SELECT MIN(%s), MAX(%s) FROM %s", escapedKey, escapedKey, escapedTable));
+                ResultSet rs = stmt.executeQuery()) {
+            if (!rs.next()) {
+                return;
+            }
+            minKey = rs.getLong(1);
+            if (rs.wasNull()) {
+                return; // Empty table
+            }
+            maxKey = rs.getLong(2);
+        }
+
+        int probes = Math.clamp((long) limit * OVERSAMPLING / ROWS_PER_PROBE, 1, MAX_PROBES);
+        int rowsPerProbe = Math.ceilDiv(limit * OVERSAMPLING, probes);
+
+        long[] starts = probeStarts(minKey, maxKey, probes, ThreadLocalRandom.current());
+
+        String sql = String.format("SELECT %s FROM %s WHERE %s >= ? AND %s < ? ORDER BY %s LIMIT ?",
+                buildProjection(columnNames), escapedTable, escapedKey, escapedKey, escapedKey);
+        try (PreparedStatement stmt = connection.prepareStatement(
+                sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            // Set to streaming mode for MySQL
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            for (int i = 0; i < probes; i++) {
+                long upper = i + 1 < probes ? starts[i + 1] : (maxKey == Long.MAX_VALUE ? maxKey : maxKey + 1);
+                if (upper <= starts[i]) {
+                    continue; // Duplicate start key, range is covered by the next probe
+                }
+                stmt.setLong(1, starts[i]);
+                stmt.setLong(2, upper);
+                stmt.setInt(3, rowsPerProbe);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    reservoir.consume(rs);
+                }
+            }
+        }
+    }
+
+    /**
+     * Draws sorted random start keys for the key probes.
+     * Every start is random; the first one is redrawn uniformly below the second
+     * so that the low end of the key range is as likely to be sampled as the rest,
+     * without always reading the lowest keys.
+     *
+     * @param minKey Minimum key value
+     * @param maxKey Maximum key value
+     * @param probes Number of probes
+     * @param random Random source
+     * @return Sorted start keys, all within [minKey, maxKey]
+     */
+    static long[] probeStarts(long minKey, long maxKey, int probes, RandomGenerator random) {
+        long[] starts = new long[probes];
+        if (maxKey <= minKey) {
+            Arrays.fill(starts, minKey);
+            return starts;
+        }
+        for (int i = 0; i < probes; i++) {
+            starts[i] = random.nextLong(minKey, maxKey);
+        }
+        Arrays.sort(starts);
+        long firstBound = probes > 1 ? starts[1] : maxKey;
+        starts[0] = firstBound > minKey ? random.nextLong(minKey, firstBound) : minKey;
+        return starts;
+    }
+
+    /**
+     * Samples rows with a streamed RAND() filter.
+     * The inclusion probability is derived from the estimated row count so
+     * that about twice the requested rows reach the reservoir.
+     */
+    private void sampleByBernoulli(Connection connection, String tableName, List<String> columnNames,
+            int limit, RowReservoir reservoir) throws SQLException {
+        long estimatedRows = estimateRowCount(connection, tableName);
+        double probability = estimatedRows > 0
+                ? Math.min(1.0, (double) limit * OVERSAMPLING / estimatedRows)
+                : 1.0;
+
+        String sql = String.format("SELECT %s FROM %s WHERE RAND() < ? LIMIT ?",
+                buildProjection(columnNames), escapeIdentifier(tableName));
+        try (PreparedStatement stmt = connection.prepareStatement(
+                sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            // Set to streaming mode for MySQL
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            stmt.setDouble(1, probability);
+            stmt.setInt(2, limit * OVERSAMPLING * 2);
+            try (ResultSet rs = stmt.executeQuery()) {
+                reservoir.consume(rs);
+            }
+        }
+    }
+
+    /**
+     * Estimates the row count on the given connection, so that a sampling
+     * session does not take a second pooled connection while holding its own.
+     *
+     * @param connection Database connection
+     * @param tableName  Table name
+     * @return Estimated row count, or -1 if unknown
+     * @throws SQLException On SQL error
+     */
+    private long estimateRowCount(Connection connection, String tableName) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(SQL_ESTIMATE_ROWS)) {
+            stmt.setString(1, tableName);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong("TABLE_ROWS") : -1L;
+            }
+        }
+    }
+}
@@ -10,10 +10,11 @@ import com.cgi.privsense.dbscanner.model.RelationshipMetadata;
 import com.cgi.privsense.dbscanner.model.TableMetadata;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
-import javax.sql.DataSource;
 import java.util.List;
 import java.util.function.Function;
 
@@ -35,17 +36,25 @@ public class DatabaseScannerService implements ScannerService {
      */
     private final DataSourceProvider dataSourceProvider;
 
+    /**
+     * Cache manager holding the metadata caches.
+     */
+    private final CacheManager cacheManager;
+
     /**
      * Constructor.
      *
      * @param scannerFactory Factory for creating database scanners
      * @param dataSourceProvider Provider for data sources
+     * @param cacheManager Cache manager holding the metadata caches
      */
     public DatabaseScannerService(
             DatabaseScannerFactory scannerFactory,
-            DataSourceProvider dataSourceProvider) {
+            DataSourceProvider dataSourceProvider,
+            CacheManager cacheManager) {
         this.scannerFactory = scannerFactory;
         this.dataSourceProvider = dataSourceProvider;
+        this.cacheManager = cacheManager;
     }
 
     /**
@@ -57,8 +66,7 @@ public class DatabaseScannerService implements ScannerService {
      */
     private DatabaseScanner getScanner(String dbType, String dataSourceName) {
         logger.debug("Getting scanner for db type: {} and datasource: {}", dbType, dataSourceName);
-        DataSource dataSource = dataSourceProvider.getDataSource(dataSourceName);
-        return scannerFactory.getScanner(dbType, dataSource);
+        return scannerFactory.getScanner(dataSourceProvider.getConnectionHandle(dataSourceName), dbType);
     }
 
     /**
@@ -98,6 +106,34 @@ public class DatabaseScannerService implements ScannerService {
         return executeScannerOperation("scanTables", dbType, dataSourceName, DatabaseScanner::scanTables);
     }
 
+    /**
+     * Scans all tables of a database with their columns.
+     * Entries are written with the same keys as scanTable and scanColumns.
+     *
+     * @param dbType Database type
+     * @param dataSourceName Data source name
+     * @return List of table metadata with columns populated
+     */
+    @Override
+    public List<TableMetadata> scanSchema(String dbType, String dataSourceName) {
+        List<TableMetadata> tables = executeScannerOperation("scanSchema", dbType, dataSourceName,
+                DatabaseScanner::scanSchema);
+
+        Cache tableCache = cacheManager.getCache("tableMetadata");
+        Cache columnCache = cacheManager.getCache("columnMetadata");
+        for (TableMetadata table : tables) {
+            String key = dbType + "-" + dataSourceName + "-" + table.getName();
+            if (tableCache != null) {
+                tableCache.put(key, table);
+            }
+            if (columnCache != null) {
+                columnCache.put(key, table.getColumns());
+            }
+        }
+
+        return tables;
+    }
+
     /**
      * Scans a specific table.
      *
@@ -2,6 +2,7 @@ package com.cgi.privsense.dbscanner.service;
 import com.cgi.privsense.common.config.properties.DatabaseProperties;
 import com.cgi.privsense.dbscanner.core.datasource.DataSourceProvider;
 import com.cgi.privsense.dbscanner.core.scanner.DatabaseScannerFactory;
+import com.cgi.privsense.dbscanner.core.scanner.TableSamplingSession;
 import com.cgi.privsense.dbscanner.model.DataSample;
 import com.cgi.privsense.dbscanner.service.sampling.SamplingStrategy;
 import com.cgi.privsense.dbscanner.service.sampling.OptimizedParallelSamplingStrategy;
@@ -86,6 +87,35 @@ public OptimizedParallelSamplingService(
         return samplingStrategy.sampleMultipleColumns(dbType, connectionId, tableName, columnNames, limit);
     }
 
+    /**
+     * Opens a sampling session on a table.
+     * All queries run through the session share one connection, so sampling
+     * a table holds a single pooled connection whatever its number of columns.
+     *
+     * @param dbType       Database type
+     * @param connectionId Connection ID
+     * @param tableName    Table name
+     * @return Sampling session, to be closed by the caller
+     */
+    public TableSamplingSession openTableSession(String dbType, String connectionId, String tableName) {
+        return samplingStrategy.openTableSession(dbType, connectionId, tableName);
+    }
+
+    /**
+     * Samples data from multiple columns within a sampling session.
+     *
+     * @param dbType       Database type
+     * @param connectionId Connection ID
+     * @param session      Sampling session of the table
+     * @param columnNames  List of column names
+     * @param limit        Maximum number of values per column
+     * @return Map of column name to list of sampled values
+     */
+    public Map<String, List<Object>> sampleColumns(String dbType, String connectionId,
+            TableSamplingSession session, List<String> columnNames, int limit) {
+        return samplingStrategy.sampleMultipleColumns(dbType, connectionId, session, columnNames, limit);
+    }
+
     /**
      * Samples data from multiple tables in parallel.
      *
@@ -21,6 +21,17 @@ public interface ScannerService {
      */
     List<TableMetadata> scanTables(String dbType, String dataSourceName);
 
+    /**
+     * Scans all tables of a database with their columns in a few set-based queries.
+     * Fills the tableMetadata and columnMetadata caches for every table, so later
+     * per-table lookups do not hit the database.
+     *
+     * @param dbType Database type
+     * @param dataSourceName Data source name
+     * @return List of table metadata with columns populated
+     */
+    List<TableMetadata> scanSchema(String dbType, String dataSourceName);
+
     /**
      * Scans a specific table.
      *
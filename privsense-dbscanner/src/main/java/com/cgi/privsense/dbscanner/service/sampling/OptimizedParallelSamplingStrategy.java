@@ -4,17 +4,20 @@ import com.cgi.privsense.common.config.properties.DatabaseProperties;
 import com.cgi.privsense.dbscanner.core.datasource.DataSourceProvider;
 import com.cgi.privsense.dbscanner.core.scanner.DatabaseScanner;
 import com.cgi.privsense.dbscanner.core.scanner.DatabaseScannerFactory;
+import com.cgi.privsense.dbscanner.core.scanner.TableSamplingSession;
 import com.cgi.privsense.dbscanner.exception.DatabaseOperationException;
+import com.cgi.privsense.dbscanner.model.ColumnMetadata;
 import com.cgi.privsense.dbscanner.model.DataSample;
 import com.cgi.privsense.dbscanner.service.sampling.executor.ParallelExecutionService;
-import com.cgi.privsense.dbscanner.service.sampling.util.SamplingDataExtractor;
+import com.cgi.privsense.dbscanner.service.sampling.util.SamplingQueryPlanner;
 import com.cgi.privsense.dbscanner.service.sampling.util.SamplingValidationUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StopWatch;
 
-import javax.sql.DataSource;
 import java.util.*;
 import java.util.concurrent.*;
 
@@ -29,6 +32,19 @@ public class OptimizedParallelSamplingStrategy implements SamplingStrategy, Disp
     private final DataSourceProvider dataSourceProvider;
     private final DatabaseScannerFactory scannerFactory;
     private final ParallelExecutionService executionService;
+    private final int maxColumnsPerQuery;
+    private final int maxRowBytesPerQuery;
+    private final boolean useReservoirForLargeTables;
+    private final int reservoirThreshold;
+    private final int maxTablesInFlight;
+
+    /**
+     * Estimated row counts by connection and table, used to pick the sampling mode.
+     */
+    private final Cache<String, Long> rowCountCache = Caffeine.newBuilder()
+            .expireAfterWrite(10, TimeUnit.MINUTES)
+            .maximumSize(10_000)
+            .build();
 
     /**
      * Constructor with dependencies and configuration.
@@ -44,6 +60,11 @@ public class OptimizedParallelSamplingStrategy implements SamplingStrategy, Disp
 
         this.dataSourceProvider = dataSourceProvider;
         this.scannerFactory = scannerFactory;
+        this.maxColumnsPerQuery = databaseProperties.getSampling().getMaxColumnsPerQuery();
+        this.maxRowBytesPerQuery = databaseProperties.getSampling().getMaxRowBytesPerQuery();
+        this.useReservoirForLargeTables = databaseProperties.getSampling().isUseReservoirForLargeTables();
+        this.reservoirThreshold = databaseProperties.getSampling().getReservoirThreshold();
+        this.maxTablesInFlight = Math.max(1, databaseProperties.getTasks().getThreadPoolSize());
 
         // Create execution service with configuration from database properties
         this.executionService = new ParallelExecutionService(
@@ -62,8 +83,70 @@ public class OptimizedParallelSamplingStrategy implements SamplingStrategy, Disp
      * @return DatabaseScanner instance
      */
     private DatabaseScanner getScanner(String dbType, String connectionId) {
-        DataSource dataSource = dataSourceProvider.getDataSource(connectionId);
-        return scannerFactory.getScanner(dbType, dataSource);
+        return scannerFactory.getScanner(dataSourceProvider.getConnectionHandle(connectionId), dbType);
+    }
+
+    /**
+     * Checks if a table should be sampled randomly instead of from its first rows.
+     * Random sampling is used above the reservoir threshold, based on the
+     * cached row count estimate of the table.
+     *
+     * @param scanner      Database scanner to use
+     * @param connectionId Connection ID
+     * @param tableName    Table name
+     * @return true if random sampling should be used
+     */
+    private boolean useRandomSampling(DatabaseScanner scanner, String connectionId, String tableName) {
+        if (!useReservoirForLargeTables) {
+            return false;
+        }
+
+        long estimatedRows = rowCountCache.get(connectionId + ":" + tableName, key -> {
+            try {
+                return scanner.estimateRowCount(tableName);
+            } catch (Exception e) {
+                log.warn("Could not estimate row count of {}: {}", tableName, e.getMessage());
+                return -1L;
+            }
+        });
+        return estimatedRows > reservoirThreshold;
+    }
+
+    /**
+     * Opens a sampling session on a table, sampling randomly if the table is
+     * above the reservoir threshold.
+     *
+     * @param scanner      Database scanner to use
+     * @param connectionId Connection ID
+     * @param tableName    Table name
+     * @return Sampling session, to be closed by the caller
+     */
+    private TableSamplingSession openSession(DatabaseScanner scanner, String connectionId, String tableName) {
+        boolean random = useRandomSampling(scanner, connectionId, tableName);
+        if (random) {
+            log.debug("Using random sampling for large table {}", tableName);
+        }
+        return scanner.openSamplingSession(tableName, random);
+    }
+
+    /**
+     * Samples a table, randomly if it is above the reservoir threshold.
+     *
+     * @param scanner      Database scanner to use
+     * @param connectionId Connection ID
+     * @param tableName    Table name
+     * @param limit        Maximum number of rows
+     * @return Data sample
+     */
+    private DataSample sampleTableData(DatabaseScanner scanner, String connectionId, String tableName, int limit) {
+        try (TableSamplingSession session = openSession(scanner, connectionId, tableName)) {
+            return session.sampleTable(limit);
+        }
+    }
+
+    @Override
+    public TableSamplingSession openTableSession(String dbType, String connectionId, String tableName) {
+        return openSession(getScanner(dbType, connectionId), connectionId, tableName);
     }
 
     @Override
@@ -73,7 +156,7 @@ public class OptimizedParallelSamplingStrategy implements SamplingStrategy, Disp
 
         try {
             DatabaseScanner scanner = getScanner(dbType, connectionId);
-            DataSample sample = scanner.sampleTableData(tableName, limit);
+            DataSample sample = sampleTableData(scanner, connectionId, tableName, limit);
 
             watch.stop();
             log.debug("Sampled table {} in {} ms", tableName, watch.getTotalTimeMillis());
@@ -91,8 +174,10 @@ public class OptimizedParallelSamplingStrategy implements SamplingStrategy, Disp
         watch.start();
 
         try {
-            DatabaseScanner scanner = getScanner(dbType, connectionId);
-            List<Object> values = scanner.sampleColumnData(tableName, columnName, limit);
+            List<Object> values;
+            try (TableSamplingSession session = openTableSession(dbType, connectionId, tableName)) {
+                values = session.sampleColumn(columnName, limit);
+            }
 
             watch.stop();
             log.debug("Sampled column {}.{} in {} ms", tableName, columnName, watch.getTotalTimeMillis());
@@ -106,186 +191,79 @@ public class OptimizedParallelSamplingStrategy implements SamplingStrategy, Disp
     @Override
     public Map<String, List<Object>> sampleMultipleColumns(String dbType, String connectionId,
             String tableName, List<String> columnNames, int limit) {
+        try (TableSamplingSession session = openTableSession(dbType, connectionId, tableName)) {
+            return sampleMultipleColumns(dbType, connectionId, session, columnNames, limit);
+        }
+    }
+
+    @Override
+    public Map<String, List<Object>> sampleMultipleColumns(String dbType, String connectionId,
+            TableSamplingSession session, List<String> columnNames, int limit) {
         StopWatch watch = new StopWatch();
         watch.start();
 
-        // Get the scanner
-        final DatabaseScanner scanner = getScanner(dbType, connectionId);
+        String tableName = session.getTableName();
 
         // Validate columns exist
-        List<String> existingColumns = SamplingValidationUtils.validateColumnsExistence(
-                scanner, tableName, columnNames);
+        List<ColumnMetadata> existingColumns = SamplingValidationUtils.resolveExistingColumns(
+                getScanner(dbType, connectionId), tableName, columnNames);
 
         if (existingColumns.isEmpty()) {
             log.warn("No valid columns found for sampling in table: {}", tableName);
             return new HashMap<>();
         }
 
-        // For a small number of columns, use a single query (more efficient)
-        Map<String, List<Object>> result;
-        if (existingColumns.size() <= 3) {
-            result = sampleColumnsWithSingleQuery(scanner, tableName, existingColumns, limit);
-            watch.stop();
-            log.debug("Sampled {} columns with single query in {} ms",
-                    existingColumns.size(), watch.getTotalTimeMillis());
-        } else {
-            // Use parallel execution for multiple columns
-            result = sampleColumnsInParallel(scanner, tableName, existingColumns, limit);
-            watch.stop();
-            log.debug("Sampled {} columns with parallel approach in {} ms",
-                    existingColumns.size(), watch.getTotalTimeMillis());
+        // Split the columns into projections bounded by column count and row width
+        List<List<String>> groups = SamplingQueryPlanner.planColumnGroups(
+                existingColumns, maxColumnsPerQuery, maxRowBytesPerQuery);
+
+        // Groups run one after the other on the session connection
+        Map<String, List<Object>> result = LinkedHashMap.newLinkedHashMap(existingColumns.size());
+        for (List<String> group : groups) {
+            try {
+                result.putAll(sampleColumnGroup(session, group, limit));
+            } catch (Exception e) {
+                if (groups.size() == 1) {
+                    throw e;
+                }
+                log.error("Error sampling columns {} of {}: {}", group, tableName, e.getMessage());
+            }
         }
 
+        watch.stop();
+        log.debug("Sampled {} columns with {} queries in {} ms",
+                existingColumns.size(), groups.size(), watch.getTotalTimeMillis());
+
         return result;
     }
 
     /**
-     * Samples data from multiple columns with a single query.
-     * More efficient for a small number of columns.
+     * Samples one column group.
+     * A group of several columns is fetched with a single projection query;
+     * a group holding a single column uses a dedicated column query.
      *
-     * @param scanner     Database scanner to use
-     * @param tableName   Table name
-     * @param columnNames List of column names
+     * @param session     Sampling session of the table
+     * @param columnNames Column names of the group
      * @param limit       Maximum number of rows
      * @return Map of column name to list of sampled values
      */
-    private Map<String, List<Object>> sampleColumnsWithSingleQuery(DatabaseScanner scanner,
-            String tableName,
+    private Map<String, List<Object>> sampleColumnGroup(TableSamplingSession session,
             List<String> columnNames,
             int limit) {
         try {
-            DataSample sample = scanner.sampleTableData(tableName, limit);
-
-            if (sample == null || sample.getRows() == null || sample.getRows().isEmpty()) {
-                log.warn("No data returned from table: {}", tableName);
-                return Collections.emptyMap();
+            if (columnNames.size() == 1) {
+                String columnName = columnNames.get(0);
+                Map<String, List<Object>> single = new HashMap<>(2);
+                single.put(columnName, session.sampleColumn(columnName, limit));
+                return single;
             }
-
-            return SamplingDataExtractor.extractColumnDataFromSample(columnNames, sample);
+            return session.sampleColumns(columnNames, limit);
         } catch (Exception e) {
-            log.error("Error during single query sampling: {}", e.getMessage(), e);
+            log.error("Error during projection sampling of {}: {}", session.getTableName(), e.getMessage(), e);
             throw DatabaseOperationException.samplingError("Error sampling columns with single query", e);
         }
     }
 
-    /**
-     * Samples data from multiple columns in parallel.
-     *
-     * @param scanner     Database scanner to use
-     * @param tableName   Table name
-     * @param columnNames List of column names
-     * @param limit       Maximum number of rows per column
-     * @return Map of column name to list of sampled values
-     */
-    private Map<String, List<Object>> sampleColumnsInParallel(DatabaseScanner scanner,
-            String tableName,
-            List<String> columnNames,
-            int limit) {
-        // Create a map of column names to tasks
-        Map<String, Callable<List<Object>>> tasks = createColumnSamplingTasks(scanner, tableName, columnNames, limit);
-
-        // Execute tasks in parallel and collect results
-        return executeColumnSamplingTasks(tasks, tableName);
-    }
-
-    /**
-     * Creates tasks for sampling columns.
-     *
-     * @param scanner     Database scanner to use
-     * @param tableName   Table name
-     * @param columnNames List of column names
-     * @param limit       Maximum number of rows per column
-     * @return Map of column names to callable tasks
-     */
-    private Map<String, Callable<List<Object>>> createColumnSamplingTasks(
-            DatabaseScanner scanner, String tableName, List<String> columnNames, int limit) {
-        Map<String, Callable<List<Object>>> tasks = HashMap.newHashMap(columnNames.size());
-
-        for (String columnName : columnNames) {
-            tasks.put(columnName, () -> scanner.sampleColumnData(tableName, columnName, limit));
-        }
-
-        return tasks;
-    }
-
-    /**
-     * Executes column sampling tasks in parallel.
-     *
-     * @param tasks     Map of column names to callable tasks
-     * @param tableName Table name for logging
-     * @return Map of column name to list of sampled values
-     */
-    private Map<String, List<Object>> executeColumnSamplingTasks(
-            Map<String, Callable<List<Object>>> tasks, String tableName) {
-        Map<String, List<Object>> results = HashMap.newHashMap(tasks.size());
-
-        for (Map.Entry<String, Callable<List<Object>>> entry : tasks.entrySet()) {
-            String columnName = entry.getKey();
-            Callable<List<Object>> task = entry.getValue();
-
-            try {
-                CompletableFuture<List<Object>> future = createSamplingFuture(tableName, columnName, task);
-                processColumnSamplingResult(columnName, future, results);
-            } catch (Exception e) {
-                log.error("Error creating task for column {}: {}", columnName, e.getMessage());
-            }
-        }
-
-        return results;
-    }
-
-    /**
-     * Creates a CompletableFuture for sampling a column.
-     *
-     * @param tableName  Table name for logging
-     * @param columnName Column name for logging
-     * @param task       Sampling task to execute
-     * @return CompletableFuture that will execute the sampling task
-     */
-    private CompletableFuture<List<Object>> createSamplingFuture(
-            String tableName, String columnName, Callable<List<Object>> task) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                log.debug("Sampling column {}.{}", tableName, columnName);
-                return task.call();
-            } catch (Exception e) {
-                log.error("Error sampling column {}.{}: {}", tableName, columnName, e.getMessage());
-                return Collections.emptyList();
-            }
-        });
-    }
-
-    /**
-     * Processes the result of a column sampling operation.
-     *
-     * @param columnName Name of the column
-     * @param future     Future that will produce the sampling result
-     * @param results    Map to collect results
-     */
-    private void processColumnSamplingResult(
-            String columnName, CompletableFuture<List<Object>> future, Map<String, List<Object>> results) {
-        try {
-            executionService.executeWithSemaphore(() -> {
-                try {
-                    List<Object> values = future.get();
-                    if (!values.isEmpty()) {
-                        results.put(columnName, values);
-                    }
-                    return true;
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt(); // Re-interrupt the thread
-                    log.error("Interrupted while getting result for column {}: {}", columnName, e.getMessage());
-                    return false;
-                } catch (Exception e) {
-                    log.error("Error getting result for column {}: {}", columnName, e.getMessage());
-                    return false;
-                }
-            }, new Semaphore(1));
-        } catch (Exception e) {
-            log.error("Error executing task for column {}: {}", columnName, e.getMessage());
-        }
-    }
-
     @Override
     public Map<String, DataSample> sampleMultipleTables(String dbType, String connectionId,
             List<String> tableNames, int limit) {
@@ -306,19 +284,20 @@ public class OptimizedParallelSamplingStrategy implements SamplingStrategy, Disp
         // Sample tables in parallel
         Map<String, DataSample> results = HashMap.newHashMap(validatedTables.size());
 
-        // Create map of table names to futures
+        // Create map of table names to futures; each table holds one connection while sampled
         Map<String, CompletableFuture<DataSample>> futures = HashMap.newHashMap(validatedTables.size());
+        Semaphore tableSlots = new Semaphore(Math.min(maxTablesInFlight, validatedTables.size()));
 
         for (String tableName : validatedTables) {
-            futures.put(tableName, CompletableFuture.supplyAsync(() -> {
+            futures.put(tableName, executionService.executeWithSemaphore(() -> {
                 try {
                     log.debug("Sampling table {}", tableName);
-                    return scanner.sampleTableData(tableName, limit);
+                    return sampleTableData(scanner, connectionId, tableName, limit);
                 } catch (Exception e) {
                     log.error("Error sampling table {}: {}", tableName, e.getMessage());
                     return null;
                 }
-            }));
+            }, tableSlots));
         }
 
         // Execute futures with the execution service
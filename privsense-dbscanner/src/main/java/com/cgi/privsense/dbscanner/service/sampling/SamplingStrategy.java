@@ -1,5 +1,6 @@
 package com.cgi.privsense.dbscanner.service.sampling;
 
+import com.cgi.privsense.dbscanner.core.scanner.TableSamplingSession;
 import com.cgi.privsense.dbscanner.model.DataSample;
 
 import java.util.List;
@@ -46,6 +47,30 @@ public interface SamplingStrategy {
      */
     Map<String, List<Object>> sampleMultipleColumns(String dbType, String connectionId, String tableName, 
                                                  List<String> columnNames, int limit);
+
+    /**
+     * Opens a sampling session on a table: all queries of the session share
+     * one connection until it is closed.
+     *
+     * @param dbType       Database type
+     * @param connectionId Connection ID
+     * @param tableName    Table name
+     * @return Sampling session, to be closed by the caller
+     */
+    TableSamplingSession openTableSession(String dbType, String connectionId, String tableName);
+
+    /**
+     * Samples data from multiple columns within a sampling session.
+     *
+     * @param dbType       Database type
+     * @param connectionId Connection ID
+     * @param session      Sampling session of the table
+     * @param columnNames  List of column names
+     * @param limit        Maximum number of values per column
+     * @return Map of column name to list of sampled values
+     */
+    Map<String, List<Object>> sampleMultipleColumns(String dbType, String connectionId, TableSamplingSession session,
+                                                 List<String> columnNames, int limit);
     
     /**
      * Samples data from multiple tables.
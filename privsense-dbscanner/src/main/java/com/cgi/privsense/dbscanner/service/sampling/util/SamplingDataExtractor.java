@@ -3,7 +3,6 @@ package com.cgi.privsense.dbscanner.service.sampling.util;
 import com.cgi.privsense.dbscanner.model.DataSample;
 import lombok.experimental.UtilityClass;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -12,6 +11,7 @@ import java.util.Map;
 /**
  * Utility class for extracting data from samples.
  * Provides methods to extract specific columns from data samples.
+ * Columnar samples are extracted as views over their column vectors, without copying.
  */
 @UtilityClass
 public class SamplingDataExtractor {
@@ -28,21 +28,11 @@ public class SamplingDataExtractor {
             return Collections.emptyMap();
         }
 
-        Map<String, List<Object>> result = new HashMap<>(columnNames.size());
+        Map<String, List<Object>> result = HashMap.newHashMap(columnNames.size());
 
-        // Initialize lists for each column
         for (String columnName : columnNames) {
             if (sample.getColumnNames().contains(columnName)) {
-                result.put(columnName, new ArrayList<>(sample.getRows().size()));
-            }
-        }
-
-        // Extract values for each column
-        for (Map<String, Object> row : sample.getRows()) {
-            for (String columnName : columnNames) {
-                if (result.containsKey(columnName)) {
-                    result.get(columnName).add(row.get(columnName));
-                }
+                result.put(columnName, sample.getColumnValues(columnName));
             }
         }
 
@@ -61,16 +51,6 @@ public class SamplingDataExtractor {
             return Collections.emptyList();
         }
 
-        if (!sample.getColumnNames().contains(columnName)) {
-            return Collections.emptyList();
-        }
-
-        List<Object> result = new ArrayList<>(sample.getRows().size());
-
-        for (Map<String, Object> row : sample.getRows()) {
-            result.add(row.get(columnName));
-        }
-
-        return result;
+        return sample.getColumnValues(columnName);
     }
-}
\ No newline at end of file
+}
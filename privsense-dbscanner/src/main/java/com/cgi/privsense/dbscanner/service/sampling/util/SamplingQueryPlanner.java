@@ -0,0 +1,107 @@
+package com.cgi.privsense.dbscanner.service.sampling.util;
+
+import com.cgi.privsense.dbscanner.model.ColumnMetadata;
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Utility class for planning column sampling queries.
+ * Splits the requested columns into projection groups that can each be
+ * fetched with a single query, bounded by column count and estimated row width.
+ * Columns too wide to share a row (LOBs, very long strings) get a group of their
+ * own and are sampled with a dedicated per-column query.
+ */
+@UtilityClass
+public class SamplingQueryPlanner {
+
+    /**
+     * Estimated width in bytes for columns without a declared length.
+     */
+    private static final int DEFAULT_COLUMN_WIDTH = 32;
+
+    private static final Set<String> LOB_TYPES = Set.of(
+            "blob", "tinyblob", "mediumblob", "longblob",
+            "text", "mediumtext", "longtext",
+            "json", "geometry", "clob", "nclob", "bytea", "xml");
+
+    private static final Set<String> EIGHT_BYTE_TYPES = Set.of(
+            "bigint", "double", "datetime", "timestamp", "date", "time");
+
+    private static final Set<String> FOUR_BYTE_TYPES = Set.of(
+            "int", "integer", "mediumint", "float", "year");
+
+    private static final Set<String> SMALL_TYPES = Set.of(
+            "tinyint", "smallint", "bit", "bool", "boolean");
+
+    /**
+     * Groups columns into projection queries.
+     *
+     * @param columns           Column metadata, in the requested order
+     * @param maxColumnsPerQuery Maximum number of columns in one projection
+     * @param maxRowBytes       Maximum estimated row width of one projection
+     * @return Ordered list of column name groups
+     */
+    public List<List<String>> planColumnGroups(List<ColumnMetadata> columns, int maxColumnsPerQuery, int maxRowBytes) {
+        List<List<String>> groups = new ArrayList<>();
+        int columnLimit = Math.max(1, maxColumnsPerQuery);
+
+        List<String> current = new ArrayList<>();
+        long currentWidth = 0;
+
+        for (ColumnMetadata column : columns) {
+            long width = estimateWidth(column);
+
+            if (width >= maxRowBytes) {
+                // Too wide to share a row with other columns
+                groups.add(List.of(column.getName()));
+                continue;
+            }
+
+            if (!current.isEmpty() && (current.size() >= columnLimit || currentWidth + width > maxRowBytes)) {
+                groups.add(current);
+                current = new ArrayList<>();
+                currentWidth = 0;
+            }
+
+            current.add(column.getName());
+            currentWidth += width;
+        }
+
+        if (!current.isEmpty()) {
+            groups.add(current);
+        }
+
+        return groups;
+    }
+
+    /**
+     * Estimates the width in bytes of a column value.
+     *
+     * @param column Column metadata
+     * @return Estimated width, or Long.MAX_VALUE for LOB columns
+     */
+    public long estimateWidth(ColumnMetadata column) {
+        String type = column.getType() != null ? column.getType().toLowerCase(Locale.ROOT) : "";
+
+        if (LOB_TYPES.contains(type)) {
+            return Long.MAX_VALUE;
+        }
+        if (column.getMaxLength() != null && column.getMaxLength() > 0) {
+            return column.getMaxLength();
+        }
+        if (EIGHT_BYTE_TYPES.contains(type)) {
+            return 8;
+        }
+        if (FOUR_BYTE_TYPES.contains(type)) {
+            return 4;
+        }
+        if (SMALL_TYPES.contains(type)) {
+            return 2;
+        }
+        return DEFAULT_COLUMN_WIDTH;
+    }
+}
@@ -2,12 +2,14 @@ package com.cgi.privsense.dbscanner.service.sampling.util;
 
 import com.cgi.privsense.common.util.DatabaseUtils;
 import com.cgi.privsense.dbscanner.core.scanner.DatabaseScanner;
+import com.cgi.privsense.dbscanner.model.ColumnMetadata;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -30,20 +32,38 @@ public class SamplingValidationUtils {
      * @return List of existing column names
      */
     public static List<String> validateColumnsExistence(DatabaseScanner scanner, String tableName, List<String> columnNames) {
+        return resolveExistingColumns(scanner, tableName, columnNames).stream()
+                .map(ColumnMetadata::getName)
+                .toList();
+    }
+
+    /**
+     * Resolves the metadata of the requested columns that exist in the table.
+     * Uses a single metadata query for efficiency. Columns are returned in the
+     * requested order.
+     *
+     * @param scanner      Database scanner to use
+     * @param tableName    Table name
+     * @param columnNames  List of column names to resolve
+     * @return List of column metadata for the existing columns
+     */
+    public static List<ColumnMetadata> resolveExistingColumns(DatabaseScanner scanner, String tableName,
+            List<String> columnNames) {
         DatabaseUtils.validateTableName(tableName);
 
         try {
             // Get all column metadata for the table in a single query
-            final Set<String> tableColumnNames = scanner.scanColumns(tableName)
+            final Map<String, ColumnMetadata> tableColumns = scanner.scanColumns(tableName)
                     .stream()
-                    .map(col -> col.getName().toLowerCase())
-                    .collect(Collectors.toSet());
+                    .collect(Collectors.toMap(col -> col.getName().toLowerCase(), Function.identity(),
+                            (first, second) -> first));
 
             // Filter requested columns to only include ones that exist
             return columnNames.stream()
                     .filter(Objects::nonNull)
                     .filter(col -> !col.trim().isEmpty())
-                    .filter(col -> tableColumnNames.contains(col.toLowerCase()))
+                    .map(col -> tableColumns.get(col.toLowerCase()))
+                    .filter(Objects::nonNull)
                     .toList();
 
         } catch (Exception e) {
@@ -52,6 +72,12 @@ public class SamplingValidationUtils {
             return columnNames.stream()
                     .filter(Objects::nonNull)
                     .filter(col -> !col.trim().isEmpty())
+                    .map(col -> {
+                        ColumnMetadata metadata = new ColumnMetadata();
+                        metadata.setName(col);
+                        metadata.setTableName(tableName);
+                        return metadata;
+                    })
                     .toList();
         }
     }
@@ -0,0 +1,83 @@
+package com.cgi.privsense.dbscanner.core.datasource;
+
+import com.cgi.privsense.common.config.properties.DatabaseProperties;
+import com.zaxxer.hikari.HikariConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataSourceProviderImplTest {
+    private final List<String> removals = new CopyOnWriteArrayList<>();
+    private DataSourceProviderImpl provider;
+
+    @BeforeEach
+    void setUp() {
+        provider = new DataSourceProviderImpl(null, new DatabaseProperties());
+        provider.addRemovalListener(removals::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        provider.destroy();
+    }
+
+    @Test
+    void replacingADataSourceClosesItAndNotifiesListeners() {
+        LazyDataSource first = dataSource("first");
+        LazyDataSource second = dataSource("second");
+
+        provider.registerDataSource("db", first);
+        provider.registerDataSource("db", second);
+
+        assertSame(second, provider.getDataSource("db"));
+        SQLException e = assertThrows(SQLException.class, first::getConnection);
+        assertTrue(e.getMessage().contains("closed"));
+        assertEquals(List.of("db"), removals);
+    }
+
+    @Test
+    void registeringTheSameDataSourceAgainKeepsIt() {
+        LazyDataSource dataSource = dataSource("db");
+
+        provider.registerDataSource("db", dataSource);
+        provider.registerDataSource("db", dataSource);
+
+        assertSame(dataSource, provider.getDataSource("db"));
+        assertTrue(removals.isEmpty());
+    }
+
+    @Test
+    void registeringANewNameNotifiesNobody() {
+        provider.registerDataSource("a", dataSource("a"));
+        provider.registerDataSource("b", dataSource("b"));
+
+        assertTrue(provider.hasDataSource("a"));
+        assertTrue(provider.hasDataSource("b"));
+        assertTrue(removals.isEmpty());
+    }
+
+    @Test
+    void removingADataSourceClosesItAndNotifiesListeners() {
+        LazyDataSource dataSource = dataSource("db");
+        provider.registerDataSource("db", dataSource);
+
+        assertTrue(provider.removeDataSource("db"));
+
+        assertFalse(provider.hasDataSource("db"));
+        assertThrows(SQLException.class, dataSource::getConnection);
+        assertEquals(List.of("db"), removals);
+        assertFalse(provider.removeDataSource("db"));
+    }
+
+    private static LazyDataSource dataSource(String name) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("test-" + name);
+        return new LazyDataSource(config);
+    }
+}
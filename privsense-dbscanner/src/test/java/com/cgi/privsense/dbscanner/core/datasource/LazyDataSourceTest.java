@@ -0,0 +1,72 @@
+package com.cgi.privsense.dbscanner.core.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import org.junit.jupiter.api.Test;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LazyDataSourceTest {
+
+    @Test
+    void storesTheLogWriterWithoutCreatingThePool() throws SQLException {
+        LazyDataSource dataSource = new LazyDataSource(config());
+        PrintWriter logWriter = new PrintWriter(new StringWriter());
+
+        assertNull(dataSource.getLogWriter());
+        dataSource.setLogWriter(logWriter);
+
+        assertSame(logWriter, dataSource.getLogWriter());
+        assertFalse(dataSource.isHydrated());
+    }
+
+    @Test
+    void storesTheLoginTimeoutWithoutCreatingThePool() throws SQLException {
+        LazyDataSource dataSource = new LazyDataSource(config());
+
+        // Defaults to the connection timeout of the pool
+        assertEquals(30, dataSource.getLoginTimeout());
+        dataSource.setLoginTimeout(7);
+
+        assertEquals(7, dataSource.getLoginTimeout());
+        assertFalse(dataSource.isHydrated());
+    }
+
+    @Test
+    void rejectsConnectionsOnceClosed() {
+        LazyDataSource dataSource = new LazyDataSource(config());
+
+        dataSource.close();
+
+        SQLException e = assertThrows(SQLException.class, dataSource::getConnection);
+        assertTrue(e.getMessage().contains("closed"));
+        assertFalse(dataSource.isHydrated());
+    }
+
+    @Test
+    void doesNotHibernateAPoolThatWasNeverCreated() {
+        LazyDataSource dataSource = new LazyDataSource(config());
+
+        assertFalse(dataSource.hibernateIfIdle(0));
+        assertEquals(0, dataSource.getHibernationCount());
+        assertEquals(0, dataSource.getHydrationCount());
+    }
+
+    @Test
+    void rejectsPerCallCredentials() {
+        LazyDataSource dataSource = new LazyDataSource(config());
+
+        assertThrows(SQLFeatureNotSupportedException.class, () -> dataSource.getConnection("user", "password"));
+    }
+
+    private static HikariConfig config() {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("test");
+        config.setConnectionTimeout(30_000);
+        return config;
+    }
+}
@@ -0,0 +1,164 @@
+package com.cgi.privsense.dbscanner.core.scanner;
+
+import com.cgi.privsense.dbscanner.model.ColumnVector;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RowReservoirTest {
+
+    @Test
+    void keepsAllRowsBelowCapacityInStreamOrder() throws Exception {
+        RowReservoir reservoir = new RowReservoir(10);
+        reservoir.consume(resultSet(rows(0, 5)));
+
+        assertEquals(5, reservoir.size());
+        assertEquals(5, reservoir.getSeen());
+        assertEquals(List.of("id", "name"), reservoir.getColumnNames());
+
+        List<ColumnVector> columns = reservoir.toColumns();
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L), columns.get(0).asList());
+        assertEquals(List.of("v0", "v1", "v2", "v3", "v4"), columns.get(1).asList());
+    }
+
+    @Test
+    void keepsTypedColumnVectors() throws Exception {
+        RowReservoir reservoir = new RowReservoir(3);
+        reservoir.consume(resultSet(rows(0, 100)));
+
+        List<ColumnVector> columns = reservoir.toColumns();
+        assertEquals("LongVector", columns.get(0).getClass().getSimpleName());
+        assertEquals("StringVector", columns.get(1).getClass().getSimpleName());
+    }
+
+    @Test
+    void boundsMemoryToCapacityAndKeepsConsistentRows() throws Exception {
+        RowReservoir reservoir = new RowReservoir(50);
+        reservoir.consume(resultSet(rows(0, 10_000)));
+
+        assertEquals(50, reservoir.size());
+        assertEquals(10_000, reservoir.getSeen());
+
+        List<ColumnVector> columns = reservoir.toColumns();
+        Set<Object> ids = new HashSet<>();
+        for (int row = 0; row < 50; row++) {
+            long id = (Long) columns.get(0).get(row);
+            assertTrue(id >= 0 && id < 10_000);
+            // Values of a row stay together through compactions
+            assertEquals("v" + id, columns.get(1).get(row));
+            ids.add(id);
+        }
+        assertEquals(50, ids.size());
+    }
+
+    @Test
+    void accumulatesRowsOverSeveralResultSets() throws Exception {
+        RowReservoir reservoir = new RowReservoir(100);
+        reservoir.consume(resultSet(rows(0, 30)));
+        reservoir.consume(resultSet(rows(30, 60)));
+
+        assertEquals(60, reservoir.size());
+        assertEquals(60, reservoir.getSeen());
+        assertEquals(59L, reservoir.toColumns().get(0).get(59));
+    }
+
+    @Test
+    void keepsNullValues() throws Exception {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] {1L, null});
+        rows.add(new Object[] {null, "b"});
+        RowReservoir reservoir = new RowReservoir(5);
+        reservoir.consume(resultSet(rows));
+
+        List<ColumnVector> columns = reservoir.toColumns();
+        assertTrue(columns.get(1).isNull(0));
+        assertTrue(columns.get(0).isNull(1));
+        assertEquals("b", columns.get(1).get(1));
+    }
+
+    @Test
+    void samplesUniformly() throws Exception {
+        int trials = 2000;
+        int capacity = 10;
+        double sum = 0;
+        for (int trial = 0; trial < trials; trial++) {
+            RowReservoir reservoir = new RowReservoir(capacity);
+            reservoir.consume(resultSet(rows(0, 100)));
+            for (Object id : reservoir.toColumns().get(0).asList()) {
+                sum += (Long) id;
+            }
+        }
+        // Mean of a uniform sample of 0..99 is 49.5, with a standard error near 0.2 here
+        assertEquals(49.5, sum / (trials * capacity), 2.0);
+    }
+
+    @Test
+    void emptyReservoirHasNoColumns() {
+        RowReservoir reservoir = new RowReservoir(10);
+
+        assertEquals(0, reservoir.size());
+        assertTrue(reservoir.getColumnNames().isEmpty());
+        assertTrue(reservoir.toColumns().isEmpty());
+    }
+
+    @Test
+    void rejectsNonPositiveCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new RowReservoir(0));
+    }
+
+    private static List<Object[]> rows(int from, int to) {
+        List<Object[]> rows = new ArrayList<>(to - from);
+        for (long id = from; id < to; id++) {
+            rows.add(new Object[] {id, "v" + id});
+        }
+        return rows;
+    }
+
+    /**
+     * Result set over in-memory rows with a Long "id" and a String "name" column.
+     */
+    private static ResultSet resultSet(List<Object[]> rows) {
+        String[] names = {"id", "name"};
+        String[] classNames = {"java.lang.Long", "java.lang.String"};
+        ResultSetMetaData metaData = (ResultSetMetaData) Proxy.newProxyInstance(
+                RowReservoirTest.class.getClassLoader(), new Class<?>[] {ResultSetMetaData.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getColumnCount" -> names.length;
+                    case "getColumnName", "getColumnLabel" -> names[(Integer) args[0] - 1];
+                    case "getColumnClassName" -> classNames[(Integer) args[0] - 1];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+
+        int[] cursor = {-1};
+        boolean[] wasNull = {false};
+        return (ResultSet) Proxy.newProxyInstance(
+                RowReservoirTest.class.getClassLoader(), new Class<?>[] {ResultSet.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "next":
+                            return ++cursor[0] < rows.size();
+                        case "getMetaData":
+                            return metaData;
+                        case "wasNull":
+                            return wasNull[0];
+                        case "getLong", "getString", "getObject":
+                            Object value = rows.get(cursor[0])[(Integer) args[0] - 1];
+                            wasNull[0] = value == null;
+                            if (value == null && method.getName().equals("getLong")) {
+                                return 0L;
+                            }
+                            return value;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
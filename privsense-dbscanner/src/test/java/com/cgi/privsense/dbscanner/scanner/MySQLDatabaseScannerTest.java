@@ -0,0 +1,196 @@
+package com.cgi.privsense.dbscanner.scanner;
+
+import com.cgi.privsense.dbscanner.core.scanner.RowReservoir;
+import com.cgi.privsense.dbscanner.core.scanner.TableSamplingSession;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MySQLDatabaseScannerTest {
+
+    @Test
+    void singleProbeDoesNotAlwaysStartAtMinimumKey() {
+        Random random = new Random(42);
+        Set<Long> starts = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            long[] probe = MySQLDatabaseScanner.probeStarts(1, 1_000_000, 1, random);
+            assertEquals(1, probe.length);
+            assertTrue(probe[0] >= 1 && probe[0] <= 1_000_000);
+            starts.add(probe[0]);
+        }
+        assertTrue(starts.size() > 90, "Expected distinct start keys, got " + starts.size());
+        assertTrue(starts.stream().filter(start -> start == 1).count() <= 1);
+    }
+
+    @Test
+    void firstProbeIsRandomBelowSecondProbe() {
+        Random random = new Random(7);
+        int atMinimum = 0;
+        for (int i = 0; i < 100; i++) {
+            long[] probes = MySQLDatabaseScanner.probeStarts(1, 1_000_000, 2, random);
+            assertTrue(probes[0] >= 1);
+            assertTrue(probes[0] <= probes[1]);
+            assertTrue(probes[1] <= 1_000_000);
+            if (probes[0] == 1) {
+                atMinimum++;
+            }
+        }
+        assertTrue(atMinimum <= 1, "First probe started at the minimum key " + atMinimum + " times");
+    }
+
+    @Test
+    void startsAreSortedAndWithinRange() {
+        long[] starts = MySQLDatabaseScanner.probeStarts(-500, 500, 64, new Random(1));
+        assertEquals(64, starts.length);
+        for (int i = 0; i < starts.length; i++) {
+            assertTrue(starts[i] >= -500 && starts[i] <= 500);
+            if (i > 0) {
+                assertTrue(starts[i - 1] <= starts[i]);
+            }
+        }
+    }
+
+    @Test
+    void singleKeyTableUsesThatKey() {
+        assertArrayEquals(new long[] {5, 5, 5}, MySQLDatabaseScanner.probeStarts(5, 5, 3, new Random(3)));
+    }
+
+    @Test
+    void randomSessionExtensionReturnsOnlyNewRows() {
+        MySQLDatabaseScanner scanner = new RandomRowsScanner(100, "id", new Random(11));
+        try (TableSamplingSession session = scanner.openSamplingSession("users", true)) {
+            List<Object> first = session.sampleColumns(List.of("name"), 0, 20).get("name");
+            List<Object> second = session.sampleColumns(List.of("name"), 20, 30).get("name");
+            List<Object> third = session.sampleColumns(List.of("name"), 50, 50).get("name");
+
+            assertEquals(20, first.size());
+            assertEquals(30, second.size());
+            List<Object> all = new ArrayList<>(first);
+            all.addAll(second);
+            all.addAll(third);
+            assertEquals(all.size(), new HashSet<>(all).size(), "Random pages returned a row twice");
+        }
+    }
+
+    @Test
+    void randomSessionWithoutKeyExcludesReturnedValues() {
+        MySQLDatabaseScanner scanner = new RandomRowsScanner(40, null, new Random(5));
+        try (TableSamplingSession session = scanner.openSamplingSession("users", true)) {
+            List<Object> first = session.sampleColumns(List.of("name"), 0, 10).get("name");
+            List<Object> second = session.sampleColumns(List.of("name"), 10, 10).get("name");
+
+            Set<Object> distinct = new HashSet<>(first);
+            distinct.addAll(second);
+            assertEquals(first.size() + second.size(), distinct.size());
+        }
+    }
+
+    @Test
+    void newRandomSampleStartsOver() {
+        MySQLDatabaseScanner scanner = new RandomRowsScanner(10, "id", new Random(9));
+        try (TableSamplingSession session = scanner.openSamplingSession("users", true)) {
+            assertEquals(10, session.sampleColumns(List.of("name"), 0, 10).get("name").size());
+            assertTrue(session.sampleColumns(List.of("name"), 10, 5).get("name").isEmpty());
+            assertEquals(10, session.sampleColumns(List.of("name"), 0, 10).get("name").size());
+        }
+    }
+
+    /**
+     * Scanner drawing random rows from an in-memory table of "name" values
+     * "n0".."n{rows-1}" with a Long "id" key.
+     */
+    private static final class RandomRowsScanner extends MySQLDatabaseScanner {
+        private final int rows;
+        private final String keyColumn;
+        private final Random random;
+
+        RandomRowsScanner(int rows, String keyColumn, Random random) {
+            super(dataSource());
+            this.rows = rows;
+            this.keyColumn = keyColumn;
+            this.random = random;
+        }
+
+        @Override
+        protected String findRowKey(Connection connection, String tableName) {
+            return keyColumn;
+        }
+
+        @Override
+        protected void sampleRandomRows(Connection connection, String tableName, List<String> columnNames,
+                int limit, RowReservoir reservoir) throws SQLException {
+            List<Long> ids = new ArrayList<>();
+            for (long id = 0; id < rows; id++) {
+                ids.add(id);
+            }
+            Collections.shuffle(ids, random);
+            List<Object[]> drawn = new ArrayList<>();
+            for (Long id : ids.subList(0, Math.min(limit, rows))) {
+                Object[] row = new Object[columnNames.size()];
+                for (int i = 0; i < row.length; i++) {
+                    row[i] = columnNames.get(i).equals("id") ? id : "n" + id;
+                }
+                drawn.add(row);
+            }
+            reservoir.consume(resultSet(columnNames, drawn));
+        }
+    }
+
+    private static DataSource dataSource() {
+        Connection connection = (Connection) Proxy.newProxyInstance(
+                MySQLDatabaseScannerTest.class.getClassLoader(), new Class<?>[] {Connection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "close" -> null;
+                    case "isClosed" -> false;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        return (DataSource) Proxy.newProxyInstance(
+                MySQLDatabaseScannerTest.class.getClassLoader(), new Class<?>[] {DataSource.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getConnection" -> connection;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "DataSource";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * Result set over in-memory rows, with a Long "id" column and String columns otherwise.
+     */
+    private static ResultSet resultSet(List<String> names, List<Object[]> rows) {
+        ResultSetMetaData metaData = (ResultSetMetaData) Proxy.newProxyInstance(
+                MySQLDatabaseScannerTest.class.getClassLoader(), new Class<?>[] {ResultSetMetaData.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getColumnCount" -> names.size();
+                    case "getColumnName", "getColumnLabel" -> names.get((Integer) args[0] - 1);
+                    case "getColumnClassName" -> names.get((Integer) args[0] - 1).equals("id")
+                            ? "java.lang.Long" : "java.lang.String";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+
+        int[] cursor = {-1};
+        return (ResultSet) Proxy.newProxyInstance(
+                MySQLDatabaseScannerTest.class.getClassLoader(), new Class<?>[] {ResultSet.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "next" -> ++cursor[0] < rows.size();
+                    case "getMetaData" -> metaData;
+                    case "wasNull" -> false;
+                    case "getLong", "getString", "getObject" -> rows.get(cursor[0])[(Integer) args[0] - 1];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -2,6 +2,7 @@ package com.cgi.privsense.piidetector.api;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Interface for NER (Named Entity Recognition) service client.
@@ -17,6 +18,15 @@ public interface NERServiceClient {
      * @return Map of column names to detected entity types with confidence levels
      */
     Map<String, Map<String, Double>> batchAnalyzeText(Map<String, List<String>> columnDataMap);
+
+    /**
+     * Asynchronous batch analysis of text samples with the NER service.
+     * The request does not hold a thread while in flight.
+     *
+     * @param columnDataMap Map of column names to text samples
+     * @return Future completed with the detected entity types per column
+     */
+    CompletableFuture<Map<String, Map<String, Double>>> batchAnalyzeTextAsync(Map<String, List<String>> columnDataMap);
     
     /**
      * Analyzes text with the NER service.
@@ -25,6 +35,14 @@ public interface NERServiceClient {
      * @return Map of detected entity types with their confidence level
      */
     Map<String, Double> analyzeText(List<String> textSamples);
+
+    /**
+     * Asynchronously analyzes text with the NER service.
+     *
+     * @param textSamples List of text samples to analyze
+     * @return Future completed with the detected entity types and their confidence level
+     */
+    CompletableFuture<Map<String, Double>> analyzeTextAsync(List<String> textSamples);
     
     /**
      * Checks if the NER service is available.
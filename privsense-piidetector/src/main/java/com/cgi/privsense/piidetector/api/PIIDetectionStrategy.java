@@ -1,8 +1,12 @@
 package com.cgi.privsense.piidetector.api;
 
 import com.cgi.privsense.piidetector.model.ColumnPIIInfo;
+import com.cgi.privsense.piidetector.model.DetectionProfile;
+import com.cgi.privsense.piidetector.model.enums.PIIType;
 
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Interface for PII detection strategies.
@@ -29,6 +33,20 @@ public interface PIIDetectionStrategy {
     ColumnPIIInfo detectColumnPII(String connectionId, String dbType, String tableName,
                                   String columnName, List<Object> sampleData);
 
+    /**
+     * Detects PII in a specific column using the settings of a detection profile.
+     *
+     * @param connectionId Connection identifier
+     * @param dbType Database type
+     * @param tableName Table name
+     * @param columnName Column name
+     * @param sampleData Data sample (can be null if not available)
+     * @param profile Detection profile of the current request
+     * @return Detection result for this column
+     */
+    ColumnPIIInfo detectColumnPII(String connectionId, String dbType, String tableName,
+                                  String columnName, List<Object> sampleData, DetectionProfile profile);
+
     /**
      * Indicates if this strategy can be applied with the available information.
      *
@@ -39,7 +57,18 @@ public interface PIIDetectionStrategy {
     boolean isApplicable(boolean hasMetadata, boolean hasSampleData);
 
     /**
-     * Sets the confidence threshold for this strategy.
+     * Gets the PII types this strategy can report.
+     * The pipeline skips the strategy for columns that cannot hold any of them.
+     *
+     * @return Detectable PII types
+     */
+    default Set<PIIType> getDetectableTypes() {
+        return EnumSet.allOf(PIIType.class);
+    }
+
+    /**
+     * Sets the default confidence threshold for this strategy,
+     * used when no detection profile is given.
      *
      * @param threshold Threshold between 0.0 and 1.0
      */
@@ -3,6 +3,7 @@
  */
 package com.cgi.privsense.piidetector.api;
 
+import com.cgi.privsense.piidetector.model.DetectionProfile;
 import com.cgi.privsense.piidetector.model.PIIDetectionResult;
 import com.cgi.privsense.piidetector.model.ColumnPIIInfo;
 import com.cgi.privsense.piidetector.model.TablePIIInfo;
@@ -23,6 +24,16 @@ public interface PIIDetector {
      */
     PIIDetectionResult detectPII(String connectionId, String dbType);
 
+    /**
+     * Detects PII across an entire database using a specific detection profile.
+     *
+     * @param connectionId Database connection identifier
+     * @param dbType Database type (mysql, postgresql, etc.)
+     * @param profile Detection profile for this request
+     * @return Detection result containing information about PIIs found
+     */
+    PIIDetectionResult detectPII(String connectionId, String dbType, DetectionProfile profile);
+
     /**
      * Detects PII in a specific table.
      *
@@ -33,6 +44,17 @@ public interface PIIDetector {
      */
     TablePIIInfo detectPIIInTable(String connectionId, String dbType, String tableName);
 
+    /**
+     * Detects PII in a specific table using a specific detection profile.
+     *
+     * @param connectionId Database connection identifier
+     * @param dbType Database type
+     * @param tableName Name of the table to analyze
+     * @param profile Detection profile for this request
+     * @return Information about PIIs found in the table
+     */
+    TablePIIInfo detectPIIInTable(String connectionId, String dbType, String tableName, DetectionProfile profile);
+
     /**
      * Detects PII in a specific column.
      *
@@ -45,7 +67,27 @@ public interface PIIDetector {
     ColumnPIIInfo detectPIIInColumn(String connectionId, String dbType, String tableName, String columnName);
 
     /**
-     * Sets the minimum confidence level to consider data as PII.
+     * Detects PII in a specific column using a specific detection profile.
+     *
+     * @param connectionId Database connection identifier
+     * @param dbType Database type
+     * @param tableName Table name
+     * @param columnName Name of the column to analyze
+     * @param profile Detection profile for this request
+     * @return Information about PIIs found in the column
+     */
+    ColumnPIIInfo detectPIIInColumn(String connectionId, String dbType, String tableName, String columnName,
+                                    DetectionProfile profile);
+
+    /**
+     * Gets the default detection profile, used when no profile is given.
+     *
+     * @return The default detection profile
+     */
+    DetectionProfile getDefaultProfile();
+
+    /**
+     * Sets the minimum confidence level of the default detection profile.
      *
      * @param confidenceThreshold Confidence threshold (between 0.0 and 1.0)
      */
@@ -1,5 +1,6 @@
 package com.cgi.privsense.piidetector.api;
 
+import com.cgi.privsense.piidetector.model.DetectionProfile;
 import com.cgi.privsense.piidetector.model.TablePIIInfo;
 
 /**
@@ -14,7 +15,8 @@ public interface TablePIIService {
      * @param connectionId Database connection identifier
      * @param dbType Database type
      * @param tableName Name of the table to analyze
+     * @param profile Detection profile of the current request
      * @return Information about PIIs found in the table
      */
-    TablePIIInfo detectPIIInTable(String connectionId, String dbType, String tableName);
+    TablePIIInfo detectPIIInTable(String connectionId, String dbType, String tableName, DetectionProfile profile);
 }
\ No newline at end of file
@@ -5,9 +5,9 @@ import com.cgi.privsense.common.api.ApiResponse;
 import com.cgi.privsense.piidetector.api.PIIDetector;
 import com.cgi.privsense.piidetector.api.PIIReportGenerator;
 import com.cgi.privsense.piidetector.model.ColumnPIIInfo;
+import com.cgi.privsense.piidetector.model.DetectionProfile;
 import com.cgi.privsense.piidetector.model.PIIDetectionResult;
 import com.cgi.privsense.piidetector.model.TablePIIInfo;
-import com.cgi.privsense.piidetector.service.PIIDetectorImpl;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
@@ -49,8 +49,7 @@ public class PIIDetectorController {
 
         log.info("Starting PII analysis for connection: {}, threshold: {}", connectionId, confidenceThreshold);
 
-        piiDetector.setConfidenceThreshold(confidenceThreshold);
-        PIIDetectionResult result = piiDetector.detectPII(connectionId, dbType);
+        PIIDetectionResult result = piiDetector.detectPII(connectionId, dbType, profileFor(confidenceThreshold));
 
         log.info("PII analysis completed for connection: {}. Number of PIIs detected: {}",
                 connectionId, result.getTotalPiiCount());
@@ -70,13 +69,9 @@ public class PIIDetectorController {
                 connectionId, confidenceThreshold, sampleSize);
 
         // Configure for quick scan with reduced sample size and higher threshold
-        piiDetector.setConfidenceThreshold(confidenceThreshold);
+        DetectionProfile profile = profileFor(confidenceThreshold).withSampleSize(sampleSize);
 
-        if (piiDetector instanceof PIIDetectorImpl piiDetectorImpl) {
-            piiDetectorImpl.setSampleSize(sampleSize);
-        }
-
-        PIIDetectionResult result = piiDetector.detectPII(connectionId, dbType);
+        PIIDetectionResult result = piiDetector.detectPII(connectionId, dbType, profile);
 
         log.info("Quick PII analysis completed for connection: {}. Number of PIIs detected: {}",
                 connectionId, result.getTotalPiiCount());
@@ -95,8 +90,8 @@ public class PIIDetectorController {
         log.info("Starting PII analysis for table: {}.{}, threshold: {}",
                 connectionId, tableName, confidenceThreshold);
 
-        piiDetector.setConfidenceThreshold(confidenceThreshold);
-        TablePIIInfo result = piiDetector.detectPIIInTable(connectionId, dbType, tableName);
+        TablePIIInfo result = piiDetector.detectPIIInTable(connectionId, dbType, tableName,
+                profileFor(confidenceThreshold));
 
         log.info("PII analysis completed for table: {}.{}. PII detected: {}",
                 connectionId, tableName, result.isHasPii());
@@ -116,8 +111,8 @@ public class PIIDetectorController {
         log.info("Starting PII analysis for column: {}.{}.{}, threshold: {}",
                 connectionId, tableName, columnName, confidenceThreshold);
 
-        piiDetector.setConfidenceThreshold(confidenceThreshold);
-        ColumnPIIInfo result = piiDetector.detectPIIInColumn(connectionId, dbType, tableName, columnName);
+        ColumnPIIInfo result = piiDetector.detectPIIInColumn(connectionId, dbType, tableName, columnName,
+                profileFor(confidenceThreshold));
 
         log.info("PII analysis completed for column: {}.{}.{}. PII detected: {}",
                 connectionId, tableName, columnName, result.isPiiDetected());
@@ -148,8 +143,7 @@ public class PIIDetectorController {
 
         log.info("Generating PII report for connection: {}, threshold: {}", connectionId, confidenceThreshold);
 
-        piiDetector.setConfidenceThreshold(confidenceThreshold);
-        PIIDetectionResult result = piiDetector.detectPII(connectionId, dbType);
+        PIIDetectionResult result = piiDetector.detectPII(connectionId, dbType, profileFor(confidenceThreshold));
         String report = reportGenerator.generateReport(result);
 
         return ResponseEntity.ok()
@@ -168,8 +162,7 @@ public class PIIDetectorController {
         log.info("Exporting PII results for connection: {}, format: {}, threshold: {}",
                 connectionId, format, confidenceThreshold);
 
-        piiDetector.setConfidenceThreshold(confidenceThreshold);
-        PIIDetectionResult result = piiDetector.detectPII(connectionId, dbType);
+        PIIDetectionResult result = piiDetector.detectPII(connectionId, dbType, profileFor(confidenceThreshold));
         byte[] exportData = reportGenerator.exportResults(result, format);
 
         HttpHeaders headers = new HttpHeaders();
@@ -185,6 +178,13 @@ public class PIIDetectorController {
         return new ResponseEntity<>(exportData, headers, HttpStatus.OK);
     }
 
+    /**
+     * Creates the detection profile of a request from the default profile.
+     */
+    private DetectionProfile profileFor(double confidenceThreshold) {
+        return piiDetector.getDefaultProfile().withConfidenceThreshold(confidenceThreshold);
+    }
+
     // Error handler
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponse<String>> handleException(Exception e) {
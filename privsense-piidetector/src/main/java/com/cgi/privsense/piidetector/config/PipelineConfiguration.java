@@ -19,9 +19,9 @@ public class PipelineConfiguration {
     
     /**
      * Ordered list of detection stages to execute.
-     * Default: ["heuristic", "regex", "ner"]
+     * Default: ["heuristic", "regex", "gazetteer", "ner"]
      */
-    private List<String> stages = new ArrayList<>(List.of("heuristic", "regex", "ner"));
+    private List<String> stages = new ArrayList<>(List.of("heuristic", "regex", "gazetteer", "ner"));
     
     /**
      * Confidence threshold for early termination of pipeline.
@@ -30,13 +30,15 @@ public class PipelineConfiguration {
     private double confidenceThreshold = 0.7;
     
     /**
-     * Minimum sample size for detection.
+     * Rows sampled in the first round of progressive sampling. Columns the
+     * regex stage resolves may stop at this size.
      * Default: 5
      */
     private int minSampleSize = 5;
     
     /**
-     * Maximum sample size for detection.
+     * Rows sampled for columns that reach the later stages with progressive
+     * sampling, if larger than the sample size of the profile.
      * Default: 20
      */
     private int maxSampleSize = 20;
@@ -58,6 +60,7 @@ public class PipelineConfiguration {
         // Initialize with default strategy configs
         strategies.put("heuristic", new StrategyConfig(true, 0.6));
         strategies.put("regex", new StrategyConfig(true, 0.7));
+        strategies.put("gazetteer", new StrategyConfig(true, 0.7));
         strategies.put("ner", new StrategyConfig(true, 0.8));
         
         // Default feature flags
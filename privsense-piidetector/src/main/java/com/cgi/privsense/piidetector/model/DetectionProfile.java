@@ -0,0 +1,81 @@
+package com.cgi.privsense.piidetector.model;
+
+import com.cgi.privsense.piidetector.exception.PIIDetectionException;
+import lombok.Builder;
+import lombok.Value;
+import lombok.With;
+
+import java.util.List;
+
+/**
+ * Immutable detection settings for a single detection request.
+ * Passed through the pipeline instead of mutating shared detector state,
+ * so concurrent scans with different settings do not interfere. Caches
+ * include the profile fingerprint in their keys.
+ */
+@Value
+@Builder(toBuilder = true)
+public class DetectionProfile {
+    @With
+    double confidenceThreshold;
+
+    @With
+    int sampleSize;
+
+    /**
+     * Ordered pipeline stages to execute (heuristic, regex, ner).
+     */
+    List<String> enabledStages;
+
+    boolean earlyTermination;
+
+    /**
+     * Creates a profile with an immutable copy of the enabled stages.
+     */
+    private DetectionProfile(double confidenceThreshold, int sampleSize, List<String> enabledStages,
+            boolean earlyTermination) {
+        this.confidenceThreshold = confidenceThreshold;
+        this.sampleSize = sampleSize;
+        this.enabledStages = enabledStages != null ? List.copyOf(enabledStages) : List.of();
+        this.earlyTermination = earlyTermination;
+    }
+
+    /**
+     * Checks if a pipeline stage is enabled in this profile.
+     *
+     * @param stageName Stage name
+     * @return true if the stage is enabled
+     */
+    public boolean isStageEnabled(String stageName) {
+        return enabledStages.contains(stageName);
+    }
+
+    /**
+     * Gets a compact string identifying the settings of this profile.
+     * Two profiles with the same fingerprint produce the same detection results.
+     *
+     * @return Profile fingerprint
+     */
+    public String fingerprint() {
+        return "t" + confidenceThreshold
+                + "|s" + sampleSize
+                + "|" + String.join(",", enabledStages)
+                + "|et" + (earlyTermination ? 1 : 0);
+    }
+
+    /**
+     * Validates the profile settings.
+     *
+     * @return This profile
+     * @throws PIIDetectionException if a setting is out of range
+     */
+    public DetectionProfile validate() {
+        if (confidenceThreshold < 0.0 || confidenceThreshold > 1.0) {
+            throw PIIDetectionException.configError("Confidence threshold must be between 0.0 and 1.0");
+        }
+        if (sampleSize <= 0) {
+            throw PIIDetectionException.configError("Sample size must be positive");
+        }
+        return this;
+    }
+}
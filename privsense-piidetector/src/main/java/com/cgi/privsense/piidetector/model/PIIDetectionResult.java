@@ -34,10 +34,11 @@ public class PIIDetectionResult {
 
     /**
      * Adds table results and updates global statistics.
+     * Synchronized so that tables processed concurrently can be aggregated safely.
      *
      * @param tableResult Detection result for a table
      */
-    public void addTableResult(TablePIIInfo tableResult) {
+    public synchronized void addTableResult(TablePIIInfo tableResult) {
         if (tableResults == null) {
             tableResults = new ArrayList<>();
         }
@@ -3,6 +3,7 @@ package com.cgi.privsense.piidetector.model.enums;
 public enum DetectionMethod {
     HEURISTIC_NAME_BASED,
     REGEX_PATTERN,
+    GAZETTEER,
     NER_MODEL,
     COMPOSITE
 }
\ No newline at end of file
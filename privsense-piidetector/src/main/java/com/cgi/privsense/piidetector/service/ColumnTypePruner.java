@@ -0,0 +1,216 @@
+package com.cgi.privsense.piidetector.service;
+
+import com.cgi.privsense.dbscanner.model.ColumnMetadata;
+import com.cgi.privsense.piidetector.model.enums.PIIType;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Decides from column metadata which PII types a column can hold.
+ * Runs before sampling: a column whose SQL type cannot hold any PII (flags,
+ * binary data, small integers, times) is not sampled at all, and the
+ * detection stages of the other columns are restricted to the feasible types.
+ * Text columns are narrowed by their maximum length, numeric columns by the
+ * digits they can hold. Unknown types keep every PII type.
+ */
+@Component
+public class ColumnTypePruner {
+    private static final Set<PIIType> ALL_TYPES = Collections.unmodifiableSet(EnumSet.allOf(PIIType.class));
+    private static final Set<PIIType> NO_TYPES = Collections.unmodifiableSet(EnumSet.noneOf(PIIType.class));
+
+    private static final Set<String> NO_PII_TYPES = Set.of(
+            "bit", "bool", "boolean", "binary", "varbinary", "blob", "tinyblob", "mediumblob", "longblob",
+            "bytea", "raw", "long raw", "image", "uuid", "uniqueidentifier", "time", "interval");
+
+    private static final Set<String> SPATIAL_TYPES = Set.of(
+            "geometry", "point", "linestring", "polygon", "multipoint", "multilinestring", "multipolygon",
+            "geometrycollection", "geography");
+
+    private static final Set<String> DATE_TYPES = Set.of("date", "year");
+
+    private static final Set<String> DATE_TIME_TYPES = Set.of(
+            "datetime", "datetime2", "smalldatetime", "timestamp", "timestamptz", "datetimeoffset");
+
+    private static final Set<String> FLOATING_TYPES = Set.of("float", "double", "double precision", "real");
+
+    private static final Set<String> DECIMAL_TYPES = Set.of("decimal", "numeric", "number", "money", "smallmoney");
+
+    // Decimal digits held by integer types, used when the precision is not reported
+    private static final Map<String, Integer> INTEGER_DIGITS = Map.of(
+            "tinyint", 3, "smallint", 5, "mediumint", 8, "int", 10, "integer", 10,
+            "serial", 10, "bigint", 20, "bigserial", 20);
+
+    // Minimum number of digits of PII types that can be stored as numbers
+    private static final Map<PIIType, Integer> MIN_DIGITS = new EnumMap<>(PIIType.class);
+
+    // Minimum number of characters of PII types with a fixed structure
+    private static final Map<PIIType, Integer> MIN_CHARS = new EnumMap<>(PIIType.class);
+
+    static {
+        MIN_DIGITS.put(PIIType.POSTAL_CODE, 4);
+        MIN_DIGITS.put(PIIType.ZIPCODE, 4);
+        MIN_DIGITS.put(PIIType.SALARY, 4);
+        MIN_DIGITS.put(PIIType.PHONE_NUMBER, 7);
+        MIN_DIGITS.put(PIIType.DATE_OF_BIRTH, 8);
+        MIN_DIGITS.put(PIIType.DATE_TIME, 10);
+        MIN_DIGITS.put(PIIType.NATIONAL_ID, 8);
+        MIN_DIGITS.put(PIIType.SSN, 9);
+        MIN_DIGITS.put(PIIType.ID_NUMBER, 8);
+        MIN_DIGITS.put(PIIType.BANK_ACCOUNT, 8);
+        MIN_DIGITS.put(PIIType.CREDIT_CARD, 13);
+
+        MIN_CHARS.put(PIIType.FULL_NAME, 3);
+        MIN_CHARS.put(PIIType.IP_ADDRESS, 3);
+        MIN_CHARS.put(PIIType.POSTAL_CODE, 3);
+        MIN_CHARS.put(PIIType.ZIPCODE, 3);
+        MIN_CHARS.put(PIIType.ADDRESS, 5);
+        MIN_CHARS.put(PIIType.NATIONAL_ID, 5);
+        MIN_CHARS.put(PIIType.DRIVING_LICENSE, 5);
+        MIN_CHARS.put(PIIType.BANK_ACCOUNT, 5);
+        MIN_CHARS.put(PIIType.EMAIL, 6);
+        MIN_CHARS.put(PIIType.PASSPORT_NUMBER, 6);
+        MIN_CHARS.put(PIIType.DATE_OF_BIRTH, 6);
+        MIN_CHARS.put(PIIType.PHONE_NUMBER, 7);
+        MIN_CHARS.put(PIIType.DATE_TIME, 8);
+        MIN_CHARS.put(PIIType.SSN, 9);
+        MIN_CHARS.put(PIIType.CREDIT_CARD, 13);
+    }
+
+    /**
+     * Gets the PII types a column can hold.
+     *
+     * @param column Column metadata
+     * @return Feasible PII types, empty if the column cannot hold any PII
+     */
+    public Set<PIIType> feasibleTypes(ColumnMetadata column) {
+        String type = normalizeType(column.getType());
+        if (type.isEmpty()) {
+            return ALL_TYPES;
+        }
+
+        if (NO_PII_TYPES.contains(type)) {
+            return NO_TYPES;
+        }
+        if (SPATIAL_TYPES.contains(type)) {
+            return EnumSet.of(PIIType.GEOLOCATION);
+        }
+        if (DATE_TYPES.contains(type)) {
+            return EnumSet.of(PIIType.DATE_OF_BIRTH);
+        }
+        if (DATE_TIME_TYPES.contains(type)) {
+            return EnumSet.of(PIIType.DATE_OF_BIRTH, PIIType.DATE_TIME);
+        }
+        if (FLOATING_TYPES.contains(type)) {
+            return EnumSet.of(PIIType.SALARY, PIIType.GEOLOCATION);
+        }
+        if (INTEGER_DIGITS.containsKey(type)) {
+            // Integer surrogate keys never hold personal data
+            if (column.isPrimaryKey() || column.isForeignKey()) {
+                return NO_TYPES;
+            }
+            Integer precision = column.getNumericPrecision();
+            return numericTypes(precision != null && precision > 0 ? precision : INTEGER_DIGITS.get(type));
+        }
+        if (DECIMAL_TYPES.contains(type)) {
+            return decimalTypes(column.getNumericPrecision(), column.getNumericScale());
+        }
+
+        Long maxLength = column.getMaxLength();
+        if (maxLength != null && maxLength > 0) {
+            return textTypes(maxLength);
+        }
+        return ALL_TYPES;
+    }
+
+    /**
+     * Checks if a set of feasible types holds every PII type.
+     *
+     * @param feasibleTypes Feasible types
+     * @return true if no type has been pruned
+     */
+    public static boolean isUnrestricted(Set<PIIType> feasibleTypes) {
+        return feasibleTypes.size() == ALL_TYPES.size();
+    }
+
+    /**
+     * Gets a set holding every PII type, for columns without metadata.
+     *
+     * @return All PII types
+     */
+    public static Set<PIIType> allTypes() {
+        return ALL_TYPES;
+    }
+
+    /**
+     * Normalizes a SQL type name: lower case, without length, precision or modifiers.
+     */
+    private static String normalizeType(String sqlType) {
+        if (sqlType == null) {
+            return "";
+        }
+        String type = sqlType.toLowerCase(Locale.ROOT).strip();
+        int parenthesis = type.indexOf('(');
+        if (parenthesis >= 0) {
+            type = type.substring(0, parenthesis).strip();
+        }
+        for (String modifier : new String[] {" unsigned", " zerofill", " with time zone", " without time zone"}) {
+            type = type.replace(modifier, "");
+        }
+        return type.strip();
+    }
+
+    /**
+     * Types storable as integers of a number of digits.
+     */
+    private static Set<PIIType> numericTypes(int digits) {
+        Set<PIIType> types = EnumSet.noneOf(PIIType.class);
+        MIN_DIGITS.forEach((piiType, minDigits) -> {
+            if (minDigits <= digits) {
+                types.add(piiType);
+            }
+        });
+        return types;
+    }
+
+    /**
+     * Types storable as decimals: amounts and coordinates with a fractional
+     * part, integer types otherwise.
+     */
+    private static Set<PIIType> decimalTypes(Integer precision, Integer scale) {
+        if (precision == null || precision <= 0) {
+            return ALL_TYPES;
+        }
+        int fractionDigits = scale != null ? scale : 0;
+        if (fractionDigits == 0) {
+            return numericTypes(precision);
+        }
+
+        Set<PIIType> types = EnumSet.noneOf(PIIType.class);
+        if (precision - fractionDigits >= MIN_DIGITS.get(PIIType.SALARY)) {
+            types.add(PIIType.SALARY);
+        }
+        if (fractionDigits >= 4) {
+            types.add(PIIType.GEOLOCATION);
+        }
+        return types;
+    }
+
+    /**
+     * Types whose shortest value fits in a text column of a maximum length.
+     */
+    private static Set<PIIType> textTypes(long maxLength) {
+        Set<PIIType> types = EnumSet.allOf(PIIType.class);
+        MIN_CHARS.forEach((piiType, minChars) -> {
+            if (minChars > maxLength) {
+                types.remove(piiType);
+            }
+        });
+        return types;
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.stereotype.Component;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -23,11 +24,13 @@ public class PIIDetectionMetricsCollector implements PIIDetectionMetricsCollecto
     // Counters for different detection methods
     private final AtomicInteger heuristicDetectionCount = new AtomicInteger(0);
     private final AtomicInteger regexDetectionCount = new AtomicInteger(0);
+    private final AtomicInteger gazetteerDetectionCount = new AtomicInteger(0);
     private final AtomicInteger nerDetectionCount = new AtomicInteger(0);
 
     // Counters for columns stopped at each pipeline stage
     private final AtomicInteger heuristicStopCount = new AtomicInteger(0);
     private final AtomicInteger regexStopCount = new AtomicInteger(0);
+    private final AtomicInteger gazetteerStopCount = new AtomicInteger(0);
     private final AtomicInteger nerStopCount = new AtomicInteger(0);
 
     // Total execution time for each method - using ConcurrentHashMap with AtomicLong for thread safety
@@ -49,6 +52,25 @@ public class PIIDetectionMetricsCollector implements PIIDetectionMetricsCollecto
 
     // Skipped columns counter
     private final AtomicInteger skippedColumnsCount = new AtomicInteger(0);
+
+    // Scan pipeline: time blocked on the column queue per stage (ns), and queue depth
+    private final Map<String, AtomicLong> pipelineStallTimes = new ConcurrentHashMap<>();
+    private final AtomicInteger maxQueueDepth = new AtomicInteger(0);
+    private final AtomicLong queueDepthSum = new AtomicLong(0);
+    private final AtomicLong queueDepthSamples = new AtomicLong(0);
+
+    // Progressive sampling: rows and rounds per sampled column
+    private final AtomicInteger sampledColumns = new AtomicInteger(0);
+    private final AtomicLong sampledRows = new AtomicLong(0);
+    private final AtomicLong samplingRounds = new AtomicLong(0);
+
+    // Metadata pruning: columns skipped before sampling, stages skipped per column
+    private final AtomicInteger prunedColumnsCount = new AtomicInteger(0);
+    private final Map<String, AtomicInteger> prunedStages = new ConcurrentHashMap<>();
+
+    // Circuit breaker statistics
+    private final Map<String, AtomicInteger> circuitBreakerTransitions = new ConcurrentHashMap<>();
+    private final Map<String, String> circuitBreakerStates = new ConcurrentHashMap<>();
     
     // Lock for report generation to ensure consistent snapshots
     private final ReentrantReadWriteLock reportLock = new ReentrantReadWriteLock();
@@ -69,6 +91,14 @@ public class PIIDetectionMetricsCollector implements PIIDetectionMetricsCollecto
         regexDetectionCount.incrementAndGet();
     }
 
+    /**
+     * Records a gazetteer detection.
+     */
+    @Override
+    public void recordGazetteerDetection() {
+        gazetteerDetectionCount.incrementAndGet();
+    }
+
     /**
      * Records a NER detection.
      */
@@ -93,6 +123,14 @@ public class PIIDetectionMetricsCollector implements PIIDetectionMetricsCollecto
         regexStopCount.incrementAndGet();
     }
 
+    /**
+     * Records a pipeline stop at the gazetteer stage.
+     */
+    @Override
+    public void recordGazetteerPipelineStop() {
+        gazetteerStopCount.incrementAndGet();
+    }
+
     /**
      * Records a pipeline stop at the NER stage.
      */
@@ -172,6 +210,75 @@ public class PIIDetectionMetricsCollector implements PIIDetectionMetricsCollecto
         totalColumnsProcessed.incrementAndGet();
     }
 
+    /**
+     * Records time a scan pipeline stage spent blocked on the column queue.
+     *
+     * @param stage Pipeline stage (sampling or detection)
+     * @param stallTimeNanos Time blocked in ns
+     */
+    @Override
+    public void recordPipelineStall(String stage, long stallTimeNanos) {
+        pipelineStallTimes.computeIfAbsent(stage, k -> new AtomicLong(0))
+                .addAndGet(stallTimeNanos);
+    }
+
+    /**
+     * Records the column queue depth observed by a scan pipeline.
+     *
+     * @param depth Number of column samples waiting for detection
+     */
+    @Override
+    public void recordQueueDepth(int depth) {
+        maxQueueDepth.accumulateAndGet(depth, Math::max);
+        queueDepthSum.addAndGet(depth);
+        queueDepthSamples.incrementAndGet();
+    }
+
+    /**
+     * Records the progressive sampling of a column.
+     *
+     * @param rows Number of rows in the final sample
+     * @param rounds Number of sampling rounds
+     */
+    @Override
+    public void recordColumnSampling(int rows, int rounds) {
+        sampledColumns.incrementAndGet();
+        sampledRows.addAndGet(rows);
+        samplingRounds.addAndGet(rounds);
+    }
+
+    /**
+     * Records a column skipped before sampling because its type cannot hold PII.
+     */
+    @Override
+    public void recordPrunedColumn() {
+        prunedColumnsCount.incrementAndGet();
+    }
+
+    /**
+     * Records a stage skipped for a column because it cannot detect any feasible PII type.
+     *
+     * @param stage Pipeline stage
+     */
+    @Override
+    public void recordPrunedStage(String stage) {
+        prunedStages.computeIfAbsent(stage, k -> new AtomicInteger(0)).incrementAndGet();
+    }
+
+    /**
+     * Records a circuit breaker state transition.
+     *
+     * @param breakerName Circuit breaker name
+     * @param fromState Previous state
+     * @param toState New state
+     */
+    @Override
+    public void recordCircuitBreakerTransition(String breakerName, String fromState, String toState) {
+        circuitBreakerTransitions.computeIfAbsent(breakerName + ":" + fromState + "->" + toState,
+                k -> new AtomicInteger(0)).incrementAndGet();
+        circuitBreakerStates.put(breakerName, toState);
+    }
+
     /**
      * Resets all metrics.
      * Acquires write lock to ensure thread safety during reset operation.
@@ -182,15 +289,27 @@ public class PIIDetectionMetricsCollector implements PIIDetectionMetricsCollecto
         try {
             heuristicDetectionCount.set(0);
             regexDetectionCount.set(0);
+            gazetteerDetectionCount.set(0);
             nerDetectionCount.set(0);
             heuristicStopCount.set(0);
             regexStopCount.set(0);
+            gazetteerStopCount.set(0);
             nerStopCount.set(0);
             skippedColumnsCount.set(0);
             detectionTimes.clear();
             tableProcessingTimes.clear();
             columnProcessingTimes.clear();
             piiTypeStats.clear();
+            pipelineStallTimes.clear();
+            maxQueueDepth.set(0);
+            queueDepthSum.set(0);
+            queueDepthSamples.set(0);
+            sampledColumns.set(0);
+            sampledRows.set(0);
+            samplingRounds.set(0);
+            prunedColumnsCount.set(0);
+            prunedStages.clear();
+            circuitBreakerTransitions.clear();
             totalDetectionTimeMs.set(0);
             totalColumnsProcessed.set(0);
             totalPiiDetected.set(0);
@@ -214,11 +333,13 @@ public class PIIDetectionMetricsCollector implements PIIDetectionMetricsCollecto
             // Detection statistics by method
             report.put("heuristicDetections", heuristicDetectionCount.get());
             report.put("regexDetections", regexDetectionCount.get());
+            report.put("gazetteerDetections", gazetteerDetectionCount.get());
             report.put("nerDetections", nerDetectionCount.get());
 
             // Pipeline stop statistics
             report.put("heuristicStops", heuristicStopCount.get());
             report.put("regexStops", regexStopCount.get());
+            report.put("gazetteerStops", gazetteerStopCount.get());
             report.put("nerStops", nerStopCount.get());
             report.put("skippedColumns", skippedColumnsCount.get());
 
@@ -226,6 +347,7 @@ public class PIIDetectionMetricsCollector implements PIIDetectionMetricsCollecto
             int totalColumns = totalColumnsProcessed.get() > 0 ? totalColumnsProcessed.get() : 1; // Avoid division by zero
             report.put("heuristicStopPercentage", (double) heuristicStopCount.get() / totalColumns * 100);
             report.put("regexStopPercentage", (double) regexStopCount.get() / totalColumns * 100);
+            report.put("gazetteerStopPercentage", (double) gazetteerStopCount.get() / totalColumns * 100);
             report.put("nerStopPercentage", (double) nerStopCount.get() / totalColumns * 100);
             report.put("skippedColumnsPercentage", (double) skippedColumnsCount.get() /
                     (totalColumns + skippedColumnsCount.get()) * 100);
@@ -260,6 +382,31 @@ public class PIIDetectionMetricsCollector implements PIIDetectionMetricsCollecto
             piiTypeStats.forEach((key, value) -> piiTypeCounts.put(key, value.get()));
             report.put("piiTypeStats", piiTypeCounts);
 
+            // Scan pipeline statistics
+            Map<String, Long> stallReport = new HashMap<>();
+            pipelineStallTimes.forEach((stage, time) ->
+                    stallReport.put(stage, TimeUnit.NANOSECONDS.toMillis(time.get())));
+            report.put("pipelineStallTimes", stallReport);
+            report.put("maxQueueDepth", maxQueueDepth.get());
+            report.put("averageQueueDepth", queueDepthSamples.get() > 0 ?
+                    (double) queueDepthSum.get() / queueDepthSamples.get() : 0);
+            report.put("averageSampleRows", sampledColumns.get() > 0 ?
+                    (double) sampledRows.get() / sampledColumns.get() : 0);
+            report.put("averageSamplingRounds", sampledColumns.get() > 0 ?
+                    (double) samplingRounds.get() / sampledColumns.get() : 0);
+
+            // Metadata pruning statistics
+            report.put("prunedColumns", prunedColumnsCount.get());
+            Map<String, Integer> prunedStageReport = new HashMap<>();
+            prunedStages.forEach((stage, count) -> prunedStageReport.put(stage, count.get()));
+            report.put("prunedStages", prunedStageReport);
+
+            // Circuit breaker statistics
+            Map<String, Integer> transitionReport = new HashMap<>();
+            circuitBreakerTransitions.forEach((transition, count) -> transitionReport.put(transition, count.get()));
+            report.put("circuitBreakerTransitions", transitionReport);
+            report.put("circuitBreakerStates", new HashMap<>(circuitBreakerStates));
+
             // Global metrics
             report.put("totalColumnsProcessed", totalColumnsProcessed.get());
             report.put("totalPiiDetected", totalPiiDetected.get());
@@ -290,6 +437,8 @@ public class PIIDetectionMetricsCollector implements PIIDetectionMetricsCollecto
                     report.get("heuristicStops"), String.format("%.2f", report.get("heuristicStopPercentage")));
             log.info("Stops at regex stage: {} ({}%)",
                     report.get("regexStops"), String.format("%.2f", report.get("regexStopPercentage")));
+            log.info("Stops at gazetteer stage: {} ({}%)",
+                    report.get("gazetteerStops"), String.format("%.2f", report.get("gazetteerStopPercentage")));
             log.info("Stops at NER stage: {} ({}%)",
                     report.get("nerStops"), String.format("%.2f", report.get("nerStopPercentage")));
         }
@@ -297,6 +446,7 @@ public class PIIDetectionMetricsCollector implements PIIDetectionMetricsCollecto
         log.info("--- Detections by Method ---");
         log.info("Heuristic detections: {}", report.get("heuristicDetections"));
         log.info("Regex detections: {}", report.get("regexDetections"));
+        log.info("Gazetteer detections: {}", report.get("gazetteerDetections"));
         log.info("NER detections: {}", report.get("nerDetections"));
 
         log.info("--- Execution Time by Method ---");
@@ -304,6 +454,16 @@ public class PIIDetectionMetricsCollector implements PIIDetectionMetricsCollecto
         Map<String, Long> times = (Map<String, Long>) report.get("detectionTimes");
         times.forEach((method, timeMs) -> log.info("{}: {} ms", method, timeMs));
 
+        log.info("--- Scan Pipeline ---");
+        @SuppressWarnings("unchecked")
+        Map<String, Long> stalls = (Map<String, Long>) report.get("pipelineStallTimes");
+        stalls.forEach((stage, timeMs) -> log.info("{} stall: {} ms", stage, timeMs));
+        log.info("Queue depth: max {}, average {}", report.get("maxQueueDepth"), report.get("averageQueueDepth"));
+        log.info("Sample rows per column: average {} in {} rounds",
+                report.get("averageSampleRows"), report.get("averageSamplingRounds"));
+        log.info("Columns pruned from metadata: {}, stages pruned: {}",
+                report.get("prunedColumns"), report.get("prunedStages"));
+
         log.info("--- Detections by PII Type ---");
         @SuppressWarnings("unchecked")
         Map<String, Integer> piiCounts = (Map<String, Integer>) report.get("piiTypeStats");
@@ -55,6 +55,11 @@ public interface PIIDetectionMetricsCollectorInterface {
      */
     void recordRegexDetection();
 
+    /**
+     * Records a detection using the gazetteer strategy.
+     */
+    void recordGazetteerDetection();
+
     /**
      * Records a detection using the NER strategy.
      */
@@ -70,6 +75,11 @@ public interface PIIDetectionMetricsCollectorInterface {
      */
     void recordRegexPipelineStop();
 
+    /**
+     * Records that the pipeline stopped after gazetteer detection.
+     */
+    void recordGazetteerPipelineStop();
+
     /**
      * Records that the pipeline stopped after NER detection.
      */
@@ -82,6 +92,50 @@ public interface PIIDetectionMetricsCollectorInterface {
      */
     void recordPiiTypeDetection(String piiType);
 
+    /**
+     * Records time a scan pipeline stage spent blocked on the column queue.
+     *
+     * @param stage Pipeline stage (sampling or detection)
+     * @param stallTimeNanos Time blocked in ns
+     */
+    void recordPipelineStall(String stage, long stallTimeNanos);
+
+    /**
+     * Records the column queue depth observed by a scan pipeline.
+     *
+     * @param depth Number of column samples waiting for detection
+     */
+    void recordQueueDepth(int depth);
+
+    /**
+     * Records the progressive sampling of a column.
+     *
+     * @param rows Number of rows in the final sample
+     * @param rounds Number of sampling rounds
+     */
+    void recordColumnSampling(int rows, int rounds);
+
+    /**
+     * Records a column skipped before sampling because its type cannot hold PII.
+     */
+    void recordPrunedColumn();
+
+    /**
+     * Records a stage skipped for a column because it cannot detect any feasible PII type.
+     *
+     * @param stage Pipeline stage
+     */
+    void recordPrunedStage(String stage);
+
+    /**
+     * Records a circuit breaker state transition.
+     *
+     * @param breakerName Circuit breaker name
+     * @param fromState Previous state
+     * @param toState New state
+     */
+    void recordCircuitBreakerTransition(String breakerName, String fromState, String toState);
+
     /**
      * Resets all metrics to their initial state.
      */
@@ -4,8 +4,12 @@ import com.cgi.privsense.common.util.DatabaseUtils;
 import com.cgi.privsense.piidetector.config.PipelineConfiguration;
 import com.cgi.privsense.piidetector.exception.PIIDetectionException;
 import com.cgi.privsense.piidetector.model.ColumnPIIInfo;
+import com.cgi.privsense.piidetector.model.DetectionProfile;
 import com.cgi.privsense.piidetector.model.PIITypeDetection;
+import com.cgi.privsense.piidetector.model.enums.PIIType;
 import com.cgi.privsense.piidetector.api.PIIDetectionStrategy;
+import com.cgi.privsense.piidetector.service.external.NERHealthProber;
+import com.cgi.privsense.piidetector.strategy.GazetteerStrategy;
 import com.cgi.privsense.piidetector.strategy.HeuristicNameStrategy;
 import com.cgi.privsense.piidetector.strategy.NERModelStrategy;
 import com.cgi.privsense.piidetector.strategy.RegexPatternStrategy;
@@ -30,6 +34,7 @@ public class PIIDetectionPipelineCoordinator {
     // Constants for strategy names
     private static final String STRATEGY_HEURISTIC = "heuristic";
     private static final String STRATEGY_REGEX = "regex";
+    private static final String STRATEGY_GAZETTEER = "gazetteer";
     private static final String STRATEGY_NER = "ner";
 
     // Constants for cache keys
@@ -43,12 +48,12 @@ public class PIIDetectionPipelineCoordinator {
     private final PIIDetectionCacheManager cacheManager;
     private final DetectionResultFactory resultFactory;
     private final StrategyHealthMonitor healthMonitor;
+    private final NERHealthProber nerHealthProber;
     private final TechnicalColumnAnalyzer technicalColumnAnalyzer;
     private final PIIContextEnhancer contextEnhancer;
     private final SampleFilterService sampleFilterService;
     private final PipelineConfiguration pipelineConfig;
 
-    private boolean earlyTerminationEnabled;
     private boolean cachingEnabled;
     private boolean contextEnhancementEnabled;
 
@@ -62,31 +67,38 @@ public class PIIDetectionPipelineCoordinator {
         final String tableName;
         final String columnName;
         final List<Object> sampleData;
+        final DetectionProfile profile;
         final ColumnPIIInfo columnInfo;
         final long startTime;
         final boolean hasSamples;
+        final Set<PIIType> feasibleTypes;
 
         PipelineContext(String connectionId, String dbType, String tableName, String columnName,
-                List<Object> sampleData, ColumnPIIInfo columnInfo, long startTime) {
+                List<Object> sampleData, DetectionProfile profile, ColumnPIIInfo columnInfo, long startTime,
+                Set<PIIType> feasibleTypes) {
             this.connectionId = connectionId;
             this.dbType = dbType;
             this.tableName = tableName;
             this.columnName = columnName;
             this.sampleData = sampleData;
+            this.profile = profile;
             this.columnInfo = columnInfo;
             this.startTime = startTime;
             this.hasSamples = sampleData != null && !sampleData.isEmpty();
+            this.feasibleTypes = feasibleTypes;
         }
     }
 
     public PIIDetectionPipelineCoordinator(
             HeuristicNameStrategy heuristicStrategy,
             RegexPatternStrategy regexStrategy,
+            GazetteerStrategy gazetteerStrategy,
             NERModelStrategy nerStrategy,
             PIIDetectionMetricsCollectorInterface metricsCollector,
             PIIDetectionCacheManager cacheManager,
             DetectionResultFactory resultFactory,
             StrategyHealthMonitor healthMonitor,
+            NERHealthProber nerHealthProber,
             TechnicalColumnAnalyzer technicalColumnAnalyzer,
             PIIContextEnhancer contextEnhancer,
             SampleFilterService sampleFilterService,
@@ -98,6 +110,7 @@ public class PIIDetectionPipelineCoordinator {
         this.cacheManager = cacheManager;
         this.resultFactory = resultFactory;
         this.healthMonitor = healthMonitor;
+        this.nerHealthProber = nerHealthProber;
         this.technicalColumnAnalyzer = technicalColumnAnalyzer;
         this.contextEnhancer = contextEnhancer;
         this.sampleFilterService = sampleFilterService;
@@ -106,16 +119,19 @@ public class PIIDetectionPipelineCoordinator {
         // Register strategies by name for easy lookup
         strategies.put(STRATEGY_HEURISTIC, heuristicStrategy);
         strategies.put(STRATEGY_REGEX, regexStrategy);
+        strategies.put(STRATEGY_GAZETTEER, gazetteerStrategy);
         strategies.put(STRATEGY_NER, nerStrategy);
 
         // Initialize strategy health monitor
         healthMonitor.initializeStrategyHealth(strategies.keySet().toArray(new String[0]));
 
+        // Attempt to recover unhealthy strategies on each background health probe
+        nerHealthProber.addListener(health -> healthMonitor.checkAndRecoverStrategies(nerRecoveryCheck(health)));
+
         // Apply standard configuration to all strategies
         this.setConfidenceThreshold(confidenceThreshold);
 
         // Read configuration flags
-        this.earlyTerminationEnabled = pipelineConfig.isFeatureEnabled("earlyTermination");
         this.cachingEnabled = pipelineConfig.isFeatureEnabled("caching");
         this.contextEnhancementEnabled = pipelineConfig.isFeatureEnabled("contextEnhancement");
 
@@ -132,10 +148,31 @@ public class PIIDetectionPipelineCoordinator {
      * @param tableName    Table name
      * @param columnName   Column name
      * @param sampleData   Data samples for this column
+     * @param profile      Detection profile of the current request
      * @return Information about PIIs detected in the column
      */
     public ColumnPIIInfo analyzeColumn(String connectionId, String dbType, String tableName,
-            String columnName, List<Object> sampleData) {
+            String columnName, List<Object> sampleData, DetectionProfile profile) {
+        return analyzeColumn(connectionId, dbType, tableName, columnName, sampleData, profile,
+                ColumnTypePruner.allTypes());
+    }
+
+    /**
+     * Analyzes a column by applying strategies sequentially, restricted to the
+     * PII types the column can hold. Stages that cannot detect any of them are
+     * skipped, and detections of other types are discarded.
+     *
+     * @param connectionId  Connection identifier
+     * @param dbType        Database type
+     * @param tableName     Table name
+     * @param columnName    Column name
+     * @param sampleData    Data samples for this column
+     * @param profile       Detection profile of the current request
+     * @param feasibleTypes PII types the column can hold (see {@link ColumnTypePruner})
+     * @return Information about PIIs detected in the column
+     */
+    public ColumnPIIInfo analyzeColumn(String connectionId, String dbType, String tableName,
+            String columnName, List<Object> sampleData, DetectionProfile profile, Set<PIIType> feasibleTypes) {
         log.debug("Starting detection pipeline for column {}.{}", tableName, columnName);
 
         // Validate table and column names
@@ -146,7 +183,7 @@ public class PIIDetectionPipelineCoordinator {
         }
 
         // Check cache first if caching is enabled
-        ColumnPIIInfo cachedResult = checkCache(connectionId, dbType, tableName, columnName);
+        ColumnPIIInfo cachedResult = checkCache(connectionId, dbType, tableName, columnName, profile);
         if (cachedResult != null) {
             return cachedResult;
         }
@@ -156,20 +193,17 @@ public class PIIDetectionPipelineCoordinator {
             log.debug("Skipping technical column {}.{}", tableName, columnName);
             metricsCollector.recordSkippedColumn();
             ColumnPIIInfo emptyResult = resultFactory.createEmptyResult(tableName, columnName);
-            cacheResult(connectionId, dbType, tableName, columnName, emptyResult);
+            cacheResult(connectionId, dbType, tableName, columnName, profile, emptyResult);
             return emptyResult;
         }
 
         long startTime = System.currentTimeMillis();
         ColumnPIIInfo columnInfo = resultFactory.createEmptyResult(tableName, columnName);
 
-        // Attempt to recover unhealthy strategies
-        healthMonitor.checkAndRecoverStrategies(nerStrategy::isServiceAvailable);
-
         // Create a pipeline context to group parameters
         PipelineContext context = new PipelineContext(
                 connectionId, dbType, tableName, columnName,
-                sampleData, columnInfo, startTime);
+                sampleData, profile, columnInfo, startTime, feasibleTypes);
 
         // Process each stage in the pipeline
         processStages(context);
@@ -185,7 +219,7 @@ public class PIIDetectionPipelineCoordinator {
         metricsCollector.recordColumnProcessingTime(tableName, columnName, totalTime);
 
         // Cache the result
-        cacheResult(connectionId, dbType, tableName, columnName, columnInfo);
+        cacheResult(connectionId, dbType, tableName, columnName, profile, columnInfo);
 
         return columnInfo;
     }
@@ -203,9 +237,11 @@ public class PIIDetectionPipelineCoordinator {
      * 
      * @return Cached result or null if not found
      */
-    private ColumnPIIInfo checkCache(String connectionId, String dbType, String tableName, String columnName) {
+    private ColumnPIIInfo checkCache(String connectionId, String dbType, String tableName, String columnName,
+            DetectionProfile profile) {
         if (cachingEnabled) {
-            String cacheKey = cacheManager.generateCacheKey(connectionId, dbType, tableName, columnName);
+            String cacheKey = cacheManager.generateCacheKey(connectionId, dbType, tableName, columnName,
+                    profile.fingerprint());
             Map<String, ColumnPIIInfo> columnResultCache = cacheManager.getCache(COLUMN_RESULT_CACHE);
 
             if (columnResultCache != null && columnResultCache.containsKey(cacheKey)) {
@@ -217,14 +253,15 @@ public class PIIDetectionPipelineCoordinator {
     }
 
     /**
-     * Process each stage in the configured pipeline.
+     * Process each stage enabled in the detection profile.
      */
     private void processStages(PipelineContext ctx) {
-        // Execute each stage in sequence according to configuration
-        for (String stageName : pipelineConfig.getStages()) {
+        // Execute each stage in sequence according to the profile
+        for (String stageName : ctx.profile.getEnabledStages()) {
             // Skip stages that require sample data if none is available
             boolean shouldSkipDueToNoSamples = !ctx.hasSamples &&
-                    (STRATEGY_REGEX.equals(stageName) || STRATEGY_NER.equals(stageName));
+                    (STRATEGY_REGEX.equals(stageName) || STRATEGY_GAZETTEER.equals(stageName)
+                            || STRATEGY_NER.equals(stageName));
 
             PIIDetectionStrategy strategy = strategies.get(stageName);
             boolean isUnknownStage = strategy == null;
@@ -234,7 +271,12 @@ public class PIIDetectionPipelineCoordinator {
                         stageName, ctx.tableName, ctx.columnName);
             } else if (isUnknownStage) {
                 log.warn("Unknown pipeline stage: {}, skipping", stageName);
-            } else if (executeStage(stageName, strategy, ctx) && earlyTerminationEnabled) {
+            } else if (Collections.disjoint(strategy.getDetectableTypes(), ctx.feasibleTypes)) {
+                log.debug("Skipping {} stage: no feasible PII type for {}.{}",
+                        stageName, ctx.tableName, ctx.columnName);
+                ctx.columnInfo.getAdditionalInfo().put(stageName + "Pruned", true);
+                metricsCollector.recordPrunedStage(stageName);
+            } else if (executeStage(stageName, strategy, ctx) && ctx.profile.isEarlyTermination()) {
                 // Early termination if enabled and high-confidence match found
                 log.debug("Pipeline stopping early after {} stage for {}.{}",
                         stageName, ctx.tableName, ctx.columnName);
@@ -263,11 +305,11 @@ public class PIIDetectionPipelineCoordinator {
         long stageStart = System.currentTimeMillis();
 
         try {
-            return processStrategyResult(
-        strategy.detectColumnPII(
-                ctx.connectionId, ctx.dbType, ctx.tableName, ctx.columnName,
-                STRATEGY_HEURISTIC.equals(stageName) ? null : effectiveSamples),
-        stageName, ctx);
+            ColumnPIIInfo stageResult = strategy.detectColumnPII(
+                    ctx.connectionId, ctx.dbType, ctx.tableName, ctx.columnName,
+                    STRATEGY_HEURISTIC.equals(stageName) ? null : effectiveSamples,
+                    ctx.profile);
+            return processStrategyResult(restrictToFeasibleTypes(stageResult, ctx.feasibleTypes), stageName, ctx);
         } catch (Exception e) {
             handleStrategyError(stageName, ctx.tableName, ctx.columnName, e, ctx.columnInfo);
         } finally {
@@ -277,6 +319,29 @@ public class PIIDetectionPipelineCoordinator {
         return false;
     }
 
+    /**
+     * Drops the detections of types the column cannot hold.
+     * Returns a copy, since strategies may cache their results.
+     */
+    private ColumnPIIInfo restrictToFeasibleTypes(ColumnPIIInfo stageResult, Set<PIIType> feasibleTypes) {
+        if (ColumnTypePruner.isUnrestricted(feasibleTypes) || stageResult.getDetections().stream()
+                .allMatch(detection -> feasibleTypes.contains(detection.getPiiType()))) {
+            return stageResult;
+        }
+
+        List<PIITypeDetection> feasibleDetections = stageResult.getDetections().stream()
+                .filter(detection -> feasibleTypes.contains(detection.getPiiType()))
+                .toList();
+        return ColumnPIIInfo.builder()
+                .columnName(stageResult.getColumnName())
+                .tableName(stageResult.getTableName())
+                .columnType(stageResult.getColumnType())
+                .piiDetected(!feasibleDetections.isEmpty())
+                .detections(new ArrayList<>(feasibleDetections))
+                .additionalInfo(stageResult.getAdditionalInfo())
+                .build();
+    }
+
     /**
      * Determines if a strategy should be skipped.
      */
@@ -351,7 +416,7 @@ private boolean processStrategyResult(ColumnPIIInfo stageResult, String stageNam
                     ctx.tableName, ctx.columnName, ctx.startTime);
 
             // Cache result for high-confidence detections
-            cacheResult(ctx.connectionId, ctx.dbType, ctx.tableName, ctx.columnName, ctx.columnInfo);
+            cacheResult(ctx.connectionId, ctx.dbType, ctx.tableName, ctx.columnName, ctx.profile, ctx.columnInfo);
 
             return true;
         } else {
@@ -382,6 +447,9 @@ private boolean processStrategyResult(ColumnPIIInfo stageResult, String stageNam
         } else if (STRATEGY_REGEX.equals(stageName)) {
             metricsCollector.recordRegexDetection();
             metricsCollector.recordRegexPipelineStop();
+        } else if (STRATEGY_GAZETTEER.equals(stageName)) {
+            metricsCollector.recordGazetteerDetection();
+            metricsCollector.recordGazetteerPipelineStop();
         } else if (STRATEGY_NER.equals(stageName)) {
             metricsCollector.recordNerDetection();
             metricsCollector.recordNerPipelineStop();
@@ -408,6 +476,8 @@ private boolean processStrategyResult(ColumnPIIInfo stageResult, String stageNam
                 metricsCollector.recordHeuristicDetection();
             } else if (STRATEGY_REGEX.equals(stageName)) {
                 metricsCollector.recordRegexDetection();
+            } else if (STRATEGY_GAZETTEER.equals(stageName)) {
+                metricsCollector.recordGazetteerDetection();
             } else if (STRATEGY_NER.equals(stageName)) {
                 metricsCollector.recordNerDetection();
             }
@@ -439,9 +509,10 @@ private boolean processStrategyResult(ColumnPIIInfo stageResult, String stageNam
      * Caches a result if caching is enabled.
      */
     private void cacheResult(String connectionId, String dbType, String tableName,
-            String columnName, ColumnPIIInfo result) {
+            String columnName, DetectionProfile profile, ColumnPIIInfo result) {
         if (cachingEnabled) {
-            String cacheKey = cacheManager.generateCacheKey(connectionId, dbType, tableName, columnName);
+            String cacheKey = cacheManager.generateCacheKey(connectionId, dbType, tableName, columnName,
+                    profile.fingerprint());
             Map<String, ColumnPIIInfo> columnResultCache = cacheManager.getCache(COLUMN_RESULT_CACHE);
             if (columnResultCache != null) {
                 columnResultCache.put(cacheKey, result);
@@ -469,7 +540,9 @@ private boolean processStrategyResult(ColumnPIIInfo stageResult, String stageNam
     }
 
     /**
-     * Updates the confidence threshold for all strategies.
+     * Updates the default confidence threshold of all strategies.
+     * Only applies to calls made without a detection profile; cached results
+     * stay valid because cache keys include the profile fingerprint.
      *
      * @param threshold New confidence threshold
      */
@@ -480,16 +553,26 @@ private boolean processStrategyResult(ColumnPIIInfo stageResult, String stageNam
 
         // Propagate the change to all strategies
         strategies.values().forEach(strategy -> strategy.setConfidenceThreshold(threshold));
-
-        // Clear the column result cache since threshold changed
-        clearCache();
     }
 
     /**
      * Forces a health check on all strategies and attempts recovery.
      */
     public Map<String, Boolean> forceHealthCheck() {
-        return healthMonitor.forceHealthCheck(nerStrategy::isServiceAvailable);
+        NERHealthProber.HealthSnapshot health = nerHealthProber.probeNow().join();
+        return healthMonitor.forceHealthCheck(nerRecoveryCheck(health));
+    }
+
+    /**
+     * Creates the recovery action of the NER strategy, which fails unless the
+     * given health probe found a NER service available.
+     */
+    private static Runnable nerRecoveryCheck(NERHealthProber.HealthSnapshot health) {
+        return () -> {
+            if (!health.isAvailable()) {
+                throw PIIDetectionException.serviceError("NER service unavailable");
+            }
+        };
     }
 
     /**
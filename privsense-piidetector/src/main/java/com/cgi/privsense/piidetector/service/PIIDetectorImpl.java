@@ -4,6 +4,8 @@
 package com.cgi.privsense.piidetector.service;
 
 import com.cgi.privsense.common.config.properties.PiiDetectionProperties;
+import com.cgi.privsense.dbscanner.core.datasource.DataSourceProvider;
+import com.cgi.privsense.dbscanner.core.scanner.TableSamplingSession;
 import com.cgi.privsense.dbscanner.model.ColumnMetadata;
 import com.cgi.privsense.dbscanner.model.TableMetadata;
 import com.cgi.privsense.dbscanner.service.OptimizedParallelSamplingService;
@@ -12,6 +14,7 @@ import com.cgi.privsense.dbscanner.service.ScannerService;
 import com.cgi.privsense.piidetector.api.PIIDetectionStrategyFactory;
 import com.cgi.privsense.piidetector.api.PIIDetector;
 import com.cgi.privsense.piidetector.api.TablePIIService;
+import com.cgi.privsense.piidetector.config.PipelineConfiguration;
 import com.cgi.privsense.piidetector.exception.PIIDetectionException;
 import com.cgi.privsense.piidetector.model.*;
 import com.cgi.privsense.piidetector.model.enums.PIIType;
@@ -25,11 +28,14 @@ import org.springframework.stereotype.Service;
 
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Main implementation of the PII detector.
  * Uses a pipeline approach to sequentially apply detection strategies.
  * Optimized to use the producer-consumer pattern for data sampling.
+ * Full database scans process tables concurrently on virtual threads,
+ * bounded per connection by the size of its connection pool.
  */
 @Service
 public class PIIDetectorImpl implements PIIDetector {
@@ -43,11 +49,23 @@ public class PIIDetectorImpl implements PIIDetector {
     private final PIIDetectionCacheManager cacheManager;
     private final DetectionResultFactory resultFactory;
     private final TablePIIService tablePIIService;
+    private final DataSourceProvider dataSourceProvider;
+    private final ProgressiveSampler progressiveSampler;
+    private final ColumnTypePruner columnTypePruner;
 
-    private double confidenceThreshold;
-    private int sampleSize;
+    private final boolean concurrentTableScan;
+    private final int maxConcurrentTables;
+
+    /**
+     * Table permits per connection, shared by all scans running against that connection.
+     */
+    private final Map<String, ConnectionPermits> connectionPermits = new ConcurrentHashMap<>();
+
+    /**
+     * Profile used by requests that do not carry their own detection profile.
+     */
+    private volatile DetectionProfile defaultProfile;
     private Map<String, Boolean> activeStrategies = new ConcurrentHashMap<>();
-    private Map<String, Integer> tableSampleSizes;
 
     public PIIDetectorImpl(
             ScannerService scannerService,
@@ -59,6 +77,10 @@ public class PIIDetectorImpl implements PIIDetector {
             PIIDetectionCacheManager cacheManager,
             DetectionResultFactory resultFactory,
             TablePIIService tablePIIService,
+            DataSourceProvider dataSourceProvider,
+            ProgressiveSampler progressiveSampler,
+            ColumnTypePruner columnTypePruner,
+            PipelineConfiguration pipelineConfig,
             PiiDetectionProperties piiDetectionProperties) {
 
         this.scannerService = scannerService;
@@ -69,10 +91,19 @@ public class PIIDetectorImpl implements PIIDetector {
         this.cacheManager = cacheManager;
         this.resultFactory = resultFactory;
         this.tablePIIService = tablePIIService;
+        this.dataSourceProvider = dataSourceProvider;
+        this.progressiveSampler = progressiveSampler;
+        this.columnTypePruner = columnTypePruner;
 
         // Access properties through the PiiDetectionProperties object
-        this.confidenceThreshold = piiDetectionProperties.getDetection().getConfidenceThreshold();
-        this.sampleSize = piiDetectionProperties.getDetection().getSamplingLimit();
+        this.defaultProfile = DetectionProfile.builder()
+                .confidenceThreshold(piiDetectionProperties.getDetection().getConfidenceThreshold())
+                .sampleSize(piiDetectionProperties.getDetection().getSamplingLimit())
+                .enabledStages(pipelineConfig.getStages())
+                .earlyTermination(pipelineConfig.isFeatureEnabled("earlyTermination"))
+                .build();
+        this.concurrentTableScan = piiDetectionProperties.getDetection().isConcurrentTableScan();
+        this.maxConcurrentTables = piiDetectionProperties.getDetection().getMaxConcurrentTables();
 
         // Default: enable all strategies
         strategyFactory.getAllStrategies().forEach(strategy -> activeStrategies.put(strategy.getName(), true));
@@ -82,9 +113,6 @@ public class PIIDetectorImpl implements PIIDetector {
 
     @PostConstruct
     public void initCaches() {
-        // Create and register table sample sizes cache
-        tableSampleSizes = cacheManager.createCache("tableSampleSizesCache");
-
         // Register active strategies cache
         cacheManager.registerCache("activeStrategies", activeStrategies);
 
@@ -92,37 +120,59 @@ public class PIIDetectorImpl implements PIIDetector {
     }
 
     private void validateConfiguration() {
-        if (confidenceThreshold < 0.0 || confidenceThreshold > 1.0) {
-            throw PIIDetectionException.configError("Confidence threshold must be between 0.0 and 1.0");
-        }
+        defaultProfile.validate();
 
-        if (sampleSize <= 0) {
-            throw PIIDetectionException.configError("Sample size must be positive");
+        if (maxConcurrentTables <= 0) {
+            throw PIIDetectionException.configError("Maximum concurrent tables must be positive");
         }
 
-        log.info("PIIDetector configuration validated: threshold={}, sampleSize={}",
-                confidenceThreshold, sampleSize);
+        log.info("PIIDetector configuration validated: profile={}, concurrentTableScan={}, maxConcurrentTables={}",
+                defaultProfile.fingerprint(), concurrentTableScan, maxConcurrentTables);
     }
 
     @Override
     public PIIDetectionResult detectPII(String connectionId, String dbType) {
-        // Reset state and prepare
-        resetState();
+        return detectPII(connectionId, dbType, defaultProfile);
+    }
+
+    @Override
+    public PIIDetectionResult detectPII(String connectionId, String dbType, DetectionProfile profile) {
+        profile.validate();
+
+        // Reset metrics and prepare
+        metricsCollector.resetMetrics();
         long startTime = System.currentTimeMillis();
 
-        log.info("Starting PII detection for connection: {}, type: {}", connectionId, dbType);
+        log.info("Starting PII detection for connection: {}, type: {}, profile: {}",
+                connectionId, dbType, profile.fingerprint());
 
         // Initialize the result
         PIIDetectionResult result = initializeResult(connectionId, dbType);
 
-        // Get and sort tables by size
+        // Get and sort tables by size, with a sample size per table unless columns are sampled progressively
         List<TableMetadata> tables = getAndSortTables(connectionId, dbType);
-
-        // Process each table
-        for (TableMetadata table : tables) {
-            processTable(result, connectionId, dbType, table);
+        Map<String, DetectionProfile> tableProfiles = progressiveSampler.isEnabled()
+                ? Map.of()
+                : configureAdaptiveSampleSizes(tables, profile);
+
+        // Process the tables, concurrently when enabled
+        long tablesStartTime = System.currentTimeMillis();
+        AtomicLong summedTableTime = new AtomicLong();
+        int concurrency = 1;
+
+        if (concurrentTableScan && tables.size() > 1) {
+            concurrency = processTablesConcurrently(result, connectionId, dbType, tables, tableProfiles, profile,
+                    summedTableTime);
+        } else {
+            for (TableMetadata table : tables) {
+                addTableResult(result, processTable(connectionId, dbType, table,
+                        tableProfiles.getOrDefault(table.getName(), profile), summedTableTime));
+            }
         }
 
+        recordTableConcurrency(result, concurrency, System.currentTimeMillis() - tablesStartTime,
+                summedTableTime.get());
+
         // Finalize the result
         finalizeResult(result, startTime);
 
@@ -131,12 +181,25 @@ public class PIIDetectorImpl implements PIIDetector {
 
     @Override
     public TablePIIInfo detectPIIInTable(String connectionId, String dbType, String tableName) {
+        return detectPIIInTable(connectionId, dbType, tableName, defaultProfile);
+    }
+
+    @Override
+    public TablePIIInfo detectPIIInTable(String connectionId, String dbType, String tableName,
+            DetectionProfile profile) {
         // Delegate to the dedicated table service
-        return tablePIIService.detectPIIInTable(connectionId, dbType, tableName);
+        return tablePIIService.detectPIIInTable(connectionId, dbType, tableName, profile.validate());
     }
 
     @Override
     public ColumnPIIInfo detectPIIInColumn(String connectionId, String dbType, String tableName, String columnName) {
+        return detectPIIInColumn(connectionId, dbType, tableName, columnName, defaultProfile);
+    }
+
+    @Override
+    public ColumnPIIInfo detectPIIInColumn(String connectionId, String dbType, String tableName, String columnName,
+            DetectionProfile profile) {
+        profile.validate();
         log.debug("Analyzing column: {}.{}", tableName, columnName);
 
         // Get column metadata
@@ -145,61 +208,52 @@ public class PIIDetectorImpl implements PIIDetector {
             return resultFactory.createEmptyResult(tableName, columnName);
         }
 
-        // Get the appropriate sample size for this table
-        int effectiveSampleSize = tableSampleSizes.getOrDefault(tableName, sampleSize);
+        // Skip columns whose type cannot hold PII before sampling them
+        Set<PIIType> feasibleTypes = columnTypePruner.feasibleTypes(columnMeta);
+        if (feasibleTypes.isEmpty()) {
+            log.debug("Pruned column {}.{} of type {}", tableName, columnName, columnMeta.getType());
+            metricsCollector.recordPrunedColumn();
+            ColumnPIIInfo prunedResult = resultFactory.createEmptyResult(tableName, columnName);
+            prunedResult.setColumnType(columnMeta.getType());
+            prunedResult.getAdditionalInfo().put("pruned", true);
+            return prunedResult;
+        }
 
-        // Sample data
-        List<Object> sampleData = fetchIndividualColumnSample(dbType, connectionId, tableName, columnName,
-                effectiveSampleSize);
+        // Sample data, progressively when enabled
+        List<Object> sampleData = sampleColumn(dbType, connectionId, tableName, columnName, profile);
 
         // Process the column
-        return processColumn(connectionId, dbType, tableName, columnMeta, sampleData);
+        return processColumn(connectionId, dbType, tableName, columnMeta, feasibleTypes, sampleData, profile);
     }
 
     @Override
-    public void setConfidenceThreshold(double confidenceThreshold) {
-        if (confidenceThreshold < 0.0 || confidenceThreshold > 1.0) {
-            throw PIIDetectionException.configError("Confidence threshold must be between 0.0 and 1.0");
-        }
-        this.confidenceThreshold = confidenceThreshold;
-
-        // Centralize threshold propagation through pipeline coordinator only
-        pipelineCoordinator.setConfidenceThreshold(confidenceThreshold);
+    public DetectionProfile getDefaultProfile() {
+        return defaultProfile;
+    }
 
-        // Clear caches since threshold changed
-        clearCaches();
+    /**
+     * Sets the confidence threshold of the default profile.
+     * Cached results are kept, since cache keys include the profile fingerprint.
+     *
+     * @param confidenceThreshold Confidence threshold (between 0.0 and 1.0)
+     */
+    @Override
+    public void setConfidenceThreshold(double confidenceThreshold) {
+        this.defaultProfile = defaultProfile.withConfidenceThreshold(confidenceThreshold).validate();
     }
 
     @Override
     public void configureStrategies(Map<String, Boolean> strategyMap) {
         this.activeStrategies.putAll(strategyMap);
-        clearCaches();
     }
 
     /**
-     * Sets the sample size to use for analysis.
+     * Sets the sample size of the default profile.
      *
      * @param sampleSize Number of records to sample per column
      */
     public void setSampleSize(int sampleSize) {
-        if (sampleSize < 1) {
-            throw PIIDetectionException.configError("Sample size must be positive");
-        }
-        this.sampleSize = sampleSize;
-
-        // Reset table-specific sample sizes
-        tableSampleSizes.clear();
-    }
-
-    /**
-     * Sets an adaptive sample size for a specific table.
-     *
-     * @param tableName Table name
-     * @param rowCount  Approximate row count for sizing calculation
-     */
-    public void setSampleSizeAdaptive(String tableName, int rowCount) {
-        int adaptiveSize = Math.clamp(rowCount / 1000, 5, 50);
-        tableSampleSizes.put(tableName, adaptiveSize);
+        this.defaultProfile = defaultProfile.withSampleSize(sampleSize).validate();
     }
 
     /**
@@ -229,11 +283,6 @@ public class PIIDetectorImpl implements PIIDetector {
 
     /* Private helper methods */
 
-    private void resetState() {
-        metricsCollector.resetMetrics();
-        clearCaches();
-    }
-
     private PIIDetectionResult initializeResult(String connectionId, String dbType) {
         return PIIDetectionResult.builder()
                 .connectionId(connectionId)
@@ -244,23 +293,18 @@ public class PIIDetectorImpl implements PIIDetector {
                 .build();
     }
 
+    /**
+     * Gets all tables with their columns from one schema snapshot, sorted by column count.
+     * The snapshot also warms the column metadata cache used by the table scans.
+     */
     private List<TableMetadata> getAndSortTables(String connectionId, String dbType) {
         try {
-            List<TableMetadata> tables = scannerService.scanTables(dbType, connectionId);
+            List<TableMetadata> tables = scannerService.scanSchema(dbType, connectionId);
             log.info("Number of tables found: {}", tables.size());
 
-            // Configure adaptive sample sizes
-            configureAdaptiveSampleSizes(connectionId, dbType, tables);
-
             // Sort tables by size
             List<TableMetadata> sortedTables = new ArrayList<>(tables);
-            sortedTables.sort(Comparator.comparingInt(table -> {
-                try {
-                    return scannerService.scanColumns(dbType, connectionId, table.getName()).size();
-                } catch (Exception e) {
-                    return Integer.MAX_VALUE;
-                }
-            }));
+            sortedTables.sort(Comparator.comparingInt(table -> table.getColumns().size()));
 
             return sortedTables;
         } catch (Exception e) {
@@ -268,17 +312,110 @@ public class PIIDetectorImpl implements PIIDetector {
         }
     }
 
-    private void processTable(PIIDetectionResult result, String connectionId, String dbType, TableMetadata table) {
+    /**
+     * Processes tables on virtual threads. The number of tables in flight for the
+     * connection is bounded by permits shared across all scans of that connection,
+     * and results are added in the original table order.
+     *
+     * @return The concurrency limit applied
+     */
+    private int processTablesConcurrently(PIIDetectionResult result, String connectionId, String dbType,
+            List<TableMetadata> tables, Map<String, DetectionProfile> tableProfiles, DetectionProfile profile,
+            AtomicLong summedTableTime) {
+        ConnectionPermits permits = acquireConnectionPermits(connectionId);
+        int limit = permits.limit();
+        log.info("Processing {} tables concurrently, at most {} at a time for connection {}",
+                tables.size(), limit, connectionId);
+
+        List<Future<TablePIIInfo>> futures = new ArrayList<>(tables.size());
+
+        try (ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("pii-table-", 0).factory())) {
+            for (TableMetadata table : tables) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return processTable(connectionId, dbType, table,
+                                tableProfiles.getOrDefault(table.getName(), profile), summedTableTime);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    addTableResult(result, futures.get(i).get());
+                } catch (ExecutionException e) {
+                    log.error("Error processing table {}: {}", tables.get(i).getName(),
+                            e.getCause() != null ? e.getCause().getMessage() : e.getMessage(), e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            throw new PIIDetectionException("PII detection interrupted for connection: " + connectionId, e);
+        }
+
+        return limit;
+    }
+
+    /**
+     * Gets the table permits of a connection, sized to the configured maximum and
+     * never above the connection pool size. When the limit changes, the existing
+     * permits are resized so running and new scans keep sharing one cap.
+     */
+    private ConnectionPermits acquireConnectionPermits(String connectionId) {
+        int poolSize;
+        try {
+            poolSize = dataSourceProvider.getMaxPoolSize(connectionId);
+        } catch (Exception e) {
+            log.warn("Could not resolve pool size for connection {}: {}", connectionId, e.getMessage());
+            poolSize = 1;
+        }
+        int limit = Math.clamp(poolSize, 1, maxConcurrentTables);
+
+        ConnectionPermits permits = connectionPermits.computeIfAbsent(connectionId, id -> new ConnectionPermits(limit));
+        permits.resize(limit);
+        return permits;
+    }
+
+    private TablePIIInfo processTable(String connectionId, String dbType, TableMetadata table,
+            DetectionProfile profile, AtomicLong summedTableTime) {
+        long startTime = System.currentTimeMillis();
         try {
             // Use the dedicated table service - no more direct calls bypassing cache
-            TablePIIInfo tableResult = tablePIIService.detectPIIInTable(connectionId, dbType, table.getName());
-            result.addTableResult(tableResult);
+            TablePIIInfo tableResult = tablePIIService.detectPIIInTable(connectionId, dbType, table.getName(),
+                    profile);
             log.info("Processed table: {}, PII detected: {}", table.getName(), tableResult.isHasPii());
+            return tableResult;
         } catch (Exception e) {
             log.error("Error processing table {}: {}", table.getName(), e.getMessage(), e);
+            return null;
+        } finally {
+            summedTableTime.addAndGet(System.currentTimeMillis() - startTime);
         }
     }
 
+    private void addTableResult(PIIDetectionResult result, TablePIIInfo tableResult) {
+        if (tableResult != null) {
+            result.addTableResult(tableResult);
+        }
+    }
+
+    private void recordTableConcurrency(PIIDetectionResult result, int concurrency, long wallClockMs,
+            long summedTableTimeMs) {
+        Map<String, Object> tableConcurrency = new LinkedHashMap<>();
+        tableConcurrency.put("concurrency", concurrency);
+        tableConcurrency.put("wallClockMs", wallClockMs);
+        tableConcurrency.put("summedTableTimeMs", summedTableTimeMs);
+        tableConcurrency.put("speedup", wallClockMs > 0 ? (double) summedTableTimeMs / wallClockMs : 1.0);
+        result.getAdditionalMetadata().put("tableConcurrency", tableConcurrency);
+
+        log.info("Table processing: wall clock {} ms, summed table time {} ms, concurrency {}",
+                wallClockMs, summedTableTimeMs, concurrency);
+    }
+
     private void finalizeResult(PIIDetectionResult result, long startTime) {
         long endTime = System.currentTimeMillis();
         result.setProcessingTimeMs(endTime - startTime);
@@ -293,24 +430,43 @@ public class PIIDetectorImpl implements PIIDetector {
         metricsCollector.logMetricsReport();
     }
 
-    private List<Object> fetchIndividualColumnSample(String dbType, String connectionId, String tableName,
-            String columnName, int sampleSize) {
-        try {
-            return samplingService.sampleColumn(dbType, connectionId, tableName, columnName, sampleSize);
+    /**
+     * Samples a column in its own sampling session, progressively when enabled.
+     */
+    private List<Object> sampleColumn(String dbType, String connectionId, String tableName, String columnName,
+            DetectionProfile profile) {
+        try (TableSamplingSession session = samplingService.openTableSession(dbType, connectionId, tableName)) {
+            Map<String, List<Object>> samples = progressiveSampler.sample(List.of(columnName), profile,
+                    (names, offset, sampleSize) -> Map.of(columnName,
+                            fetchIndividualColumnSample(session, columnName, offset, sampleSize)));
+            return samples.getOrDefault(columnName, Collections.emptyList());
         } catch (Exception e) {
             log.warn("Error sampling column {}.{}: {}", tableName, columnName, e.getMessage());
             return Collections.emptyList();
         }
     }
 
+    private List<Object> fetchIndividualColumnSample(TableSamplingSession session, String columnName, int offset,
+            int sampleSize) {
+        try {
+            return offset == 0
+                    ? session.sampleColumn(columnName, sampleSize)
+                    : session.sampleColumns(List.of(columnName), offset, sampleSize)
+                            .getOrDefault(columnName, Collections.emptyList());
+        } catch (Exception e) {
+            log.warn("Error sampling column {}.{}: {}", session.getTableName(), columnName, e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
     private ColumnPIIInfo processColumn(String connectionId, String dbType, String tableName,
-            ColumnMetadata column, List<Object> samples) {
+            ColumnMetadata column, Set<PIIType> feasibleTypes, List<Object> samples, DetectionProfile profile) {
         String columnName = column.getName();
 
         try {
             // Process the column through our new pipeline coordinator instead
             ColumnPIIInfo columnResult = pipelineCoordinator.analyzeColumn(
-                    connectionId, dbType, tableName, columnName, samples);
+                    connectionId, dbType, tableName, columnName, samples, profile, feasibleTypes);
 
             // Set column type from metadata
             columnResult.setColumnType(column.getType());
@@ -347,10 +503,19 @@ public class PIIDetectorImpl implements PIIDetector {
         }
     }
 
-    protected void configureAdaptiveSampleSizes(String connectionId, String dbType, List<TableMetadata> tables) {
+    /**
+     * Derives a profile per table, with a sample size adapted to its column count.
+     *
+     * @return Table profiles by table name
+     */
+    protected Map<String, DetectionProfile> configureAdaptiveSampleSizes(List<TableMetadata> tables,
+            DetectionProfile profile) {
+        int sampleSize = profile.getSampleSize();
+        Map<String, DetectionProfile> tableProfiles = new HashMap<>();
+
         for (TableMetadata table : tables) {
             try {
-                int columnCount = scannerService.scanColumns(dbType, connectionId, table.getName()).size();
+                int columnCount = table.getColumns().size();
 
                 // Adjust sample size based on column count
                 int adaptiveSampleSize;
@@ -366,7 +531,7 @@ public class PIIDetectorImpl implements PIIDetector {
                     adaptiveSampleSize = sampleSize;
                 }
 
-                tableSampleSizes.put(table.getName(), adaptiveSampleSize);
+                tableProfiles.put(table.getName(), profile.withSampleSize(adaptiveSampleSize));
 
                 log.debug("Configured adaptive sample size for table {}: {} columns, {} samples",
                         table.getName(), columnCount, adaptiveSampleSize);
@@ -375,9 +540,11 @@ public class PIIDetectorImpl implements PIIDetector {
                 log.warn("Error configuring adaptive sample size for table {}: {}",
                         table.getName(), e.getMessage());
                 // Fallback to default sample size
-                tableSampleSizes.put(table.getName(), sampleSize);
+                tableProfiles.put(table.getName(), profile);
             }
         }
+
+        return tableProfiles;
     }
 
     protected <T> List<List<T>> partitionList(List<T> list, int size) {
@@ -392,4 +559,33 @@ public class PIIDetectorImpl implements PIIDetector {
 
         return partitions;
     }
-}
\ No newline at end of file
+
+    /**
+     * Table permits of a connection together with the limit they are sized for.
+     * Resizing adds or withdraws permits in place: permits held by running scans
+     * are still returned to the same semaphore.
+     */
+    private static final class ConnectionPermits extends Semaphore {
+        private int limit;
+
+        ConnectionPermits(int limit) {
+            super(limit, true);
+            this.limit = limit;
+        }
+
+        synchronized int limit() {
+            return limit;
+        }
+
+        synchronized void resize(int newLimit) {
+            int delta = newLimit - limit;
+            limit = newLimit;
+            if (delta > 0) {
+                release(delta);
+            } else if (delta < 0) {
+                // Available permits may go negative until running scans release theirs
+                reducePermits(-delta);
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.cgi.privsense.piidetector.service;
+
+import com.cgi.privsense.piidetector.config.PipelineConfiguration;
+import com.cgi.privsense.piidetector.model.DetectionProfile;
+import com.cgi.privsense.piidetector.strategy.SequentialMatchTest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Progressive column sampling.
+ * Columns are first sampled with the minimum sample size of the pipeline.
+ * After each round, a sequential test on the regex match ratio decides which
+ * columns are conclusive. Only a column whose match ratio is above the
+ * threshold stops early, since the regex stage will resolve it; a column that
+ * will go on to the gazetteer and NER stages gets the full sample size, at
+ * once if its match ratio is below the threshold, or by doubling rounds while
+ * the test is undecided. Each round fetches only the rows following those
+ * already sampled. Enabled by the {@code adaptiveSampling} pipeline feature;
+ * otherwise columns are sampled once with the sample size of the profile.
+ */
+@Component
+public class ProgressiveSampler {
+    private static final Logger log = LoggerFactory.getLogger(ProgressiveSampler.class);
+
+    private final PipelineConfiguration pipelineConfig;
+    private final PIIDetectionMetricsCollectorInterface metricsCollector;
+    private final SampleFilterService sampleFilterService;
+    private final SequentialMatchTest matchTest = new SequentialMatchTest(SequentialMatchTest.Z_95);
+
+    /**
+     * Fetches column samples.
+     */
+    @FunctionalInterface
+    public interface Fetcher {
+        /**
+         * Fetches samples of columns after the rows already sampled.
+         *
+         * @param columnNames Columns to sample
+         * @param offset      Number of rows already sampled
+         * @param limit       Maximum number of additional rows
+         * @return Additional samples by column name; a column may be absent if it could not be sampled
+         */
+        Map<String, List<Object>> fetch(List<String> columnNames, int offset, int limit);
+    }
+
+    public ProgressiveSampler(PipelineConfiguration pipelineConfig,
+                              PIIDetectionMetricsCollectorInterface metricsCollector,
+                              SampleFilterService sampleFilterService) {
+        this.pipelineConfig = pipelineConfig;
+        this.metricsCollector = metricsCollector;
+        this.sampleFilterService = sampleFilterService;
+    }
+
+    /**
+     * Checks if progressive sampling is enabled.
+     *
+     * @return true if columns are sampled progressively
+     */
+    public boolean isEnabled() {
+        return pipelineConfig.isFeatureEnabled("adaptiveSampling");
+    }
+
+    /**
+     * Samples columns, fetching more rows only for columns the regex stage will not resolve.
+     *
+     * @param columnNames Columns to sample
+     * @param profile     Detection profile of the current request
+     * @param fetcher     Fetches samples of columns
+     * @return Samples by column name; columns the fetcher returned nothing for are absent
+     */
+    public Map<String, List<Object>> sample(List<String> columnNames, DetectionProfile profile, Fetcher fetcher) {
+        if (!isEnabled()) {
+            Map<String, List<Object>> samples = fetcher.fetch(columnNames, 0, profile.getSampleSize());
+            samples.values().forEach(values -> metricsCollector.recordColumnSampling(values.size(), 1));
+            return samples;
+        }
+
+        int fullSampleSize = Math.max(profile.getSampleSize(), pipelineConfig.getMaxSampleSize());
+        int sampleSize = Math.clamp(pipelineConfig.getMinSampleSize(), 1, fullSampleSize);
+        int round = 1;
+
+        Map<String, List<Object>> samples = new HashMap<>();
+        fetcher.fetch(columnNames, 0, sampleSize)
+                .forEach((columnName, values) -> samples.put(columnName, new ArrayList<>(values)));
+        Map<String, Integer> requested = new HashMap<>();
+        samples.keySet().forEach(columnName -> requested.put(columnName, sampleSize));
+        List<String> pending = columnNames;
+
+        while (true) {
+            // Columns to extend, grouped by the rows they already have and the rows they need
+            Map<Range, List<String>> extensions = new LinkedHashMap<>();
+            for (String columnName : pending) {
+                List<Object> values = samples.get(columnName);
+                if (values == null) {
+                    continue;
+                }
+                int targetSize = targetSize(values, requested.get(columnName), fullSampleSize, profile);
+                if (targetSize > values.size()) {
+                    extensions.computeIfAbsent(new Range(values.size(), targetSize - values.size()),
+                            range -> new ArrayList<>()).add(columnName);
+                    requested.put(columnName, targetSize);
+                } else {
+                    metricsCollector.recordColumnSampling(values.size(), round);
+                }
+            }
+
+            if (extensions.isEmpty()) {
+                return samples;
+            }
+
+            round++;
+            List<String> extended = new ArrayList<>();
+            for (Map.Entry<Range, List<String>> extension : extensions.entrySet()) {
+                Range range = extension.getKey();
+                log.debug("Sampling round {}: {} columns, fetching {} rows after {}",
+                        round, extension.getValue().size(), range.limit(), range.offset());
+
+                Map<String, List<Object>> rows = fetcher.fetch(extension.getValue(), range.offset(), range.limit());
+                for (String columnName : extension.getValue()) {
+                    // A column the fetcher failed on keeps the rows it has
+                    samples.get(columnName).addAll(rows.getOrDefault(columnName, List.of()));
+                }
+                extended.addAll(extension.getValue());
+            }
+            pending = extended;
+        }
+    }
+
+    /**
+     * Gets the number of rows a column sample should grow to.
+     * A sample is complete when the table has no more rows, when it has the
+     * full sample size, or when its match ratio is conclusively above the threshold.
+     *
+     * @param values         Sampled values
+     * @param requestedSize  Number of rows requested so far
+     * @param fullSampleSize Sample size of columns that reach the later stages
+     * @param profile        Detection profile
+     * @return Target number of rows, not more than the sample size if the sample is complete
+     */
+    private int targetSize(List<Object> values, int requestedSize, int fullSampleSize, DetectionProfile profile) {
+        if (values.size() < requestedSize || values.size() >= fullSampleSize) {
+            // The table has no more rows, or the sample is full
+            return values.size();
+        }
+        // Test the samples the regex stage will see
+        List<Object> regexSamples = sampleFilterService.preFilterSamples(values);
+        return switch (matchTest.test(regexSamples, profile.getConfidenceThreshold())) {
+            case ABOVE -> values.size();
+            case BELOW -> fullSampleSize;
+            case UNDECIDED -> Math.min(fullSampleSize, values.size() * 2);
+        };
+    }
+
+    /**
+     * Rows to fetch for a group of columns.
+     */
+    private record Range(int offset, int limit) {
+    }
+}
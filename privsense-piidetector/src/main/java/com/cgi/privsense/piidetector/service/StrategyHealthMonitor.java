@@ -131,8 +131,9 @@ public class StrategyHealthMonitor {
         lastHealthCheckTime.put(strategyName, currentTime);
 
         try {
-            if ("heuristic".equals(strategyName) || "regex".equals(strategyName)) {
-                // Heuristic and regex strategies are local and should recover
+            if ("heuristic".equals(strategyName) || "regex".equals(strategyName)
+                    || "gazetteer".equals(strategyName)) {
+                // Heuristic, regex and gazetteer strategies are local and should recover
                 markStrategyHealthy(strategyName);
             } else if ("ner".equals(strategyName) && recoveryAction != null) {
                 // Execute recovery action which should check NER service availability
@@ -1,11 +1,16 @@
 package com.cgi.privsense.piidetector.service;
 
+import com.cgi.privsense.common.config.properties.DatabaseProperties;
+import com.cgi.privsense.dbscanner.core.scanner.TableSamplingSession;
 import com.cgi.privsense.dbscanner.model.ColumnMetadata;
 import com.cgi.privsense.dbscanner.service.OptimizedParallelSamplingService;
 import com.cgi.privsense.dbscanner.service.ScannerService;
 import com.cgi.privsense.piidetector.api.TablePIIService;
+import com.cgi.privsense.piidetector.exception.PIIDetectionException;
 import com.cgi.privsense.piidetector.model.ColumnPIIInfo;
+import com.cgi.privsense.piidetector.model.DetectionProfile;
 import com.cgi.privsense.piidetector.model.TablePIIInfo;
+import com.cgi.privsense.piidetector.model.enums.PIIType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -13,10 +18,24 @@ import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Implementation of the TablePIIService.
  * Handles detection of PII within database tables.
+ * <p>
+ * A table is scanned as a producer/consumer pipeline: sampler threads fetch
+ * column batches and push the column samples into a bounded queue, detector
+ * threads take them off the queue and run the detection pipeline. Database
+ * latency and detection latency overlap, and the queue capacity bounds the
+ * samples held in memory.
  */
 @Service
 public class TablePIIServiceImpl implements TablePIIService {
@@ -27,27 +46,66 @@ public class TablePIIServiceImpl implements TablePIIService {
     private final PIIDetectionPipelineCoordinator pipelineCoordinator;
     private final PIIDetectionMetricsCollector metricsCollector;
     private final DetectionResultCleaner resultCleaner;
-    private final PIIDetectionCacheManager cacheManager;
+    private final ProgressiveSampler progressiveSampler;
+    private final ColumnTypePruner columnTypePruner;
+
+    private final int queueCapacity;
+    private final int batchSize;
+    private final long pollTimeout;
+    private final TimeUnit pollTimeoutUnit;
+    private final int samplerPoolSize;
+    private final int samplingConsumers;
 
-    
     public TablePIIServiceImpl(
             ScannerService scannerService,
             OptimizedParallelSamplingService samplingService,
             PIIDetectionPipelineCoordinator pipelineCoordinator,
             PIIDetectionMetricsCollector metricsCollector,
             DetectionResultCleaner resultCleaner,
-            PIIDetectionCacheManager cacheManager) {
+            ProgressiveSampler progressiveSampler,
+            ColumnTypePruner columnTypePruner,
+            DatabaseProperties databaseProperties) {
         this.scannerService = scannerService;
         this.samplingService = samplingService;
         this.pipelineCoordinator = pipelineCoordinator;
         this.metricsCollector = metricsCollector;
         this.resultCleaner = resultCleaner;
-        this.cacheManager = cacheManager;
+        this.progressiveSampler = progressiveSampler;
+        this.columnTypePruner = columnTypePruner;
+
+        DatabaseProperties.TaskProperties tasks = databaseProperties.getTasks();
+        this.queueCapacity = Math.max(1, tasks.getQueueCapacity());
+        this.batchSize = Math.max(1, tasks.getBatchSize());
+        this.pollTimeout = tasks.getPollTimeout();
+        this.pollTimeoutUnit = tasks.getPollTimeoutUnit();
+        this.samplerPoolSize = Math.max(1, tasks.getSamplerPoolSize());
+        this.samplingConsumers = Math.max(1, tasks.getSamplingConsumers());
+    }
+
+    /**
+     * Column left to analyze after metadata pruning.
+     *
+     * @param ordinal       Position of the column in the table
+     * @param column        Column metadata
+     * @param feasibleTypes PII types the column can hold
+     */
+    private record ColumnTask(int ordinal, ColumnMetadata column, Set<PIIType> feasibleTypes) {
+    }
+
+    /**
+     * Sampled values of one column, queued between the sampling and detection stages.
+     *
+     * @param task    Column to analyze
+     * @param samples Sampled values
+     */
+    private record ColumnSample(ColumnTask task, List<Object> samples) {
     }
 
     @Override
-    @Cacheable(value = "tableResults", key = "#connectionId + ':' + #dbType + ':' + #tableName")
-    public TablePIIInfo detectPIIInTable(String connectionId, String dbType, String tableName) {
+    @Cacheable(value = "tableResults",
+            key = "#connectionId + ':' + #dbType + ':' + #tableName + ':' + #profile.fingerprint()")
+    public TablePIIInfo detectPIIInTable(String connectionId, String dbType, String tableName,
+            DetectionProfile profile) {
         long tableStartTime = System.currentTimeMillis();
         log.info("Analyzing table: {}", tableName);
 
@@ -59,30 +117,14 @@ public class TablePIIServiceImpl implements TablePIIService {
         // Get table metadata
         List<ColumnMetadata> columns = scannerService.scanColumns(dbType, connectionId, tableName);
 
-        // Get the appropriate sample size for this table
-        int effectiveSampleSize = getSampleSizeForTable(tableName);
-        log.debug("Using sample size {} for table {}", effectiveSampleSize, tableName);
-
-        // Pre-fetch batches of sample data for efficiency
-        Map<String, List<Object>> columnSamples = fetchColumnSamples(connectionId, dbType, tableName, columns,
-                effectiveSampleSize);
-
-        // Process columns in batch sizes to limit memory usage
-        List<List<ColumnMetadata>> columnBatches = partitionList(columns, 20);
+        log.debug("Using sample size {} for table {}, progressive sampling {}", profile.getSampleSize(), tableName,
+                progressiveSampler.isEnabled() ? "enabled" : "disabled");
 
-        for (List<ColumnMetadata> batch : columnBatches) {
-            for (ColumnMetadata column : batch) {
-                String columnName = column.getName();
-
-                // Get pre-fetched samples or fetch individually if not available
-                List<Object> samples = columnSamples.getOrDefault(columnName, null);
-                if (samples == null) {
-                    samples = fetchIndividualColumnSample(dbType, connectionId, tableName, columnName,
-                            effectiveSampleSize);
-                }
+        ColumnPIIInfo[] columnResults = runPipeline(connectionId, dbType, tableName, columns, profile);
 
-                // Process the column
-                ColumnPIIInfo columnResult = processColumn(connectionId, dbType, tableName, column, samples);
+        // Add results in column order
+        for (ColumnPIIInfo columnResult : columnResults) {
+            if (columnResult != null) {
                 tableResult.addColumnResult(columnResult);
             }
         }
@@ -98,28 +140,219 @@ public class TablePIIServiceImpl implements TablePIIService {
 
         return tableResult;
     }
-    
+
     /**
-     * Gets the appropriate sample size for a table from the cache manager.
+     * Runs the sampling and detection stages of a table scan concurrently.
+     * Columns whose type cannot hold PII are pruned first and never sampled.
+     * Samplers claim column batches and block on the queue when detection falls
+     * behind; detectors poll the queue until every column has been analyzed.
+     * All samplers share one sampling session, so the table holds a single
+     * database connection for the whole scan.
+     *
+     * @return Column results indexed by column position
      */
-    private int getSampleSizeForTable(String tableName) {
-        Map<String, Integer> tableSampleSizes = cacheManager.getCache("tableSampleSizesCache");
-        int defaultSampleSize = 10; // Use a default value if not configured
-        return tableSampleSizes.getOrDefault(tableName, defaultSampleSize);
+    private ColumnPIIInfo[] runPipeline(String connectionId, String dbType, String tableName,
+            List<ColumnMetadata> columns, DetectionProfile profile) {
+        ColumnPIIInfo[] results = new ColumnPIIInfo[columns.size()];
+        List<ColumnTask> tasks = pruneColumns(tableName, columns, results);
+        if (tasks.isEmpty()) {
+            return results;
+        }
+
+        List<List<ColumnTask>> columnBatches = partitionList(tasks, batchSize);
+        BlockingQueue<ColumnSample> queue = new ArrayBlockingQueue<>(Math.min(queueCapacity, tasks.size()));
+        AtomicInteger nextBatch = new AtomicInteger();
+        AtomicInteger remainingColumns = new AtomicInteger(tasks.size());
+        AtomicLong samplingStall = new AtomicLong();
+        AtomicLong detectionStall = new AtomicLong();
+
+        int samplers = Math.min(samplerPoolSize, columnBatches.size());
+        int detectors = Math.min(samplingConsumers, tasks.size());
+        AtomicInteger activeSamplers = new AtomicInteger(samplers);
+        List<Future<?>> stages = new ArrayList<>(samplers + detectors);
+
+        try (TableSamplingSession session = samplingService.openTableSession(dbType, connectionId, tableName);
+                ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                        Thread.ofVirtual().name("pii-pipeline-", 0).factory())) {
+            for (int i = 0; i < samplers; i++) {
+                stages.add(executor.submit(() -> {
+                    try {
+                        produceSamples(connectionId, dbType, session, columnBatches, nextBatch, profile,
+                                queue, samplingStall);
+                    } finally {
+                        activeSamplers.decrementAndGet();
+                    }
+                }));
+            }
+            for (int i = 0; i < detectors; i++) {
+                stages.add(executor.submit(() -> consumeSamples(connectionId, dbType, tableName, profile, queue,
+                        remainingColumns, activeSamplers, results, detectionStall)));
+            }
+        }
+
+        metricsCollector.recordPipelineStall("sampling", samplingStall.get());
+        metricsCollector.recordPipelineStall("detection", detectionStall.get());
+        log.debug("Pipeline for table {}: {} samplers, {} detectors, sampling stall {} ms, detection stall {} ms",
+                tableName, samplers, detectors, TimeUnit.NANOSECONDS.toMillis(samplingStall.get()),
+                TimeUnit.NANOSECONDS.toMillis(detectionStall.get()));
+
+        checkStages(tableName, stages);
+        return results;
     }
-    
+
     /**
-     * Fetches samples for multiple columns in a batch operation.
+     * Fails the table scan if a pipeline stage failed: the columns it claimed
+     * would otherwise be silently missing from the result.
      */
-    private Map<String, List<Object>> fetchColumnSamples(String connectionId, String dbType, String tableName,
-            List<ColumnMetadata> columns, int sampleSize) {
-        try {
-            List<String> columnNames = columns.stream()
-                    .map(ColumnMetadata::getName)
+    private void checkStages(String tableName, List<Future<?>> stages) {
+        PIIDetectionException failure = null;
+        for (Future<?> stage : stages) {
+            if (stage.state() != Future.State.FAILED) {
+                continue;
+            }
+            Throwable cause = stage.exceptionNow();
+            log.error("Pipeline stage failed for table {}: {}", tableName, cause.getMessage(), cause);
+            if (failure == null) {
+                failure = new PIIDetectionException("Pipeline stage failed for table: " + tableName, cause);
+            } else {
+                failure.addSuppressed(cause);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Decides the feasible PII types of each column from its metadata.
+     * Columns that cannot hold any PII get an empty result right away.
+     *
+     * @return Columns left to sample and analyze
+     */
+    private List<ColumnTask> pruneColumns(String tableName, List<ColumnMetadata> columns, ColumnPIIInfo[] results) {
+        List<ColumnTask> tasks = new ArrayList<>(columns.size());
+        for (int ordinal = 0; ordinal < columns.size(); ordinal++) {
+            ColumnMetadata column = columns.get(ordinal);
+            Set<PIIType> feasibleTypes = columnTypePruner.feasibleTypes(column);
+
+            if (feasibleTypes.isEmpty()) {
+                log.debug("Pruned column {}.{} of type {}", tableName, column.getName(), column.getType());
+                ColumnPIIInfo prunedResult = createEmptyColumnResult(tableName, column.getName(), column.getType());
+                prunedResult.getAdditionalInfo().put("pruned", true);
+                results[ordinal] = prunedResult;
+                metricsCollector.recordPrunedColumn();
+            } else {
+                tasks.add(new ColumnTask(ordinal, column, feasibleTypes));
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Sampling stage: fetches column batches and queues one sample per column.
+     * Batches are sampled progressively: more rows are fetched for the columns
+     * of a batch the regex stage will not resolve before they are queued.
+     */
+    private void produceSamples(String connectionId, String dbType, TableSamplingSession session,
+            List<List<ColumnTask>> columnBatches, AtomicInteger nextBatch, DetectionProfile profile,
+            BlockingQueue<ColumnSample> queue, AtomicLong stallTime) {
+        String tableName = session.getTableName();
+        int batchIndex;
+        while ((batchIndex = nextBatch.getAndIncrement()) < columnBatches.size()) {
+            List<ColumnTask> batch = columnBatches.get(batchIndex);
+            List<String> columnNames = batch.stream()
+                    .map(task -> task.column().getName())
                     .toList();
+            Map<String, List<Object>> columnSamples = progressiveSampler.sample(columnNames, profile,
+                    (names, offset, sampleSize) -> offset == 0
+                            ? fetchSamples(connectionId, dbType, session, names, sampleSize)
+                            : fetchMoreSamples(session, names, offset, sampleSize));
+
+            for (ColumnTask task : batch) {
+                List<Object> samples = columnSamples.getOrDefault(task.column().getName(), Collections.emptyList());
+
+                try {
+                    long waitStart = System.nanoTime();
+                    queue.put(new ColumnSample(task, samples));
+                    stallTime.addAndGet(System.nanoTime() - waitStart);
+                    metricsCollector.recordQueueDepth(queue.size());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    log.warn("Sampling of table {} interrupted", tableName);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Detection stage: analyzes queued column samples until all columns are done,
+     * or until the samplers have stopped and the queue is drained.
+     */
+    private void consumeSamples(String connectionId, String dbType, String tableName, DetectionProfile profile,
+            BlockingQueue<ColumnSample> queue, AtomicInteger remainingColumns, AtomicInteger activeSamplers,
+            ColumnPIIInfo[] results, AtomicLong stallTime) {
+        while (remainingColumns.get() > 0) {
+            ColumnSample sample;
+            try {
+                long waitStart = System.nanoTime();
+                sample = queue.poll(pollTimeout, pollTimeoutUnit);
+                stallTime.addAndGet(System.nanoTime() - waitStart);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Detection of table {} interrupted", tableName);
+                return;
+            }
+
+            if (sample != null) {
+                ColumnTask task = sample.task();
+                results[task.ordinal()] = processColumn(connectionId, dbType, tableName, task.column(),
+                        task.feasibleTypes(), sample.samples(), profile);
+                remainingColumns.decrementAndGet();
+            } else if (activeSamplers.get() == 0 && queue.isEmpty()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Fetches samples for columns in a batch operation, and individually for
+     * the columns missing from the batch result.
+     */
+    private Map<String, List<Object>> fetchSamples(String connectionId, String dbType, TableSamplingSession session,
+            List<String> columnNames, int sampleSize) {
+        Map<String, List<Object>> samples = new HashMap<>(
+                fetchColumnSamples(connectionId, dbType, session, columnNames, sampleSize));
+        for (String columnName : columnNames) {
+            if (!samples.containsKey(columnName)) {
+                samples.put(columnName, fetchIndividualColumnSample(session, columnName, sampleSize));
+            }
+        }
+        return samples;
+    }
 
-            Map<String, List<Object>> samples = samplingService.sampleColumnsInParallel(
-                    dbType, connectionId, tableName, columnNames, sampleSize);
+    /**
+     * Fetches the rows following those already sampled for columns, with a single projection query.
+     */
+    private Map<String, List<Object>> fetchMoreSamples(TableSamplingSession session, List<String> columnNames,
+            int offset, int sampleSize) {
+        try {
+            return session.sampleColumns(columnNames, offset, sampleSize);
+        } catch (Exception e) {
+            log.warn("Error while sampling more rows of table {}: {}", session.getTableName(), e.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * Fetches samples for multiple columns in a batch operation.
+     */
+    private Map<String, List<Object>> fetchColumnSamples(String connectionId, String dbType,
+            TableSamplingSession session, List<String> columnNames, int sampleSize) {
+        String tableName = session.getTableName();
+        try {
+            Map<String, List<Object>> samples = samplingService.sampleColumns(
+                    dbType, connectionId, session, columnNames, sampleSize);
 
             log.debug("Sampled {} columns from table {}", samples.size(), tableName);
             return samples;
@@ -132,12 +365,12 @@ public class TablePIIServiceImpl implements TablePIIService {
     /**
      * Fetches samples for a single column.
      */
-    private List<Object> fetchIndividualColumnSample(String dbType, String connectionId, String tableName,
-            String columnName, int sampleSize) {
+    private List<Object> fetchIndividualColumnSample(TableSamplingSession session, String columnName,
+            int sampleSize) {
         try {
-            return samplingService.sampleColumn(dbType, connectionId, tableName, columnName, sampleSize);
+            return session.sampleColumn(columnName, sampleSize);
         } catch (Exception e) {
-            log.warn("Error sampling column {}.{}: {}", tableName, columnName, e.getMessage());
+            log.warn("Error sampling column {}.{}: {}", session.getTableName(), columnName, e.getMessage());
             return Collections.emptyList();
         }
     }
@@ -146,13 +379,13 @@ public class TablePIIServiceImpl implements TablePIIService {
      * Processes a column to detect PIIs.
      */
     private ColumnPIIInfo processColumn(String connectionId, String dbType, String tableName,
-            ColumnMetadata column, List<Object> samples) {
+            ColumnMetadata column, Set<PIIType> feasibleTypes, List<Object> samples, DetectionProfile profile) {
         String columnName = column.getName();
 
         try {
             // Process the column through the pipeline coordinator
             ColumnPIIInfo columnResult = pipelineCoordinator.analyzeColumn(
-                    connectionId, dbType, tableName, columnName, samples);
+                    connectionId, dbType, tableName, columnName, samples, profile, feasibleTypes);
 
             // Set column type from metadata
             columnResult.setColumnType(column.getType());
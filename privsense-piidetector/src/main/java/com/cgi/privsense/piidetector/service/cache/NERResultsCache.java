@@ -1,87 +1,186 @@
 package com.cgi.privsense.piidetector.service.cache;
 
+import com.cgi.privsense.common.config.properties.PiiDetectionProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.time.Duration;
+import java.util.*;
 
 /**
  * Cache for NER (Named Entity Recognition) service results.
- * Improves performance by reusing previous detection results for identical samples.
+ * Results are cached per sample value, keyed by a 128-bit hash of the
+ * trimmed value, so raw PII strings are never held as keys. Column results
+ * are assembled from the per-value entries, which lets overlapping samples
+ * across scans reuse prior NER work. The cache is bounded by weight (one
+ * unit per entry plus one per entity type) and expires entries after a TTL.
  */
 @Component
 public class NERResultsCache {
     private static final Logger log = LoggerFactory.getLogger(NERResultsCache.class);
-    
-    // Cache for NER results to avoid redundant calls
-    private final Map<String, Map<String, Double>> nerResultsCache = new ConcurrentHashMap<>();
-    
+
+    // Percentile of sample confidences used as column confidence
+    private static final double COLUMN_CONFIDENCE_PERCENTILE = 0.75;
+
+    // Per-value NER results
+    private final Cache<ValueHash, Map<String, Double>> valueResults;
+
+    // Results of whole-sample analysis requests, which return one result per request
+    private final Cache<ValueHash, Map<String, Double>> sampleSetResults;
+
+    public NERResultsCache(PiiDetectionProperties piiDetectionProperties) {
+        PiiDetectionProperties.NerServiceProperties nerService = piiDetectionProperties.getNerService();
+        this.valueResults = buildCache(nerService.getCacheMaxWeight(), nerService.getCacheTtlMinutes());
+        this.sampleSetResults = buildCache(nerService.getCacheMaxWeight() / 10, nerService.getCacheTtlMinutes());
+    }
+
+    private static Cache<ValueHash, Map<String, Double>> buildCache(long maxWeight, long ttlMinutes) {
+        return Caffeine.newBuilder()
+                .maximumWeight(Math.max(1, maxWeight))
+                .weigher((ValueHash key, Map<String, Double> value) -> 1 + value.size())
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+    }
+
     /**
-     * Retrieves cached results for a column's samples if available.
+     * Retrieves the cached results of a single sample value.
+     *
+     * @param value Sample value
+     * @return Cached entity detection results, or null if not cached
+     */
+    public Map<String, Double> getValueResults(String value) {
+        return valueResults.getIfPresent(hashValue(value));
+    }
+
+    /**
+     * Stores the NER results of a single sample value.
+     *
+     * @param value Sample value
+     * @param results Detection results for the value
+     */
+    public void cacheValueResults(String value, Map<String, Double> results) {
+        valueResults.put(hashValue(value), Map.copyOf(results));
+    }
+
+    /**
+     * Retrieves cached results for a column's samples if every sample value is cached.
      *
      * @param columnName Column name
      * @param samples Text samples for this column
-     * @return Cached entity detection results, or null if not cached
+     * @return Column results assembled from the cached values, or null if any value is missing
      */
     public Map<String, Double> getColumnResults(String columnName, List<String> samples) {
-        String cacheKey = generateCacheKey(columnName, samples);
-        return nerResultsCache.get(cacheKey);
+        List<Map<String, Double>> results = new ArrayList<>(samples.size());
+        for (String sample : samples) {
+            Map<String, Double> cached = getValueResults(sample);
+            if (cached == null) {
+                return null;
+            }
+            results.add(cached);
+        }
+        return assembleColumnResults(results);
     }
-    
+
     /**
-     * Retrieves cached results for text samples if available.
+     * Retrieves cached results of a whole-sample analysis.
      *
      * @param samples Text samples to analyze
      * @return Cached entity detection results, or null if not cached
      */
     public Map<String, Double> getResults(List<String> samples) {
-        String cacheKey = generateCacheKey(null, samples);
-        return nerResultsCache.get(cacheKey);
+        return sampleSetResults.getIfPresent(hashSamples(samples));
     }
-    
+
     /**
-     * Stores NER results in the cache.
+     * Stores the results of a whole-sample analysis.
      *
-     * @param columnName Column name (can be null for non-column-specific results)
      * @param samples Text samples
      * @param results Detection results
      */
-    public void cacheResults(String columnName, List<String> samples, Map<String, Double> results) {
-        String cacheKey = generateCacheKey(columnName, samples);
-        nerResultsCache.put(cacheKey, results);
+    public void cacheResults(List<String> samples, Map<String, Double> results) {
+        sampleSetResults.put(hashSamples(samples), Map.copyOf(results));
         log.debug("Cached NER results for {} samples", samples.size());
     }
-    
+
+    /**
+     * Aggregates per-value results into column results.
+     * Uses the 75th percentile of the confidences of each entity type to
+     * reduce the impact of outliers.
+     *
+     * @param sampleResults Results of each sample value
+     * @return Confidence per entity type
+     */
+    public static Map<String, Double> assembleColumnResults(List<Map<String, Double>> sampleResults) {
+        Map<String, List<Double>> entityConfidences = new HashMap<>();
+
+        // Collect all confidences for each entity type
+        for (Map<String, Double> result : sampleResults) {
+            for (Map.Entry<String, Double> entity : result.entrySet()) {
+                entityConfidences
+                        .computeIfAbsent(entity.getKey(), k -> new ArrayList<>())
+                        .add(entity.getValue());
+            }
+        }
+
+        Map<String, Double> aggregatedResults = new HashMap<>();
+        for (Map.Entry<String, List<Double>> entry : entityConfidences.entrySet()) {
+            List<Double> confidences = entry.getValue();
+            Collections.sort(confidences);
+            int index = (int) (confidences.size() * COLUMN_CONFIDENCE_PERCENTILE);
+            aggregatedResults.put(entry.getKey(), confidences.get(Math.min(index, confidences.size() - 1)));
+        }
+
+        return aggregatedResults;
+    }
+
     /**
      * Clears the NER results cache.
      */
     public void clearCache() {
-        int size = nerResultsCache.size();
-        nerResultsCache.clear();
+        long size = size();
+        valueResults.invalidateAll();
+        sampleSetResults.invalidateAll();
         log.info("NER results cache cleared ({} entries)", size);
     }
-    
+
     /**
      * Returns the size of the cache.
-     * 
+     *
      * @return Number of entries in the cache
      */
-    public int size() {
-        return nerResultsCache.size();
+    public long size() {
+        return valueResults.estimatedSize() + sampleSetResults.estimatedSize();
     }
-    
+
     /**
-     * Generates a consistent cache key from column name and samples.
+     * Gets the hit/miss statistics of the per-value cache.
      *
-     * @param columnName Column name (can be null)
-     * @param samples Text samples
-     * @return Cache key string
+     * @return Cache statistics
+     */
+    public CacheStats getStats() {
+        return valueResults.stats();
+    }
+
+    private static ValueHash hashValue(String value) {
+        return ValueHash.of(value.strip());
+    }
+
+    /**
+     * Combines the value hashes of a sample list, in order.
      */
-    private String generateCacheKey(String columnName, List<String> samples) {
-        String prefix = (columnName != null) ? columnName + "_" : "";
-        return prefix + String.join("_", samples);
+    private static ValueHash hashSamples(List<String> samples) {
+        long high = samples.size();
+        long low = 0;
+        for (String sample : samples) {
+            ValueHash hash = hashValue(sample);
+            high = high * 31 + hash.high();
+            low = low * 31 + hash.low();
+        }
+        return new ValueHash(high, low);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,111 @@
+package com.cgi.privsense.piidetector.service.cache;
+
+/**
+ * 128-bit content hash of a text value (MurmurHash3 x64_128).
+ * Used as a compact cache key instead of the value itself, so caches do not
+ * retain raw sample strings. The hash is computed over the UTF-16 code units
+ * of the text (little-endian) without copying or encoding it.
+ *
+ * @param high Upper 64 bits
+ * @param low  Lower 64 bits
+ */
+public record ValueHash(long high, long low) {
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    /**
+     * Hashes a text value.
+     *
+     * @param text Text to hash
+     * @return 128-bit hash
+     */
+    public static ValueHash of(CharSequence text) {
+        return of(text, 0);
+    }
+
+    /**
+     * Hashes a text value with a seed.
+     *
+     * @param text Text to hash
+     * @param seed Hash seed
+     * @return 128-bit hash
+     */
+    public static ValueHash of(CharSequence text, long seed) {
+        int length = text.length();
+        long h1 = seed;
+        long h2 = seed;
+
+        // 16-byte blocks: 8 chars
+        int blockEnd = length & ~7;
+        for (int i = 0; i < blockEnd; i += 8) {
+            long k1 = pack(text, i, 4);
+            long k2 = pack(text, i + 4, 4);
+
+            h1 ^= mixK1(k1);
+            h1 = Long.rotateLeft(h1, 27);
+            h1 += h2;
+            h1 = h1 * 5 + 0x52dce729;
+
+            h2 ^= mixK2(k2);
+            h2 = Long.rotateLeft(h2, 31);
+            h2 += h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+
+        // Tail: up to 7 chars
+        int remaining = length - blockEnd;
+        if (remaining > 4) {
+            h2 ^= mixK2(pack(text, blockEnd + 4, remaining - 4));
+        }
+        if (remaining > 0) {
+            h1 ^= mixK1(pack(text, blockEnd, Math.min(remaining, 4)));
+        }
+
+        // Finalization
+        long byteLength = 2L * length;
+        h1 ^= byteLength;
+        h2 ^= byteLength;
+
+        h1 += h2;
+        h2 += h1;
+
+        h1 = fmix64(h1);
+        h2 = fmix64(h2);
+
+        h1 += h2;
+        h2 += h1;
+
+        return new ValueHash(h1, h2);
+    }
+
+    private static long pack(CharSequence text, int offset, int count) {
+        long value = 0;
+        for (int i = 0; i < count; i++) {
+            value |= (long) text.charAt(offset + i) << (16 * i);
+        }
+        return value;
+    }
+
+    private static long mixK1(long k1) {
+        k1 *= C1;
+        k1 = Long.rotateLeft(k1, 31);
+        k1 *= C2;
+        return k1;
+    }
+
+    private static long mixK2(long k2) {
+        k2 *= C2;
+        k2 = Long.rotateLeft(k2, 33);
+        k2 *= C1;
+        return k2;
+    }
+
+    private static long fmix64(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
@@ -0,0 +1,327 @@
+package com.cgi.privsense.piidetector.service.external;
+
+import ai.onnxruntime.OnnxTensor;
+import ai.onnxruntime.OrtEnvironment;
+import ai.onnxruntime.OrtException;
+import ai.onnxruntime.OrtSession;
+import com.cgi.privsense.common.config.properties.PiiDetectionProperties;
+import com.cgi.privsense.piidetector.api.NERServiceClient;
+import com.cgi.privsense.piidetector.exception.PIIDetectionException;
+import com.cgi.privsense.piidetector.service.cache.NERResultsCache;
+import com.cgi.privsense.piidetector.service.fallback.FallbackPIIDetector;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.LongBuffer;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * In-process implementation of the NER service client.
+ * Runs an exported token-classification model (BERT-style, WordPiece
+ * vocabulary) on CPU through ONNX Runtime. Sample values are tokenized and
+ * inferred in batches; a single session is shared by the inference threads.
+ * Each value yields its entity groups (labels without the B-/I- prefix) with
+ * the highest token probability, the same label map as the HTTP service.
+ * Enabled with {@code privsense.pii-detection.ner-service.mode=embedded}.
+ */
+@Service
+@ConditionalOnProperty(prefix = "privsense.pii-detection.ner-service", name = "mode", havingValue = "embedded")
+public class EmbeddedNERServiceClient implements NERServiceClient, DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(EmbeddedNERServiceClient.class);
+
+    private static final String OUTSIDE_LABEL = "O";
+    private static final String INPUT_IDS = "input_ids";
+    private static final String ATTENTION_MASK = "attention_mask";
+    private static final String TOKEN_TYPE_IDS = "token_type_ids";
+
+    private final OrtEnvironment environment;
+    private final OrtSession session;
+    private final boolean usesTokenTypeIds;
+    private final WordPieceTokenizer tokenizer;
+    private final String[] labels;
+    private final int maxSequenceLength;
+    private final int batchSize;
+    private final ExecutorService inferenceExecutor;
+
+    private final NERResultsCache resultsCache;
+    private final FallbackPIIDetector fallbackDetector;
+
+    public EmbeddedNERServiceClient(
+            PiiDetectionProperties piiDetectionProperties,
+            NERResultsCache resultsCache,
+            FallbackPIIDetector fallbackDetector) {
+        PiiDetectionProperties.EmbeddedNerProperties embedded = piiDetectionProperties.getNerService().getEmbedded();
+        this.resultsCache = resultsCache;
+        this.fallbackDetector = fallbackDetector;
+        this.maxSequenceLength = Math.max(8, embedded.getMaxSequenceLength());
+        this.batchSize = Math.max(1, embedded.getBatchSize());
+
+        this.tokenizer = WordPieceTokenizer.load(Path.of(embedded.getVocabPath()), embedded.isLowerCase());
+        this.labels = loadLabels(Path.of(embedded.getConfigPath()));
+
+        this.environment = OrtEnvironment.getEnvironment();
+        try (OrtSession.SessionOptions options = new OrtSession.SessionOptions()) {
+            options.setOptimizationLevel(OrtSession.SessionOptions.OptLevel.ALL_OPT);
+            if (embedded.getIntraOpThreads() > 0) {
+                options.setIntraOpNumThreads(embedded.getIntraOpThreads());
+            }
+            this.session = environment.createSession(embedded.getModelPath(), options);
+            this.usesTokenTypeIds = session.getInputNames().contains(TOKEN_TYPE_IDS);
+        } catch (OrtException e) {
+            throw new PIIDetectionException("Unable to load NER model: " + embedded.getModelPath(), e,
+                    PIIDetectionException.CONFIG_ERROR);
+        }
+
+        int threads = embedded.getInferenceThreads() > 0
+                ? embedded.getInferenceThreads()
+                : Runtime.getRuntime().availableProcessors();
+        this.inferenceExecutor = Executors.newFixedThreadPool(threads,
+                Thread.ofPlatform().name("ner-inference-", 0).daemon(true).factory());
+
+        log.info("Embedded NER engine initialized: model {}, {} labels, {} inference threads, batches of {}",
+                embedded.getModelPath(), labels.length, threads, batchSize);
+    }
+
+    /**
+     * Reads the id2label mapping from the model configuration.
+     */
+    private static String[] loadLabels(Path configPath) {
+        JsonNode id2label;
+        try {
+            id2label = new ObjectMapper().readTree(configPath.toFile()).path("id2label");
+        } catch (IOException e) {
+            throw new PIIDetectionException("Unable to read NER model configuration: " + configPath, e,
+                    PIIDetectionException.CONFIG_ERROR);
+        }
+        if (!id2label.isObject() || id2label.isEmpty()) {
+            throw PIIDetectionException.configError("NER model configuration has no id2label mapping: " + configPath);
+        }
+
+        String[] labels = new String[id2label.size()];
+        id2label.fields().forEachRemaining(entry -> {
+            int id = Integer.parseInt(entry.getKey());
+            if (id < 0 || id >= labels.length) {
+                throw PIIDetectionException.configError("Invalid label id in NER model configuration: " + id);
+            }
+            labels[id] = entry.getValue().asText();
+        });
+        return labels;
+    }
+
+    @Override
+    public Map<String, Map<String, Double>> batchAnalyzeText(Map<String, List<String>> columnDataMap) {
+        return batchAnalyzeTextAsync(columnDataMap).join();
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Map<String, Double>>> batchAnalyzeTextAsync(
+            Map<String, List<String>> columnDataMap) {
+        if (columnDataMap == null || columnDataMap.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyMap());
+        }
+
+        // Infer each distinct value once across all columns
+        Set<String> values = new LinkedHashSet<>();
+        columnDataMap.values().forEach(samples -> {
+            if (samples != null) {
+                values.addAll(samples);
+            }
+        });
+
+        return analyzeValues(values).thenApply(valueResults -> {
+            Map<String, Map<String, Double>> results = new HashMap<>();
+            columnDataMap.forEach((column, samples) -> results.put(column, assemble(samples, valueResults)));
+            return results;
+        }).exceptionally(error -> {
+            log.error("Embedded NER inference failed, using fallback patterns: {}", error.getMessage(), error);
+            return fallbackDetector.batchDetectPII(columnDataMap);
+        });
+    }
+
+    @Override
+    public Map<String, Double> analyzeText(List<String> textSamples) {
+        return analyzeTextAsync(textSamples).join();
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Double>> analyzeTextAsync(List<String> textSamples) {
+        if (textSamples == null || textSamples.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyMap());
+        }
+
+        return analyzeValues(new LinkedHashSet<>(textSamples))
+                .thenApply(valueResults -> assemble(textSamples, valueResults))
+                .exceptionally(error -> {
+                    log.error("Embedded NER inference failed, using fallback patterns: {}", error.getMessage(), error);
+                    return fallbackDetector.detectPII(textSamples);
+                });
+    }
+
+    private static Map<String, Double> assemble(List<String> samples, Map<String, Map<String, Double>> valueResults) {
+        if (samples == null || samples.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<Map<String, Double>> sampleResults = new ArrayList<>(samples.size());
+        for (String sample : samples) {
+            sampleResults.add(valueResults.getOrDefault(sample, Collections.emptyMap()));
+        }
+        return NERResultsCache.assembleColumnResults(sampleResults);
+    }
+
+    /**
+     * Gets the results of each value, inferring the values missing from the
+     * cache in parallel batches.
+     */
+    private CompletableFuture<Map<String, Map<String, Double>>> analyzeValues(Collection<String> values) {
+        Map<String, Map<String, Double>> results = new HashMap<>();
+        List<String> uncached = new ArrayList<>();
+        for (String value : values) {
+            Map<String, Double> cached = resultsCache.getValueResults(value);
+            if (cached != null) {
+                results.put(value, cached);
+            } else {
+                uncached.add(value);
+            }
+        }
+        if (uncached.isEmpty()) {
+            return CompletableFuture.completedFuture(results);
+        }
+
+        List<CompletableFuture<List<Map<String, Double>>>> batches = new ArrayList<>();
+        for (int start = 0; start < uncached.size(); start += batchSize) {
+            List<String> batch = uncached.subList(start, Math.min(start + batchSize, uncached.size()));
+            batches.add(CompletableFuture.supplyAsync(() -> infer(batch), inferenceExecutor));
+        }
+
+        return CompletableFuture.allOf(batches.toArray(new CompletableFuture[0])).thenApply(done -> {
+            for (int b = 0; b < batches.size(); b++) {
+                List<Map<String, Double>> batchResults = batches.get(b).join();
+                for (int i = 0; i < batchResults.size(); i++) {
+                    String value = uncached.get(b * batchSize + i);
+                    resultsCache.cacheValueResults(value, batchResults.get(i));
+                    results.put(value, batchResults.get(i));
+                }
+            }
+            return results;
+        });
+    }
+
+    /**
+     * Runs the model on a batch of values, padded to the longest value.
+     */
+    private List<Map<String, Double>> infer(List<String> texts) {
+        List<WordPieceTokenizer.Encoding> encodings = new ArrayList<>(texts.size());
+        int sequenceLength = 0;
+        for (String text : texts) {
+            WordPieceTokenizer.Encoding encoding = tokenizer.encode(text, maxSequenceLength);
+            encodings.add(encoding);
+            sequenceLength = Math.max(sequenceLength, encoding.ids().length);
+        }
+
+        int batch = encodings.size();
+        long[] inputIds = new long[batch * sequenceLength];
+        long[] attentionMask = new long[batch * sequenceLength];
+        for (int row = 0; row < batch; row++) {
+            int[] ids = encodings.get(row).ids();
+            for (int i = 0; i < ids.length; i++) {
+                inputIds[row * sequenceLength + i] = ids[i];
+                attentionMask[row * sequenceLength + i] = 1;
+            }
+        }
+        long[] shape = {batch, sequenceLength};
+
+        Map<String, OnnxTensor> inputs = new HashMap<>();
+        try {
+            inputs.put(INPUT_IDS, OnnxTensor.createTensor(environment, LongBuffer.wrap(inputIds), shape));
+            inputs.put(ATTENTION_MASK, OnnxTensor.createTensor(environment, LongBuffer.wrap(attentionMask), shape));
+            if (usesTokenTypeIds) {
+                inputs.put(TOKEN_TYPE_IDS, OnnxTensor.createTensor(environment,
+                        LongBuffer.wrap(new long[batch * sequenceLength]), shape));
+            }
+
+            try (OrtSession.Result output = session.run(inputs)) {
+                float[][][] logits = (float[][][]) output.get(0).getValue();
+                List<Map<String, Double>> results = new ArrayList<>(batch);
+                for (int row = 0; row < batch; row++) {
+                    results.add(decode(encodings.get(row), logits[row]));
+                }
+                return results;
+            }
+        } catch (OrtException e) {
+            throw new PIIDetectionException("Embedded NER inference failed", e, PIIDetectionException.SERVICE_ERROR);
+        } finally {
+            inputs.values().forEach(OnnxTensor::close);
+        }
+    }
+
+    /**
+     * Labels the first piece of each word and keeps the highest probability
+     * of each entity group.
+     */
+    private Map<String, Double> decode(WordPieceTokenizer.Encoding encoding, float[][] logits) {
+        Map<String, Double> entities = new HashMap<>();
+        boolean[] wordStarts = encoding.wordStarts();
+
+        // Skip [CLS] and [SEP]
+        for (int token = 1; token < encoding.ids().length - 1; token++) {
+            if (!wordStarts[token]) {
+                continue;
+            }
+            float[] scores = logits[token];
+            int best = 0;
+            float max = scores[0];
+            for (int label = 1; label < scores.length; label++) {
+                if (scores[label] > max) {
+                    max = scores[label];
+                    best = label;
+                }
+            }
+            String label = best < labels.length ? labels[best] : OUTSIDE_LABEL;
+            if (OUTSIDE_LABEL.equals(label)) {
+                continue;
+            }
+
+            // Softmax probability of the best label
+            double sum = 0;
+            for (float score : scores) {
+                sum += Math.exp(score - max);
+            }
+            entities.merge(entityGroup(label), 1.0 / sum, Math::max);
+        }
+        return entities;
+    }
+
+    private static String entityGroup(String label) {
+        if (label.length() > 2 && label.charAt(1) == '-'
+                && (label.charAt(0) == 'B' || label.charAt(0) == 'I')) {
+            return label.substring(2);
+        }
+        return label;
+    }
+
+    @Override
+    public boolean isServiceAvailable() {
+        return !inferenceExecutor.isShutdown();
+    }
+
+    @Override
+    public void clearCache() {
+        resultsCache.clearCache();
+    }
+
+    @Override
+    public void destroy() throws OrtException {
+        inferenceExecutor.shutdownNow();
+        session.close();
+    }
+}
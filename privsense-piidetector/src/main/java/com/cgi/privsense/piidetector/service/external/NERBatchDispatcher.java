@@ -0,0 +1,179 @@
+package com.cgi.privsense.piidetector.service.external;
+
+import com.cgi.privsense.common.config.properties.PiiDetectionProperties;
+import com.cgi.privsense.piidetector.api.NERServiceClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Micro-batching layer in front of {@link NERServiceClient#batchAnalyzeTextAsync}.
+ * Columns submitted within a short window, by the same table scan or by
+ * concurrent scans, are sent to the NER service as a single batch request.
+ * A batch is dispatched when it reaches the configured number of columns or
+ * request size, or when the window of its first column expires.
+ */
+@Component
+public class NERBatchDispatcher implements DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(NERBatchDispatcher.class);
+
+    // Estimated JSON overhead per text sample (quotes and separator)
+    private static final int SAMPLE_OVERHEAD_BYTES = 4;
+
+    private final NERServiceClient nerServiceClient;
+    private final int maxBatchColumns;
+    private final long maxBatchBytes;
+    private final long batchWindowMs;
+
+    private final ScheduledExecutorService windowScheduler;
+
+    private final Object lock = new Object();
+    private PendingBatch pendingBatch;
+
+    public NERBatchDispatcher(NERServiceClient nerServiceClient, PiiDetectionProperties piiDetectionProperties) {
+        this.nerServiceClient = nerServiceClient;
+        this.maxBatchColumns = Math.max(1, piiDetectionProperties.getDetection().getBatchSize());
+        this.maxBatchBytes = DataSize.parse(piiDetectionProperties.getNerService().getMaxRequestSize()).toBytes();
+        this.batchWindowMs = Math.max(0, piiDetectionProperties.getNerService().getBatchWindowMs());
+
+        this.windowScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ner-batch-window");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        log.info("NER batch dispatcher initialized: {} columns, {} bytes, {} ms window",
+                maxBatchColumns, maxBatchBytes, batchWindowMs);
+    }
+
+    /**
+     * Submits the text samples of a column for NER analysis.
+     *
+     * @param columnKey   Key identifying the column (e.g. table.column)
+     * @param textSamples Text samples of the column
+     * @return Future completed with the detected entity types and their confidence
+     */
+    public CompletableFuture<Map<String, Double>> submit(String columnKey, List<String> textSamples) {
+        if (textSamples == null || textSamples.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyMap());
+        }
+
+        long requestBytes = estimateBytes(textSamples);
+        CompletableFuture<Map<String, Double>> future = new CompletableFuture<>();
+        List<PendingBatch> readyBatches = new ArrayList<>(2);
+
+        synchronized (lock) {
+            // Close the pending batch if this column does not fit in it
+            if (pendingBatch != null && (pendingBatch.columns.containsKey(columnKey)
+                    || pendingBatch.bytes + requestBytes > maxBatchBytes)) {
+                readyBatches.add(closePendingBatch());
+            }
+
+            if (pendingBatch == null) {
+                pendingBatch = new PendingBatch();
+                if (batchWindowMs > 0) {
+                    PendingBatch batch = pendingBatch;
+                    batch.windowTimer = windowScheduler.schedule(
+                            () -> dispatchOnWindowExpiry(batch), batchWindowMs, TimeUnit.MILLISECONDS);
+                }
+            }
+
+            pendingBatch.columns.put(columnKey, textSamples);
+            pendingBatch.futures.put(columnKey, future);
+            pendingBatch.bytes += requestBytes;
+
+            if (batchWindowMs == 0 || pendingBatch.columns.size() >= maxBatchColumns
+                    || pendingBatch.bytes >= maxBatchBytes) {
+                readyBatches.add(closePendingBatch());
+            }
+        }
+
+        readyBatches.forEach(this::dispatch);
+        return future;
+    }
+
+    /**
+     * Dispatches a batch whose window expired, unless it was already dispatched.
+     */
+    private void dispatchOnWindowExpiry(PendingBatch batch) {
+        synchronized (lock) {
+            if (pendingBatch != batch) {
+                return;
+            }
+            pendingBatch = null;
+        }
+        dispatch(batch);
+    }
+
+    /**
+     * Detaches the pending batch. Must be called while holding the lock.
+     */
+    private PendingBatch closePendingBatch() {
+        PendingBatch batch = pendingBatch;
+        pendingBatch = null;
+        if (batch.windowTimer != null) {
+            batch.windowTimer.cancel(false);
+        }
+        return batch;
+    }
+
+    /**
+     * Sends a batch to the NER service and completes the futures of its columns.
+     * The request is asynchronous: no thread waits for the response.
+     */
+    private void dispatch(PendingBatch batch) {
+        log.debug("Dispatching NER batch of {} columns ({} bytes)", batch.columns.size(), batch.bytes);
+        CompletableFuture<Map<String, Map<String, Double>>> request;
+        try {
+            request = nerServiceClient.batchAnalyzeTextAsync(batch.columns);
+        } catch (Exception e) {
+            request = CompletableFuture.failedFuture(e);
+        }
+
+        request.whenComplete((results, error) -> {
+            if (error != null) {
+                log.error("NER batch request failed: {}", error.getMessage(), error);
+                batch.futures.values().forEach(future -> future.completeExceptionally(error));
+            } else {
+                batch.futures.forEach((columnKey, future) ->
+                        future.complete(results.getOrDefault(columnKey, Collections.emptyMap())));
+            }
+        });
+    }
+
+    private long estimateBytes(List<String> textSamples) {
+        long bytes = 0;
+        for (String sample : textSamples) {
+            bytes += sample.length() + SAMPLE_OVERHEAD_BYTES;
+        }
+        return bytes;
+    }
+
+    @Override
+    public void destroy() {
+        PendingBatch batch;
+        synchronized (lock) {
+            batch = pendingBatch;
+            pendingBatch = null;
+        }
+        if (batch != null) {
+            dispatch(batch);
+        }
+        windowScheduler.shutdownNow();
+    }
+
+    /**
+     * Columns collected for the next batch request.
+     */
+    private static class PendingBatch {
+        final Map<String, List<String>> columns = new LinkedHashMap<>();
+        final Map<String, CompletableFuture<Map<String, Double>>> futures = new HashMap<>();
+        long bytes;
+        ScheduledFuture<?> windowTimer;
+    }
+}
@@ -0,0 +1,167 @@
+package com.cgi.privsense.piidetector.service.external;
+
+import com.cgi.privsense.common.config.properties.PiiDetectionProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * Background health prober for the NER service.
+ * Owns the availability state of the primary and backup services: a scheduler
+ * probes their health endpoints asynchronously and publishes the outcome as an
+ * immutable snapshot. Detection code only reads the latest snapshot, so it
+ * never waits on a health request or takes a lock. With the embedded NER
+ * engine there is no remote service to probe: the in-process engine is
+ * reported as an available primary on every tick.
+ */
+@Component
+public class NERHealthProber implements DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(NERHealthProber.class);
+
+    private final NERHttpTransport transport;
+    private final String primaryHealthUrl;
+    private final String backupHealthUrl;
+    private final long probeTimeoutMs;
+    private final boolean embedded;
+
+    private final ScheduledExecutorService probeScheduler;
+    private final List<Consumer<HealthSnapshot>> listeners = new CopyOnWriteArrayList<>();
+
+    // Latest probe outcome, replaced as a whole after each probe
+    private volatile HealthSnapshot snapshot = HealthSnapshot.UNKNOWN;
+
+    public NERHealthProber(NERHttpTransport transport, PiiDetectionProperties piiDetectionProperties) {
+        PiiDetectionProperties.NerServiceProperties nerService = piiDetectionProperties.getNerService();
+        this.transport = transport;
+        this.primaryHealthUrl = toHealthUrl(nerService.getUrl());
+        this.backupHealthUrl = nerService.getBackupUrl().isEmpty() ? null : toHealthUrl(nerService.getBackupUrl());
+        this.probeTimeoutMs = nerService.getTimeout();
+        this.embedded = "embedded".equals(nerService.getMode());
+        long intervalMs = Math.max(1000, nerService.getHealthCheckIntervalMs());
+
+        this.probeScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ner-health-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.probeScheduler.scheduleWithFixedDelay(this::probe, 0, intervalMs, TimeUnit.MILLISECONDS);
+
+        log.info("NER health prober started: probing every {} ms", intervalMs);
+    }
+
+    /**
+     * Gets the latest health snapshot. Never blocks.
+     *
+     * @return Latest published snapshot
+     */
+    public HealthSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Checks if the primary or backup service was available at the last probe.
+     *
+     * @return true if a NER service is available
+     */
+    public boolean isAvailable() {
+        return snapshot.isAvailable();
+    }
+
+    /**
+     * Registers a listener notified on the prober thread after each probe.
+     *
+     * @param listener Listener receiving the new snapshot
+     */
+    public void addListener(Consumer<HealthSnapshot> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Probes the services immediately, outside the regular schedule.
+     *
+     * @return Future completed with the resulting snapshot
+     */
+    public CompletableFuture<HealthSnapshot> probeNow() {
+        return probeServices().thenApply(this::publish);
+    }
+
+    private void probe() {
+        try {
+            // Wait on the prober thread so probes never overlap
+            probeNow().join();
+        } catch (Exception e) {
+            log.warn("NER health probe failed: {}", e.getMessage());
+        }
+    }
+
+    private CompletableFuture<HealthSnapshot> probeServices() {
+        if (embedded) {
+            return CompletableFuture.completedFuture(new HealthSnapshot(true, false, System.currentTimeMillis()));
+        }
+        CompletableFuture<Boolean> primary = isHealthy(primaryHealthUrl);
+        CompletableFuture<Boolean> backup = backupHealthUrl != null
+                ? isHealthy(backupHealthUrl)
+                : CompletableFuture.completedFuture(false);
+        return primary.thenCombine(backup, (primaryUp, backupUp) ->
+                new HealthSnapshot(primaryUp, backupUp, System.currentTimeMillis()));
+    }
+
+    private CompletableFuture<Boolean> isHealthy(String healthUrl) {
+        return transport.getStatus(healthUrl)
+                .orTimeout(probeTimeoutMs, TimeUnit.MILLISECONDS)
+                .thenApply(status -> status >= 200 && status < 300)
+                .exceptionally(error -> {
+                    log.debug("NER health check of {} failed: {}", healthUrl, error.getMessage());
+                    return false;
+                });
+    }
+
+    private HealthSnapshot publish(HealthSnapshot next) {
+        HealthSnapshot previous = snapshot;
+        snapshot = next;
+
+        if (previous.primaryAvailable() != next.primaryAvailable()
+                || previous.backupAvailable() != next.backupAvailable()) {
+            log.info("NER service availability changed: primary={}, backup={}",
+                    next.primaryAvailable(), next.backupAvailable());
+        }
+
+        for (Consumer<HealthSnapshot> listener : listeners) {
+            try {
+                listener.accept(next);
+            } catch (Exception e) {
+                log.warn("NER health listener failed: {}", e.getMessage());
+            }
+        }
+        return next;
+    }
+
+    private static String toHealthUrl(String serviceUrl) {
+        return serviceUrl.replace("/ner", "/health");
+    }
+
+    @Override
+    public void destroy() {
+        probeScheduler.shutdownNow();
+    }
+
+    /**
+     * Immutable availability state of the NER services.
+     *
+     * @param primaryAvailable Whether the primary service answered its health check
+     * @param backupAvailable  Whether the backup service answered its health check
+     * @param checkedAt        Time of the probe (epoch milliseconds), 0 before the first probe
+     */
+    public record HealthSnapshot(boolean primaryAvailable, boolean backupAvailable, long checkedAt) {
+        static final HealthSnapshot UNKNOWN = new HealthSnapshot(false, false, 0);
+
+        public boolean isAvailable() {
+            return primaryAvailable || backupAvailable;
+        }
+    }
+}
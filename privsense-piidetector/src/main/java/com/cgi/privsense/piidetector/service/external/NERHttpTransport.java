@@ -0,0 +1,202 @@
+package com.cgi.privsense.piidetector.service.external;
+
+import com.cgi.privsense.common.config.properties.PiiDetectionProperties;
+import com.cgi.privsense.piidetector.exception.PIIDetectionException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.config.TlsConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.ssl.ClientTlsStrategyBuilder;
+import org.apache.hc.client5.http.ssl.NoopHostnameVerifier;
+import org.apache.hc.client5.http.ssl.TrustAllStrategy;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.reactor.IOReactorConfig;
+import org.apache.hc.core5.ssl.SSLContexts;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import javax.net.ssl.SSLContext;
+import java.security.GeneralSecurityException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+/**
+ * Non-blocking HTTP transport for the NER service.
+ * Built on the Apache HttpClient 5 async client with a pooled connection
+ * manager: connections are kept alive and reused, HTTP/2 is negotiated over
+ * TLS so requests to the same route are multiplexed, and results are returned
+ * as futures completed by the I/O reactor, so in-flight requests hold no thread.
+ */
+@Component
+public class NERHttpTransport implements DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(NERHttpTransport.class);
+
+    private static final Timeout CONNECT_TIMEOUT = Timeout.ofSeconds(5);
+    private static final TimeValue IDLE_EVICTION = TimeValue.ofSeconds(30);
+
+    private final CloseableHttpAsyncClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public NERHttpTransport(PiiDetectionProperties piiDetectionProperties) {
+        PiiDetectionProperties.NerServiceProperties nerService = piiDetectionProperties.getNerService();
+        Timeout responseTimeout = Timeout.ofMilliseconds(nerService.getTimeout());
+
+        PoolingAsyncClientConnectionManagerBuilder connectionManagerBuilder =
+                PoolingAsyncClientConnectionManagerBuilder.create()
+                        .setMaxConnPerRoute(nerService.getMaxConnectionsPerRoute())
+                        .setMaxConnTotal(nerService.getMaxConnectionsTotal())
+                        .setDefaultConnectionConfig(ConnectionConfig.custom()
+                                .setConnectTimeout(CONNECT_TIMEOUT)
+                                .setSocketTimeout(responseTimeout)
+                                .build())
+                        .setDefaultTlsConfig(TlsConfig.custom()
+                                .setVersionPolicy(HttpVersionPolicy.NEGOTIATE)
+                                .build());
+
+        if (nerService.isTrustAllCerts()) {
+            connectionManagerBuilder.setTlsStrategy(ClientTlsStrategyBuilder.create()
+                    .setSslContext(createTrustAllSslContext())
+                    .setHostnameVerifier(NoopHostnameVerifier.INSTANCE)
+                    .build());
+            log.warn("NER transport configured to trust all certificates");
+        }
+
+        PoolingAsyncClientConnectionManager connectionManager = connectionManagerBuilder.build();
+
+        this.httpClient = HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .setIOReactorConfig(IOReactorConfig.custom()
+                        .setSoTimeout(responseTimeout)
+                        .build())
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(responseTimeout)
+                        .setResponseTimeout(responseTimeout)
+                        .build())
+                .evictIdleConnections(IDLE_EVICTION)
+                .build();
+        this.httpClient.start();
+
+        log.info("NER HTTP transport started: {} connections per route, {} total, {} ms response timeout",
+                nerService.getMaxConnectionsPerRoute(), nerService.getMaxConnectionsTotal(), nerService.getTimeout());
+    }
+
+    /**
+     * Posts a JSON body and parses the JSON response.
+     *
+     * @param url          Target URL
+     * @param body         Request body, serialized to JSON
+     * @param responseType Response body type
+     * @param <T>          Response body type
+     * @return Future completed with the parsed response body; completed
+     *         exceptionally on transport errors and non-2xx responses
+     */
+    public <T> CompletableFuture<T> postJson(String url, Object body, TypeReference<T> responseType) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(body);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        SimpleHttpRequest request = SimpleRequestBuilder.post(url)
+                .setBody(json, ContentType.APPLICATION_JSON)
+                .build();
+
+        CompletableFuture<SimpleHttpResponse> exchange = execute(request);
+        return cancelling(exchange, exchange.thenApply(response -> {
+            if (response.getCode() < 200 || response.getCode() >= 300) {
+                throw PIIDetectionException.serviceError(
+                        "NER service returned unsuccessful status code: " + response.getCode());
+            }
+            try {
+                return objectMapper.readValue(response.getBodyText(), responseType);
+            } catch (Exception e) {
+                throw new PIIDetectionException("Invalid NER service response", e, PIIDetectionException.SERVICE_ERROR);
+            }
+        }));
+    }
+
+    /**
+     * Sends a GET request and returns the status code.
+     *
+     * @param url Target URL
+     * @return Future completed with the response status code
+     */
+    public CompletableFuture<Integer> getStatus(String url) {
+        CompletableFuture<SimpleHttpResponse> exchange = execute(SimpleRequestBuilder.get(url).build());
+        return cancelling(exchange, exchange.thenApply(SimpleHttpResponse::getCode));
+    }
+
+    /**
+     * Propagates cancellation of a dependent future back to the exchange,
+     * which dependent stages do not do by themselves.
+     */
+    private static <T> CompletableFuture<T> cancelling(CompletableFuture<SimpleHttpResponse> exchange,
+                                                       CompletableFuture<T> result) {
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                exchange.cancel(false);
+            }
+        });
+        return result;
+    }
+
+    private CompletableFuture<SimpleHttpResponse> execute(SimpleHttpRequest request) {
+        CompletableFuture<SimpleHttpResponse> future = new CompletableFuture<>();
+        Future<SimpleHttpResponse> exchange = httpClient.execute(request, new FutureCallback<>() {
+            @Override
+            public void completed(SimpleHttpResponse response) {
+                future.complete(response);
+            }
+
+            @Override
+            public void failed(Exception e) {
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void cancelled() {
+                future.cancel(false);
+            }
+        });
+
+        // Cancelling the returned future aborts the exchange and releases its connection
+        future.whenComplete((response, error) -> {
+            if (future.isCancelled()) {
+                exchange.cancel(true);
+            }
+        });
+        return future;
+    }
+
+    private static SSLContext createTrustAllSslContext() {
+        try {
+            return SSLContexts.custom()
+                    .loadTrustMaterial(TrustAllStrategy.INSTANCE)
+                    .build();
+        } catch (GeneralSecurityException e) {
+            throw new PIIDetectionException("Unable to create SSL context for NER transport", e,
+                    PIIDetectionException.CONFIG_ERROR);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        httpClient.close(CloseMode.GRACEFUL);
+    }
+}
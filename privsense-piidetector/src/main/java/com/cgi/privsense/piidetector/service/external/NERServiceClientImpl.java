@@ -2,79 +2,88 @@ package com.cgi.privsense.piidetector.service.external;
 
 import com.cgi.privsense.common.config.properties.PiiDetectionProperties;
 import com.cgi.privsense.piidetector.api.NERServiceClient;
+import com.cgi.privsense.piidetector.service.PIIDetectionMetricsCollectorInterface;
 import com.cgi.privsense.piidetector.service.cache.NERResultsCache;
 import com.cgi.privsense.piidetector.service.fallback.FallbackPIIDetector;
 import com.cgi.privsense.piidetector.service.resilience.CircuitBreaker;
+import com.cgi.privsense.piidetector.service.resilience.HedgedRequestExecutor;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.ResourceAccessException;
-import org.springframework.web.client.RestTemplate;
 
-import java.net.URI;
-import java.net.URISyntaxException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Implementation of the NER service client interface.
  * Communicates with an external Named Entity Recognition service for PII detection.
+ * Requests go through the non-blocking {@link NERHttpTransport}; retries are
+ * scheduled without blocking a thread between attempts.
  */
 @Service
+@ConditionalOnProperty(prefix = "privsense.pii-detection.ner-service", name = "mode", havingValue = "http",
+        matchIfMissing = true)
 public class NERServiceClientImpl implements NERServiceClient {
     private static final Logger log = LoggerFactory.getLogger(NERServiceClientImpl.class);
 
     // Service configuration
     private final String nerServiceUrl;
     private final String backupNerServiceUrl;
-    private final RestTemplate restTemplate;
-    private final boolean isLocalService;
+    private final NERHttpTransport transport;
+    private final NERHealthProber healthProber;
     private final int maxRetries;
     private final long retryDelayMs;
+    private final boolean hedgingEnabled;
     
     // Components for resilience, caching, and fallback
     private final CircuitBreaker circuitBreaker;
+    private final HedgedRequestExecutor hedgedExecutor;
     private final NERResultsCache resultsCache;
     private final FallbackPIIDetector fallbackDetector;
 
     public NERServiceClientImpl(
             PiiDetectionProperties piiDetectionProperties,
             NERResultsCache resultsCache,
-            FallbackPIIDetector fallbackDetector) {
+            FallbackPIIDetector fallbackDetector,
+            NERHttpTransport transport,
+            NERHealthProber healthProber,
+            PIIDetectionMetricsCollectorInterface metricsCollector) {
 
         this.nerServiceUrl = piiDetectionProperties.getNerService().getUrl();
         this.backupNerServiceUrl = piiDetectionProperties.getNerService().getBackupUrl();
-        boolean trustAllCerts = piiDetectionProperties.getNerService().isTrustAllCerts();
         this.maxRetries = piiDetectionProperties.getNerService().getMaxRetries();
         this.retryDelayMs = piiDetectionProperties.getNerService().getRetryDelayMs();
-        this.isLocalService = isLocalService(nerServiceUrl);
+        this.hedgingEnabled = piiDetectionProperties.getNerService().isHedgingEnabled();
+        this.transport = transport;
+        this.healthProber = healthProber;
         
-        // Initialize circuit breaker (3 failures, 1 minute timeout)
-        this.circuitBreaker = new CircuitBreaker(3, 60000);
+        // Initialize circuit breaker, publishing its state transitions as metrics
+        this.circuitBreaker = new CircuitBreaker("ner-service",
+                piiDetectionProperties.getNerService().getCircuitBreaker(),
+                (name, from, to) -> metricsCollector.recordCircuitBreakerTransition(name, from.name(), to.name()));
+
+        // Hedge slow requests to the other endpoint, driven by per-endpoint latency
+        PiiDetectionProperties.NerServiceProperties nerService = piiDetectionProperties.getNerService();
+        this.hedgedExecutor = new HedgedRequestExecutor(nerService.getHedgePercentile(),
+                nerService.getHedgeMinDelayMs(), nerService.getHedgeBudgetPercent(), nerService.getLatencyWindowMs());
+
+        // Let probe calls through as soon as a background probe sees the service healthy
+        healthProber.addListener(snapshot -> {
+            if (snapshot.isAvailable()) {
+                circuitBreaker.allowProbeCalls();
+            }
+        });
         
         // Initialize caching and fallback components
         this.resultsCache = resultsCache;
         this.fallbackDetector = fallbackDetector;
 
-        // Create an appropriate RestTemplate based on whether this is a local service
-        if (isLocalService && !trustAllCerts) {
-            // Standard RestTemplate for local services
-            SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
-            requestFactory.setConnectTimeout(5000); // 5 seconds
-            requestFactory.setReadTimeout(30000); // 30 seconds
-            this.restTemplate = new RestTemplate(requestFactory);
-            log.info("Using standard RestTemplate for local service at: {}", nerServiceUrl);
-        } else {
-            // Trust all RestTemplate for non-local services or if explicitly requested
-            this.restTemplate = createStandardRestTemplate();
-            log.info("Using standard RestTemplate with normal SSL handling for: {}", nerServiceUrl);
-        }
-
         log.info("NER Service Client initialized with primary URL: {}", nerServiceUrl);
         if (!backupNerServiceUrl.isEmpty()) {
             log.info("Backup NER service configured: {}", backupNerServiceUrl);
@@ -83,15 +92,21 @@ public class NERServiceClientImpl implements NERServiceClient {
 
     @Override
     public Map<String, Map<String, Double>> batchAnalyzeText(Map<String, List<String>> columnDataMap) {
+        return batchAnalyzeTextAsync(columnDataMap).join();
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Map<String, Double>>> batchAnalyzeTextAsync(
+            Map<String, List<String>> columnDataMap) {
         if (columnDataMap == null || columnDataMap.isEmpty()) {
             log.warn("No columns to analyze");
-            return Collections.emptyMap();
+            return CompletableFuture.completedFuture(Collections.emptyMap());
         }
 
         // Check if circuit breaker is open
         if (circuitBreaker.isOpen()) {
             log.warn("Circuit breaker is open. Using fallback patterns for NER detection.");
-            return fallbackDetector.batchDetectPII(columnDataMap);
+            return CompletableFuture.completedFuture(fallbackDetector.batchDetectPII(columnDataMap));
         }
 
         // Prepare batch data
@@ -99,76 +114,63 @@ public class NERServiceClientImpl implements NERServiceClient {
 
         // If all results were from cache or no samples to process
         if (batchData.allSamples.isEmpty()) {
-            return batchData.results;
+            return CompletableFuture.completedFuture(batchData.results);
         }
 
         // Process the batch with retries
-        return processBatchWithRetries(columnDataMap, batchData);
+        return executeWithRetries(
+                url -> sendBatchRequest(url, batchData.allSamples),
+                batchResults -> {
+                    processBatchResults(columnDataMap, batchData, batchResults);
+                    return batchData.results;
+                },
+                () -> fallbackDetector.batchDetectPII(columnDataMap));
     }
 
     @Override
     public Map<String, Double> analyzeText(List<String> textSamples) {
+        return analyzeTextAsync(textSamples).join();
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Double>> analyzeTextAsync(List<String> textSamples) {
         if (textSamples == null || textSamples.isEmpty()) {
             log.warn("No text to analyze");
-            return Collections.emptyMap();
+            return CompletableFuture.completedFuture(Collections.emptyMap());
         }
 
         // Check if circuit breaker is open
         if (circuitBreaker.isOpen()) {
             log.warn("Circuit breaker is open. Using fallback patterns for single sample NER detection.");
-            return fallbackDetector.detectPII(textSamples);
+            return CompletableFuture.completedFuture(fallbackDetector.detectPII(textSamples));
         }
 
         // Check cache first
         Map<String, Double> cachedResult = resultsCache.getResults(textSamples);
         if (cachedResult != null) {
-            return cachedResult;
+            return CompletableFuture.completedFuture(cachedResult);
         }
 
-        return processSingleAnalysisWithRetries(textSamples);
+        return executeWithRetries(
+                url -> sendSingleAnalysisRequest(url, textSamples),
+                result -> {
+                    // Cache service results only, not fallback results
+                    if (result != null) {
+                        resultsCache.cacheResults(textSamples, result);
+                    }
+                    return result;
+                },
+                () -> fallbackDetector.detectPII(textSamples));
     }
 
+    /**
+     * Checks if the NER service is available.
+     * Reads the latest background health probe and the circuit breaker state;
+     * performs no I/O.
+     */
     @Override
     public boolean isServiceAvailable() {
-        // If circuit is open, try to see if it can be reset
-        if (circuitBreaker.isOpen()) {
-            return false;
-        }
-
-        try {
-            ResponseEntity<String> response = restTemplate.getForEntity(
-                    nerServiceUrl.replace("/ner", "/health"),
-                    String.class);
-
-            if (response.getStatusCode().is2xxSuccessful()) {
-                circuitBreaker.recordSuccess();
-                return true;
-            } else {
-                circuitBreaker.recordFailure();
-                return false;
-            }
-        } catch (Exception e) {
-            log.warn("NER service not available: {}", e.getMessage());
-            circuitBreaker.recordFailure();
-
-            // If primary service is down, try backup if configured
-            if (!backupNerServiceUrl.isEmpty()) {
-                try {
-                    ResponseEntity<String> backupResponse = restTemplate.getForEntity(
-                            backupNerServiceUrl.replace("/ner", "/health"),
-                            String.class);
-
-                    if (backupResponse.getStatusCode().is2xxSuccessful()) {
-                        log.info("Backup NER service is available");
-                        return true;
-                    }
-                } catch (Exception ex) {
-                    log.warn("Backup NER service also not available: {}", ex.getMessage());
-                }
-            }
-
-            return false;
-        }
+        return healthProber.isAvailable() && !circuitBreaker.isOpen();
     }
 
     @Override
@@ -193,294 +195,210 @@ public class NERServiceClientImpl implements NERServiceClient {
      */
     private static class BatchProcessingData {
         final Map<String, Map<String, Double>> results = new HashMap<>();
+        // Distinct sample values missing from the cache, in request order
         final List<String> allSamples = new ArrayList<>();
-        final Map<String, Integer> sampleCounts = new HashMap<>();
-        final Map<String, Integer> sampleStartIndices = new HashMap<>();
+        final Map<String, Integer> sampleIndices = new HashMap<>();
+        // Per-value results of columns waiting for the request (null for values not cached)
+        final Map<String, List<Map<String, Double>>> pendingColumns = new LinkedHashMap<>();
     }
 
     /**
-     * Prepares data for batch processing, organizing samples and checking cache.
+     * Prepares data for batch processing.
+     * Looks up every sample value in the cache; only distinct uncached values are sent.
      */
     private BatchProcessingData prepareBatchData(Map<String, List<String>> columnDataMap) {
         BatchProcessingData data = new BatchProcessingData();
-        int currentIndex = 0;
 
-        // Prepare all samples for batch processing
         for (Map.Entry<String, List<String>> entry : columnDataMap.entrySet()) {
             String columnName = entry.getKey();
             List<String> samples = entry.getValue();
 
             if (samples == null || samples.isEmpty()) {
                 data.results.put(columnName, Collections.emptyMap());
-            } else {
-                // Check cache first
-                Map<String, Double> cachedResult = resultsCache.getColumnResults(columnName, samples);
-                if (cachedResult != null) {
-                    data.results.put(columnName, cachedResult);
-                } else {
-                    // Process samples that are not empty and not in cache
-                    data.sampleStartIndices.put(columnName, currentIndex);
-                    data.sampleCounts.put(columnName, samples.size());
-                    data.allSamples.addAll(samples);
-                    currentIndex += samples.size();
+                continue;
+            }
+
+            List<Map<String, Double>> valueResults = new ArrayList<>(samples.size());
+            boolean complete = true;
+            for (String sample : samples) {
+                Map<String, Double> cached = resultsCache.getValueResults(sample);
+                valueResults.add(cached);
+                if (cached == null) {
+                    complete = false;
+                    data.sampleIndices.computeIfAbsent(sample, value -> {
+                        data.allSamples.add(value);
+                        return data.allSamples.size() - 1;
+                    });
                 }
             }
+
+            if (complete) {
+                data.results.put(columnName, NERResultsCache.assembleColumnResults(valueResults));
+            } else {
+                data.pendingColumns.put(columnName, valueResults);
+            }
         }
 
         return data;
     }
 
     /**
-     * Processes a batch of samples with retry logic.
+     * Executes a request with retry logic. Retries are scheduled after the
+     * retry delay instead of sleeping, and the backup URL is used for retries
+     * when configured. A first attempt slower than its endpoint's latency
+     * percentile is hedged to the other endpoint. The response of the winning
+     * request is passed to the handler. The fallback result is used when all
+     * attempts fail or the circuit breaker opens.
      */
-    private Map<String, Map<String, Double>> processBatchWithRetries(
-            Map<String, List<String>> columnDataMap, BatchProcessingData batchData) {
-
-        for (int attempt = 0; attempt <= maxRetries; attempt++) {
-            if (attempt > 0) {
-                log.info("Retry attempt {} for NER service", attempt);
-                performRetryDelay();
-            }
-
-            String currentUrl = selectServiceUrl(attempt);
-
-            try {
-                Map<String, List<Map<String, Double>>> batchResults = sendBatchRequest(currentUrl,
-                        batchData.allSamples);
-
-                if (batchResults != null) {
-                    processBatchResults(columnDataMap, batchData, batchResults);
-                    return batchData.results;
-                }
+    private <R, T> CompletableFuture<T> executeWithRetries(Function<String, CompletableFuture<R>> request,
+                                                           Function<R, T> handler,
+                                                           Supplier<T> fallback) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attempt(request, handler, fallback, 0, result);
+        return result;
+    }
 
-                if (attempt >= maxRetries) {
-                    circuitBreaker.recordFailure();
-                    return fallbackDetector.batchDetectPII(columnDataMap);
-                }
-                circuitBreaker.recordFailure();
-            } catch (ResourceAccessException e) {
-                log.error("Resource access exception calling NER service: {}", e.getMessage());
-                circuitBreaker.recordFailure();
-                if (attempt >= maxRetries || circuitBreaker.isOpen()) {
-                    return fallbackDetector.batchDetectPII(columnDataMap);
-                }
-            } catch (Exception e) {
-                log.error("Exception when calling NER service: {}", e.getMessage(), e);
-                circuitBreaker.recordFailure();
-                if (attempt >= maxRetries) {
-                    return fallbackDetector.batchDetectPII(columnDataMap);
-                }
-            }
+    private <R, T> void attempt(Function<String, CompletableFuture<R>> request, Function<R, T> handler,
+                                Supplier<T> fallback, int attempt, CompletableFuture<T> result) {
+        // Rejected while open, or while half-open with all probe calls in flight
+        if (!circuitBreaker.tryAcquirePermission()) {
+            log.debug("NER call rejected by circuit breaker, using fallback");
+            completeWithFallback(result, fallback);
+            return;
         }
 
-        return fallbackDetector.batchDetectPII(columnDataMap);
-    }
+        if (attempt > 0) {
+            log.info("Retry attempt {} for NER service", attempt);
+        }
 
-    /**
-     * Processes a single analysis request with retry logic.
-     */
-    private Map<String, Double> processSingleAnalysisWithRetries(List<String> textSamples) {
-        for (int attempt = 0; attempt <= maxRetries; attempt++) {
-            if (attempt > 0) {
-                log.info("Retry attempt {} for NER service", attempt);
-                performRetryDelay();
+        long startTime = System.nanoTime();
+        String url = selectServiceUrl(attempt);
+        CompletableFuture<T> call = hedgedExecutor.execute(url, selectHedgeUrl(url, attempt), request)
+                .thenApply(handler);
+
+        call.whenComplete((value, error) -> {
+            long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+            if (error == null && value != null) {
+                circuitBreaker.onSuccess(durationMs);
+                result.complete(value);
+                return;
             }
 
-            try {
-                // Determine which URL to use (primary or backup)
-                String currentUrl = selectServiceUrl(attempt);
-
-                // Send the analysis request
-                Map<String, Double> result = sendSingleAnalysisRequest(currentUrl, textSamples);
+            if (error != null) {
+                log.error("Exception when calling NER service: {}", error.getMessage());
+            }
+            circuitBreaker.onFailure(durationMs);
 
-                if (result != null) {
-                    // Cache the results
-                    resultsCache.cacheResults(null, textSamples, result);
-                    return result;
-                } else {
-                    circuitBreaker.recordFailure();
-                    if (attempt >= maxRetries) {
-                        return fallbackDetector.detectPII(textSamples);
-                    }
-                }
-            } catch (Exception e) {
-                if (e instanceof ResourceAccessException) {
-                    log.error("Resource access exception calling NER service: {}", e.getMessage());
-                } else {
-                    log.error("Exception when calling NER service: {}", e.getMessage(), e);
-                }
-                
-                circuitBreaker.recordFailure();
-                if (attempt >= maxRetries || circuitBreaker.isOpen()) {
-                    return fallbackDetector.detectPII(textSamples);
-                }
+            if (attempt >= maxRetries || circuitBreaker.isOpen()) {
+                completeWithFallback(result, fallback);
+            } else {
+                CompletableFuture.delayedExecutor(retryDelayMs, TimeUnit.MILLISECONDS)
+                        .execute(() -> attempt(request, handler, fallback, attempt + 1, result));
             }
-        }
+        });
+    }
 
-        // If we reach here, all attempts failed
-        return fallbackDetector.detectPII(textSamples);
+    private <T> void completeWithFallback(CompletableFuture<T> result, Supplier<T> fallback) {
+        try {
+            result.complete(fallback.get());
+        } catch (Exception e) {
+            result.completeExceptionally(e);
+        }
     }
 
     /**
      * Selects the appropriate service URL based on the current attempt.
+     * The backup service is used for retries, and for the first attempt when
+     * the last health probe found only the backup available.
      */
     private String selectServiceUrl(int attempt) {
-        return attempt > 0 && !backupNerServiceUrl.isEmpty() ? backupNerServiceUrl : nerServiceUrl;
+        if (backupNerServiceUrl.isEmpty()) {
+            return nerServiceUrl;
+        }
+        NERHealthProber.HealthSnapshot health = healthProber.getSnapshot();
+        boolean preferBackup = attempt > 0 || (!health.primaryAvailable() && health.backupAvailable());
+        return preferBackup ? backupNerServiceUrl : nerServiceUrl;
     }
 
     /**
-     * Adds a delay between retry attempts.
+     * Selects the endpoint a first attempt may be hedged to: the other endpoint,
+     * if hedging is enabled and the last health probe found it available.
      */
-    private void performRetryDelay() {
-        try {
-            Thread.sleep(retryDelayMs);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+    private String selectHedgeUrl(String url, int attempt) {
+        if (!hedgingEnabled || attempt > 0 || backupNerServiceUrl.isEmpty()) {
+            return null;
+        }
+        NERHealthProber.HealthSnapshot health = healthProber.getSnapshot();
+        if (url.equals(nerServiceUrl)) {
+            return health.backupAvailable() ? backupNerServiceUrl : null;
         }
+        return health.primaryAvailable() ? nerServiceUrl : null;
     }
 
     /**
      * Sends a batch request to the NER service.
      */
-    private Map<String, List<Map<String, Double>>> sendBatchRequest(String url, List<String> samples) {
+    private CompletableFuture<Map<String, List<Map<String, Double>>>> sendBatchRequest(String url,
+                                                                                      List<String> samples) {
         // Prepare the batch request
         Map<String, Object> requestBody = new HashMap<>();
         requestBody.put("texts", samples);
 
         log.debug("Sending {} text samples to NER service in batch mode", samples.size());
 
-        // Send the request to the NER service
-        ResponseEntity<Map<String, List<Map<String, Double>>>> response = restTemplate.exchange(
-                url + "/batch",
-                HttpMethod.POST,
-                new HttpEntity<>(requestBody),
-                new ParameterizedTypeReference<Map<String, List<Map<String, Double>>>>() {
+        return transport.postJson(url + "/batch", requestBody,
+                new TypeReference<Map<String, List<Map<String, Double>>>>() {
                 });
-
-        if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-            // Reset failure counter on success
-            circuitBreaker.recordSuccess();
-            return response.getBody();
-        }
-
-        log.warn("NER service returned unsuccessful status code: {}", response.getStatusCode());
-        return null;
     }
 
     /**
      * Sends a single analysis request to the NER service.
      */
-    private Map<String, Double> sendSingleAnalysisRequest(String url, List<String> textSamples) {
+    private CompletableFuture<Map<String, Double>> sendSingleAnalysisRequest(String url, List<String> textSamples) {
         // Prepare the request
         Map<String, Object> requestBody = new HashMap<>();
         requestBody.put("texts", textSamples);
 
         log.debug("Sending {} text samples to NER service", textSamples.size());
 
-        // Send the request to the NER service
-        ResponseEntity<Map<String, Double>> response = restTemplate.exchange(
-                url,
-                HttpMethod.POST,
-                new HttpEntity<>(requestBody),
-                new ParameterizedTypeReference<Map<String, Double>>() {
-                });
-
-        if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-            log.debug("NER results received: {}", response.getBody());
-            circuitBreaker.recordSuccess();
-            return response.getBody();
-        }
-
-        return null;
+        return transport.postJson(url, requestBody, new TypeReference<Map<String, Double>>() {
+        });
     }
 
     /**
      * Processes results from a batch request.
+     * Caches the result of each value and assembles the results of pending columns.
      */
     private void processBatchResults(Map<String, List<String>> columnDataMap,
             BatchProcessingData batchData,
             Map<String, List<Map<String, Double>>> batchResults) {
-        
-        if (batchResults != null && batchResults.containsKey("results")) {
-            List<Map<String, Double>> resultsList = batchResults.get("results");
-
-            if (resultsList != null) {
-                // Process results for each column
-                for (Map.Entry<String, Integer> entry : batchData.sampleCounts.entrySet()) {
-                    String columnName = entry.getKey();
-                    int count = entry.getValue();
-                    int startIndex = batchData.sampleStartIndices.get(columnName);
-
-                    if (startIndex + count <= resultsList.size()) {
-                        // Extract and aggregate results for this column
-                        Map<String, Double> columnResults = aggregateColumnResults(
-                                resultsList.subList(startIndex, startIndex + count));
-
-                        batchData.results.put(columnName, columnResults);
-
-                        // Cache the results
-                        resultsCache.cacheResults(columnName, columnDataMap.get(columnName), columnResults);
-                    } else {
-                        log.error("Index out of bounds when processing batch results for column: {}", columnName);
-                        batchData.results.put(columnName, Collections.emptyMap());
-                    }
-                }
-            }
-        }
-    }
 
-    /**
-     * Aggregates individual sample results for a column into a single confidence map.
-     */
-    private Map<String, Double> aggregateColumnResults(List<Map<String, Double>> sampleResults) {
-        Map<String, List<Double>> entityConfidences = new HashMap<>();
-
-        // Collect all confidences for each entity type
-        for (Map<String, Double> result : sampleResults) {
-            for (Map.Entry<String, Double> entity : result.entrySet()) {
-                entityConfidences
-                        .computeIfAbsent(entity.getKey(), k -> new ArrayList<>())
-                        .add(entity.getValue());
-            }
+        List<Map<String, Double>> resultsList = batchResults != null ? batchResults.get("results") : null;
+        if (resultsList == null || resultsList.size() < batchData.allSamples.size()) {
+            log.error("Incomplete batch results from NER service: expected {} results",
+                    batchData.allSamples.size());
+            batchData.pendingColumns.keySet().forEach(column -> batchData.results.put(column, Collections.emptyMap()));
+            return;
         }
 
-        // Calculate average confidence for each entity type
-        Map<String, Double> aggregatedResults = new HashMap<>();
-        for (Map.Entry<String, List<Double>> entry : entityConfidences.entrySet()) {
-            // Use 75th percentile as confidence to reduce impact of outliers
-            List<Double> confidences = entry.getValue();
-            Collections.sort(confidences);
-            int p75Index = (int) (confidences.size() * 0.75);
-            Double confidenceValue = confidences.get(Math.min(p75Index, confidences.size() - 1));
-
-            aggregatedResults.put(entry.getKey(), confidenceValue);
+        for (int i = 0; i < batchData.allSamples.size(); i++) {
+            Map<String, Double> valueResult = resultsList.get(i) != null ? resultsList.get(i) : Collections.emptyMap();
+            resultsCache.cacheValueResults(batchData.allSamples.get(i), valueResult);
         }
 
-        return aggregatedResults;
-    }
+        for (Map.Entry<String, List<Map<String, Double>>> entry : batchData.pendingColumns.entrySet()) {
+            String columnName = entry.getKey();
+            List<String> samples = columnDataMap.get(columnName);
+            List<Map<String, Double>> valueResults = new ArrayList<>(entry.getValue());
 
-    /**
-     * Creates a standard RestTemplate with reasonable timeouts.
-     */
-    private RestTemplate createStandardRestTemplate() {
-        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
-        requestFactory.setConnectTimeout(5000); // 5 seconds
-        requestFactory.setReadTimeout(30000); // 30 seconds
-        return new RestTemplate(requestFactory);
-    }
+            for (int i = 0; i < valueResults.size(); i++) {
+                if (valueResults.get(i) == null) {
+                    Map<String, Double> fresh = resultsList.get(batchData.sampleIndices.get(samples.get(i)));
+                    valueResults.set(i, fresh != null ? fresh : Collections.emptyMap());
+                }
+            }
 
-    /**
-     * Determine if the service URL is local
-     */
-    private boolean isLocalService(String url) {
-        try {
-            URI uri = new URI(url);
-            String host = uri.getHost();
-            return host == null || host.equals("localhost") || host.equals("127.0.0.1") || host.startsWith("192.168.")
-                    || host.startsWith("10.");
-        } catch (URISyntaxException e) {
-            log.warn("Invalid URI syntax for service URL: {}", url);
-            return false;
+            batchData.results.put(columnName, NERResultsCache.assembleColumnResults(valueResults));
         }
     }
-}
\ No newline at end of file
+}
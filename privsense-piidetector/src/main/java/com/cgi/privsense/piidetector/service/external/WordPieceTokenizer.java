@@ -0,0 +1,211 @@
+package com.cgi.privsense.piidetector.service.external;
+
+import com.cgi.privsense.piidetector.exception.PIIDetectionException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * BERT WordPiece tokenizer for the embedded NER engine.
+ * Applies BERT basic tokenization (cleanup, optional lower-casing with accent
+ * stripping, splitting on whitespace, punctuation and CJK characters), then
+ * splits each word into the longest vocabulary pieces, continuation pieces
+ * being prefixed with "##".
+ */
+final class WordPieceTokenizer {
+    private static final String CLS_TOKEN = "[CLS]";
+    private static final String SEP_TOKEN = "[SEP]";
+    private static final String UNK_TOKEN = "[UNK]";
+    private static final String CONTINUATION_PREFIX = "##";
+    private static final int MAX_WORD_CHARS = 100;
+
+    private final Map<String, Integer> vocabulary;
+    private final boolean lowerCase;
+    private final int clsId;
+    private final int sepId;
+    private final int unkId;
+
+    private WordPieceTokenizer(Map<String, Integer> vocabulary, boolean lowerCase) {
+        this.vocabulary = vocabulary;
+        this.lowerCase = lowerCase;
+        this.clsId = requireToken(CLS_TOKEN);
+        this.sepId = requireToken(SEP_TOKEN);
+        this.unkId = requireToken(UNK_TOKEN);
+    }
+
+    /**
+     * Loads a tokenizer from a vocabulary file with one token per line.
+     *
+     * @param vocabPath Path of vocab.txt
+     * @param lowerCase Whether the model is uncased
+     * @return Tokenizer
+     */
+    static WordPieceTokenizer load(Path vocabPath, boolean lowerCase) {
+        List<String> tokens;
+        try {
+            tokens = Files.readAllLines(vocabPath, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new PIIDetectionException("Unable to read NER vocabulary: " + vocabPath, e,
+                    PIIDetectionException.CONFIG_ERROR);
+        }
+
+        Map<String, Integer> vocabulary = new HashMap<>(tokens.size() * 2);
+        for (int i = 0; i < tokens.size(); i++) {
+            vocabulary.putIfAbsent(tokens.get(i).strip(), i);
+        }
+        return new WordPieceTokenizer(vocabulary, lowerCase);
+    }
+
+    private int requireToken(String token) {
+        Integer id = vocabulary.get(token);
+        if (id == null) {
+            throw PIIDetectionException.configError("NER vocabulary has no " + token + " token");
+        }
+        return id;
+    }
+
+    /**
+     * Tokenizes a text into model input ids, framed by [CLS] and [SEP].
+     *
+     * @param text      Text to encode
+     * @param maxTokens Maximum number of ids, special tokens included
+     * @return Encoded text
+     */
+    Encoding encode(String text, int maxTokens) {
+        int capacity = Math.max(2, maxTokens);
+        int[] ids = new int[capacity];
+        boolean[] wordStarts = new boolean[capacity];
+        int length = 0;
+        ids[length++] = clsId;
+
+        StringBuilder word = new StringBuilder();
+        int limit = capacity - 1;
+        String cleaned = normalize(text);
+        for (int i = 0; i <= cleaned.length() && length < limit; i++) {
+            char c = i < cleaned.length() ? cleaned.charAt(i) : ' ';
+            boolean separator = Character.isWhitespace(c);
+            boolean standalone = !separator && (isPunctuation(c) || isCjk(c));
+
+            if ((separator || standalone) && !word.isEmpty()) {
+                length = appendWordPieces(word, ids, wordStarts, length, limit);
+                word.setLength(0);
+            }
+            if (standalone && length < limit) {
+                word.append(c);
+                length = appendWordPieces(word, ids, wordStarts, length, limit);
+                word.setLength(0);
+            } else if (!separator && !standalone) {
+                word.append(c);
+            }
+        }
+
+        ids[length++] = sepId;
+        return new Encoding(Arrays.copyOf(ids, length), Arrays.copyOf(wordStarts, length));
+    }
+
+    /**
+     * Splits a word into the longest matching vocabulary pieces.
+     */
+    private int appendWordPieces(CharSequence word, int[] ids, boolean[] wordStarts, int length, int limit) {
+        if (word.length() > MAX_WORD_CHARS) {
+            wordStarts[length] = true;
+            ids[length++] = unkId;
+            return length;
+        }
+
+        int pieceStart = length;
+        int start = 0;
+        while (start < word.length()) {
+            int end = word.length();
+            Integer pieceId = null;
+            while (start < end) {
+                String piece = start > 0
+                        ? CONTINUATION_PREFIX + word.subSequence(start, end)
+                        : word.subSequence(start, end).toString();
+                pieceId = vocabulary.get(piece);
+                if (pieceId != null) {
+                    break;
+                }
+                end--;
+            }
+
+            if (pieceId == null) {
+                // No piece matches: the whole word is unknown
+                length = pieceStart;
+                wordStarts[length] = true;
+                ids[length++] = unkId;
+                return length;
+            }
+            if (length >= limit) {
+                return length;
+            }
+            wordStarts[length] = start == 0;
+            ids[length++] = pieceId;
+            start = end;
+        }
+        return length;
+    }
+
+    /**
+     * Removes control characters, and lower-cases and strips accents for uncased models.
+     */
+    private String normalize(String text) {
+        StringBuilder cleaned = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == 0 || c == 0xFFFD) {
+                continue;
+            }
+            if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+                cleaned.append(' ');
+            } else if (!Character.isISOControl(c)) {
+                cleaned.append(c);
+            }
+        }
+
+        if (!lowerCase) {
+            return cleaned.toString();
+        }
+        String decomposed = Normalizer.normalize(cleaned.toString().toLowerCase(), Normalizer.Form.NFD);
+        StringBuilder stripped = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                stripped.append(c);
+            }
+        }
+        return stripped.toString();
+    }
+
+    private static boolean isPunctuation(char c) {
+        if ((c >= 33 && c <= 47) || (c >= 58 && c <= 64) || (c >= 91 && c <= 96) || (c >= 123 && c <= 126)) {
+            return true;
+        }
+        return switch (Character.getType(c)) {
+            case Character.CONNECTOR_PUNCTUATION, Character.DASH_PUNCTUATION, Character.START_PUNCTUATION,
+                 Character.END_PUNCTUATION, Character.INITIAL_QUOTE_PUNCTUATION, Character.FINAL_QUOTE_PUNCTUATION,
+                 Character.OTHER_PUNCTUATION -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean isCjk(char c) {
+        return (c >= 0x4E00 && c <= 0x9FFF) || (c >= 0x3400 && c <= 0x4DBF) || (c >= 0xF900 && c <= 0xFAFF);
+    }
+
+    /**
+     * Input ids of a text, with a flag marking the first piece of each word.
+     *
+     * @param ids        Vocabulary ids, [CLS] and [SEP] included
+     * @param wordStarts Whether each id starts a word
+     */
+    record Encoding(int[] ids, boolean[] wordStarts) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.cgi.privsense.piidetector.service.gazetteer;
+
+import com.cgi.privsense.piidetector.service.cache.ValueHash;
+
+/**
+ * Bloom filter over 128-bit value hashes.
+ * Bit positions are derived from the two halves of the hash by double
+ * hashing, so a lookup needs no further hashing of the value.
+ */
+final class BloomFilter {
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * Creates a filter sized for the expected number of entries.
+     *
+     * @param expectedEntries   Expected number of entries
+     * @param falsePositiveRate Target false positive rate
+     */
+    BloomFilter(int expectedEntries, double falsePositiveRate) {
+        double rate = Math.min(0.5, Math.max(1e-9, falsePositiveRate));
+        long optimalBits = (long) Math.ceil(-Math.max(1, expectedEntries) * Math.log(rate) / (Math.log(2) * Math.log(2)));
+        this.bits = new long[(int) Math.max(1, (optimalBits + 63) >>> 6)];
+        this.bitCount = (long) bits.length << 6;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / Math.max(1, expectedEntries) * Math.log(2)));
+    }
+
+    void add(ValueHash hash) {
+        long combined = hash.low();
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(combined, bitCount);
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+            combined += hash.high();
+        }
+    }
+
+    boolean mightContain(ValueHash hash) {
+        long combined = hash.low();
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(combined, bitCount);
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+            combined += hash.high();
+        }
+        return true;
+    }
+
+    /**
+     * Gets the memory used by the filter bits.
+     *
+     * @return Size in bytes
+     */
+    long sizeInBytes() {
+        return (long) bits.length * Long.BYTES;
+    }
+}
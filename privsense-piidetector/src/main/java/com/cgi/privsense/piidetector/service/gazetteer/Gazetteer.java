@@ -0,0 +1,242 @@
+package com.cgi.privsense.piidetector.service.gazetteer;
+
+import com.cgi.privsense.common.config.properties.PiiDetectionProperties;
+import com.cgi.privsense.piidetector.exception.PIIDetectionException;
+import com.cgi.privsense.piidetector.service.cache.ValueHash;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Dictionaries of first names, last names and cities for the configured locales.
+ * Entries are read from {@code {directory}/{locale}/first-names.txt},
+ * {@code last-names.txt} and {@code cities.txt} (one entry per line, lines
+ * starting with '#' ignored) on the first lookup. Only hashes are kept: each
+ * dictionary is a minimal perfect hash set of fingerprints, and a shared
+ * Bloom filter rejects most values that are in no dictionary with a single
+ * probe. A missing file is logged and leaves its dictionary empty.
+ * <p>
+ * The dictionaries are not shipped with the application: the gazetteer is
+ * disabled by default, and enabling it requires the directory to exist.
+ */
+@Component
+public class Gazetteer {
+    private static final Logger log = LoggerFactory.getLogger(Gazetteer.class);
+
+    public static final int FIRST_NAME = 1;
+    public static final int LAST_NAME = 1 << 1;
+    public static final int CITY = 1 << 2;
+
+    private static final String[] FILE_NAMES = {"first-names.txt", "last-names.txt", "cities.txt"};
+    private static final int[] CATEGORIES = {FIRST_NAME, LAST_NAME, CITY};
+
+    private final boolean enabled;
+    private final Path directory;
+    private final List<String> locales;
+    private final double bloomFalsePositiveRate;
+
+    // Built on first use, by the first caller
+    private final AtomicReference<CompletableFuture<Dictionaries>> dictionaries = new AtomicReference<>();
+
+    public Gazetteer(PiiDetectionProperties piiDetectionProperties) {
+        PiiDetectionProperties.GazetteerProperties gazetteer = piiDetectionProperties.getGazetteer();
+        this.enabled = gazetteer.isEnabled();
+        this.directory = Path.of(gazetteer.getDirectory());
+        this.locales = List.copyOf(gazetteer.getLocales());
+        this.bloomFalsePositiveRate = gazetteer.getBloomFalsePositiveRate();
+
+        if (enabled && !Files.isDirectory(directory)) {
+            throw PIIDetectionException.configError("Gazetteer is enabled but its dictionary directory does not exist: "
+                    + directory.toAbsolutePath());
+        }
+    }
+
+    /**
+     * Checks if the gazetteer is enabled.
+     *
+     * @return true if lookups use the dictionaries
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Looks up a value in all dictionaries.
+     *
+     * @param value Value to look up
+     * @return Bit mask of the categories containing the value, 0 if none
+     */
+    public int lookup(String value) {
+        String normalized = normalize(value);
+        if (!enabled || normalized.isEmpty()) {
+            return 0;
+        }
+        return dictionaries().lookup(ValueHash.of(normalized));
+    }
+
+    /**
+     * Checks if no dictionary has any entry, loading them if needed.
+     *
+     * @return true if the gazetteer is disabled or all dictionaries are empty
+     */
+    public boolean isEmpty() {
+        return !enabled || dictionaries().entryCount == 0;
+    }
+
+    /**
+     * Normalizes a value as dictionary entries are: lower case, without
+     * accents, with single spaces between words.
+     *
+     * @param value Raw value
+     * @return Normalized value
+     */
+    public static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value.strip().toLowerCase(), Normalizer.Form.NFD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+                pendingSpace = !normalized.isEmpty();
+            } else {
+                if (pendingSpace) {
+                    normalized.append(' ');
+                    pendingSpace = false;
+                }
+                normalized.append(c);
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Gets the dictionaries, loading them on first use. The first caller reads
+     * the files without holding any lock; concurrent callers wait for its result.
+     * A failed load is retried by the next caller.
+     */
+    private Dictionaries dictionaries() {
+        CompletableFuture<Dictionaries> loading = dictionaries.get();
+        if (loading == null) {
+            CompletableFuture<Dictionaries> created = new CompletableFuture<>();
+            loading = dictionaries.compareAndExchange(null, created);
+            if (loading == null) {
+                loading = created;
+                try {
+                    created.complete(load());
+                } catch (RuntimeException e) {
+                    dictionaries.compareAndSet(created, null);
+                    created.completeExceptionally(e);
+                    throw e;
+                }
+            }
+        }
+
+        try {
+            return loading.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private Dictionaries load() {
+        long startTime = System.currentTimeMillis();
+
+        List<Set<ValueHash>> entries = new ArrayList<>(CATEGORIES.length);
+        for (int category = 0; category < CATEGORIES.length; category++) {
+            Set<ValueHash> hashes = new HashSet<>();
+            for (String locale : locales) {
+                readEntries(directory.resolve(locale).resolve(FILE_NAMES[category]), hashes);
+            }
+            entries.add(hashes);
+        }
+
+        Set<ValueHash> allEntries = new HashSet<>();
+        entries.forEach(allEntries::addAll);
+        BloomFilter bloomFilter = new BloomFilter(allEntries.size(), bloomFalsePositiveRate);
+        allEntries.forEach(bloomFilter::add);
+
+        PerfectHashSet[] sets = new PerfectHashSet[CATEGORIES.length];
+        long sizeInBytes = bloomFilter.sizeInBytes();
+        for (int category = 0; category < CATEGORIES.length; category++) {
+            sets[category] = PerfectHashSet.build(new ArrayList<>(entries.get(category)));
+            sizeInBytes += sets[category].sizeInBytes();
+        }
+
+        log.info("Gazetteer loaded for locales {}: {} first names, {} last names, {} cities ({} KB) in {} ms",
+                locales, entries.get(0).size(), entries.get(1).size(), entries.get(2).size(),
+                sizeInBytes / 1024, System.currentTimeMillis() - startTime);
+
+        return new Dictionaries(bloomFilter, sets, allEntries.size());
+    }
+
+    private static void readEntries(Path file, Set<ValueHash> hashes) {
+        if (!Files.isRegularFile(file)) {
+            log.warn("Gazetteer file not found: {}", file);
+            return;
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("#")) {
+                    continue;
+                }
+                String entry = normalize(line);
+                if (!entry.isEmpty()) {
+                    hashes.add(ValueHash.of(entry));
+                }
+            }
+        } catch (IOException e) {
+            throw new PIIDetectionException("Unable to read gazetteer file: " + file, e,
+                    PIIDetectionException.CONFIG_ERROR);
+        }
+    }
+
+    /**
+     * Loaded dictionaries, immutable once built.
+     */
+    private static final class Dictionaries {
+        private final BloomFilter bloomFilter;
+        private final PerfectHashSet[] sets;
+        private final int entryCount;
+
+        Dictionaries(BloomFilter bloomFilter, PerfectHashSet[] sets, int entryCount) {
+            this.bloomFilter = bloomFilter;
+            this.sets = sets;
+            this.entryCount = entryCount;
+        }
+
+        int lookup(ValueHash hash) {
+            if (entryCount == 0 || !bloomFilter.mightContain(hash)) {
+                return 0;
+            }
+            int categories = 0;
+            for (int i = 0; i < sets.length; i++) {
+                if (sets[i].contains(hash)) {
+                    categories |= CATEGORIES[i];
+                }
+            }
+            return categories;
+        }
+    }
+}
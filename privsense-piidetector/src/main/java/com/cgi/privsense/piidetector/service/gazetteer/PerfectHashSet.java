@@ -0,0 +1,163 @@
+package com.cgi.privsense.piidetector.service.gazetteer;
+
+import com.cgi.privsense.piidetector.service.cache.ValueHash;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Static set of values stored as a minimal perfect hash table of fingerprints.
+ * Built with hash-and-displace: values are grouped into small buckets, and
+ * each bucket, largest first, gets the first displacement that sends all its
+ * values to free slots. A table of n values therefore has exactly n slots, each
+ * holding a 32-bit fingerprint of its value instead of the value itself
+ * (about 5 bytes per entry). A lookup reads one displacement and one
+ * fingerprint; a value outside the set is wrongly accepted with a
+ * probability of 2^-32.
+ */
+final class PerfectHashSet {
+    // Average number of values per bucket
+    private static final int BUCKET_SIZE = 4;
+
+    private final int[] displacements;
+    private final int[] fingerprints;
+    private final int slotCount;
+    private final int size;
+
+    private PerfectHashSet(int[] displacements, int[] fingerprints, int size) {
+        this.displacements = displacements;
+        this.fingerprints = fingerprints;
+        this.slotCount = fingerprints.length;
+        this.size = size;
+    }
+
+    /**
+     * Builds the set from distinct value hashes.
+     *
+     * @param hashes Hashes of the values, without duplicates
+     * @return Perfect hash set
+     */
+    static PerfectHashSet build(List<ValueHash> hashes) {
+        int slotCount = Math.max(1, hashes.size());
+        int bucketCount = Math.max(1, slotCount / BUCKET_SIZE);
+
+        List<List<ValueHash>> buckets = new ArrayList<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            buckets.add(new ArrayList<>(BUCKET_SIZE));
+        }
+        for (ValueHash hash : hashes) {
+            buckets.get(bucket(hash, bucketCount)).add(hash);
+        }
+
+        Integer[] order = new Integer[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingInt((Integer bucket) -> buckets.get(bucket).size()).reversed());
+
+        int[] displacements = new int[bucketCount];
+        int[] fingerprints = new int[slotCount];
+        boolean[] occupied = new boolean[slotCount];
+        int[] candidate = new int[BUCKET_SIZE * 8];
+
+        for (int bucket : order) {
+            List<ValueHash> members = buckets.get(bucket);
+            if (members.isEmpty()) {
+                break;
+            }
+            if (candidate.length < members.size()) {
+                candidate = new int[members.size()];
+            }
+
+            int displacement = findDisplacement(members, occupied, candidate, slotCount);
+            displacements[bucket] = displacement;
+            for (int i = 0; i < members.size(); i++) {
+                occupied[candidate[i]] = true;
+                fingerprints[candidate[i]] = fingerprint(members.get(i));
+            }
+        }
+
+        return new PerfectHashSet(displacements, fingerprints, hashes.size());
+    }
+
+    /**
+     * Finds the first displacement placing every member of a bucket in a
+     * distinct free slot, and leaves their slots in {@code candidate}.
+     */
+    private static int findDisplacement(List<ValueHash> members, boolean[] occupied, int[] candidate,
+                                        int slotCount) {
+        for (int displacement = 0; displacement >= 0; displacement++) {
+            boolean placed = true;
+            for (int i = 0; i < members.size() && placed; i++) {
+                int slot = slot(members.get(i), displacement, slotCount);
+                if (occupied[slot]) {
+                    placed = false;
+                }
+                for (int j = 0; j < i && placed; j++) {
+                    placed = candidate[j] != slot;
+                }
+                candidate[i] = slot;
+            }
+            if (placed) {
+                return displacement;
+            }
+        }
+        throw new IllegalStateException("No displacement found for gazetteer bucket");
+    }
+
+    /**
+     * Checks if a value hash belongs to the set.
+     *
+     * @param hash Value hash
+     * @return true if the value is (with very high probability) in the set
+     */
+    boolean contains(ValueHash hash) {
+        if (size == 0) {
+            return false;
+        }
+        int displacement = displacements[bucket(hash, displacements.length)];
+        return fingerprints[slot(hash, displacement, slotCount)] == fingerprint(hash);
+    }
+
+    /**
+     * Gets the number of values in the set.
+     *
+     * @return Size of the set
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Gets the memory used by the hash tables.
+     *
+     * @return Size in bytes
+     */
+    long sizeInBytes() {
+        return (long) (displacements.length + fingerprints.length) * Integer.BYTES;
+    }
+
+    private static int bucket(ValueHash hash, int bucketCount) {
+        return (int) Long.remainderUnsigned(hash.high(), bucketCount);
+    }
+
+    /**
+     * Slot of a value for a displacement: each displacement selects another
+     * hash of the value, so a bucket can always be moved to free slots.
+     */
+    private static int slot(ValueHash hash, int displacement, int slotCount) {
+        long mixed = hash.low() ^ (displacement * 0x9E3779B97F4A7C15L);
+        mixed ^= mixed >>> 33;
+        mixed *= 0xff51afd7ed558ccdL;
+        mixed ^= mixed >>> 33;
+        mixed *= 0xc4ceb9fe1a85ec53L;
+        mixed ^= mixed >>> 33;
+        return (int) Long.remainderUnsigned(mixed, slotCount);
+    }
+
+    private static int fingerprint(ValueHash hash) {
+        return (int) (hash.high() >>> 32);
+    }
+}
@@ -1,102 +1,320 @@
 package com.cgi.privsense.piidetector.service.resilience;
 
+import com.cgi.privsense.common.config.properties.PiiDetectionProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
 
 /**
  * Implementation of the Circuit Breaker pattern for enhancing resilience.
  * Prevents system overload during service failures and allows for recovery periods.
+ * <p>
+ * Call outcomes are recorded in a time-bucketed sliding window. The breaker
+ * opens when, with enough calls in the window, the failure rate or the rate of
+ * slow calls reaches its threshold. After the open duration it becomes
+ * half-open and lets a limited number of concurrent probe calls through: the
+ * circuit closes once that many probes succeed, and reopens on any failed or
+ * slow probe. All state is held in atomics; no call takes a lock.
  */
 public class CircuitBreaker {
     private static final Logger log = LoggerFactory.getLogger(CircuitBreaker.class);
-    
-    private final AtomicBoolean circuitOpen = new AtomicBoolean(false);
-    private final AtomicLong circuitResetTime = new AtomicLong(0);
-    private final int failureThreshold;
-    private final long resetTimeoutMs;
-    private int consecutiveFailures = 0;
+
+    /**
+     * Circuit breaker states.
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * Receives state transitions, for metrics and logging.
+     */
+    @FunctionalInterface
+    public interface TransitionListener {
+        void onTransition(String breakerName, State from, State to);
+    }
+
+    // Bucket layout: [epoch:16 | calls:16 | failures:16 | slow calls:16]
+    private static final long FIELD_MASK = 0xFFFFL;
+    private static final int EPOCH_SHIFT = 48;
+    private static final int CALLS_SHIFT = 32;
+    private static final int FAILURES_SHIFT = 16;
+
+    private final String name;
+    private final long bucketMs;
+    private final AtomicLongArray buckets;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallDurationMs;
+    private final long openDurationMs;
+    private final int halfOpenMaxCalls;
+    private final TransitionListener transitionListener;
+    private final LongSupplier clock;
+
+    private final AtomicReference<StateHolder> state;
 
     /**
      * Creates a new CircuitBreaker with the specified configuration.
-     * 
-     * @param failureThreshold Number of consecutive failures before opening the circuit
-     * @param resetTimeoutMs Time in milliseconds before allowing a test request after opening
+     *
+     * @param name               Name used in logs and metrics
+     * @param properties         Window, threshold and half-open settings
+     * @param transitionListener Listener notified of state transitions
+     */
+    public CircuitBreaker(String name, PiiDetectionProperties.CircuitBreakerProperties properties,
+                          TransitionListener transitionListener) {
+        this(name, properties, transitionListener, System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a new CircuitBreaker reading the time from a clock.
+     *
+     * @param name               Name used in logs and metrics
+     * @param properties         Window, threshold and half-open settings
+     * @param transitionListener Listener notified of state transitions
+     * @param clock              Current time in milliseconds
      */
-    public CircuitBreaker(int failureThreshold, long resetTimeoutMs) {
-        this.failureThreshold = failureThreshold;
-        this.resetTimeoutMs = resetTimeoutMs;
-        log.debug("CircuitBreaker initialized with threshold={}, resetTimeout={}ms", 
-                failureThreshold, resetTimeoutMs);
+    CircuitBreaker(String name, PiiDetectionProperties.CircuitBreakerProperties properties,
+                   TransitionListener transitionListener, LongSupplier clock) {
+        int bucketCount = Math.max(1, properties.getWindowBuckets());
+        this.name = name;
+        this.bucketMs = Math.max(1, properties.getWindowMs() / bucketCount);
+        this.buckets = new AtomicLongArray(bucketCount);
+        this.minimumCalls = Math.max(1, properties.getMinimumCalls());
+        this.failureRateThreshold = properties.getFailureRateThreshold();
+        this.slowCallRateThreshold = properties.getSlowCallRateThreshold();
+        this.slowCallDurationMs = properties.getSlowCallDurationMs();
+        this.openDurationMs = properties.getOpenDurationMs();
+        this.halfOpenMaxCalls = Math.max(1, properties.getHalfOpenMaxCalls());
+        this.transitionListener = transitionListener;
+        this.clock = clock;
+        this.state = new AtomicReference<>(new StateHolder(State.CLOSED, clock.getAsLong()));
+
+        log.debug("CircuitBreaker '{}' initialized: {} buckets of {} ms, failure rate {}, slow call rate {} (>= {} ms)",
+                name, bucketCount, bucketMs, failureRateThreshold, slowCallRateThreshold, slowCallDurationMs);
     }
 
     /**
-     * Records a service failure and potentially opens the circuit breaker.
-     * 
-     * @return true if the circuit was opened as a result of this failure
+     * Acquires permission for a call. Every permitted call must be reported
+     * with {@link #onSuccess(long)} or {@link #onFailure(long)}.
+     *
+     * @return true if the call may proceed; false if it should use the fallback
      */
-    public synchronized boolean recordFailure() {
-        boolean wasOpened = false;
-        consecutiveFailures++;
-        log.debug("Service failure recorded: {} consecutive failures", consecutiveFailures);
-
-        if (consecutiveFailures >= failureThreshold && !circuitOpen.get()) {
-            log.warn("Circuit breaker threshold reached ({}), opening circuit", failureThreshold);
-            circuitOpen.set(true);
-            circuitResetTime.set(System.currentTimeMillis() + resetTimeoutMs);
-            wasOpened = true;
+    public boolean tryAcquirePermission() {
+        while (true) {
+            StateHolder current = state.get();
+            switch (current.state) {
+                case CLOSED:
+                    return true;
+                case OPEN:
+                    if (clock.getAsLong() - current.since < openDurationMs) {
+                        return false;
+                    }
+                    // Open duration elapsed: try to move to half-open, then retry as a probe
+                    transition(current, State.HALF_OPEN);
+                    break;
+                default:
+                    return acquireProbePermit(current);
+            }
         }
-        
-        return wasOpened;
+    }
+
+    private boolean acquireProbePermit(StateHolder halfOpen) {
+        int inFlight;
+        do {
+            inFlight = halfOpen.probesInFlight.get();
+            if (inFlight >= halfOpenMaxCalls) {
+                return false;
+            }
+        } while (!halfOpen.probesInFlight.compareAndSet(inFlight, inFlight + 1));
+        return true;
+    }
+
+    /**
+     * Records a successful call.
+     *
+     * @param durationMs Call duration in milliseconds
+     */
+    public void onSuccess(long durationMs) {
+        onResult(false, durationMs);
     }
 
     /**
-     * Resets the circuit breaker on successful operation.
+     * Records a failed call.
+     *
+     * @param durationMs Call duration in milliseconds
      */
-    public synchronized void recordSuccess() {
-        if (consecutiveFailures > 0) {
-            log.debug("Resetting circuit breaker failure counter");
-            consecutiveFailures = 0;
+    public void onFailure(long durationMs) {
+        onResult(true, durationMs);
+    }
+
+    private void onResult(boolean failed, long durationMs) {
+        boolean slow = durationMs >= slowCallDurationMs;
+        StateHolder current = state.get();
+
+        if (current.state == State.HALF_OPEN) {
+            // Never below zero: a call permitted before the circuit opened may complete here
+            current.probesInFlight.updateAndGet(inFlight -> Math.max(0, inFlight - 1));
+            if (failed || slow) {
+                transition(current, State.OPEN);
+            } else if (current.probeSuccesses.incrementAndGet() >= halfOpenMaxCalls) {
+                transition(current, State.CLOSED);
+            }
+            return;
         }
 
-        if (circuitOpen.get()) {
-            log.info("Closing circuit breaker after successful operation");
-            circuitOpen.set(false);
+        // Calls completing after the circuit opened are still counted in the window
+        record(failed, slow);
+        if (current.state == State.CLOSED && shouldTrip()) {
+            transition(current, State.OPEN);
+        }
+    }
+
+    /**
+     * Moves an open circuit to half-open immediately, e.g. when a health check
+     * reports the service healthy again, so probe calls can confirm recovery.
+     */
+    public void allowProbeCalls() {
+        StateHolder current = state.get();
+        if (current.state == State.OPEN) {
+            transition(current, State.HALF_OPEN);
         }
     }
 
     /**
      * Checks if the circuit breaker is currently open.
-     * Includes half-open state logic for testing recovery.
-     * 
-     * @return true if circuit is open and reset timeout hasn't elapsed
+     * Does not acquire a permit; a half-open circuit or an open circuit whose
+     * open duration has elapsed is reported as not open.
+     *
+     * @return true if calls are currently rejected
      */
     public boolean isOpen() {
-        // If circuit breaker timeout has elapsed, allow a test request (half-open state)
-        if (circuitOpen.get() && System.currentTimeMillis() > circuitResetTime.get()) {
-            log.info("Circuit breaker in half-open state, allowing test request");
-            return false;
-        }
-        return circuitOpen.get();
+        StateHolder current = state.get();
+        return current.state == State.OPEN && clock.getAsLong() - current.since < openDurationMs;
+    }
+
+    /**
+     * Gets the current state.
+     *
+     * @return Current state
+     */
+    public State getState() {
+        return state.get().state;
     }
 
     /**
      * Forcibly resets the circuit breaker for testing or administrative purposes.
      */
-    public synchronized void forceReset() {
-        consecutiveFailures = 0;
-        circuitOpen.set(false);
-        log.info("Circuit breaker manually reset");
+    public void forceReset() {
+        StateHolder current = state.get();
+        if (current.state != State.CLOSED) {
+            transition(current, State.CLOSED);
+        }
+        clearWindow();
+        log.info("Circuit breaker '{}' manually reset", name);
+    }
+
+    /**
+     * Replaces the state if it is still the expected one. Only the thread whose
+     * compare-and-set succeeds performs the side effects of the transition.
+     */
+    private void transition(StateHolder expected, State target) {
+        if (!state.compareAndSet(expected, new StateHolder(target, clock.getAsLong()))) {
+            return;
+        }
+        if (target == State.CLOSED) {
+            clearWindow();
+        }
+
+        if (target == State.OPEN) {
+            log.warn("Circuit breaker '{}' opened (was {})", name, expected.state);
+        } else {
+            log.info("Circuit breaker '{}' transitioned from {} to {}", name, expected.state, target);
+        }
+        if (transitionListener != null) {
+            transitionListener.onTransition(name, expected.state, target);
+        }
+    }
+
+    /**
+     * Adds a call outcome to the bucket of the current time.
+     */
+    private void record(boolean failed, boolean slow) {
+        long epoch = clock.getAsLong() / bucketMs;
+        int index = (int) (epoch % buckets.length());
+        long epochTag = epoch & FIELD_MASK;
+
+        while (true) {
+            long packed = buckets.get(index);
+            long calls = 0;
+            long failures = 0;
+            long slowCalls = 0;
+            if (((packed >>> EPOCH_SHIFT) & FIELD_MASK) == epochTag) {
+                calls = (packed >>> CALLS_SHIFT) & FIELD_MASK;
+                failures = (packed >>> FAILURES_SHIFT) & FIELD_MASK;
+                slowCalls = packed & FIELD_MASK;
+            }
+            // Saturate rather than overflow into the neighbouring field
+            calls = Math.min(FIELD_MASK, calls + 1);
+            failures = Math.min(FIELD_MASK, failures + (failed ? 1 : 0));
+            slowCalls = Math.min(FIELD_MASK, slowCalls + (slow ? 1 : 0));
+
+            long updated = epochTag << EPOCH_SHIFT | calls << CALLS_SHIFT | failures << FAILURES_SHIFT | slowCalls;
+            if (buckets.compareAndSet(index, packed, updated)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Evaluates the failure and slow call rates over the buckets of the window.
+     */
+    private boolean shouldTrip() {
+        long epoch = clock.getAsLong() / bucketMs;
+        int bucketCount = buckets.length();
+        long calls = 0;
+        long failures = 0;
+        long slowCalls = 0;
+
+        for (int age = 0; age < bucketCount; age++) {
+            long bucketEpoch = epoch - age;
+            long packed = buckets.get((int) (bucketEpoch % bucketCount));
+            if (((packed >>> EPOCH_SHIFT) & FIELD_MASK) == (bucketEpoch & FIELD_MASK)) {
+                calls += (packed >>> CALLS_SHIFT) & FIELD_MASK;
+                failures += (packed >>> FAILURES_SHIFT) & FIELD_MASK;
+                slowCalls += packed & FIELD_MASK;
+            }
+        }
+
+        if (calls < minimumCalls) {
+            return false;
+        }
+        return (double) failures / calls >= failureRateThreshold
+                || (double) slowCalls / calls >= slowCallRateThreshold;
+    }
+
+    private void clearWindow() {
+        for (int i = 0; i < buckets.length(); i++) {
+            buckets.set(i, 0L);
+        }
     }
-    
+
     /**
-     * Gets the current number of consecutive failures.
-     * 
-     * @return Number of consecutive failures
+     * Immutable state with the counters of its half-open period.
      */
-    public int getConsecutiveFailures() {
-        return consecutiveFailures;
+    private static final class StateHolder {
+        final State state;
+        final long since;
+        final AtomicInteger probesInFlight = new AtomicInteger();
+        final AtomicInteger probeSuccesses = new AtomicInteger();
+
+        StateHolder(State state, long since) {
+            this.state = state;
+            this.since = since;
+        }
     }
-}
\ No newline at end of file
+}
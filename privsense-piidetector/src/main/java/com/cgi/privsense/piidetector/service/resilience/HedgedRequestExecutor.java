@@ -0,0 +1,211 @@
+package com.cgi.privsense.piidetector.service.resilience;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Executes requests with hedging against an alternate endpoint.
+ * When a request has not answered within a latency percentile of its endpoint,
+ * a duplicate is sent to the alternate endpoint; the first successful response
+ * wins and the other request is cancelled. Latency is tracked per endpoint in
+ * rolling histograms, and a token budget caps hedged requests to a percentage
+ * of all requests.
+ */
+public class HedgedRequestExecutor {
+    private static final Logger log = LoggerFactory.getLogger(HedgedRequestExecutor.class);
+
+    // Samples needed before an endpoint's percentile is trusted
+    private static final int MIN_SAMPLES = 20;
+    // Budget tokens are counted in thousandths of a hedge
+    private static final long TOKENS_PER_HEDGE = 1000;
+    private static final long MAX_TOKENS = 10 * TOKENS_PER_HEDGE;
+
+    private final double percentile;
+    private final long minDelayMs;
+    private final long tokensPerRequest;
+    private final long latencyWindowMs;
+
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final AtomicLong budgetTokens = new AtomicLong();
+    private final AtomicLong hedgedRequests = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+
+    /**
+     * Creates a hedged request executor.
+     *
+     * @param percentile      Latency percentile of an endpoint after which a request is hedged
+     * @param minDelayMs      Minimum delay before hedging
+     * @param budgetPercent   Maximum hedged requests as a percentage of requests
+     * @param latencyWindowMs Window of the latency histograms
+     */
+    public HedgedRequestExecutor(double percentile, long minDelayMs, double budgetPercent, long latencyWindowMs) {
+        this.percentile = percentile;
+        this.minDelayMs = Math.max(0, minDelayMs);
+        this.tokensPerRequest = Math.round(TOKENS_PER_HEDGE * Math.max(0, budgetPercent) / 100);
+        this.latencyWindowMs = latencyWindowMs;
+    }
+
+    /**
+     * Executes a request, hedging it to the alternate endpoint if it is slow.
+     *
+     * @param url          Endpoint to send the request to
+     * @param alternateUrl Endpoint for the hedged request, or null to disable hedging
+     * @param request      Sends the request to a given endpoint
+     * @param <R>          Response type
+     * @return Future completed with the first successful response, or with the
+     *         last failure if every request failed
+     */
+    public <R> CompletableFuture<R> execute(String url, String alternateUrl,
+                                            Function<String, CompletableFuture<R>> request) {
+        budgetTokens.accumulateAndGet(tokensPerRequest, (tokens, added) -> Math.min(MAX_TOKENS, tokens + added));
+
+        long hedgeDelayMs = alternateUrl != null ? hedgeDelay(url) : -1;
+        if (hedgeDelayMs < 0) {
+            return send(url, request);
+        }
+
+        CompletableFuture<R> result = new CompletableFuture<>();
+        AtomicInteger outstanding = new AtomicInteger(1);
+        AtomicReference<CompletableFuture<R>> hedge = new AtomicReference<>();
+
+        CompletableFuture<R> primary = send(url, request);
+        primary.whenComplete((value, error) -> complete(result, outstanding, value, error));
+        result.whenComplete((value, error) -> {
+            // Abort the losing request, or both if the caller cancelled
+            primary.cancel(false);
+            cancel(hedge.get());
+        });
+
+        CompletableFuture.delayedExecutor(hedgeDelayMs, TimeUnit.MILLISECONDS).execute(() -> {
+            if (result.isDone() || !tryAcquireBudget()) {
+                return;
+            }
+            outstanding.incrementAndGet();
+            hedgedRequests.incrementAndGet();
+            log.debug("Hedging request to {} after {} ms", alternateUrl, hedgeDelayMs);
+
+            CompletableFuture<R> hedgeCall = send(alternateUrl, request);
+            hedge.set(hedgeCall);
+            hedgeCall.whenComplete((value, error) -> {
+                if (complete(result, outstanding, value, error)) {
+                    hedgeWins.incrementAndGet();
+                }
+            });
+            if (result.isDone()) {
+                hedgeCall.cancel(false);
+            }
+        });
+
+        return result;
+    }
+
+    /**
+     * Completes the result with the first success, or with the failure of the
+     * last outstanding request.
+     *
+     * @return true if this response completed the result successfully
+     */
+    private static <R> boolean complete(CompletableFuture<R> result, AtomicInteger outstanding,
+                                        R value, Throwable error) {
+        if (error == null) {
+            return result.complete(value);
+        }
+        if (outstanding.decrementAndGet() == 0) {
+            result.completeExceptionally(error);
+        }
+        return false;
+    }
+
+    private static void cancel(CompletableFuture<?> call) {
+        if (call != null) {
+            call.cancel(false);
+        }
+    }
+
+    /**
+     * Sends a request and records its latency. A cancelled request is recorded
+     * with the time it had taken so far, so that an endpoint that keeps losing
+     * to hedges still shows its slowness.
+     */
+    private <R> CompletableFuture<R> send(String url, Function<String, CompletableFuture<R>> request) {
+        long startTime = System.nanoTime();
+        CompletableFuture<R> call;
+        try {
+            call = request.apply(url);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        call.whenComplete((value, error) -> {
+            if (error == null || call.isCancelled()) {
+                histogram(url).record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+            }
+        });
+        return call;
+    }
+
+    /**
+     * Gets the hedging delay of an endpoint, or -1 if its latency is not yet known.
+     */
+    private long hedgeDelay(String url) {
+        LatencyHistogram histogram = histogram(url);
+        if (histogram.count() < MIN_SAMPLES) {
+            return -1;
+        }
+        return Math.max(minDelayMs, histogram.percentile(percentile));
+    }
+
+    private boolean tryAcquireBudget() {
+        long tokens;
+        do {
+            tokens = budgetTokens.get();
+            if (tokens < TOKENS_PER_HEDGE) {
+                return false;
+            }
+        } while (!budgetTokens.compareAndSet(tokens, tokens - TOKENS_PER_HEDGE));
+        return true;
+    }
+
+    private LatencyHistogram histogram(String url) {
+        return histograms.computeIfAbsent(url, key -> new LatencyHistogram(latencyWindowMs));
+    }
+
+    /**
+     * Gets a latency percentile of an endpoint.
+     *
+     * @param url        Endpoint
+     * @param percentile Percentile between 0.0 and 1.0
+     * @return Latency in ms, or -1 if no latency was recorded
+     */
+    public long getLatencyPercentile(String url, double percentile) {
+        LatencyHistogram histogram = histograms.get(url);
+        return histogram != null ? histogram.percentile(percentile) : -1;
+    }
+
+    /**
+     * Gets the number of hedged requests sent.
+     *
+     * @return Hedged request count
+     */
+    public long getHedgedRequests() {
+        return hedgedRequests.get();
+    }
+
+    /**
+     * Gets the number of hedged requests that answered first.
+     *
+     * @return Hedge win count
+     */
+    public long getHedgeWins() {
+        return hedgeWins.get();
+    }
+}
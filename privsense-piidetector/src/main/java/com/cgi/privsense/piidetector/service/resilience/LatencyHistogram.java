@@ -0,0 +1,151 @@
+package com.cgi.privsense.piidetector.service.resilience;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Rolling latency histogram used to derive percentiles of call durations.
+ * Durations are counted in log-linear buckets (exact below 32 ms, then 16
+ * buckets per power of two, so about 6% relative error). Samples age out in
+ * two alternating windows: percentiles cover the current and the previous
+ * window. Recording is a single atomic increment and never takes a lock.
+ */
+public class LatencyHistogram {
+    // Values below this are counted in exact 1 ms buckets
+    private static final int LINEAR_LIMIT = 32;
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Largest tracked duration is about 2^31 ms; longer durations share the last bucket
+    private static final int MAX_EXPONENT = 31;
+    private static final int BUCKET_COUNT = LINEAR_LIMIT
+            + (MAX_EXPONENT - Integer.numberOfTrailingZeros(LINEAR_LIMIT)) * SUB_BUCKETS;
+
+    private final long windowMs;
+    private final LongSupplier clock;
+    private final AtomicReference<Window> current;
+    private volatile Window previous;
+
+    /**
+     * Creates a histogram keeping samples for one to two windows.
+     *
+     * @param windowMs Length of a window in milliseconds
+     */
+    public LatencyHistogram(long windowMs) {
+        this(windowMs, System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a histogram reading the time from a clock.
+     *
+     * @param windowMs Length of a window in milliseconds
+     * @param clock    Current time in milliseconds
+     */
+    LatencyHistogram(long windowMs, LongSupplier clock) {
+        this.windowMs = Math.max(1, windowMs);
+        this.clock = clock;
+        this.current = new AtomicReference<>(new Window(clock.getAsLong()));
+        this.previous = new Window(0);
+    }
+
+    /**
+     * Records a call duration.
+     *
+     * @param durationMs Duration in milliseconds
+     */
+    public void record(long durationMs) {
+        Window window = currentWindow();
+        window.counts.incrementAndGet(bucketIndex(Math.max(0, durationMs)));
+        window.total.incrementAndGet();
+    }
+
+    /**
+     * Gets the number of samples in the current and previous window.
+     *
+     * @return Sample count
+     */
+    public long count() {
+        return currentWindow().total.get() + previous.total.get();
+    }
+
+    /**
+     * Estimates a percentile of the recorded durations.
+     *
+     * @param percentile Percentile between 0.0 and 1.0
+     * @return Upper bound of the bucket holding the percentile in ms, or -1 if there are no samples
+     */
+    public long percentile(double percentile) {
+        Window recent = currentWindow();
+        Window older = previous;
+        long total = recent.total.get() + older.total.get();
+        if (total == 0) {
+            return -1;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(total * percentile));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += recent.counts.get(i) + older.counts.get(i);
+            if (seen >= rank) {
+                return bucketUpperBound(i);
+            }
+        }
+        return bucketUpperBound(BUCKET_COUNT - 1);
+    }
+
+    /**
+     * Gets the current window, rotating it when it has expired.
+     */
+    private Window currentWindow() {
+        long now = clock.getAsLong();
+        Window window = current.get();
+        if (now - window.start < windowMs) {
+            return window;
+        }
+
+        Window next = new Window(now);
+        if (current.compareAndSet(window, next)) {
+            // A window more than one period old has no recent samples left to keep
+            previous = now - window.start < 2 * windowMs ? window : new Window(0);
+            return next;
+        }
+        return current.get();
+    }
+
+    static int bucketIndex(long durationMs) {
+        if (durationMs < LINEAR_LIMIT) {
+            return (int) durationMs;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(durationMs);
+        if (exponent >= MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int subBucket = (int) (durationMs >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR_LIMIT + (exponent - Integer.numberOfTrailingZeros(LINEAR_LIMIT)) * SUB_BUCKETS + subBucket;
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int offset = index - LINEAR_LIMIT;
+        int exponent = offset / SUB_BUCKETS + Integer.numberOfTrailingZeros(LINEAR_LIMIT);
+        long subBucket = offset % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return (1L << exponent) + (subBucket + 1) * width - 1;
+    }
+
+    /**
+     * Bucket counts of one window.
+     */
+    private static final class Window {
+        final long start;
+        final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+        final AtomicLong total = new AtomicLong();
+
+        Window(long start) {
+            this.start = start;
+        }
+    }
+}
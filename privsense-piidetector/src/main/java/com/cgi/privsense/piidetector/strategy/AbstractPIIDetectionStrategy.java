@@ -49,6 +49,25 @@ public abstract class AbstractPIIDetectionStrategy implements PIIDetectionStrate
     public void setConfidenceThreshold(double threshold) {
         this.confidenceThreshold = threshold;
     }
+
+    @Override
+    public ColumnPIIInfo detectColumnPII(String connectionId, String dbType, String tableName,
+                                         String columnName, List<Object> sampleData) {
+        return detectColumnPII(connectionId, dbType, tableName, columnName, sampleData, defaultProfile());
+    }
+
+    /**
+     * Creates a detection profile from the default confidence threshold of this strategy.
+     *
+     * @return Default detection profile
+     */
+    protected DetectionProfile defaultProfile() {
+        return DetectionProfile.builder()
+                .confidenceThreshold(confidenceThreshold)
+                .sampleSize(1)
+                .earlyTermination(true)
+                .build();
+    }
     
     /**
      * Generates a standardized cache key for detection results.
@@ -93,12 +112,25 @@ public abstract class AbstractPIIDetectionStrategy implements PIIDetectionStrate
      * @return PII detection object
      */
     protected PIITypeDetection createDetection(PIIType type, double confidence, String method) {
+        return createDetection(type, confidence, method, confidenceThreshold);
+    }
+
+    /**
+     * Creates a PII detection with initialized detection metadata.
+     *
+     * @param type PII type
+     * @param confidence Confidence level
+     * @param method Detection method
+     * @param threshold Confidence threshold applied for this detection
+     * @return PII detection object
+     */
+    protected PIITypeDetection createDetection(PIIType type, double confidence, String method, double threshold) {
         if (resultFactory != null) {
-            return resultFactory.createDetection(type, confidence, method, confidenceThreshold);
+            return resultFactory.createDetection(type, confidence, method, threshold);
         } else {
             // Fallback to original implementation
             Map<String, Object> metadata = new HashMap<>();
-            metadata.put("confidenceThreshold", confidenceThreshold);
+            metadata.put("confidenceThreshold", threshold);
             metadata.put("timestamp", System.currentTimeMillis());
 
             return PIITypeDetection.builder()
@@ -120,12 +152,27 @@ public abstract class AbstractPIIDetectionStrategy implements PIIDetectionStrate
      * @return PII detection object
      */
     protected PIITypeDetection createDetection(PIIType type, double confidence, String method, Map<String, Object> metadata) {
+        return createDetection(type, confidence, method, metadata, confidenceThreshold);
+    }
+
+    /**
+     * Creates a PII detection with custom metadata.
+     *
+     * @param type PII type
+     * @param confidence Confidence level
+     * @param method Detection method
+     * @param metadata Additional metadata to include
+     * @param threshold Confidence threshold applied for this detection
+     * @return PII detection object
+     */
+    protected PIITypeDetection createDetection(PIIType type, double confidence, String method,
+                                               Map<String, Object> metadata, double threshold) {
         if (resultFactory != null) {
-            return resultFactory.createDetection(type, confidence, method, metadata, confidenceThreshold);
+            return resultFactory.createDetection(type, confidence, method, metadata, threshold);
         } else {
             // Fallback to original implementation
             Map<String, Object> safeMetadata = metadata != null ? metadata : new HashMap<>();
-            safeMetadata.put("confidenceThreshold", confidenceThreshold);
+            safeMetadata.put("confidenceThreshold", threshold);
             safeMetadata.put("timestamp", System.currentTimeMillis());
 
             return PIITypeDetection.builder()
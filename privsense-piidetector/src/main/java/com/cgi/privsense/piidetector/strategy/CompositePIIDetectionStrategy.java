@@ -5,6 +5,7 @@ package com.cgi.privsense.piidetector.strategy;
 
 import com.cgi.privsense.piidetector.api.PIIDetectionStrategy;
 import com.cgi.privsense.piidetector.model.ColumnPIIInfo;
+import com.cgi.privsense.piidetector.model.DetectionProfile;
 import com.cgi.privsense.piidetector.model.enums.DetectionMethod;
 import com.cgi.privsense.piidetector.model.enums.PIIType;
 import com.cgi.privsense.piidetector.model.PIITypeDetection;
@@ -43,9 +44,9 @@ public class CompositePIIDetectionStrategy extends AbstractPIIDetectionStrategy
 
     @Override
     public ColumnPIIInfo detectColumnPII(String connectionId, String dbType, String tableName,
-            String columnName, List<Object> sampleData) {
+            String columnName, List<Object> sampleData, DetectionProfile profile) {
         // Generate cache key
-        String cacheKey = generateCacheKey(dbType, tableName, columnName, sampleData);
+        String cacheKey = generateCacheKey(dbType, tableName, columnName, sampleData, profile);
 
         // Check cache first
         if (resultCache.containsKey(cacheKey)) {
@@ -61,10 +62,10 @@ public class CompositePIIDetectionStrategy extends AbstractPIIDetectionStrategy
 
         // Apply each strategy and collect results
         Map<PIIType, List<PIITypeDetection>> detectionsByType = collectStrategyResults(
-                connectionId, dbType, tableName, columnName, sampleData);
+                connectionId, dbType, tableName, columnName, sampleData, profile);
 
         // Process aggregated results
-        processAggregatedResults(detectionsByType, result);
+        processAggregatedResults(detectionsByType, result, profile.getConfidenceThreshold());
 
         // Store in cache
         resultCache.put(cacheKey, result);
@@ -75,14 +76,15 @@ public class CompositePIIDetectionStrategy extends AbstractPIIDetectionStrategy
     /**
      * Generates a cache key based on strategies and input parameters.
      */
-    private String generateCacheKey(String dbType, String tableName, String columnName, List<Object> sampleData) {
+    private String generateCacheKey(String dbType, String tableName, String columnName, List<Object> sampleData,
+            DetectionProfile profile) {
         String strategiesKey = strategies.stream()
                 .map(PIIDetectionStrategy::getName)
                 .sorted()
                 .reduce("", (a, b) -> a + ":" + b);
 
         return strategiesKey + ":" + dbType + ":" + tableName + ":" + columnName + ":" +
-                (sampleData != null ? sampleData.hashCode() : "null");
+                (sampleData != null ? sampleData.hashCode() : "null") + ":" + profile.fingerprint();
     }
 
     /**
@@ -90,7 +92,7 @@ public class CompositePIIDetectionStrategy extends AbstractPIIDetectionStrategy
      */
     private Map<PIIType, List<PIITypeDetection>> collectStrategyResults(String connectionId, String dbType,
             String tableName, String columnName,
-            List<Object> sampleData) {
+            List<Object> sampleData, DetectionProfile profile) {
         boolean hasSampleData = sampleData != null && !sampleData.isEmpty();
         boolean hasMetadata = true;
 
@@ -99,7 +101,7 @@ public class CompositePIIDetectionStrategy extends AbstractPIIDetectionStrategy
         for (PIIDetectionStrategy strategy : strategies) {
             if (strategy.isApplicable(hasMetadata, hasSampleData)) {
                 ColumnPIIInfo strategyResult = strategy.detectColumnPII(
-                        connectionId, dbType, tableName, columnName, sampleData);
+                        connectionId, dbType, tableName, columnName, sampleData, profile);
 
                 if (strategyResult.isPiiDetected()) {
                     aggregateDetections(strategyResult.getDetections(), detectionsByType);
@@ -126,18 +128,19 @@ public class CompositePIIDetectionStrategy extends AbstractPIIDetectionStrategy
      * confidence is sufficient.
      */
     private void processAggregatedResults(Map<PIIType, List<PIITypeDetection>> detectionsByType,
-            ColumnPIIInfo result) {
+            ColumnPIIInfo result, double threshold) {
         for (Map.Entry<PIIType, List<PIITypeDetection>> entry : detectionsByType.entrySet()) {
             PIIType piiType = entry.getKey();
             List<PIITypeDetection> detections = entry.getValue();
 
             double avgConfidence = calculateAverageConfidence(detections);
 
-            if (avgConfidence >= confidenceThreshold) {
+            if (avgConfidence >= threshold) {
                 result.addDetection(createDetection(
                         piiType,
                         avgConfidence,
-                        DetectionMethod.COMPOSITE.name()));
+                        DetectionMethod.COMPOSITE.name(),
+                        threshold));
             }
         }
     }
@@ -164,8 +167,6 @@ public class CompositePIIDetectionStrategy extends AbstractPIIDetectionStrategy
         super.setConfidenceThreshold(threshold);
         // Propagate threshold to all strategies
         strategies.forEach(strategy -> strategy.setConfidenceThreshold(threshold));
-        // Clear cache when threshold changes
-        resultCache.clear();
     }
 
     /**
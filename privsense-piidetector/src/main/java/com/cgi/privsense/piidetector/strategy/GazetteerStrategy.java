@@ -0,0 +1,159 @@
+/*
+ * GazetteerStrategy.java - Strategy matching samples against name and city dictionaries
+ */
+package com.cgi.privsense.piidetector.strategy;
+
+import com.cgi.privsense.piidetector.model.ColumnPIIInfo;
+import com.cgi.privsense.piidetector.model.DetectionProfile;
+import com.cgi.privsense.piidetector.model.PIITypeDetection;
+import com.cgi.privsense.piidetector.model.enums.DetectionMethod;
+import com.cgi.privsense.piidetector.model.enums.PIIType;
+import com.cgi.privsense.piidetector.service.gazetteer.Gazetteer;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Strategy based on dictionaries of first names, last names and cities.
+ * Looks up each text sample in the gazetteer and reports the category most
+ * samples belong to. A value made of a known first name followed by a known
+ * last name counts as a full name. Resolves most name and city columns
+ * locally, before the NER stage.
+ */
+@Component
+public class GazetteerStrategy extends AbstractPIIDetectionStrategy {
+    // A dictionary match is strong evidence: part of the remaining doubt is removed
+    private static final double DICTIONARY_BOOST = 0.5;
+
+    // Maximum number of words of a full name
+    private static final int MAX_NAME_WORDS = 3;
+
+    // Categories in order of preference when match counts are equal
+    private static final PIIType[] TYPES = {PIIType.FULL_NAME, PIIType.FIRST_NAME, PIIType.LAST_NAME, PIIType.CITY};
+    private static final Set<PIIType> DETECTABLE_TYPES = Collections.unmodifiableSet(EnumSet.copyOf(List.of(TYPES)));
+
+    private final Gazetteer gazetteer;
+
+    // Result cache to avoid redundant processing
+    private final Map<String, ColumnPIIInfo> resultCache = new ConcurrentHashMap<>();
+
+    public GazetteerStrategy(Gazetteer gazetteer) {
+        this.gazetteer = gazetteer;
+    }
+
+    @Override
+    public String getName() {
+        return "GazetteerStrategy";
+    }
+
+    @Override
+    public ColumnPIIInfo detectColumnPII(String connectionId, String dbType, String tableName,
+                                         String columnName, List<Object> sampleData, DetectionProfile profile) {
+        String cacheKey = generateCacheKey(connectionId, dbType, tableName, columnName, sampleData)
+                + ":" + profile.fingerprint();
+
+        ColumnPIIInfo cached = resultCache.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        ColumnPIIInfo result = createEmptyColumnResult(tableName, columnName);
+        if (sampleData == null || sampleData.isEmpty() || gazetteer.isEmpty()) {
+            return result;
+        }
+
+        long startTime = System.currentTimeMillis();
+        int[] matchCounts = new int[TYPES.length];
+        int sampleSize = countMatches(sampleData, matchCounts);
+        long matchTime = System.currentTimeMillis() - startTime;
+
+        if (sampleSize > 0) {
+            int best = 0;
+            for (int i = 1; i < TYPES.length; i++) {
+                if (matchCounts[i] > matchCounts[best]) {
+                    best = i;
+                }
+            }
+
+            double matchRatio = (double) matchCounts[best] / sampleSize;
+            double threshold = profile.getConfidenceThreshold();
+            if (matchRatio >= threshold) {
+                double confidence = matchRatio + (1.0 - matchRatio) * DICTIONARY_BOOST;
+                PIITypeDetection detection = createDetection(
+                        TYPES[best], confidence, DetectionMethod.GAZETTEER.name(), threshold);
+
+                Map<String, Object> metadata = detection.getDetectionMetadata();
+                metadata.put("matchRatio", matchRatio);
+                metadata.put("sampleSize", sampleSize);
+                metadata.put("matchCount", matchCounts[best]);
+                metadata.put("matchTimeMs", matchTime);
+
+                result.addDetection(detection);
+            }
+        }
+
+        resultCache.put(cacheKey, result);
+        return result;
+    }
+
+    /**
+     * Counts the samples matching each category.
+     *
+     * @return Number of non-empty text samples
+     */
+    private int countMatches(List<Object> sampleData, int[] matchCounts) {
+        int sampleSize = 0;
+        for (Object sample : sampleData) {
+            if (!(sample instanceof String value) || value.isBlank()) {
+                continue;
+            }
+            sampleSize++;
+
+            int categories = gazetteer.lookup(value);
+            if ((categories & Gazetteer.FIRST_NAME) != 0) {
+                matchCounts[1]++;
+            }
+            if ((categories & Gazetteer.LAST_NAME) != 0) {
+                matchCounts[2]++;
+            }
+            if ((categories & Gazetteer.CITY) != 0) {
+                matchCounts[3]++;
+            }
+            if (categories == 0 && isFullName(value)) {
+                matchCounts[0]++;
+            }
+        }
+        return sampleSize;
+    }
+
+    /**
+     * Checks if a value is a known first name followed by a known last name.
+     */
+    private boolean isFullName(String value) {
+        String[] words = Gazetteer.normalize(value).split(" ");
+        if (words.length < 2 || words.length > MAX_NAME_WORDS) {
+            return false;
+        }
+        return (gazetteer.lookup(words[0]) & Gazetteer.FIRST_NAME) != 0
+                && (gazetteer.lookup(words[words.length - 1]) & Gazetteer.LAST_NAME) != 0;
+    }
+
+    @Override
+    public Set<PIIType> getDetectableTypes() {
+        return DETECTABLE_TYPES;
+    }
+
+    @Override
+    public boolean isApplicable(boolean hasMetadata, boolean hasSampleData) {
+        // This strategy requires data samples and the dictionaries
+        return hasSampleData && gazetteer.isEnabled();
+    }
+
+    /**
+     * Clears the result cache.
+     */
+    public void clearCache() {
+        resultCache.clear();
+    }
+}
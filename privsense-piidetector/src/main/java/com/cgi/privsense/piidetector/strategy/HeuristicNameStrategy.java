@@ -4,21 +4,39 @@
 package com.cgi.privsense.piidetector.strategy;
 
 import com.cgi.privsense.piidetector.model.ColumnPIIInfo;
+import com.cgi.privsense.piidetector.model.DetectionProfile;
 import com.cgi.privsense.piidetector.model.enums.DetectionMethod;
 import com.cgi.privsense.piidetector.model.enums.PIIType;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.regex.Pattern;
 
+/**
+ * Strategy based on column names for PII detection.
+ * All keyword dictionaries are compiled into a single Aho-Corasick automaton,
+ * so a column name is scanned once whatever the number of keywords, and the
+ * confidence of a keyword hit comes from its position in the name.
+ */
 @Component
 public class HeuristicNameStrategy extends AbstractPIIDetectionStrategy {
     private static final Map<PIIType, List<String>> NAME_PATTERNS = new EnumMap<>(PIIType.class);
-    private static final Map<PIIType, Pattern> REGEX_NAME_PATTERNS = new EnumMap<>(PIIType.class);
 
-    // Cache for normalized column names
-    private final Map<String, String> normalizedNameCache = new ConcurrentHashMap<>();
+    /**
+     * Keyword rules for column names: a keyword, or two keywords in order
+     * (e.g. "credit" followed by "card" anywhere later in the name).
+     */
+    private static final List<NameRule> NAME_RULES = new ArrayList<>();
+
+    private static final double RULE_CONFIDENCE = 0.85;
+    private static final double HINT_CONFIDENCE = 0.65;
+
+    private static final List<String> PERSONAL_TABLE_KEYWORDS = List.of("user", "customer", "person", "employee");
+
+    // Keyword automata, built once from the dictionaries above
+    private static final List<NameKeyword> COLUMN_KEYWORDS;
+    private static final KeywordAutomaton COLUMN_AUTOMATON;
+    private static final KeywordAutomaton PERSONAL_TABLE_AUTOMATON;
 
     // Cache for detection results
     private final Map<String, ColumnPIIInfo> detectionCache = new ConcurrentHashMap<>();
@@ -62,11 +80,69 @@ public class HeuristicNameStrategy extends AbstractPIIDetectionStrategy {
         NAME_PATTERNS.put(PIIType.PASSWORD, Arrays.asList(
                 "password", "pwd", "pass", "user_password", "user_pass", "secret", "credentials"));
 
-        // More robust regex patterns for column names
-        REGEX_NAME_PATTERNS.put(PIIType.EMAIL, Pattern.compile(".*e[-_]?mail.*|.*mail[-_]?address.*", Pattern.CASE_INSENSITIVE));
-        REGEX_NAME_PATTERNS.put(PIIType.PHONE_NUMBER, Pattern.compile(".*phone.*|.*mobile.*|.*cell.*|.*tel.*", Pattern.CASE_INSENSITIVE));
-        REGEX_NAME_PATTERNS.put(PIIType.CREDIT_CARD, Pattern.compile(".*credit.*card.*|.*card.*number.*|.*cc.*num.*", Pattern.CASE_INSENSITIVE));
-        REGEX_NAME_PATTERNS.put(PIIType.DATE_OF_BIRTH, Pattern.compile(".*birth.*date.*|.*dob.*|.*born.*", Pattern.CASE_INSENSITIVE));
+        // More robust rules for column names (names are normalized, so '-' never occurs)
+        addRule(PIIType.EMAIL, "email");
+        addRule(PIIType.EMAIL, "e_mail");
+        addRule(PIIType.EMAIL, "mailaddress");
+        addRule(PIIType.EMAIL, "mail_address");
+        addRule(PIIType.PHONE_NUMBER, "phone");
+        addRule(PIIType.PHONE_NUMBER, "mobile");
+        addRule(PIIType.PHONE_NUMBER, "cell");
+        addRule(PIIType.PHONE_NUMBER, "tel");
+        addRule(PIIType.CREDIT_CARD, "credit", "card");
+        addRule(PIIType.CREDIT_CARD, "card", "number");
+        addRule(PIIType.CREDIT_CARD, "cc", "num");
+        addRule(PIIType.DATE_OF_BIRTH, "birth", "date");
+        addRule(PIIType.DATE_OF_BIRTH, "dob");
+        addRule(PIIType.DATE_OF_BIRTH, "born");
+
+        // Compile every dictionary into one automaton
+        List<NameKeyword> keywords = new ArrayList<>();
+        NAME_PATTERNS.forEach((piiType, patterns) -> patterns.forEach(pattern ->
+                keywords.add(new NameKeyword(pattern, piiType, KeywordRole.NAME, -1))));
+
+        for (int i = 0; i < NAME_RULES.size(); i++) {
+            NameRule rule = NAME_RULES.get(i);
+            keywords.add(new NameKeyword(rule.first(), rule.piiType(), KeywordRole.RULE_FIRST, i));
+            if (rule.second() != null) {
+                keywords.add(new NameKeyword(rule.second(), rule.piiType(), KeywordRole.RULE_SECOND, i));
+            }
+        }
+
+        // Partial name hints, used when nothing else is detected
+        keywords.add(new NameKeyword("first", PIIType.FIRST_NAME, KeywordRole.HINT, -1));
+        keywords.add(new NameKeyword("last", PIIType.LAST_NAME, KeywordRole.HINT, -1));
+
+        COLUMN_KEYWORDS = List.copyOf(keywords);
+        COLUMN_AUTOMATON = KeywordAutomaton.build(keywords.stream().map(NameKeyword::text).toList());
+        PERSONAL_TABLE_AUTOMATON = KeywordAutomaton.build(PERSONAL_TABLE_KEYWORDS);
+    }
+
+    private static void addRule(PIIType piiType, String keyword) {
+        NAME_RULES.add(new NameRule(piiType, keyword, null));
+    }
+
+    private static void addRule(PIIType piiType, String first, String second) {
+        NAME_RULES.add(new NameRule(piiType, first, second));
+    }
+
+    /**
+     * Column name rule: a keyword, optionally followed by a second keyword.
+     */
+    private record NameRule(PIIType piiType, String first, String second) {
+    }
+
+    /**
+     * Role of a keyword in the column automaton.
+     */
+    private enum KeywordRole {
+        NAME, RULE_FIRST, RULE_SECOND, HINT
+    }
+
+    /**
+     * Keyword of the column automaton.
+     */
+    private record NameKeyword(String text, PIIType piiType, KeywordRole role, int rule) {
     }
 
     @Override
@@ -76,9 +152,11 @@ public class HeuristicNameStrategy extends AbstractPIIDetectionStrategy {
 
     @Override
     public ColumnPIIInfo detectColumnPII(String connectionId, String dbType, String tableName,
-                                         String columnName, List<Object> sampleData) {
+                                         String columnName, List<Object> sampleData, DetectionProfile profile) {
+        double threshold = profile.getConfidenceThreshold();
+
         // Use cache for previously analyzed columns
-        String cacheKey = dbType + ":" + tableName + ":" + columnName;
+        String cacheKey = dbType + ":" + tableName + ":" + columnName + ":" + profile.fingerprint();
         if (detectionCache.containsKey(cacheKey)) {
             return detectionCache.get(cacheKey);
         }
@@ -91,48 +169,41 @@ public class HeuristicNameStrategy extends AbstractPIIDetectionStrategy {
                 .build();
 
         // Normalized column name for comparison
-        String normalizedName = getNormalizedName(columnName);
+        String normalizedName = KeywordAutomaton.normalize(columnName);
 
-        // Check regex patterns first (more accurate)
-        for (Map.Entry<PIIType, Pattern> entry : REGEX_NAME_PATTERNS.entrySet()) {
-            PIIType piiType = entry.getKey();
-            Pattern pattern = entry.getValue();
+        // Single pass over the name for all keywords
+        NameHits hits = new NameHits(normalizedName);
+        COLUMN_AUTOMATON.scan(normalizedName, hits);
 
-            if (pattern.matcher(normalizedName).matches()) {
-                result.addDetection(createDetection(
-                        piiType,
-                        0.85,
-                        DetectionMethod.HEURISTIC_NAME_BASED.name()));
+        // Rules first (more accurate)
+        EnumSet<PIIType> ruleTypes = EnumSet.noneOf(PIIType.class);
+        for (int i = 0; i < NAME_RULES.size(); i++) {
+            if (hits.isRuleMatched(i)) {
+                ruleTypes.add(NAME_RULES.get(i).piiType());
             }
         }
+        for (PIIType piiType : ruleTypes) {
+            result.addDetection(createDetection(
+                    piiType,
+                    RULE_CONFIDENCE,
+                    DetectionMethod.HEURISTIC_NAME_BASED.name(),
+                    threshold));
+        }
 
-        // Search for matches in name patterns
-        for (Map.Entry<PIIType, List<String>> entry : NAME_PATTERNS.entrySet()) {
-            PIIType piiType = entry.getKey();
-            List<String> patterns = entry.getValue();
-
-            // Skip if we already detected this type via regex
-            if (result.getDetections().stream()
-                    .anyMatch(d -> d.getPiiType() == piiType)) {
-                continue;
-            }
-
-            for (String pattern : patterns) {
-                // Calculate confidence based on the match
-                double confidence = calculateNameMatchConfidence(normalizedName, pattern);
-
-                if (confidence >= confidenceThreshold) {
-                    result.addDetection(createDetection(
-                            piiType,
-                            confidence,
-                            DetectionMethod.HEURISTIC_NAME_BASED.name()));
-                    break;  // One detection per PII type
-                }
+        // Dictionary matches, one detection per PII type not already detected by a rule
+        for (PIIType piiType : NAME_PATTERNS.keySet()) {
+            double confidence = hits.getNameConfidence(piiType);
+            if (!ruleTypes.contains(piiType) && confidence > 0.0 && confidence >= threshold) {
+                result.addDetection(createDetection(
+                        piiType,
+                        confidence,
+                        DetectionMethod.HEURISTIC_NAME_BASED.name(),
+                        threshold));
             }
         }
 
         // Consider column context for enhanced detection accuracy
-        enhanceContextualMatching(result, tableName, columnName);
+        enhanceContextualMatching(result, tableName, hits, threshold);
 
         // Cache the result
         detectionCache.put(cacheKey, result);
@@ -147,45 +218,84 @@ public class HeuristicNameStrategy extends AbstractPIIDetectionStrategy {
     }
 
     /**
-     * Calculates the confidence level of the match between a column name and a pattern.
+     * Calculates the confidence level of a keyword hit from its position in the column name.
      *
      * @param columnName Normalized column name
-     * @param pattern Pattern to search for
-     * @return Confidence level between 0.0 and 1.0
+     * @param start Start index of the hit
+     * @param end End index of the hit
+     * @return Confidence level between 0.7 and 1.0
      */
-    private double calculateNameMatchConfidence(String columnName, String pattern) {
+    private static double calculateNameMatchConfidence(String columnName, int start, int end) {
+        boolean atStart = start == 0;
+        boolean atEnd = end == columnName.length();
+        boolean delimitedBefore = start > 0 && columnName.charAt(start - 1) == '_';
+        boolean delimitedAfter = !atEnd && columnName.charAt(end) == '_';
+
         // Exact match
-        if (columnName.equals(pattern)) {
+        if (atStart && atEnd) {
             return 1.0;
         }
 
         // Match at the beginning or end with a delimiter
-        if (columnName.startsWith(pattern + "_") || columnName.endsWith("_" + pattern)) {
+        if ((atStart && delimitedAfter) || (atEnd && delimitedBefore)) {
             return 0.9;
         }
 
         // Contains the pattern with delimiters
-        if (columnName.contains("_" + pattern + "_")) {
+        if (delimitedBefore && delimitedAfter) {
             return 0.8;
         }
 
         // Contains the pattern without delimiters
-        if (columnName.contains(pattern)) {
-            return 0.7;
-        }
-
-        return 0.0;
+        return 0.7;
     }
 
     /**
-     * Gets normalized column name from cache or normalizes it.
-     *
-     * @param columnName Original column name
-     * @return Normalized name for comparison
+     * Collects the keyword hits of one column name.
      */
-    private String getNormalizedName(String columnName) {
-        return normalizedNameCache.computeIfAbsent(columnName,
-                name -> name.toLowerCase().replaceAll("[^a-z0-9_]", ""));
+    private static final class NameHits implements KeywordAutomaton.HitConsumer {
+        private final String columnName;
+        private final double[] nameConfidence = new double[PIIType.values().length];
+        private final int[] ruleFirstEnd = new int[NAME_RULES.size()];
+        private final int[] ruleSecondStart = new int[NAME_RULES.size()];
+        private final EnumSet<PIIType> hints = EnumSet.noneOf(PIIType.class);
+
+        NameHits(String columnName) {
+            this.columnName = columnName;
+            Arrays.fill(ruleFirstEnd, Integer.MAX_VALUE);
+            Arrays.fill(ruleSecondStart, -1);
+        }
+
+        @Override
+        public void accept(int keywordId, int start, int end) {
+            NameKeyword keyword = COLUMN_KEYWORDS.get(keywordId);
+            switch (keyword.role()) {
+                case NAME -> {
+                    int index = keyword.piiType().ordinal();
+                    nameConfidence[index] = Math.max(nameConfidence[index],
+                            calculateNameMatchConfidence(columnName, start, end));
+                }
+                case RULE_FIRST -> ruleFirstEnd[keyword.rule()] = Math.min(ruleFirstEnd[keyword.rule()], end);
+                case RULE_SECOND -> ruleSecondStart[keyword.rule()] = Math.max(ruleSecondStart[keyword.rule()], start);
+                case HINT -> hints.add(keyword.piiType());
+            }
+        }
+
+        double getNameConfidence(PIIType piiType) {
+            return nameConfidence[piiType.ordinal()];
+        }
+
+        boolean isRuleMatched(int rule) {
+            if (ruleFirstEnd[rule] == Integer.MAX_VALUE) {
+                return false;
+            }
+            // The second keyword must start after the end of the first one
+            return NAME_RULES.get(rule).second() == null || ruleFirstEnd[rule] <= ruleSecondStart[rule];
+        }
+
+        boolean hasHint(PIIType piiType) {
+            return hints.contains(piiType);
+        }
     }
 
     /**
@@ -193,16 +303,12 @@ public class HeuristicNameStrategy extends AbstractPIIDetectionStrategy {
      *
      * @param result Column PII info to enhance
      * @param tableName Table name
-     * @param columnName Column name
+     * @param hits Keyword hits of the column name
+     * @param threshold Confidence threshold of the current profile
      */
-    private void enhanceContextualMatching(ColumnPIIInfo result, String tableName, String columnName) {
-        String normalizedTableName = getNormalizedName(tableName);
-
+    private void enhanceContextualMatching(ColumnPIIInfo result, String tableName, NameHits hits, double threshold) {
         // Table name contains user/customer - increase confidence for personal data
-        if (normalizedTableName.contains("user") ||
-                normalizedTableName.contains("customer") ||
-                normalizedTableName.contains("person") ||
-                normalizedTableName.contains("employee")) {
+        if (PERSONAL_TABLE_AUTOMATON.containsAny(KeywordAutomaton.normalize(tableName))) {
 
             for (PIIType personalType : Arrays.asList(PIIType.FULL_NAME, PIIType.EMAIL,
                     PIIType.PHONE_NUMBER, PIIType.ADDRESS)) {
@@ -221,23 +327,23 @@ public class HeuristicNameStrategy extends AbstractPIIDetectionStrategy {
         // This would use information about adjacent columns in the same table
         // For now, we'll just use a simple pattern match for common groupings
 
-        String normalizedColName = getNormalizedName(columnName);
-
         // Enhance first_name confidence if last_name exists and vice versa
-        if (normalizedColName.contains("first") && !result.isPiiDetected()) {
+        if (hits.hasHint(PIIType.FIRST_NAME) && !result.isPiiDetected()) {
             result.addDetection(createDetection(
                     PIIType.FIRST_NAME,
-                    0.65,  // Below normal threshold, but might be enhanced by context
-                    DetectionMethod.HEURISTIC_NAME_BASED.name()));
+                    HINT_CONFIDENCE,  // Below normal threshold, but might be enhanced by context
+                    DetectionMethod.HEURISTIC_NAME_BASED.name(),
+                    threshold));
 
             // Add a note about this low-confidence detection
             result.getDetections().get(0).getDetectionMetadata()
                     .put("note", "Low confidence detection based on column name pattern");
-        } else if (normalizedColName.contains("last") && !result.isPiiDetected()) {
+        } else if (hits.hasHint(PIIType.LAST_NAME) && !result.isPiiDetected()) {
             result.addDetection(createDetection(
                     PIIType.LAST_NAME,
-                    0.65,  // Below normal threshold, but might be enhanced by context
-                    DetectionMethod.HEURISTIC_NAME_BASED.name()));
+                    HINT_CONFIDENCE,  // Below normal threshold, but might be enhanced by context
+                    DetectionMethod.HEURISTIC_NAME_BASED.name(),
+                    threshold));
 
             // Add a note about this low-confidence detection
             result.getDetections().get(0).getDetectionMetadata()
@@ -247,7 +353,6 @@ public class HeuristicNameStrategy extends AbstractPIIDetectionStrategy {
 
     /**
      * Clears the detection cache.
-     * Should be called when confidence threshold changes.
      */
     public void clearCache() {
         detectionCache.clear();
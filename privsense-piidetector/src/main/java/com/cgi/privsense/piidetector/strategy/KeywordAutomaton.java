@@ -0,0 +1,253 @@
+package com.cgi.privsense.piidetector.strategy;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Aho-Corasick automaton over normalized identifiers ({@code [a-z0-9_]}).
+ * Accented Latin letters are folded to their base letter by {@link #normalize},
+ * so multilingual keywords and names ("prénom", "straße") stay matchable.
+ * Finds every occurrence of every keyword in a single pass over the text,
+ * whatever the number of keywords. Transitions are stored as a dense table
+ * (one int per state and symbol), so each character costs one array lookup.
+ * <p>
+ * Immutable once built and safe to share between threads.
+ */
+final class KeywordAutomaton {
+    private static final int ALPHABET_SIZE = 37;
+    private static final int[] NO_OUTPUT = new int[0];
+
+    /**
+     * Receives keyword occurrences found by {@link #scan}.
+     */
+    @FunctionalInterface
+    interface HitConsumer {
+        /**
+         * @param keywordId Index of the keyword in the build list
+         * @param start     Start index of the occurrence (inclusive)
+         * @param end       End index of the occurrence (exclusive)
+         */
+        void accept(int keywordId, int start, int end);
+    }
+
+    private final int[] transitions;
+    private final int[][] outputs;
+    private final int[] keywordLengths;
+
+    private KeywordAutomaton(int[] transitions, int[][] outputs, int[] keywordLengths) {
+        this.transitions = transitions;
+        this.outputs = outputs;
+        this.keywordLengths = keywordLengths;
+    }
+
+    /**
+     * Builds an automaton for a list of keywords.
+     * Keywords are normalized like scanned text; the keyword ID reported for a
+     * hit is its index in the list.
+     *
+     * @param keywords Keywords to search for
+     * @return Automaton
+     */
+    static KeywordAutomaton build(List<String> keywords) {
+        // Trie with growable transition table
+        int[] trie = new int[ALPHABET_SIZE * 64];
+        Arrays.fill(trie, -1);
+        List<int[]> ownOutputs = new ArrayList<>();
+        ownOutputs.add(NO_OUTPUT);
+        int states = 1;
+
+        int[] keywordLengths = new int[keywords.size()];
+        for (int id = 0; id < keywords.size(); id++) {
+            String keyword = normalize(keywords.get(id));
+            keywordLengths[id] = keyword.length();
+            if (keyword.isEmpty()) {
+                continue;
+            }
+
+            int state = 0;
+            for (int i = 0; i < keyword.length(); i++) {
+                int index = state * ALPHABET_SIZE + symbol(keyword.charAt(i));
+                if (trie[index] < 0) {
+                    if ((states + 1) * ALPHABET_SIZE > trie.length) {
+                        int oldLength = trie.length;
+                        trie = Arrays.copyOf(trie, oldLength * 2);
+                        Arrays.fill(trie, oldLength, trie.length, -1);
+                    }
+                    trie[index] = states++;
+                    ownOutputs.add(NO_OUTPUT);
+                }
+                state = trie[index];
+            }
+            int[] current = ownOutputs.get(state);
+            int[] extended = Arrays.copyOf(current, current.length + 1);
+            extended[current.length] = id;
+            ownOutputs.set(state, extended);
+        }
+
+        // Breadth-first pass: failure links, full transition function and merged outputs
+        int[] transitions = Arrays.copyOf(trie, states * ALPHABET_SIZE);
+        int[] failure = new int[states];
+        int[][] outputs = new int[states][];
+        outputs[0] = ownOutputs.get(0);
+
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int symbol = 0; symbol < ALPHABET_SIZE; symbol++) {
+            int next = transitions[symbol];
+            if (next < 0) {
+                transitions[symbol] = 0;
+            } else {
+                failure[next] = 0;
+                outputs[next] = ownOutputs.get(next);
+                queue.add(next);
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int symbol = 0; symbol < ALPHABET_SIZE; symbol++) {
+                int index = state * ALPHABET_SIZE + symbol;
+                int next = transitions[index];
+                int fallback = transitions[failure[state] * ALPHABET_SIZE + symbol];
+                if (next < 0) {
+                    transitions[index] = fallback;
+                } else {
+                    failure[next] = fallback;
+                    outputs[next] = merge(ownOutputs.get(next), outputs[fallback]);
+                    queue.add(next);
+                }
+            }
+        }
+
+        return new KeywordAutomaton(transitions, outputs, keywordLengths);
+    }
+
+    /**
+     * Reports every keyword occurrence in a normalized text.
+     * Characters outside the normalized alphabet reset the match.
+     *
+     * @param text     Normalized text
+     * @param consumer Receives each hit, ordered by end position
+     */
+    void scan(CharSequence text, HitConsumer consumer) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            int symbol = symbol(text.charAt(i));
+            if (symbol < 0) {
+                state = 0;
+                continue;
+            }
+            state = transitions[state * ALPHABET_SIZE + symbol];
+            for (int id : outputs[state]) {
+                consumer.accept(id, i + 1 - keywordLengths[id], i + 1);
+            }
+        }
+    }
+
+    /**
+     * Checks if a normalized text contains any of the keywords.
+     *
+     * @param text Normalized text
+     * @return true if at least one keyword occurs in the text
+     */
+    boolean containsAny(CharSequence text) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            int symbol = symbol(text.charAt(i));
+            if (symbol < 0) {
+                state = 0;
+                continue;
+            }
+            state = transitions[state * ALPHABET_SIZE + symbol];
+            if (outputs[state].length > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Normalizes an identifier: lower case, accents folded (NFD decomposition
+     * without combining marks, ligatures spelled out), keeping only
+     * {@code [a-z0-9_]}. Returns the same instance when it is already normalized.
+     *
+     * @param name Identifier
+     * @return Normalized identifier
+     */
+    static String normalize(String name) {
+        int length = name.length();
+        int i = 0;
+        while (i < length && symbol(name.charAt(i)) >= 0) {
+            i++;
+        }
+        if (i == length) {
+            return name;
+        }
+
+        // The prefix is plain ASCII, so decomposition leaves its indices unchanged
+        String source = name;
+        for (int j = i; j < length; j++) {
+            if (name.charAt(j) >= 0x80) {
+                source = Normalizer.normalize(name, Normalizer.Form.NFD);
+                break;
+            }
+        }
+
+        StringBuilder normalized = new StringBuilder(source.length());
+        normalized.append(name, 0, i);
+        for (; i < source.length(); i++) {
+            char c = Character.toLowerCase(source.charAt(i));
+            if (symbol(c) >= 0) {
+                normalized.append(c);
+            } else {
+                // Combining marks and other symbols are dropped
+                String ligature = foldLigature(c);
+                if (ligature != null) {
+                    normalized.append(ligature);
+                }
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Spells out Latin letters that NFD does not decompose.
+     */
+    private static String foldLigature(char c) {
+        return switch (c) {
+            case 'ß' -> "ss";
+            case 'æ' -> "ae";
+            case 'œ' -> "oe";
+            case 'ø' -> "o";
+            case 'đ' -> "d";
+            case 'ł' -> "l";
+            case 'ı' -> "i";
+            default -> null;
+        };
+    }
+
+    private static int symbol(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a';
+        }
+        if (c >= '0' && c <= '9') {
+            return 26 + (c - '0');
+        }
+        return c == '_' ? 36 : -1;
+    }
+
+    private static int[] merge(int[] own, int[] inherited) {
+        if (inherited.length == 0) {
+            return own;
+        }
+        if (own.length == 0) {
+            return inherited;
+        }
+        int[] merged = Arrays.copyOf(own, own.length + inherited.length);
+        System.arraycopy(inherited, 0, merged, own.length, inherited.length);
+        return merged;
+    }
+}
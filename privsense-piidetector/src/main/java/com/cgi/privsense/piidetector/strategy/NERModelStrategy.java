@@ -4,9 +4,11 @@
 package com.cgi.privsense.piidetector.strategy;
 
 import com.cgi.privsense.piidetector.model.ColumnPIIInfo;
+import com.cgi.privsense.piidetector.model.DetectionProfile;
 import com.cgi.privsense.piidetector.model.enums.DetectionMethod;
 import com.cgi.privsense.piidetector.model.enums.PIIType;
 import com.cgi.privsense.piidetector.api.NERServiceClient;
+import com.cgi.privsense.piidetector.service.external.NERBatchDispatcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -25,11 +27,7 @@ public class NERModelStrategy extends AbstractPIIDetectionStrategy {
     private static final Logger LOGGER = LoggerFactory.getLogger(NERModelStrategy.class);
 
     private final NERServiceClient nerServiceClient;
-
-    // Cache for service availability status
-    private Boolean serviceAvailable = null;
-    private long lastAvailabilityCheck = 0;
-    private static final long AVAILABILITY_CHECK_INTERVAL = 60000; // 1 minute
+    private final NERBatchDispatcher nerBatchDispatcher;
 
     // Cache for detection results
     private final Map<String, ColumnPIIInfo> resultCache = new ConcurrentHashMap<>();
@@ -37,9 +35,16 @@ public class NERModelStrategy extends AbstractPIIDetectionStrategy {
     // Minimum number of samples to use NER (to avoid overhead for small datasets)
     private static final int MIN_SAMPLES_FOR_NER = 3;
 
+    // PII types the NER entity types map to (see mapNerEntityToPiiType)
+    private static final Set<PIIType> DETECTABLE_TYPES = Collections.unmodifiableSet(EnumSet.of(
+            PIIType.BANK_ACCOUNT, PIIType.CREDIT_CARD, PIIType.NATIONAL_ID, PIIType.ADDRESS, PIIType.CITY,
+            PIIType.POSTAL_CODE, PIIType.DRIVING_LICENSE, PIIType.FIRST_NAME, PIIType.LAST_NAME, PIIType.EMAIL,
+            PIIType.PHONE_NUMBER, PIIType.USERNAME, PIIType.PASSWORD, PIIType.DATE_OF_BIRTH, PIIType.SALARY));
+
     
-    public NERModelStrategy(NERServiceClient nerServiceClient) {
+    public NERModelStrategy(NERServiceClient nerServiceClient, NERBatchDispatcher nerBatchDispatcher) {
         this.nerServiceClient = nerServiceClient;
+        this.nerBatchDispatcher = nerBatchDispatcher;
     }
 
     @Override
@@ -49,7 +54,7 @@ public class NERModelStrategy extends AbstractPIIDetectionStrategy {
 
     @Override
     public ColumnPIIInfo detectColumnPII(String connectionId, String dbType, String tableName,
-                                         String columnName, List<Object> sampleData) {
+                                         String columnName, List<Object> sampleData, DetectionProfile profile) {
         // Check service availability before proceeding
         if (!isServiceAvailable()) {
             LOGGER.warn("NER service not available, skipping NER analysis for {}.{}", tableName, columnName);
@@ -63,7 +68,7 @@ public class NERModelStrategy extends AbstractPIIDetectionStrategy {
 
         // Generate cache key
         String cacheKey = dbType + ":" + tableName + ":" + columnName + ":" +
-                (sampleData != null ? sampleData.hashCode() : "null");
+                (sampleData != null ? sampleData.hashCode() : "null") + ":" + profile.fingerprint();
 
         // Check cache first
         if (resultCache.containsKey(cacheKey)) {
@@ -97,8 +102,9 @@ public class NERModelStrategy extends AbstractPIIDetectionStrategy {
             // Measure response time
             long startTime = System.currentTimeMillis();
 
-            // Call NER service
-            Map<String, Double> nerResults = nerServiceClient.analyzeText(textSamples);
+            // Call NER service, batched with other columns submitted in the same window
+            Map<String, Double> nerResults = nerBatchDispatcher.submit(tableName + "." + columnName, textSamples)
+                    .join();
 
             long responseTime = System.currentTimeMillis() - startTime;
 
@@ -107,14 +113,15 @@ public class NERModelStrategy extends AbstractPIIDetectionStrategy {
                 String entityType = entry.getKey();
                 Double confidence = entry.getValue();
 
-                if (confidence >= confidenceThreshold) {
+                if (confidence >= profile.getConfidenceThreshold()) {
                     PIIType piiType = mapNerEntityToPiiType(entityType);
 
                     // Create detection
                     var detection = createDetection(
                             piiType,
                             confidence,
-                            DetectionMethod.NER_MODEL.name());
+                            DetectionMethod.NER_MODEL.name(),
+                            profile.getConfidenceThreshold());
 
                     // Add detailed metadata
                     detection.getDetectionMetadata().put("sampleSize", textSamples.size());
@@ -138,13 +145,16 @@ public class NERModelStrategy extends AbstractPIIDetectionStrategy {
 
         } catch (Exception e) {
             LOGGER.error("Error during NER analysis: {}", e.getMessage(), e);
-            // Mark service as unavailable on error
-            serviceAvailable = false;
         }
 
         return result;
     }
 
+    @Override
+    public Set<PIIType> getDetectableTypes() {
+        return DETECTABLE_TYPES;
+    }
+
     @Override
     public boolean isApplicable(boolean hasMetadata, boolean hasSampleData) {
         // This strategy requires data samples and service availability
@@ -218,24 +228,13 @@ public class NERModelStrategy extends AbstractPIIDetectionStrategy {
 
     /**
      * Checks if the NER service is available.
-     * Uses cached status to avoid frequent API calls.
+     * Reads the state published by the background health prober, so it is
+     * cheap enough to call for every column.
      *
      * @return true if the service is available
      */
     public boolean isServiceAvailable() {
-        long currentTime = System.currentTimeMillis();
-
-        // Use cached result if recent
-        if (serviceAvailable != null &&
-                (currentTime - lastAvailabilityCheck) < AVAILABILITY_CHECK_INTERVAL) {
-            return serviceAvailable;
-        }
-
-        // Check service availability and update cache
-        serviceAvailable = nerServiceClient.isServiceAvailable();
-        lastAvailabilityCheck = currentTime;
-
-        return serviceAvailable;
+        return nerServiceClient.isServiceAvailable();
     }
 
     /**
@@ -243,7 +242,5 @@ public class NERModelStrategy extends AbstractPIIDetectionStrategy {
      */
     public void clearCache() {
         resultCache.clear();
-        // Reset service availability status
-        serviceAvailable = null;
     }
 }
\ No newline at end of file
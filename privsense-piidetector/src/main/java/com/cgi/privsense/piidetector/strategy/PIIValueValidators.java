@@ -0,0 +1,364 @@
+package com.cgi.privsense.piidetector.strategy;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Value validators for PII formats with a verifiable structure.
+ * Validators scan the characters of a {@link CharSequence} range directly:
+ * they do not allocate, copy or use regular expressions, so they can run on
+ * every sampled value.
+ * <p>
+ * A value passing a validator is much more likely to be real PII than a value
+ * that only matches a format pattern (a 16-digit identifier is not a card
+ * number unless its Luhn checksum holds).
+ */
+@UtilityClass
+public class PIIValueValidators {
+
+    private static final int MAX_EMAIL_LOCAL_LENGTH = 64;
+    private static final int MAX_EMAIL_DOMAIN_LENGTH = 253;
+    private static final int MAX_DOMAIN_LABEL_LENGTH = 63;
+    private static final int MIN_IBAN_LENGTH = 15;
+    private static final int MAX_IBAN_LENGTH = 34;
+
+    /**
+     * Checks a card number: 13 to 19 digits with a valid Luhn checksum.
+     *
+     * @param value Value to check
+     * @return true if the value is a valid card number
+     */
+    public boolean isValidCreditCard(CharSequence value) {
+        return isValidCreditCard(value, 0, value.length());
+    }
+
+    /**
+     * Checks a card number in a character range.
+     *
+     * @param value Value containing the range
+     * @param start Start index (inclusive)
+     * @param end   End index (exclusive)
+     * @return true if the range is a valid card number
+     */
+    public boolean isValidCreditCard(CharSequence value, int start, int end) {
+        int length = end - start;
+        return length >= 13 && length <= 19 && isValidLuhn(value, start, end);
+    }
+
+    /**
+     * Checks the Luhn checksum of a digit string.
+     *
+     * @param value Value containing the range
+     * @param start Start index (inclusive)
+     * @param end   End index (exclusive)
+     * @return true if the range only contains digits, not all zero, and its checksum is valid
+     */
+    public boolean isValidLuhn(CharSequence value, int start, int end) {
+        if (start >= end) {
+            return false;
+        }
+
+        int sum = 0;
+        boolean doubled = false;
+        boolean nonZero = false;
+        for (int i = end - 1; i >= start; i--) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+            int digit = c - '0';
+            nonZero |= digit != 0;
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        // A run of zeros passes the checksum but is a placeholder, not a number
+        return nonZero && sum % 10 == 0;
+    }
+
+    /**
+     * Checks a dotted-quad IPv4 address with every octet in 0-255.
+     *
+     * @param value Value to check
+     * @return true if the value is a valid IPv4 address
+     */
+    public boolean isValidIPv4(CharSequence value) {
+        return isValidIPv4(value, 0, value.length());
+    }
+
+    /**
+     * Checks an IPv4 address in a character range.
+     *
+     * @param value Value containing the range
+     * @param start Start index (inclusive)
+     * @param end   End index (exclusive)
+     * @return true if the range is a valid IPv4 address
+     */
+    public boolean isValidIPv4(CharSequence value, int start, int end) {
+        int octets = 0;
+        int octet = 0;
+        int digits = 0;
+
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                octet = octet * 10 + (c - '0');
+                digits++;
+                if (digits > 3 || octet > 255) {
+                    return false;
+                }
+            } else if (c == '.' && digits > 0 && octets < 3) {
+                octets++;
+                octet = 0;
+                digits = 0;
+            } else {
+                return false;
+            }
+        }
+        return octets == 3 && digits > 0;
+    }
+
+    /**
+     * Checks an IPv6 address, with optional {@code ::} compression and an
+     * optional trailing IPv4 part.
+     *
+     * @param value Value to check
+     * @return true if the value is a valid IPv6 address
+     */
+    public boolean isValidIPv6(CharSequence value) {
+        return isValidIPv6(value, 0, value.length());
+    }
+
+    /**
+     * Checks an IPv6 address in a character range.
+     *
+     * @param value Value containing the range
+     * @param start Start index (inclusive)
+     * @param end   End index (exclusive)
+     * @return true if the range is a valid IPv6 address
+     */
+    public boolean isValidIPv6(CharSequence value, int start, int end) {
+        if (end - start < 2) {
+            return false;
+        }
+
+        int groups = 0;
+        int hexDigits = 0;
+        int groupStart = start;
+        boolean compressed = false;
+
+        int i = start;
+        if (value.charAt(i) == ':') {
+            // Only "::" may start an address
+            if (value.charAt(i + 1) != ':') {
+                return false;
+            }
+            compressed = true;
+            i += 2;
+            groupStart = i;
+        }
+
+        for (; i < end; i++) {
+            char c = value.charAt(i);
+            if (isHexDigit(c)) {
+                if (++hexDigits > 4) {
+                    return false;
+                }
+            } else if (c == ':') {
+                if (hexDigits == 0) {
+                    // Empty group: only allowed once, as "::"
+                    if (compressed || i != groupStart || value.charAt(i - 1) != ':') {
+                        return false;
+                    }
+                    compressed = true;
+                } else {
+                    groups++;
+                    hexDigits = 0;
+                }
+                groupStart = i + 1;
+            } else if (c == '.') {
+                // Embedded IPv4 address counts as two groups
+                return (compressed ? groups <= 5 : groups == 6) && isValidIPv4(value, groupStart, end);
+            } else {
+                return false;
+            }
+        }
+
+        if (hexDigits > 0) {
+            groups++;
+        } else if (!compressed || groupStart != end || value.charAt(end - 2) != ':') {
+            // Trailing ':' is only valid as part of a final "::"
+            return false;
+        }
+
+        return compressed ? groups <= 7 : groups == 8;
+    }
+
+    /**
+     * Checks the structure of an email address: a dot-atom local part of at
+     * most 64 characters, and a domain of letter/digit/hyphen labels ending in
+     * an alphabetic top-level domain.
+     *
+     * @param value Value to check
+     * @return true if the value is a structurally valid email address
+     */
+    public boolean isValidEmail(CharSequence value) {
+        return isValidEmail(value, 0, value.length());
+    }
+
+    /**
+     * Checks the structure of an email address in a character range.
+     *
+     * @param value Value containing the range
+     * @param start Start index (inclusive)
+     * @param end   End index (exclusive)
+     * @return true if the range is a structurally valid email address
+     */
+    public boolean isValidEmail(CharSequence value, int start, int end) {
+        int at = -1;
+        for (int i = start; i < end; i++) {
+            if (value.charAt(i) == '@') {
+                if (at >= 0) {
+                    return false;
+                }
+                at = i;
+            }
+        }
+        if (at <= start || at - start > MAX_EMAIL_LOCAL_LENGTH || end - at - 1 > MAX_EMAIL_DOMAIN_LENGTH) {
+            return false;
+        }
+
+        return isValidEmailLocalPart(value, start, at) && isValidDomain(value, at + 1, end);
+    }
+
+    private boolean isValidEmailLocalPart(CharSequence value, int start, int end) {
+        char previous = '.';
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c == '.') {
+                // No leading or consecutive dots
+                if (previous == '.') {
+                    return false;
+                }
+            } else if (!isAlphanumeric(c) && "!#$%&'*+/=?^_`{|}~-".indexOf(c) < 0) {
+                return false;
+            }
+            previous = c;
+        }
+        return previous != '.';
+    }
+
+    private boolean isValidDomain(CharSequence value, int start, int end) {
+        int labels = 0;
+        int labelStart = start;
+        boolean lastLabelAlphabetic = true;
+
+        for (int i = start; i <= end; i++) {
+            char c = i < end ? value.charAt(i) : '.';
+            if (c == '.') {
+                int labelLength = i - labelStart;
+                if (labelLength == 0 || labelLength > MAX_DOMAIN_LABEL_LENGTH
+                        || value.charAt(labelStart) == '-' || value.charAt(i - 1) == '-') {
+                    return false;
+                }
+                labels++;
+                if (i < end) {
+                    labelStart = i + 1;
+                    lastLabelAlphabetic = true;
+                }
+            } else if (isAlphanumeric(c) || c == '-') {
+                lastLabelAlphabetic &= isLetter(c);
+            } else {
+                return false;
+            }
+        }
+
+        return labels >= 2 && lastLabelAlphabetic && end - labelStart >= 2;
+    }
+
+    /**
+     * Checks an IBAN: country code, check digits and BBAN, verified with the
+     * ISO 7064 mod-97 checksum. Spaces between groups are ignored; letters are
+     * case-insensitive.
+     *
+     * @param value Value to check
+     * @return true if the value is a valid IBAN
+     */
+    public boolean isValidIban(CharSequence value) {
+        return isValidIban(value, 0, value.length());
+    }
+
+    /**
+     * Checks an IBAN in a character range.
+     *
+     * @param value Value containing the range
+     * @param start Start index (inclusive)
+     * @param end   End index (exclusive)
+     * @return true if the range is a valid IBAN
+     */
+    public boolean isValidIban(CharSequence value, int start, int end) {
+        int length = 0;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c == ' ') {
+                continue;
+            }
+            if (!isAlphanumeric(c)) {
+                return false;
+            }
+            // Country code is two letters, check digits are two digits
+            if ((length < 2 && !isLetter(c)) || ((length == 2 || length == 3) && !isDigit(c))) {
+                return false;
+            }
+            length++;
+        }
+        if (length < MIN_IBAN_LENGTH || length > MAX_IBAN_LENGTH) {
+            return false;
+        }
+
+        // The first four characters are moved to the end before computing the remainder
+        int remainder = ibanRemainder(value, start, end, 4, Integer.MAX_VALUE, 0);
+        return ibanRemainder(value, start, end, 0, 4, remainder) == 1;
+    }
+
+    /**
+     * Continues a mod-97 remainder over the IBAN characters at positions
+     * {@code [from, to)}, ignoring spaces. Letters count as two digits (A = 10).
+     */
+    private int ibanRemainder(CharSequence value, int start, int end, int from, int to, int remainder) {
+        int position = 0;
+        for (int i = start; i < end && position < to; i++) {
+            char c = value.charAt(i);
+            if (c == ' ') {
+                continue;
+            }
+            if (position++ < from) {
+                continue;
+            }
+            remainder = isDigit(c)
+                    ? (remainder * 10 + (c - '0')) % 97
+                    : (remainder * 100 + (Character.toUpperCase(c) - 'A' + 10)) % 97;
+        }
+        return remainder;
+    }
+
+    private boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private boolean isAlphanumeric(char c) {
+        return isLetter(c) || isDigit(c);
+    }
+
+    private boolean isHexDigit(char c) {
+        return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+}
@@ -0,0 +1,370 @@
+package com.cgi.privsense.piidetector.strategy;
+
+import com.cgi.privsense.piidetector.model.enums.PIIType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Single-pass classifier for the value formats of {@link RegexPatternStrategy}.
+ * Each value is scanned once. The scan records its shape (digit runs and the
+ * separator between consecutive runs) and the structure of an email address.
+ * All formats are then decided from that summary, without running a regex.
+ * <p>
+ * The accepted languages are the same as the strategy's patterns (after trimming):
+ * <ul>
+ * <li>EMAIL: {@code [\w.%+-]+@[\w.-]+\.[a-zA-Z]{2,}}</li>
+ * <li>PHONE_NUMBER: {@code (\+\d{1,3}[- ]?)?(\d{3}[- ]?){1,2}\d{4}}</li>
+ * <li>CREDIT_CARD: {@code \d{13,19}}</li>
+ * <li>IP_ADDRESS: {@code (\d{1,3}\.){3}\d{1,3}}</li>
+ * <li>POSTAL_CODE: {@code \d{5}(-\d{4})?}</li>
+ * <li>NATIONAL_ID: {@code \d{3}-\d{2}-\d{4}}</li>
+ * <li>DATE_OF_BIRTH: {@code \d{4}-\d{2}-\d{2}}</li>
+ * <li>DATE_TIME: {@code \d{4}-\d{2}-\d{2}T\d{2}:\d{2}:\d{2}}</li>
+ * </ul>
+ * <p>
+ * Format matches of card numbers, IP addresses and emails are then checked with
+ * {@link PIIValueValidators}; only values that pass count as matches. IPv6
+ * addresses and IBANs (reported as BANK_ACCOUNT) have no format pattern and
+ * are recognized by their validators alone.
+ * <p>
+ * Instances keep scratch buffers and are not thread-safe; use one per column.
+ */
+final class PatternClassifier {
+    private static final int MAX_RUNS = 8;
+    private static final int MAX_EXAMPLES = 3;
+
+    /**
+     * Phone run-length encodings, without and with a country code.
+     * A phone number is a sequence of digit groups where each group boundary may
+     * or may not carry a separator, so the digit runs of a valid number are the
+     * template groups with some adjacent groups merged.
+     */
+    private static final long[] PHONE_RUNS = phoneRunEncodings(false);
+    private static final long[] PHONE_RUNS_WITH_COUNTRY_CODE = phoneRunEncodings(true);
+
+    private final int[] runLengths = new int[MAX_RUNS];
+    private final char[] separators = new char[MAX_RUNS];
+
+    /**
+     * Classifies all sample values in one pass.
+     *
+     * @param sampleData Sample values
+     * @return Match counts and examples per PII type
+     */
+    Result classify(List<Object> sampleData) {
+        Result result = new Result();
+        for (Object obj : sampleData) {
+            if (obj == null) {
+                continue;
+            }
+            String s = obj.toString();
+
+            // Same bounds as String.trim(), without allocating
+            int start = 0;
+            int end = s.length();
+            while (start < end && s.charAt(start) <= ' ') {
+                start++;
+            }
+            while (end > start && s.charAt(end - 1) <= ' ') {
+                end--;
+            }
+            if (start == end) {
+                continue;
+            }
+
+            scan(s, start, end, result);
+        }
+        return result;
+    }
+
+    /**
+     * Scans a single value and records the formats it matches.
+     */
+    private void scan(String s, int start, int end, Result result) {
+        // Shape of the value: digit runs with single separators in between
+        boolean shapeValid = true;
+        boolean plus = false;
+        boolean minus = false;
+        int runs = 0;
+        int currentRun = 0;
+
+        // Email structure
+        int atCount = 0;
+        int atIndex = -1;
+        int lastDot = -1;
+        boolean localValid = true;
+        boolean domainValid = true;
+        int suffixLetters = 0;
+        boolean suffixValid = false;
+
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+
+            if (c >= '0' && c <= '9') {
+                currentRun++;
+            } else if (currentRun > 0) {
+                if (runs == MAX_RUNS - 1 || !isShapeSeparator(c)) {
+                    shapeValid = false;
+                } else {
+                    runLengths[runs] = currentRun;
+                    separators[runs] = c;
+                    runs++;
+                }
+                currentRun = 0;
+            } else if (i == start && c == '+') {
+                plus = true;
+            } else if (i == start && c == '-') {
+                minus = true;
+            } else {
+                shapeValid = false;
+            }
+
+            if (c == '@') {
+                atCount++;
+                atIndex = i;
+                lastDot = -1;
+                suffixValid = false;
+            } else if (atCount == 0) {
+                localValid &= isWordChar(c) || c == '.' || c == '%' || c == '+' || c == '-';
+            } else {
+                domainValid &= isWordChar(c) || c == '.' || c == '-';
+                if (c == '.') {
+                    lastDot = i;
+                    suffixLetters = 0;
+                    suffixValid = true;
+                } else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                    suffixLetters++;
+                } else {
+                    suffixValid = false;
+                }
+            }
+        }
+
+        if (currentRun > 0) {
+            runLengths[runs] = currentRun;
+            runs++;
+        } else {
+            // Trailing separator or sign, or no digits at all
+            shapeValid = false;
+        }
+
+        if (atCount == 1 && atIndex > start && localValid && domainValid
+                && lastDot > atIndex + 1 && suffixValid && suffixLetters >= 2) {
+            result.record(PIIType.EMAIL, s, start, end, PIIValueValidators.isValidEmail(s, start, end));
+        }
+
+        if (!shapeValid) {
+            result.allNumeric = false;
+            if (atCount == 0) {
+                classifyUnshaped(s, start, end, result);
+            }
+            return;
+        }
+
+        boolean numeric = !plus && (runs == 1 || (runs == 2 && separators[0] == '.'));
+        if (!numeric) {
+            result.allNumeric = false;
+        }
+
+        if (minus) {
+            return; // None of the formats accept a leading minus
+        }
+
+        if (isPhone(runs, plus)) {
+            result.record(PIIType.PHONE_NUMBER, s, start, end, true);
+        }
+        if (plus) {
+            return;
+        }
+
+        int first = runLengths[0];
+        if (runs == 1) {
+            if (first >= 13 && first <= 19) {
+                result.record(PIIType.CREDIT_CARD, s, start, end,
+                        PIIValueValidators.isValidCreditCard(s, start, end));
+            }
+            if (first == 5) {
+                result.record(PIIType.POSTAL_CODE, s, start, end, true);
+            }
+        } else if (runs == 2) {
+            if (first == 5 && separators[0] == '-' && runLengths[1] == 4) {
+                result.record(PIIType.POSTAL_CODE, s, start, end, true);
+            }
+        } else if (runs == 3) {
+            if (separators[0] == '-' && separators[1] == '-') {
+                if (first == 3 && runLengths[1] == 2 && runLengths[2] == 4) {
+                    result.record(PIIType.NATIONAL_ID, s, start, end, true);
+                } else if (first == 4 && runLengths[1] == 2 && runLengths[2] == 2) {
+                    result.record(PIIType.DATE_OF_BIRTH, s, start, end, true);
+                }
+            }
+        } else if (runs == 4) {
+            if (isIpAddress()) {
+                result.record(PIIType.IP_ADDRESS, s, start, end, PIIValueValidators.isValidIPv4(s, start, end));
+            }
+        } else if (runs == 6 && isDateTime()) {
+            result.record(PIIType.DATE_TIME, s, start, end, true);
+        }
+
+        if (runs > 1 && separators[0] == ':' && PIIValueValidators.isValidIPv6(s, start, end)) {
+            // IPv6 address written with decimal digits only
+            result.record(PIIType.IP_ADDRESS, s, start, end, true);
+        }
+    }
+
+    /**
+     * Classifies values that are not made of digit runs: IPv6 addresses and IBANs.
+     */
+    private void classifyUnshaped(String s, int start, int end, Result result) {
+        char first = s.charAt(start);
+        if (end - start >= 15 && isLetter(first) && isLetter(s.charAt(start + 1))
+                && PIIValueValidators.isValidIban(s, start, end)) {
+            result.record(PIIType.BANK_ACCOUNT, s, start, end, true);
+        } else if ((first == ':' || isHexLetter(first) || (first >= '0' && first <= '9'))
+                && PIIValueValidators.isValidIPv6(s, start, end)) {
+            result.record(PIIType.IP_ADDRESS, s, start, end, true);
+        }
+    }
+
+    private boolean isPhone(int runs, boolean plus) {
+        long encoding = 0;
+        for (int i = 0; i < runs; i++) {
+            if (i < runs - 1 && separators[i] != '-' && separators[i] != ' ') {
+                return false;
+            }
+            if (runLengths[i] > 31) {
+                return false;
+            }
+            encoding = encoding * 32 + runLengths[i];
+        }
+        long[] valid = plus ? PHONE_RUNS_WITH_COUNTRY_CODE : PHONE_RUNS;
+        return Arrays.binarySearch(valid, encoding) >= 0;
+    }
+
+    private boolean isIpAddress() {
+        for (int i = 0; i < 4; i++) {
+            if (runLengths[i] > 3 || (i < 3 && separators[i] != '.')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isDateTime() {
+        return runLengths[0] == 4 && runLengths[1] == 2 && runLengths[2] == 2
+                && runLengths[3] == 2 && runLengths[4] == 2 && runLengths[5] == 2
+                && separators[0] == '-' && separators[1] == '-' && separators[2] == 'T'
+                && separators[3] == ':' && separators[4] == ':';
+    }
+
+    private static boolean isShapeSeparator(char c) {
+        return c == '-' || c == ' ' || c == '.' || c == ':' || c == 'T';
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isHexLetter(char c) {
+        return (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    /**
+     * Builds the sorted run-length encodings of every valid phone number shape.
+     */
+    private static long[] phoneRunEncodings(boolean withCountryCode) {
+        List<int[]> templates = new ArrayList<>();
+        if (withCountryCode) {
+            for (int countryCode = 1; countryCode <= 3; countryCode++) {
+                templates.add(new int[] {countryCode, 3, 4});
+                templates.add(new int[] {countryCode, 3, 3, 4});
+            }
+        } else {
+            templates.add(new int[] {3, 4});
+            templates.add(new int[] {3, 3, 4});
+        }
+
+        List<Long> encodings = new ArrayList<>();
+        for (int[] template : templates) {
+            int boundaries = template.length - 1;
+            // Each bit tells whether a separator splits the groups at that boundary
+            for (int mask = 0; mask < (1 << boundaries); mask++) {
+                long encoding = 0;
+                int run = template[0];
+                for (int i = 1; i < template.length; i++) {
+                    if ((mask & (1 << (i - 1))) != 0) {
+                        encoding = encoding * 32 + run;
+                        run = template[i];
+                    } else {
+                        run += template[i];
+                    }
+                }
+                encodings.add(encoding * 32 + run);
+            }
+        }
+
+        return encodings.stream().mapToLong(Long::longValue).distinct().sorted().toArray();
+    }
+
+    /**
+     * Match counts and examples per PII type for a sample.
+     */
+    static final class Result {
+        private final int[] formatCounts = new int[PIIType.values().length];
+        private final int[] counts = new int[PIIType.values().length];
+        @SuppressWarnings("unchecked")
+        private final List<String>[] examples = new List[PIIType.values().length];
+        private boolean allNumeric = true;
+
+        private void record(PIIType type, String s, int start, int end, boolean valid) {
+            int index = type.ordinal();
+            formatCounts[index]++;
+            if (!valid) {
+                return;
+            }
+            counts[index]++;
+            if (examples[index] == null) {
+                examples[index] = new ArrayList<>(MAX_EXAMPLES);
+            }
+            if (examples[index].size() < MAX_EXAMPLES) {
+                examples[index].add(s.substring(start, end));
+            }
+        }
+
+        /**
+         * Gets the number of values matching the format of a PII type,
+         * including values rejected by its validator.
+         */
+        int getFormatMatchCount(PIIType type) {
+            return formatCounts[type.ordinal()];
+        }
+
+        /**
+         * Gets the number of values matching a PII type.
+         */
+        int getMatchCount(PIIType type) {
+            return counts[type.ordinal()];
+        }
+
+        /**
+         * Gets up to three matching values of a PII type.
+         */
+        List<String> getExamples(PIIType type) {
+            List<String> list = examples[type.ordinal()];
+            return list != null ? list : List.of();
+        }
+
+        /**
+         * Checks if every non-empty value is a plain decimal number.
+         */
+        boolean isAllNumeric() {
+            return allNumeric;
+        }
+    }
+}
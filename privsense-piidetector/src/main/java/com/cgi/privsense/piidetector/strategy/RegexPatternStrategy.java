@@ -4,6 +4,7 @@
 package com.cgi.privsense.piidetector.strategy;
 
 import com.cgi.privsense.piidetector.model.ColumnPIIInfo;
+import com.cgi.privsense.piidetector.model.DetectionProfile;
 import com.cgi.privsense.piidetector.model.enums.DetectionMethod;
 import com.cgi.privsense.piidetector.model.enums.PIIType;
 import org.springframework.stereotype.Component;
@@ -22,8 +23,8 @@ import java.util.regex.Pattern;
 public class RegexPatternStrategy extends AbstractPIIDetectionStrategy {
     private static final Map<PIIType, Pattern> REGEX_PATTERNS = new EnumMap<>(PIIType.class);
 
-    // Pre-filters for quick rejection before applying expensive regex
-    private static final Map<PIIType, QuickCheckFunction> QUICK_CHECKS = new EnumMap<>(PIIType.class);
+    // Confidence boost for types whose matches are checked by a validator
+    private static final Map<PIIType, Double> VALIDATION_BOOSTS = new EnumMap<>(PIIType.class);
 
     // Result cache to avoid redundant processing
     private final Map<String, ColumnPIIInfo> resultCache = new ConcurrentHashMap<>();
@@ -61,22 +62,16 @@ public class RegexPatternStrategy extends AbstractPIIDetectionStrategy {
         REGEX_PATTERNS.put(PIIType.DATE_TIME,
                 Pattern.compile("^\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}"));
 
-        // Setup quick checks
-        QUICK_CHECKS.put(PIIType.CREDIT_CARD, s -> 
-            s.length() >= 13 && s.length() <= 19 && s.matches("\\d+")
-        );
+        // IBAN - checked with the mod-97 checksum
+        REGEX_PATTERNS.put(PIIType.BANK_ACCOUNT,
+                Pattern.compile("^[A-Za-z]{2}\\d{2}[A-Za-z0-9 ]{11,}$"));
 
-        QUICK_CHECKS.put(PIIType.EMAIL, s -> 
-            s.contains("@")
-        );
+        // Checksum validation makes card and IBAN matches near certain
+        VALIDATION_BOOSTS.put(PIIType.CREDIT_CARD, 0.5);
+        VALIDATION_BOOSTS.put(PIIType.BANK_ACCOUNT, 0.5);
+        VALIDATION_BOOSTS.put(PIIType.IP_ADDRESS, 0.3);
+        VALIDATION_BOOSTS.put(PIIType.EMAIL, 0.3);
 
-        QUICK_CHECKS.put(PIIType.PHONE_NUMBER, s -> 
-            s.matches(".*\\d.*") && s.length() >= 7
-        );
-
-        QUICK_CHECKS.put(PIIType.IP_ADDRESS, s -> 
-            s.matches(".*\\d.*") && s.contains(".")
-        );
     }
 
     /**
@@ -85,19 +80,23 @@ public class RegexPatternStrategy extends AbstractPIIDetectionStrategy {
     private static class DetectionParams {
         private final PIIType piiType;
         private final double matchRatio;
+        private final double confidence;
         private final long matchTime;
         private final long matchCount;
+        private final long formatMatchCount;
         private final List<String> matchingData;
         private final Pattern pattern;
         private final int sampleSize;
 
-        public DetectionParams(PIIType piiType, double matchRatio, long matchTime, 
-                              long matchCount, List<String> matchingData, 
+        public DetectionParams(PIIType piiType, double matchRatio, double confidence, long matchTime,
+                              long matchCount, long formatMatchCount, List<String> matchingData,
                               Pattern pattern, int sampleSize) {
             this.piiType = piiType;
             this.matchRatio = matchRatio;
+            this.confidence = confidence;
             this.matchTime = matchTime;
             this.matchCount = matchCount;
+            this.formatMatchCount = formatMatchCount;
             this.matchingData = matchingData;
             this.pattern = pattern;
             this.sampleSize = sampleSize;
@@ -111,9 +110,9 @@ public class RegexPatternStrategy extends AbstractPIIDetectionStrategy {
 
     @Override
     public ColumnPIIInfo detectColumnPII(String connectionId, String dbType, String tableName,
-                                         String columnName, List<Object> sampleData) {
+                                         String columnName, List<Object> sampleData, DetectionProfile profile) {
         // Generate cache key from inputs
-        String cacheKey = generateCacheKey(dbType, tableName, columnName, sampleData);
+        String cacheKey = generateCacheKey(dbType, tableName, columnName, sampleData, profile);
 
         // Check cache first
         if (resultCache.containsKey(cacheKey)) {
@@ -128,12 +127,8 @@ public class RegexPatternStrategy extends AbstractPIIDetectionStrategy {
             return result;
         }
 
-        // Pre-check data type suitability
-        boolean isAllNumeric = isAllNumeric(sampleData);
-        boolean isAllString = isAllString(sampleData);
-
         // Process each PII type
-        processPIITypes(sampleData, result, isAllNumeric, isAllString);
+        processPIITypes(sampleData, result, profile.getConfidenceThreshold());
 
         // Store in cache
         resultCache.put(cacheKey, result);
@@ -144,9 +139,10 @@ public class RegexPatternStrategy extends AbstractPIIDetectionStrategy {
     /**
      * Generates a cache key from the input parameters.
      */
-    private String generateCacheKey(String dbType, String tableName, String columnName, List<Object> sampleData) {
+    private String generateCacheKey(String dbType, String tableName, String columnName, List<Object> sampleData,
+                                    DetectionProfile profile) {
         return dbType + ":" + tableName + ":" + columnName + ":" +
-                (sampleData != null ? sampleData.hashCode() : "null");
+                (sampleData != null ? sampleData.hashCode() : "null") + ":" + profile.fingerprint();
     }
 
     /**
@@ -163,17 +159,43 @@ public class RegexPatternStrategy extends AbstractPIIDetectionStrategy {
 
     /**
      * Processes each PII type against the sample data.
+     * All values are classified in a single pass; the patterns are only
+     * reported in the detection metadata. Matches confirmed by a validator
+     * get a confidence boost, so a column of checksum-valid card numbers
+     * reaches the early-termination confidence without the NER stage.
      */
-    private void processPIITypes(List<Object> sampleData, ColumnPIIInfo result, boolean isAllNumeric, boolean isAllString) {
+    private void processPIITypes(List<Object> sampleData, ColumnPIIInfo result, double threshold) {
+        long startTime = System.currentTimeMillis();
+        PatternClassifier.Result classification = new PatternClassifier().classify(sampleData);
+        long matchTime = System.currentTimeMillis() - startTime;
+
+        // Pre-check data type suitability
+        boolean isAllNumeric = classification.isAllNumeric();
+        boolean isAllString = isAllString(sampleData);
+
         for (Map.Entry<PIIType, Pattern> entry : REGEX_PATTERNS.entrySet()) {
             PIIType piiType = entry.getKey();
-            
+
             // Skip inappropriate type checks
             if (shouldSkipPIIType(piiType, isAllNumeric, isAllString)) {
                 continue;
             }
-            
-            processPIITypeMatches(piiType, entry.getValue(), sampleData, result);
+
+            long matchCount = classification.getMatchCount(piiType);
+            double matchRatio = (double) matchCount / sampleData.size();
+
+            // If enough data matches, consider as PII
+            if (matchRatio >= threshold) {
+                double boost = VALIDATION_BOOSTS.getOrDefault(piiType, 0.0);
+                double confidence = matchRatio + (1.0 - matchRatio) * boost;
+
+                DetectionParams params = new DetectionParams(
+                    piiType, matchRatio, confidence, matchTime, matchCount,
+                    classification.getFormatMatchCount(piiType), classification.getExamples(piiType),
+                    entry.getValue(), sampleData.size()
+                );
+                addPIIDetection(params, result, threshold);
+            }
         }
     }
 
@@ -185,67 +207,23 @@ public class RegexPatternStrategy extends AbstractPIIDetectionStrategy {
                ((piiType == PIIType.EMAIL || piiType == PIIType.IP_ADDRESS) && !isAllString);
     }
 
-    /**
-     * Processes matches for a single PII type.
-     */
-    private void processPIITypeMatches(PIIType piiType, Pattern pattern, List<Object> sampleData, ColumnPIIInfo result) {
-        long startTime = System.currentTimeMillis();
-        
-        // Get matching data for this pattern
-        List<String> matchingData = findMatchingData(piiType, pattern, sampleData);
-        
-        long matchTime = System.currentTimeMillis() - startTime;
-        long matchCount = matchingData.size();
-        double matchRatio = (double) matchCount / sampleData.size();
-
-        // If enough data matches, consider as PII
-        if (matchRatio >= confidenceThreshold) {
-            DetectionParams params = new DetectionParams(
-                piiType, matchRatio, matchTime, matchCount, 
-                matchingData, pattern, sampleData.size()
-            );
-            addPIIDetection(params, result);
-        }
-    }
-
-    /**
-     * Finds data samples that match a given pattern for a PII type.
-     */
-    private List<String> findMatchingData(PIIType piiType, Pattern pattern, List<Object> sampleData) {
-        List<String> matchingData = new ArrayList<>();
-        QuickCheckFunction quickCheck = QUICK_CHECKS.get(piiType);
-        
-        for (Object obj : sampleData) {
-            // Use a single condition with logical AND to replace multiple continues
-            if (obj != null) {
-                String s = obj.toString().trim();
-                
-                boolean passesAllChecks = !s.isEmpty() && 
-                                         (quickCheck == null || quickCheck.check(s));
-                
-                if (passesAllChecks && pattern.matcher(s).matches()) {
-                    matchingData.add(s);
-                }
-            }
-        }
-        
-        return matchingData;
-    }
-
     /**
      * Adds a PII detection to the result.
      */
-    private void addPIIDetection(DetectionParams params, ColumnPIIInfo result) {
+    private void addPIIDetection(DetectionParams params, ColumnPIIInfo result, double threshold) {
         var detection = createDetection(
                 params.piiType,
-                params.matchRatio,
-                DetectionMethod.REGEX_PATTERN.name());
+                params.confidence,
+                DetectionMethod.REGEX_PATTERN.name(),
+                threshold);
 
         // Add detailed metadata
         Map<String, Object> metadata = detection.getDetectionMetadata();
         metadata.put("matchRatio", params.matchRatio);
         metadata.put("sampleSize", params.sampleSize);
         metadata.put("matchCount", params.matchCount);
+        metadata.put("formatMatchCount", params.formatMatchCount);
+        metadata.put("validated", VALIDATION_BOOSTS.containsKey(params.piiType));
         metadata.put("matchTimeMs", params.matchTime);
         metadata.put("patternUsed", params.pattern.pattern());
 
@@ -260,32 +238,25 @@ public class RegexPatternStrategy extends AbstractPIIDetectionStrategy {
     }
 
     @Override
-    public boolean isApplicable(boolean hasMetadata, boolean hasSampleData) {
-        // This strategy requires data samples
-        return hasSampleData;
+    public Set<PIIType> getDetectableTypes() {
+        return Collections.unmodifiableSet(REGEX_PATTERNS.keySet());
     }
 
     /**
-     * Checks if all samples are numeric.
+     * Gets the format pattern of a PII type, as reported in the detection metadata.
+     * {@link PatternClassifier} must accept exactly the language of these patterns.
      *
-     * @param samples List of data samples
-     * @return true if all non-null samples are numeric
+     * @param piiType PII type
+     * @return Format pattern, or null if the type has none
      */
-    private boolean isAllNumeric(List<Object> samples) {
-        if (samples == null || samples.isEmpty()) {
-            return false;
-        }
-
-        for (Object obj : samples) {
-            if (obj != null) {
-                String s = obj.toString().trim();
-                if (!s.isEmpty() && !s.matches("-?\\d+(\\.\\d+)?")) {
-                    return false;
-                }
-            }
-        }
+    static Pattern getPattern(PIIType piiType) {
+        return REGEX_PATTERNS.get(piiType);
+    }
 
-        return true;
+    @Override
+    public boolean isApplicable(boolean hasMetadata, boolean hasSampleData) {
+        // This strategy requires data samples
+        return hasSampleData;
     }
 
     /**
@@ -315,12 +286,4 @@ public class RegexPatternStrategy extends AbstractPIIDetectionStrategy {
     public void clearCache() {
         resultCache.clear();
     }
-
-    /**
-     * Functional interface for quick pattern pre-checks.
-     */
-    @FunctionalInterface
-    private interface QuickCheckFunction {
-        boolean check(String input);
-    }
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+package com.cgi.privsense.piidetector.strategy;
+
+import com.cgi.privsense.piidetector.model.enums.PIIType;
+
+import java.util.List;
+
+/**
+ * Sequential test on the match ratio of the regex stage.
+ * Classifies a sample like {@link RegexPatternStrategy} and computes a Wilson
+ * score interval on the ratio of the best matching format. The sample is
+ * conclusive when the whole interval lies on one side of the confidence
+ * threshold: more rows would not change the decision of the regex stage
+ * (at the chosen confidence level).
+ */
+public final class SequentialMatchTest {
+    /**
+     * Normal quantile of a two-sided 95% confidence interval.
+     */
+    public static final double Z_95 = 1.96;
+
+    private final double z;
+
+    /**
+     * Outcome of the test for a sample.
+     */
+    public enum Outcome {
+        /** The match ratio is above the threshold. */
+        ABOVE,
+        /** The match ratio is below the threshold. */
+        BELOW,
+        /** The interval contains the threshold: more rows are needed. */
+        UNDECIDED
+    }
+
+    /**
+     * Creates a test at a confidence level.
+     *
+     * @param z Normal quantile of the confidence level (1.96 for 95%)
+     */
+    public SequentialMatchTest(double z) {
+        this.z = z;
+    }
+
+    /**
+     * Tests a sample against a match ratio threshold.
+     *
+     * @param samples   Sample values, as passed to the regex stage
+     * @param threshold Confidence threshold of the regex stage
+     * @return Test outcome
+     */
+    public Outcome test(List<Object> samples, double threshold) {
+        // Same denominator as the regex stage
+        int trials = samples.size();
+        if (trials == 0) {
+            return Outcome.UNDECIDED;
+        }
+
+        PatternClassifier.Result classification = new PatternClassifier().classify(samples);
+        int matches = 0;
+        for (PIIType type : PIIType.values()) {
+            matches = Math.max(matches, classification.getMatchCount(type));
+        }
+
+        double[] interval = wilsonInterval(matches, trials, z);
+        if (interval[0] >= threshold) {
+            return Outcome.ABOVE;
+        }
+        if (interval[1] < threshold) {
+            return Outcome.BELOW;
+        }
+        return Outcome.UNDECIDED;
+    }
+
+    /**
+     * Computes the Wilson score interval of a binomial proportion.
+     * Unlike the normal approximation it stays within [0, 1] and remains
+     * meaningful for small samples and ratios of 0 or 1.
+     *
+     * @param successes Number of successes
+     * @param trials    Number of trials
+     * @param z         Normal quantile of the confidence level
+     * @return Lower and upper bounds
+     */
+    public static double[] wilsonInterval(long successes, long trials, double z) {
+        if (trials <= 0) {
+            return new double[] {0.0, 1.0};
+        }
+        double ratio = (double) successes / trials;
+        double z2 = z * z;
+        double denominator = 1 + z2 / trials;
+        double center = (ratio + z2 / (2.0 * trials)) / denominator;
+        double margin = z * Math.sqrt(ratio * (1 - ratio) / trials + z2 / (4.0 * trials * trials)) / denominator;
+        return new double[] {Math.max(0.0, center - margin), Math.min(1.0, center + margin)};
+    }
+}
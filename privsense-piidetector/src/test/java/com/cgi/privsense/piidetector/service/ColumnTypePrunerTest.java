@@ -0,0 +1,114 @@
+package com.cgi.privsense.piidetector.service;
+
+import com.cgi.privsense.dbscanner.model.ColumnMetadata;
+import com.cgi.privsense.piidetector.model.enums.PIIType;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnTypePrunerTest {
+    private final ColumnTypePruner pruner = new ColumnTypePruner();
+
+    @Test
+    void prunesTypesThatCannotHoldPII() {
+        for (String type : new String[] {"BIT", "boolean", "VARBINARY(16)", "longblob", "uuid", "TIME", "bytea"}) {
+            assertTrue(pruner.feasibleTypes(column(type)).isEmpty(), type);
+        }
+    }
+
+    @Test
+    void keepsEveryTypeForUnknownColumns() {
+        assertTrue(ColumnTypePruner.isUnrestricted(pruner.feasibleTypes(column(null))));
+        assertTrue(ColumnTypePruner.isUnrestricted(pruner.feasibleTypes(column("text"))));
+        assertTrue(ColumnTypePruner.isUnrestricted(pruner.feasibleTypes(column("json"))));
+    }
+
+    @Test
+    void restrictsTemporalAndSpatialColumns() {
+        assertEquals(EnumSet.of(PIIType.DATE_OF_BIRTH), pruner.feasibleTypes(column("DATE")));
+        assertEquals(EnumSet.of(PIIType.DATE_OF_BIRTH, PIIType.DATE_TIME),
+                pruner.feasibleTypes(column("timestamp with time zone")));
+        assertEquals(EnumSet.of(PIIType.GEOLOCATION), pruner.feasibleTypes(column("POINT")));
+        assertEquals(EnumSet.of(PIIType.SALARY, PIIType.GEOLOCATION), pruner.feasibleTypes(column("double")));
+    }
+
+    @Test
+    void prunesIntegerKeys() {
+        ColumnMetadata primaryKey = column("bigint");
+        primaryKey.setPrimaryKey(true);
+        ColumnMetadata foreignKey = column("int");
+        foreignKey.setForeignKey(true);
+
+        assertTrue(pruner.feasibleTypes(primaryKey).isEmpty());
+        assertTrue(pruner.feasibleTypes(foreignKey).isEmpty());
+    }
+
+    @Test
+    void narrowsIntegersByTheirDigits() {
+        assertTrue(pruner.feasibleTypes(column("TINYINT UNSIGNED")).isEmpty());
+
+        Set<PIIType> smallint = pruner.feasibleTypes(column("smallint"));
+        assertEquals(EnumSet.of(PIIType.POSTAL_CODE, PIIType.ZIPCODE, PIIType.SALARY), smallint);
+
+        Set<PIIType> bigint = pruner.feasibleTypes(column("bigint"));
+        assertTrue(bigint.contains(PIIType.CREDIT_CARD));
+        assertFalse(bigint.contains(PIIType.EMAIL));
+    }
+
+    @Test
+    void prefersTheReportedPrecisionOfIntegers() {
+        ColumnMetadata column = column("int");
+        column.setNumericPrecision(7);
+
+        Set<PIIType> types = pruner.feasibleTypes(column);
+        assertTrue(types.contains(PIIType.PHONE_NUMBER));
+        assertFalse(types.contains(PIIType.NATIONAL_ID));
+    }
+
+    @Test
+    void narrowsDecimalsByPrecisionAndScale() {
+        assertEquals(EnumSet.of(PIIType.SALARY), pruner.feasibleTypes(decimal(10, 2)));
+        assertEquals(EnumSet.of(PIIType.GEOLOCATION), pruner.feasibleTypes(decimal(9, 6)));
+        assertTrue(pruner.feasibleTypes(decimal(3, 2)).isEmpty());
+        assertTrue(pruner.feasibleTypes(decimal(16, 0)).contains(PIIType.CREDIT_CARD));
+        assertTrue(ColumnTypePruner.isUnrestricted(pruner.feasibleTypes(decimal(null, null))));
+    }
+
+    @Test
+    void narrowsTextByMaximumLength() {
+        Set<PIIType> shortText = pruner.feasibleTypes(text(2));
+        assertFalse(shortText.contains(PIIType.EMAIL));
+        assertFalse(shortText.contains(PIIType.FULL_NAME));
+        assertTrue(shortText.contains(PIIType.FIRST_NAME));
+
+        Set<PIIType> codes = pruner.feasibleTypes(text(8));
+        assertTrue(codes.contains(PIIType.EMAIL));
+        assertTrue(codes.contains(PIIType.DATE_TIME));
+        assertFalse(codes.contains(PIIType.SSN));
+        assertFalse(codes.contains(PIIType.CREDIT_CARD));
+
+        assertTrue(ColumnTypePruner.isUnrestricted(pruner.feasibleTypes(text(255))));
+    }
+
+    private static ColumnMetadata column(String type) {
+        ColumnMetadata column = new ColumnMetadata();
+        column.setType(type);
+        return column;
+    }
+
+    private static ColumnMetadata decimal(Integer precision, Integer scale) {
+        ColumnMetadata column = column("DECIMAL");
+        column.setNumericPrecision(precision);
+        column.setNumericScale(scale);
+        return column;
+    }
+
+    private static ColumnMetadata text(long maxLength) {
+        ColumnMetadata column = column("VARCHAR(" + maxLength + ")");
+        column.setMaxLength(maxLength);
+        return column;
+    }
+}
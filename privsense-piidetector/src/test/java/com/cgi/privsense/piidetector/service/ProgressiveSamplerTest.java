@@ -0,0 +1,129 @@
+package com.cgi.privsense.piidetector.service;
+
+import com.cgi.privsense.piidetector.config.PipelineConfiguration;
+import com.cgi.privsense.piidetector.model.DetectionProfile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProgressiveSamplerTest {
+    private static final DetectionProfile PROFILE = DetectionProfile.builder()
+            .confidenceThreshold(0.7)
+            .sampleSize(10)
+            .enabledStages(List.of("heuristic", "regex", "ner"))
+            .build();
+
+    private final Map<String, List<Object>> table = new HashMap<>();
+    private final List<String> fetches = new ArrayList<>();
+    private PipelineConfiguration pipelineConfig;
+    private ProgressiveSampler sampler;
+
+    @BeforeEach
+    void setUp() {
+        // Sample 5 rows first, up to 20
+        pipelineConfig = new PipelineConfiguration();
+        sampler = new ProgressiveSampler(pipelineConfig, new PIIDetectionMetricsCollector(), new SampleFilterService());
+        table.put("email", column(100, i -> "user" + i + "@example.com"));
+        table.put("comment", column(100, i -> "free text " + i));
+    }
+
+    @Test
+    void stopsEarlyWhenTheRegexStageWillMatch() {
+        Map<String, List<Object>> samples = sampler.sample(List.of("email"), PROFILE, this::fetch);
+
+        // 5 matching rows are not conclusive yet, 10 are
+        assertEquals(10, samples.get("email").size());
+        assertEquals(List.of("[email]@0+5", "[email]@5+5"), fetches);
+    }
+
+    @Test
+    void givesColumnsBelowTheThresholdTheFullSampleAtOnce() {
+        Map<String, List<Object>> samples = sampler.sample(List.of("comment"), PROFILE, this::fetch);
+
+        assertEquals(20, samples.get("comment").size());
+        assertEquals(List.of("[comment]@0+5", "[comment]@5+15"), fetches);
+    }
+
+    @Test
+    void neverGivesLaterStagesLessThanTheProfileSampleSize() {
+        DetectionProfile largeProfile = PROFILE.withSampleSize(50);
+
+        Map<String, List<Object>> samples = sampler.sample(List.of("comment"), largeProfile, this::fetch);
+
+        assertEquals(50, samples.get("comment").size());
+    }
+
+    @Test
+    void fetchesOnlyTheMissingRowsOfEachGroup() {
+        Map<String, List<Object>> samples = sampler.sample(List.of("email", "comment"), PROFILE, this::fetch);
+
+        assertEquals(List.of("[email, comment]@0+5", "[email]@5+5", "[comment]@5+15"), fetches);
+        assertEquals(table.get("email").subList(0, 10), samples.get("email"));
+        assertEquals(table.get("comment").subList(0, 20), samples.get("comment"));
+    }
+
+    @Test
+    void stopsWhenTheTableHasNoMoreRows() {
+        table.put("comment", column(8, i -> "free text " + i));
+
+        Map<String, List<Object>> samples = sampler.sample(List.of("comment"), PROFILE, this::fetch);
+
+        assertEquals(8, samples.get("comment").size());
+        assertEquals(List.of("[comment]@0+5", "[comment]@5+15"), fetches);
+    }
+
+    @Test
+    void keepsRowsOfColumnsTheFetcherFailsOn() {
+        Map<String, List<Object>> samples = sampler.sample(List.of("comment"), PROFILE,
+                (columnNames, offset, limit) -> offset == 0 ? fetch(columnNames, offset, limit) : Map.of());
+
+        assertEquals(table.get("comment").subList(0, 5), samples.get("comment"));
+    }
+
+    @Test
+    void omitsColumnsTheFetcherReturnsNothingFor() {
+        Map<String, List<Object>> samples = sampler.sample(List.of("email", "missing"), PROFILE, this::fetch);
+
+        assertFalse(samples.containsKey("missing"));
+        assertEquals(10, samples.get("email").size());
+    }
+
+    @Test
+    void samplesOnceWithTheProfileSizeWhenDisabled() {
+        pipelineConfig.getFeatures().put("adaptiveSampling", false);
+
+        Map<String, List<Object>> samples = sampler.sample(List.of("email", "comment"), PROFILE, this::fetch);
+
+        assertEquals(10, samples.get("email").size());
+        assertEquals(10, samples.get("comment").size());
+        assertEquals(List.of("[email, comment]@0+10"), fetches);
+    }
+
+    private Map<String, List<Object>> fetch(List<String> columnNames, int offset, int limit) {
+        fetches.add(columnNames + "@" + offset + "+" + limit);
+        Map<String, List<Object>> rows = new HashMap<>();
+        for (String columnName : columnNames) {
+            List<Object> values = table.get(columnName);
+            if (values != null) {
+                rows.put(columnName, values.subList(Math.min(offset, values.size()),
+                        Math.min(offset + limit, values.size())));
+            }
+        }
+        return rows;
+    }
+
+    private static List<Object> column(int rows, IntFunction<Object> value) {
+        List<Object> values = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            values.add(value.apply(i));
+        }
+        return values;
+    }
+}
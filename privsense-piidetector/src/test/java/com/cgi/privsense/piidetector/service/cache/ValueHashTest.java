@@ -0,0 +1,51 @@
+package com.cgi.privsense.piidetector.service.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValueHashTest {
+
+    @Test
+    void matchesMurmurHash3OverUtf16LittleEndian() {
+        // Reference values of MurmurHash3_x64_128, seed 0, over the UTF-16LE bytes of each text
+        assertEquals(new ValueHash(0L, 0L), ValueHash.of(""));
+        assertEquals(new ValueHash(0xee2ee18fe1bfd387L, 0x7b927262d8c336c4L), ValueHash.of("hello"));
+        assertEquals(new ValueHash(0xd621c806dbc6fd21L, 0xc6d1f5edcd1c5a2eL), ValueHash.of("aaaaaaa"));
+        assertEquals(new ValueHash(0x2803a5bc696daeb2L, 0xa2b1eb7540d6d1faL), ValueHash.of("abcdefgh"));
+        assertEquals(new ValueHash(0x1f0524abd12648e7L, 0x84b61264e661bee0L), ValueHash.of("prénom"));
+        assertEquals(new ValueHash(0xc0026631b551ae4cL, 0xe75f3e8442567c1cL),
+                ValueHash.of("The quick brown fox jumps over the lazy dog"));
+    }
+
+    @Test
+    void hashesContentNotInstance() {
+        assertEquals(ValueHash.of("john.doe@example.com"),
+                ValueHash.of(new StringBuilder("john.doe@").append("example.com")));
+    }
+
+    @Test
+    void seedChangesHash() {
+        assertNotEquals(ValueHash.of("hello", 0), ValueHash.of("hello", 1));
+    }
+
+    @Test
+    void distinguishesValuesOfEveryTailLength() {
+        Set<ValueHash> hashes = new HashSet<>();
+        StringBuilder text = new StringBuilder();
+        for (int length = 0; length < 64; length++) {
+            assertTrue(hashes.add(ValueHash.of(text)), "collision at length " + length);
+            text.append((char) ('a' + length % 26));
+        }
+    }
+
+    @Test
+    void trailingZeroCharsChangeHash() {
+        // Zero padding of the tail block must not collide with a shorter value
+        assertNotEquals(ValueHash.of("abc"), ValueHash.of("abc\u0000"));
+        assertNotEquals(ValueHash.of("abcdefgh"), ValueHash.of("abcdefgh\u0000"));
+    }
+}
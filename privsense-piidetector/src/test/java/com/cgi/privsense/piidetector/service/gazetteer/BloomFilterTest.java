@@ -0,0 +1,53 @@
+package com.cgi.privsense.piidetector.service.gazetteer;
+
+import com.cgi.privsense.piidetector.service.cache.ValueHash;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void hasNoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(ValueHash.of("member-" + i));
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain(ValueHash.of("member-" + i)));
+        }
+    }
+
+    @Test
+    void keepsFalsePositivesNearTheTargetRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(ValueHash.of("member-" + i));
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(ValueHash.of("other-" + i))) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 1_500, "False positives: " + falsePositives);
+    }
+
+    @Test
+    void sizesBitsForTheTargetRate() {
+        // 1% needs about 9.6 bits per entry
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+
+        long bitsPerEntry = filter.sizeInBytes() * 8 / 10_000;
+        assertTrue(bitsPerEntry >= 9 && bitsPerEntry <= 10, "Bits per entry: " + bitsPerEntry);
+    }
+
+    @Test
+    void emptyFilterRejectsEverything() {
+        BloomFilter filter = new BloomFilter(0, 0.01);
+
+        assertFalse(filter.mightContain(ValueHash.of("paris")));
+    }
+}
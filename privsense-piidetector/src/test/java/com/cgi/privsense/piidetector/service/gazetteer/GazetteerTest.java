@@ -0,0 +1,83 @@
+package com.cgi.privsense.piidetector.service.gazetteer;
+
+import com.cgi.privsense.common.config.properties.PiiDetectionProperties;
+import com.cgi.privsense.piidetector.exception.PIIDetectionException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GazetteerTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void looksUpEveryCategoryAcrossLocales() throws IOException {
+        write("en", "first-names.txt", "# first names", "John", "Morgan");
+        write("en", "last-names.txt", "Smith", "Morgan");
+        write("fr", "cities.txt", "Saint-Étienne", "Paris");
+
+        Gazetteer gazetteer = new Gazetteer(properties(true));
+
+        assertFalse(gazetteer.isEmpty());
+        assertEquals(Gazetteer.FIRST_NAME, gazetteer.lookup("john"));
+        assertEquals(Gazetteer.FIRST_NAME | Gazetteer.LAST_NAME, gazetteer.lookup("MORGAN"));
+        assertEquals(Gazetteer.CITY, gazetteer.lookup("  saint-etienne "));
+        assertEquals(0, gazetteer.lookup("# first names"));
+        assertEquals(0, gazetteer.lookup("London"));
+        assertEquals(0, gazetteer.lookup(""));
+    }
+
+    @Test
+    void leavesMissingFilesEmpty() {
+        Gazetteer gazetteer = new Gazetteer(properties(true));
+
+        assertTrue(gazetteer.isEmpty());
+        assertEquals(0, gazetteer.lookup("john"));
+    }
+
+    @Test
+    void isDisabledByDefaultWithoutReadingFiles() {
+        PiiDetectionProperties properties = new PiiDetectionProperties();
+        properties.getGazetteer().setDirectory(directory.resolve("missing").toString());
+
+        Gazetteer gazetteer = new Gazetteer(properties);
+
+        assertFalse(gazetteer.isEnabled());
+        assertTrue(gazetteer.isEmpty());
+        assertEquals(0, gazetteer.lookup("john"));
+    }
+
+    @Test
+    void requiresTheDirectoryWhenEnabled() {
+        PiiDetectionProperties properties = properties(true);
+        properties.getGazetteer().setDirectory(directory.resolve("missing").toString());
+
+        PIIDetectionException e = assertThrows(PIIDetectionException.class, () -> new Gazetteer(properties));
+        assertEquals(PIIDetectionException.CONFIG_ERROR, e.getErrorCode());
+    }
+
+    @Test
+    void normalizesCaseAccentsAndSpaces() {
+        assertEquals("jose maria", Gazetteer.normalize("  José \t MARÍA "));
+        assertEquals("", Gazetteer.normalize(null));
+    }
+
+    private PiiDetectionProperties properties(boolean enabled) {
+        PiiDetectionProperties properties = new PiiDetectionProperties();
+        properties.getGazetteer().setEnabled(enabled);
+        properties.getGazetteer().setDirectory(directory.toString());
+        properties.getGazetteer().setLocales(List.of("en", "fr"));
+        return properties;
+    }
+
+    private void write(String locale, String fileName, String... lines) throws IOException {
+        Path localeDirectory = Files.createDirectories(directory.resolve(locale));
+        Files.write(localeDirectory.resolve(fileName), List.of(lines));
+    }
+}
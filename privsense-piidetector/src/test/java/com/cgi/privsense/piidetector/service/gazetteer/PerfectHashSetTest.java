@@ -0,0 +1,59 @@
+package com.cgi.privsense.piidetector.service.gazetteer;
+
+import com.cgi.privsense.piidetector.service.cache.ValueHash;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PerfectHashSetTest {
+
+    @Test
+    void containsEveryMember() {
+        List<ValueHash> members = hashes("member-", 10_000);
+        PerfectHashSet set = PerfectHashSet.build(members);
+
+        assertEquals(10_000, set.size());
+        for (ValueHash member : members) {
+            assertTrue(set.contains(member));
+        }
+    }
+
+    @Test
+    void rejectsNonMembers() {
+        PerfectHashSet set = PerfectHashSet.build(hashes("member-", 10_000));
+
+        for (ValueHash other : hashes("other-", 100_000)) {
+            assertFalse(set.contains(other));
+        }
+    }
+
+    @Test
+    void usesOneSlotPerMember() {
+        PerfectHashSet set = PerfectHashSet.build(hashes("member-", 10_000));
+
+        // 10,000 fingerprints and 2,500 displacements
+        assertEquals(12_500 * Integer.BYTES, set.sizeInBytes());
+    }
+
+    @Test
+    void handlesTinySets() {
+        PerfectHashSet empty = PerfectHashSet.build(List.of());
+        assertEquals(0, empty.size());
+        assertFalse(empty.contains(ValueHash.of("anything")));
+
+        PerfectHashSet single = PerfectHashSet.build(List.of(ValueHash.of("paris")));
+        assertTrue(single.contains(ValueHash.of("paris")));
+        assertFalse(single.contains(ValueHash.of("lyon")));
+    }
+
+    private static List<ValueHash> hashes(String prefix, int count) {
+        List<ValueHash> hashes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            hashes.add(ValueHash.of(prefix + i));
+        }
+        return hashes;
+    }
+}
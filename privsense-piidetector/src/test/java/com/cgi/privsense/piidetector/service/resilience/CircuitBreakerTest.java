@@ -0,0 +1,172 @@
+package com.cgi.privsense.piidetector.service.resilience;
+
+import com.cgi.privsense.common.config.properties.PiiDetectionProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private final List<String> transitions = new ArrayList<>();
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        PiiDetectionProperties.CircuitBreakerProperties properties = new PiiDetectionProperties.CircuitBreakerProperties();
+        properties.setWindowMs(10_000);
+        properties.setWindowBuckets(10);
+        properties.setMinimumCalls(4);
+        properties.setFailureRateThreshold(0.5);
+        properties.setSlowCallRateThreshold(0.75);
+        properties.setSlowCallDurationMs(1_000);
+        properties.setOpenDurationMs(5_000);
+        properties.setHalfOpenMaxCalls(2);
+        breaker = new CircuitBreaker("test", properties,
+                (name, from, to) -> transitions.add(from + "->" + to), clock::get);
+    }
+
+    @Test
+    void staysClosedBelowMinimumCalls() {
+        for (int i = 0; i < 3; i++) {
+            breaker.onFailure(10);
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void opensWhenFailureRateReachesThreshold() {
+        breaker.onSuccess(10);
+        breaker.onSuccess(10);
+        breaker.onFailure(10);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        breaker.onFailure(10);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertTrue(breaker.isOpen());
+        assertFalse(breaker.tryAcquirePermission());
+        assertEquals(List.of("CLOSED->OPEN"), transitions);
+    }
+
+    @Test
+    void opensWhenSlowCallRateReachesThreshold() {
+        breaker.onSuccess(10);
+        for (int i = 0; i < 3; i++) {
+            breaker.onSuccess(1_000);
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void forgetsCallsThatLeftTheWindow() {
+        for (int i = 0; i < 3; i++) {
+            breaker.onFailure(10);
+        }
+        clock.addAndGet(10_000);
+
+        breaker.onSuccess(10);
+        breaker.onFailure(10);
+        breaker.onSuccess(10);
+        breaker.onSuccess(10);
+
+        // Counting the expired failures would give 4 failures out of 7 calls
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void keepsCallsOfOlderBucketsWithinTheWindow() {
+        breaker.onFailure(10);
+        clock.addAndGet(3_000);
+        breaker.onFailure(10);
+        clock.addAndGet(3_000);
+        breaker.onSuccess(10);
+        clock.addAndGet(3_000);
+        breaker.onFailure(10);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void becomesHalfOpenAfterOpenDurationAndLimitsProbes() {
+        tripOpen();
+        clock.addAndGet(4_999);
+        assertFalse(breaker.tryAcquirePermission());
+
+        clock.addAndGet(1);
+        assertFalse(breaker.isOpen());
+        assertTrue(breaker.tryAcquirePermission());
+        assertTrue(breaker.tryAcquirePermission());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        // Only two probes may be in flight
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void closesAfterSuccessfulProbes() {
+        tripOpen();
+        clock.addAndGet(5_000);
+        assertTrue(breaker.tryAcquirePermission());
+        assertTrue(breaker.tryAcquirePermission());
+
+        breaker.onSuccess(10);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.onSuccess(10);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(List.of("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED"), transitions);
+
+        // The window was cleared: earlier failures do not count again
+        breaker.onFailure(10);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void reopensOnFailedOrSlowProbe() {
+        tripOpen();
+        clock.addAndGet(5_000);
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.onFailure(10);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        clock.addAndGet(5_000);
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.onSuccess(1_000);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void allowProbeCallsSkipsTheRemainingOpenDuration() {
+        tripOpen();
+
+        breaker.allowProbeCalls();
+
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void forceResetClosesAndClearsTheWindow() {
+        tripOpen();
+
+        breaker.forceReset();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        breaker.onFailure(10);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    private void tripOpen() {
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure(10);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+}
@@ -0,0 +1,150 @@
+package com.cgi.privsense.piidetector.service.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgedRequestExecutorTest {
+    private static final String PRIMARY = "http://primary";
+    private static final String ALTERNATE = "http://alternate";
+
+    @Test
+    void doesNotHedgeBeforeLatencyIsKnown() throws Exception {
+        HedgedRequestExecutor executor = new HedgedRequestExecutor(0.5, 5, 100, 60_000);
+        CompletableFuture<String> primary = new CompletableFuture<>();
+
+        CompletableFuture<String> result = executor.execute(PRIMARY, ALTERNATE,
+                url -> url.equals(PRIMARY) ? primary : CompletableFuture.completedFuture("alternate"));
+        Thread.sleep(50);
+
+        assertEquals(0, executor.getHedgedRequests());
+        primary.complete("primary");
+        assertEquals("primary", result.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void doesNotHedgeWithoutAlternateEndpoint() throws Exception {
+        HedgedRequestExecutor executor = new HedgedRequestExecutor(0.5, 5, 100, 60_000);
+        warmUp(executor);
+        CompletableFuture<String> primary = new CompletableFuture<>();
+
+        executor.execute(PRIMARY, null, url -> primary);
+        Thread.sleep(50);
+
+        assertEquals(0, executor.getHedgedRequests());
+    }
+
+    @Test
+    void hedgesSlowRequestAndCancelsTheLoser() throws Exception {
+        HedgedRequestExecutor executor = new HedgedRequestExecutor(0.5, 5, 100, 60_000);
+        warmUp(executor);
+        CompletableFuture<String> primary = new CompletableFuture<>();
+
+        CompletableFuture<String> result = executor.execute(PRIMARY, ALTERNATE,
+                url -> url.equals(PRIMARY) ? primary : CompletableFuture.completedFuture("alternate"));
+
+        assertEquals("alternate", result.get(1, TimeUnit.SECONDS));
+        assertEquals(1, executor.getHedgedRequests());
+        // The win is counted and the loser cancelled just after the result completes
+        awaitTrue(() -> executor.getHedgeWins() == 1);
+        awaitTrue(primary::isCancelled);
+    }
+
+    @Test
+    void primaryAnsweringFirstCancelsTheHedge() throws Exception {
+        HedgedRequestExecutor executor = new HedgedRequestExecutor(0.5, 5, 100, 60_000);
+        warmUp(executor);
+        CompletableFuture<String> hedge = new CompletableFuture<>();
+
+        CompletableFuture<String> result = executor.execute(PRIMARY, ALTERNATE, url -> url.equals(PRIMARY)
+                ? CompletableFuture.supplyAsync(() -> "primary",
+                        CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS))
+                : hedge);
+
+        assertEquals("primary", result.get(1, TimeUnit.SECONDS));
+        assertEquals(1, executor.getHedgedRequests());
+        awaitTrue(hedge::isCancelled);
+        assertEquals(0, executor.getHedgeWins());
+    }
+
+    @Test
+    void failsWithTheLastFailureWhenEveryRequestFails() {
+        HedgedRequestExecutor executor = new HedgedRequestExecutor(0.5, 5, 100, 60_000);
+        warmUp(executor);
+
+        CompletableFuture<String> result = executor.execute(PRIMARY, ALTERNATE, url -> url.equals(PRIMARY)
+                ? CompletableFuture.supplyAsync(() -> {
+                    throw new IllegalStateException("primary failed");
+                }, CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS))
+                : CompletableFuture.failedFuture(new IllegalStateException("alternate failed")));
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> result.get(1, TimeUnit.SECONDS));
+        assertEquals("primary failed", failure.getCause().getMessage());
+    }
+
+    @Test
+    void capsHedgesToTheTokenBudget() throws Exception {
+        // 10% budget: one hedge per ten requests, the 20 warm-up requests included.
+        // The hedge delay leaves time to issue every request before the first hedge.
+        HedgedRequestExecutor executor = new HedgedRequestExecutor(0.5, 200, 10, 60_000);
+        warmUp(executor);
+
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            results.add(executor.execute(PRIMARY, ALTERNATE, url -> new CompletableFuture<>()));
+        }
+        Thread.sleep(500);
+
+        assertEquals(5, executor.getHedgedRequests());
+        results.forEach(result -> result.cancel(false));
+    }
+
+    @Test
+    void capsSavedBudgetAtTenHedges() throws Exception {
+        HedgedRequestExecutor executor = new HedgedRequestExecutor(0.5, 200, 100, 60_000);
+        warmUp(executor);
+
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < 15; i++) {
+            results.add(executor.execute(PRIMARY, ALTERNATE, url -> new CompletableFuture<>()));
+        }
+        Thread.sleep(500);
+
+        assertEquals(10, executor.getHedgedRequests());
+        results.forEach(result -> result.cancel(false));
+    }
+
+    @Test
+    void tracksLatencyPerEndpoint() {
+        HedgedRequestExecutor executor = new HedgedRequestExecutor(0.5, 5, 100, 60_000);
+
+        assertEquals(-1, executor.getLatencyPercentile(PRIMARY, 0.5));
+        warmUp(executor);
+        assertEquals(0, executor.getLatencyPercentile(PRIMARY, 0.5));
+        assertEquals(-1, executor.getLatencyPercentile(ALTERNATE, 0.5));
+    }
+
+    /**
+     * Records enough instant responses for the primary endpoint's percentile to be trusted.
+     */
+    private static void warmUp(HedgedRequestExecutor executor) {
+        for (int i = 0; i < 20; i++) {
+            executor.execute(PRIMARY, null, url -> CompletableFuture.completedFuture("ok")).join();
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 1000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
@@ -0,0 +1,103 @@
+package com.cgi.privsense.piidetector.service.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    @Test
+    void bucketsCoverEveryDurationWithBoundedError() {
+        for (long duration = 0; duration < 1_000_000; duration += duration < 4_096 ? 1 : 97) {
+            int index = LatencyHistogram.bucketIndex(duration);
+            long upperBound = LatencyHistogram.bucketUpperBound(index);
+            assertTrue(upperBound >= duration, "upper bound below " + duration);
+            assertTrue(index == 0 || LatencyHistogram.bucketUpperBound(index - 1) < duration,
+                    "previous bucket holds " + duration);
+            // 16 sub-buckets per power of two: at most 1/16 relative error
+            assertTrue(upperBound - duration <= duration / 16, "error too large for " + duration);
+        }
+    }
+
+    @Test
+    void bucketsAreExactBelow32Ms() {
+        for (int duration = 0; duration < 32; duration++) {
+            assertEquals(duration, LatencyHistogram.bucketUpperBound(LatencyHistogram.bucketIndex(duration)));
+        }
+        assertEquals(32, LatencyHistogram.bucketIndex(32));
+        assertEquals(33, LatencyHistogram.bucketUpperBound(32));
+    }
+
+    @Test
+    void hasNoPercentileWithoutSamples() {
+        LatencyHistogram histogram = new LatencyHistogram(1_000, clock::get);
+
+        assertEquals(0, histogram.count());
+        assertEquals(-1, histogram.percentile(0.5));
+    }
+
+    @Test
+    void computesPercentilesByRank() {
+        LatencyHistogram histogram = new LatencyHistogram(1_000, clock::get);
+        for (int duration = 1; duration <= 20; duration++) {
+            histogram.record(duration);
+        }
+
+        assertEquals(20, histogram.count());
+        assertEquals(1, histogram.percentile(0.0));
+        assertEquals(10, histogram.percentile(0.5));
+        assertEquals(19, histogram.percentile(0.95));
+        assertEquals(20, histogram.percentile(1.0));
+    }
+
+    @Test
+    void reportsBucketUpperBoundAboveLinearRange() {
+        LatencyHistogram histogram = new LatencyHistogram(1_000, clock::get);
+        for (int i = 0; i < 99; i++) {
+            histogram.record(5);
+        }
+        histogram.record(1_000);
+
+        assertEquals(5, histogram.percentile(0.99));
+        long p100 = histogram.percentile(1.0);
+        assertTrue(p100 >= 1_000 && p100 <= 1_000 + 1_000 / 16, "p100 = " + p100);
+    }
+
+    @Test
+    void keepsPreviousWindowAndDropsOlderSamples() {
+        LatencyHistogram histogram = new LatencyHistogram(1_000, clock::get);
+        histogram.record(100);
+
+        clock.addAndGet(1_000);
+        histogram.record(10);
+        assertEquals(2, histogram.count());
+        // 100 ms falls in the 100-103 ms bucket
+        assertEquals(103, histogram.percentile(1.0));
+
+        clock.addAndGet(1_000);
+        assertEquals(1, histogram.count());
+        assertEquals(10, histogram.percentile(1.0));
+    }
+
+    @Test
+    void dropsBothWindowsAfterALongPause() {
+        LatencyHistogram histogram = new LatencyHistogram(1_000, clock::get);
+        histogram.record(100);
+
+        clock.addAndGet(2_500);
+
+        assertEquals(0, histogram.count());
+        assertEquals(-1, histogram.percentile(0.5));
+    }
+
+    @Test
+    void clampsNegativeDurations() {
+        LatencyHistogram histogram = new LatencyHistogram(1_000, clock::get);
+        histogram.record(-5);
+
+        assertEquals(0, histogram.percentile(0.5));
+    }
+}
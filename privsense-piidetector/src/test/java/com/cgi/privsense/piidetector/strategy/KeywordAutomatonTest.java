@@ -0,0 +1,60 @@
+package com.cgi.privsense.piidetector.strategy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeywordAutomatonTest {
+
+    @Test
+    void normalizesToLowerCaseIdentifiers() {
+        assertEquals("first_name", KeywordAutomaton.normalize("First_Name"));
+        assertEquals("email2", KeywordAutomaton.normalize("E-Mail 2"));
+        String normalized = "already_normal";
+        assertSame(normalized, KeywordAutomaton.normalize(normalized));
+    }
+
+    @Test
+    void foldsAccentsAndLigatures() {
+        assertEquals("prenom", KeywordAutomaton.normalize("Prénom"));
+        assertEquals("numero_telephone", KeywordAutomaton.normalize("NUMÉRO_TÉLÉPHONE"));
+        assertEquals("strasse", KeywordAutomaton.normalize("Straße"));
+        assertEquals("coeur", KeywordAutomaton.normalize("cœur"));
+        assertEquals("ano_nacimiento", KeywordAutomaton.normalize("año_nacimiento"));
+    }
+
+    @Test
+    void matchesAccentedKeywordsAndNames() {
+        KeywordAutomaton automaton = KeywordAutomaton.build(List.of("prénom", "nom"));
+
+        assertTrue(automaton.containsAny(KeywordAutomaton.normalize("PRENOM_CLIENT")));
+        assertEquals(List.of("prenom:0", "nom:1"), hits(automaton, KeywordAutomaton.normalize("prénom")));
+        // Dropping the accented letter would have produced "prnom"
+        assertFalse(KeywordAutomaton.build(List.of("prénom")).containsAny("prnom"));
+    }
+
+    @Test
+    void reportsOverlappingOccurrences() {
+        KeywordAutomaton automaton = KeywordAutomaton.build(List.of("he", "she", "his", "hers"));
+
+        assertEquals(List.of("she:1", "he:0", "hers:3"), hits(automaton, "ushers"));
+        assertFalse(automaton.containsAny("abc"));
+    }
+
+    @Test
+    void resetsMatchOnCharactersOutsideTheAlphabet() {
+        KeywordAutomaton automaton = KeywordAutomaton.build(List.of("email"));
+
+        assertTrue(automaton.containsAny("user_email"));
+        assertFalse(automaton.containsAny("em-ail"));
+    }
+
+    private static List<String> hits(KeywordAutomaton automaton, String text) {
+        List<String> hits = new ArrayList<>();
+        automaton.scan(text, (id, start, end) -> hits.add(text.substring(start, end) + ":" + id));
+        return hits;
+    }
+}
@@ -0,0 +1,109 @@
+package com.cgi.privsense.piidetector.strategy;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PIIValueValidatorsTest {
+
+    @Test
+    void luhnAcceptsValidChecksums() {
+        assertTrue(PIIValueValidators.isValidLuhn("79927398713", 0, 11));
+        assertTrue(PIIValueValidators.isValidCreditCard("4111111111111111"));
+        assertTrue(PIIValueValidators.isValidCreditCard("5500005555555559"));
+    }
+
+    @Test
+    void luhnRejectsInvalidChecksumsAndNonDigits() {
+        assertFalse(PIIValueValidators.isValidCreditCard("4111111111111112"));
+        assertFalse(PIIValueValidators.isValidLuhn("7992739871a", 0, 11));
+        assertFalse(PIIValueValidators.isValidLuhn("", 0, 0));
+    }
+
+    @Test
+    void luhnRejectsAllZeroValues() {
+        assertFalse(PIIValueValidators.isValidCreditCard("0000000000000000"));
+        assertFalse(PIIValueValidators.isValidLuhn("0", 0, 1));
+    }
+
+    @Test
+    void creditCardChecksLength() {
+        // Valid Luhn checksum but too short for a card number
+        assertFalse(PIIValueValidators.isValidCreditCard("79927398713"));
+        assertFalse(PIIValueValidators.isValidCreditCard("41111111111111111111"));
+    }
+
+    @Test
+    void checksRangeOnly() {
+        String value = "card: 4111111111111111;";
+        assertTrue(PIIValueValidators.isValidCreditCard(value, 6, 22));
+        assertFalse(PIIValueValidators.isValidCreditCard(value, 5, 22));
+    }
+
+    @Test
+    void ipv4ChecksOctets() {
+        assertTrue(PIIValueValidators.isValidIPv4("192.168.1.1"));
+        assertTrue(PIIValueValidators.isValidIPv4("0.0.0.0"));
+        assertTrue(PIIValueValidators.isValidIPv4("255.255.255.255"));
+        assertFalse(PIIValueValidators.isValidIPv4("256.1.1.1"));
+        assertFalse(PIIValueValidators.isValidIPv4("1.2.3"));
+        assertFalse(PIIValueValidators.isValidIPv4("1.2.3.4.5"));
+        assertFalse(PIIValueValidators.isValidIPv4("1..2.3"));
+        assertFalse(PIIValueValidators.isValidIPv4("1.2.3.4."));
+        assertFalse(PIIValueValidators.isValidIPv4("1234.1.1.1"));
+    }
+
+    @Test
+    void ipv6AcceptsFullAndCompressedForms() {
+        assertTrue(PIIValueValidators.isValidIPv6("2001:0db8:85a3:0000:0000:8a2e:0370:7334"));
+        assertTrue(PIIValueValidators.isValidIPv6("2001:db8:85a3::8a2e:370:7334"));
+        assertTrue(PIIValueValidators.isValidIPv6("::1"));
+        assertTrue(PIIValueValidators.isValidIPv6("::"));
+        assertTrue(PIIValueValidators.isValidIPv6("fe80::"));
+        assertTrue(PIIValueValidators.isValidIPv6("1:2:3:4:5:6:7:8"));
+        assertTrue(PIIValueValidators.isValidIPv6("1::8"));
+    }
+
+    @Test
+    void ipv6AcceptsEmbeddedIPv4() {
+        assertTrue(PIIValueValidators.isValidIPv6("::ffff:192.168.1.1"));
+        assertTrue(PIIValueValidators.isValidIPv6("1:2:3:4:5:6:192.168.1.1"));
+        assertFalse(PIIValueValidators.isValidIPv6("1:2:3:4:5:6:7:192.168.1.1"));
+        assertFalse(PIIValueValidators.isValidIPv6("::ffff:300.1.1.1"));
+    }
+
+    @Test
+    void ipv6RejectsMalformedAddresses() {
+        assertFalse(PIIValueValidators.isValidIPv6("1:2:3:4:5:6:7"));
+        assertFalse(PIIValueValidators.isValidIPv6("1:2:3:4:5:6:7:8:9"));
+        assertFalse(PIIValueValidators.isValidIPv6("1::2::3"));
+        assertFalse(PIIValueValidators.isValidIPv6(":1:2:3:4:5:6:7"));
+        assertFalse(PIIValueValidators.isValidIPv6("1:2:3:4:5:6:7:"));
+        assertFalse(PIIValueValidators.isValidIPv6("12345::"));
+        assertFalse(PIIValueValidators.isValidIPv6("g::1"));
+        assertFalse(PIIValueValidators.isValidIPv6("1:2:3:4:5:6:7::8"));
+        assertFalse(PIIValueValidators.isValidIPv6(":"));
+    }
+
+    @Test
+    void emailChecksStructure() {
+        assertTrue(PIIValueValidators.isValidEmail("john.doe@example.com"));
+        assertTrue(PIIValueValidators.isValidEmail("a+tag@sub.example.co"));
+        assertFalse(PIIValueValidators.isValidEmail("john..doe@example.com"));
+        assertFalse(PIIValueValidators.isValidEmail(".john@example.com"));
+        assertFalse(PIIValueValidators.isValidEmail("john@-example.com"));
+        assertFalse(PIIValueValidators.isValidEmail("john@example.c1m"));
+        assertFalse(PIIValueValidators.isValidEmail("john@localhost"));
+        assertFalse(PIIValueValidators.isValidEmail("a@b@example.com"));
+    }
+
+    @Test
+    void ibanChecksMod97() {
+        assertTrue(PIIValueValidators.isValidIban("GB82 WEST 1234 5698 7654 32"));
+        assertTrue(PIIValueValidators.isValidIban("DE89370400440532013000"));
+        assertTrue(PIIValueValidators.isValidIban("de89370400440532013000"));
+        assertFalse(PIIValueValidators.isValidIban("GB82WEST12345698765433"));
+        assertFalse(PIIValueValidators.isValidIban("1282WEST12345698765432"));
+        assertFalse(PIIValueValidators.isValidIban("GB82WEST"));
+    }
+}
@@ -0,0 +1,109 @@
+package com.cgi.privsense.piidetector.strategy;
+
+import com.cgi.privsense.piidetector.model.enums.PIIType;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Benchmark harness comparing {@link PatternClassifier} with one regex pass per
+ * PII type over the patterns of {@link RegexPatternStrategy}, on 10k-value samples.
+ * Not run by the build; start it from the IDE or with
+ * {@code java -cp <test classpath> com.cgi.privsense.piidetector.strategy.PatternClassifierBenchmark}.
+ */
+public final class PatternClassifierBenchmark {
+    private static final Set<PIIType> FORMAT_TYPES = EnumSet.of(
+            PIIType.EMAIL, PIIType.PHONE_NUMBER, PIIType.CREDIT_CARD, PIIType.IP_ADDRESS,
+            PIIType.POSTAL_CODE, PIIType.NATIONAL_ID, PIIType.DATE_OF_BIRTH, PIIType.DATE_TIME);
+
+    private static final int SAMPLE_SIZE = 10_000;
+    private static final int WARMUP_ROUNDS = 100;
+    private static final int MEASURED_ROUNDS = 300;
+
+    private PatternClassifierBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        String[] formats = {"user%d@mail.example.org", "+33 6%02d-123-4567", "%05d", "Some free text value %d",
+                "2023-%02d-11", "192.168.%d.7", "12%02d-45-6789"};
+        List<Object> mixed = new ArrayList<>(SAMPLE_SIZE);
+        List<Object> emails = new ArrayList<>(SAMPLE_SIZE);
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            mixed.add(String.format(formats[i % formats.length], i % 100));
+            emails.add("person" + i + "@company.com");
+        }
+
+        run("mixed formats", mixed);
+        run("emails only", emails);
+    }
+
+    private static void run(String name, List<Object> sample) {
+        long checksum = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            checksum += regexPasses(sample) + singlePass(sample);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            checksum += regexPasses(sample);
+        }
+        long regexTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            checksum += singlePass(sample);
+        }
+        long classifierTime = System.nanoTime() - start;
+
+        System.out.printf("%s: regex %.2f ms, classifier %.2f ms per sample, speedup %.1fx (checksum %d)%n",
+                name, regexTime / 1e6 / MEASURED_ROUNDS, classifierTime / 1e6 / MEASURED_ROUNDS,
+                (double) regexTime / classifierTime, checksum);
+    }
+
+    /**
+     * One pass per PII type with its pre-checks, plus the all-numeric pre-check,
+     * as the strategy did before the classifier.
+     */
+    private static long regexPasses(List<Object> sample) {
+        long matches = 0;
+        for (Object value : sample) {
+            String s = value.toString().trim();
+            if (!s.isEmpty() && !s.matches("-?\\d+(\\.\\d+)?")) {
+                break;
+            }
+            matches++;
+        }
+        for (PIIType type : FORMAT_TYPES) {
+            Pattern pattern = RegexPatternStrategy.getPattern(type);
+            for (Object value : sample) {
+                String s = value.toString().trim();
+                if (!s.isEmpty() && passesPreCheck(type, s) && pattern.matcher(s).matches()) {
+                    matches++;
+                }
+            }
+        }
+        return matches;
+    }
+
+    private static boolean passesPreCheck(PIIType type, String s) {
+        return switch (type) {
+            case CREDIT_CARD -> s.length() >= 13 && s.length() <= 19 && s.matches("\\d+");
+            case EMAIL -> s.contains("@");
+            case PHONE_NUMBER -> s.matches(".*\\d.*") && s.length() >= 7;
+            case IP_ADDRESS -> s.matches(".*\\d.*") && s.contains(".");
+            default -> true;
+        };
+    }
+
+    private static long singlePass(List<Object> sample) {
+        PatternClassifier.Result result = new PatternClassifier().classify(sample);
+        long matches = 0;
+        for (PIIType type : FORMAT_TYPES) {
+            matches += result.getFormatMatchCount(type);
+        }
+        return matches;
+    }
+}
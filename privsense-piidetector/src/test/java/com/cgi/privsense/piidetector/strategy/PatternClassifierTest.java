@@ -0,0 +1,118 @@
+package com.cgi.privsense.piidetector.strategy;
+
+import com.cgi.privsense.piidetector.model.enums.PIIType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatternClassifierTest {
+    private static final Pattern NUMERIC = Pattern.compile("-?\\d+(\\.\\d+)?");
+
+    // Types matched by format; IBANs are recognized by their validator alone
+    private static final Set<PIIType> FORMAT_TYPES = EnumSet.of(
+            PIIType.EMAIL, PIIType.PHONE_NUMBER, PIIType.CREDIT_CARD, PIIType.IP_ADDRESS,
+            PIIType.POSTAL_CODE, PIIType.NATIONAL_ID, PIIType.DATE_OF_BIRTH, PIIType.DATE_TIME);
+
+    @Test
+    void acceptsTheSameLanguagesAsTheStrategyPatterns() {
+        // Alphabet covering every character the formats give a meaning to
+        String alphabet = "0123456789-. +T:@a_Zx%";
+        Random random = new Random(42);
+        for (int i = 0; i < 300_000; i++) {
+            int length = random.nextInt(22);
+            StringBuilder value = new StringBuilder(length);
+            for (int j = 0; j < length; j++) {
+                value.append(random.nextInt(3) == 0
+                        ? alphabet.charAt(random.nextInt(alphabet.length()))
+                        : (char) ('0' + random.nextInt(10)));
+            }
+            assertSameFormats(value.toString());
+        }
+    }
+
+    @Test
+    void acceptsTheSameLanguagesOnEdgeCases() {
+        for (String value : List.of(
+                "john.doe@example.com", "a@b.co", "a@b..com", "a@.b.com", "x@y.c1m", "@example.com",
+                "+1 555-123-4567", "555 123 4567", "+123 4567890", "+12345678901", "  5551234567 ",
+                "4111111111111111", "192.168.1.1", "1.2.3.4.5", "12345", "12345-6789", "123-45-6789",
+                "1990-01-01", "2024-01-01T10:00:00", "2024-01-01T10:00:00Z", "-12.5", "12.", ".5", "+",
+                "1:2:3:4:5:6:7:8", "1::", "", "   ")) {
+            assertSameFormats(value);
+        }
+    }
+
+    @Test
+    void countsValidatedMatchesPerType() {
+        List<Object> sample = List.of(
+                "john.doe@example.com", "jane@example.org", "john..doe@example.com",
+                "4111111111111111", "4111111111111112", "0000000000000000",
+                "192.168.1.1", "999.1.1.1", "2001:db8::1",
+                "555-123-4567", "12345-6789", "123-45-6789",
+                "1990-01-01", "2024-01-01T10:00:00", "GB82 WEST 1234 5698 7654 32",
+                "free text", "");
+        PatternClassifier.Result result = new PatternClassifier().classify(sample);
+
+        assertEquals(3, result.getFormatMatchCount(PIIType.EMAIL));
+        assertEquals(2, result.getMatchCount(PIIType.EMAIL));
+        assertEquals(3, result.getFormatMatchCount(PIIType.CREDIT_CARD));
+        assertEquals(1, result.getMatchCount(PIIType.CREDIT_CARD));
+        // IPv4 rejected by its octet check, IPv6 recognized by its validator
+        assertEquals(3, result.getFormatMatchCount(PIIType.IP_ADDRESS));
+        assertEquals(2, result.getMatchCount(PIIType.IP_ADDRESS));
+        assertEquals(1, result.getMatchCount(PIIType.PHONE_NUMBER));
+        assertEquals(1, result.getMatchCount(PIIType.POSTAL_CODE));
+        assertEquals(1, result.getMatchCount(PIIType.NATIONAL_ID));
+        assertEquals(1, result.getMatchCount(PIIType.DATE_OF_BIRTH));
+        assertEquals(1, result.getMatchCount(PIIType.DATE_TIME));
+        assertEquals(1, result.getMatchCount(PIIType.BANK_ACCOUNT));
+        assertFalse(result.isAllNumeric());
+
+        assertEquals(List.of("john.doe@example.com", "jane@example.org"), result.getExamples(PIIType.EMAIL));
+        assertEquals(List.of("4111111111111111"), result.getExamples(PIIType.CREDIT_CARD));
+    }
+
+    @Test
+    void keepsAtMostThreeExamples() {
+        List<Object> sample = List.of("a@example.com", "b@example.com", "c@example.com", " d@example.com ");
+        PatternClassifier.Result result = new PatternClassifier().classify(sample);
+
+        assertEquals(4, result.getMatchCount(PIIType.EMAIL));
+        assertEquals(List.of("a@example.com", "b@example.com", "c@example.com"), result.getExamples(PIIType.EMAIL));
+    }
+
+    @Test
+    void detectsAllNumericSamples() {
+        List<Object> sample = new ArrayList<>(List.of(" 42 ", "-12.5", 7, ""));
+        sample.add(null);
+        assertTrue(new PatternClassifier().classify(sample).isAllNumeric());
+        assertFalse(new PatternClassifier().classify(List.of("42", "4 2")).isAllNumeric());
+    }
+
+    /**
+     * Checks one value against every strategy pattern: the classifier must report
+     * a format match exactly when the pattern matches the trimmed value.
+     */
+    private static void assertSameFormats(String value) {
+        PatternClassifier.Result result = new PatternClassifier().classify(List.of(value));
+        String trimmed = value.trim();
+
+        for (PIIType type : FORMAT_TYPES) {
+            boolean expected = !trimmed.isEmpty() && RegexPatternStrategy.getPattern(type).matcher(trimmed).matches();
+            if (type == PIIType.IP_ADDRESS) {
+                expected |= !trimmed.isEmpty() && PIIValueValidators.isValidIPv6(trimmed);
+            }
+            assertEquals(expected, result.getFormatMatchCount(type) == 1, type + " [" + value + "]");
+        }
+
+        boolean numeric = trimmed.isEmpty() || NUMERIC.matcher(trimmed).matches();
+        assertEquals(numeric, result.isAllNumeric(), "numeric [" + value + "]");
+    }
+}